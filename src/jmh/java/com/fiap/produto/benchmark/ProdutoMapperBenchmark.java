@@ -0,0 +1,62 @@
+package com.fiap.produto.benchmark;
+
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.dto.request.ProdutoRequestDTO;
+import com.fiap.produto.dto.response.ProdutoResponseDTO;
+import com.fiap.produto.entity.ProdutoEntity;
+import com.fiap.produto.mapper.ProdutoMapper;
+import com.fiap.produto.mapper.ProdutoMapperImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProdutoMapperBenchmark {
+
+    private ProdutoMapper mapper;
+    private Produto produto;
+    private ProdutoEntity entity;
+    private ProdutoRequestDTO requestDTO;
+
+    @Setup
+    public void setUp() {
+        mapper = new ProdutoMapperImpl();
+        produto = Produto.builder().id(1L).nome("Notebook Dell Inspiron 15").sku("SKU-000001").preco(2500.00).build();
+        entity = ProdutoEntity.builder().id(1L).nome("Notebook Dell Inspiron 15").sku("SKU-000001").preco(2500.00).build();
+        requestDTO = ProdutoRequestDTO.builder().nome("Notebook Dell Inspiron 15").sku("SKU-000001").preco(2500.00).build();
+    }
+
+    @Benchmark
+    public ProdutoEntity dominioParaEntidade() {
+        return mapper.toEntity(produto);
+    }
+
+    @Benchmark
+    public Produto entidadeParaDominio() {
+        return mapper.toDomain(entity);
+    }
+
+    @Benchmark
+    public Produto requestParaDominio() {
+        return mapper.toDomain(requestDTO);
+    }
+
+    @Benchmark
+    public ProdutoResponseDTO dominioParaResponse() {
+        return mapper.toResponseDTO(produto);
+    }
+
+    // Caminho completo de um cadastro: request -> dominio -> entidade -> dominio -> response
+    @Benchmark
+    public ProdutoResponseDTO caminhoCompletoCadastro() {
+        Produto dominio = mapper.toDomain(requestDTO);
+        ProdutoEntity paraSalvar = mapper.toEntity(dominio);
+        paraSalvar.setId(1L);
+        return mapper.toResponseDTO(mapper.toDomain(paraSalvar));
+    }
+}
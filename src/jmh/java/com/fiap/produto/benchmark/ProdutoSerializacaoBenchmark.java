@@ -0,0 +1,79 @@
+package com.fiap.produto.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fiap.produto.dto.request.ProdutoRequestDTO;
+import com.fiap.produto.dto.response.ProdutoResponseDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProdutoSerializacaoBenchmark {
+
+    @Param({"10000"})
+    private int tamanhoLista;
+
+    private ObjectWriter writerResponse;
+    private ObjectWriter writerLista;
+    private ObjectReader readerRequest;
+    private ProdutoResponseDTO responseDTO;
+    private List<ProdutoResponseDTO> lista;
+    private byte[] requestJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Mesmo builder usado pelo Spring Boot para o ObjectMapper dos controllers
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writerResponse = objectMapper.writerFor(ProdutoResponseDTO.class);
+        writerLista = objectMapper.writerFor(new TypeReference<List<ProdutoResponseDTO>>() { });
+        readerRequest = objectMapper.readerFor(ProdutoRequestDTO.class);
+
+        responseDTO = criarResponse(1L);
+        lista = LongStream.rangeClosed(1, tamanhoLista).mapToObj(this::criarResponse).collect(Collectors.toList());
+        requestJson = objectMapper.writeValueAsString(ProdutoRequestDTO.builder()
+                        .nome("Notebook Dell Inspiron 15")
+                        .sku("SKU-000001")
+                        .preco(2500.00)
+                        .build())
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public byte[] serializarProduto() throws Exception {
+        return writerResponse.writeValueAsBytes(responseDTO);
+    }
+
+    @Benchmark
+    public byte[] serializarLista() throws Exception {
+        return writerLista.writeValueAsBytes(lista);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ProdutoRequestDTO desserializarRequest() throws Exception {
+        return readerRequest.readValue(requestJson);
+    }
+
+    private ProdutoResponseDTO criarResponse(long id) {
+        return ProdutoResponseDTO.builder()
+                .id(id)
+                .nome("Produto de catálogo número " + id)
+                .sku(String.format("SKU-%06d", id))
+                .preco(10.0 + id % 1000)
+                .build();
+    }
+}
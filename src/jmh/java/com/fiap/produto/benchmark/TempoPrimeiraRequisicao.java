@@ -0,0 +1,163 @@
+package com.fiap.produto.benchmark;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Mede o tempo entre iniciar a JVM e o primeiro GET /produtos/{sku} com 200, contra H2 em arquivo.
+// Roda so com o JDK (java TempoPrimeiraRequisicao.java <jar> <arquivo-cds> <execucoes> <limite-ms>),
+// sem JMH: cada medicao e um processo novo.
+public class TempoPrimeiraRequisicao {
+
+    private static final String SKU = "SKU-PARTIDA-1";
+    private static final Duration TEMPO_MAXIMO = Duration.ofMinutes(2);
+
+    private static final HttpClient CLIENTE = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(args[0]);
+        Path arquivoCds = Path.of(args[1]);
+        int execucoes = Integer.parseInt(args[2]);
+        long limiteMs = Long.parseLong(args[3]);
+
+        Path banco = jar.toAbsolutePath().getParent().resolve("inicializacao");
+        limparBanco(banco);
+        // Execucao de preparo, fora da medicao: cria o schema e o produto consultado depois
+        preparar(jar, banco);
+
+        List<Modo> modos = new ArrayList<>();
+        modos.add(new Modo("padrao", List.of()));
+        modos.add(new Modo("aot", List.of("-Dspring.aot.enabled=true")));
+        if (Files.exists(arquivoCds)) {
+            modos.add(new Modo("aot+cds", List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=" + arquivoCds)));
+        } else {
+            System.out.println("Arquivo CDS " + arquivoCds + " nao encontrado; rode mvn -Pstartup package antes");
+        }
+
+        long medianaFinal = 0;
+        System.out.printf("%-10s %10s %10s %10s%n", "modo", "min (ms)", "mediana", "max (ms)");
+        for (Modo modo : modos) {
+            List<Long> tempos = new ArrayList<>();
+            for (int i = 0; i < execucoes; i++) {
+                tempos.add(medir(jar, banco, modo.opcoes()));
+            }
+            tempos.sort(null);
+            long mediana = tempos.get(tempos.size() / 2);
+            System.out.printf("%-10s %10d %10d %10d%n", modo.nome(), tempos.get(0), mediana, tempos.get(tempos.size() - 1));
+            medianaFinal = mediana;
+        }
+
+        if (limiteMs > 0 && medianaFinal > limiteMs) {
+            System.out.println("Mediana de " + medianaFinal + " ms acima do limite de " + limiteMs + " ms");
+            System.exit(1);
+        }
+    }
+
+    private static void preparar(Path jar, Path banco) throws Exception {
+        int porta = portaLivre();
+        Process processo = iniciar(jar, banco, porta, List.of());
+        try {
+            String corpo = "{\"nome\":\"Produto de partida\",\"sku\":\"" + SKU + "\",\"preco\":10.0}";
+            HttpRequest cadastro = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/produtos/sku/" + SKU))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(corpo))
+                    .build();
+            aguardarSucesso(cadastro, processo);
+        } finally {
+            parar(processo);
+        }
+    }
+
+    private static long medir(Path jar, Path banco, List<String> opcoes) throws Exception {
+        int porta = portaLivre();
+        HttpRequest consulta = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/produtos/" + SKU))
+                .GET()
+                .build();
+        long inicio = System.nanoTime();
+        Process processo = iniciar(jar, banco, porta, opcoes);
+        try {
+            aguardarSucesso(consulta, processo);
+            return (System.nanoTime() - inicio) / 1_000_000;
+        } finally {
+            parar(processo);
+        }
+    }
+
+    private static Process iniciar(Path jar, Path banco, int porta, List<String> opcoes) throws IOException {
+        List<String> comando = new ArrayList<>();
+        comando.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        comando.addAll(opcoes);
+        comando.add("-jar");
+        comando.add(jar.toString());
+        comando.add("--server.port=" + porta);
+        comando.add("--spring.datasource.url=jdbc:h2:file:" + banco.resolve("catalogo").toAbsolutePath()
+                + ";DB_CLOSE_ON_EXIT=FALSE");
+        comando.add("--spring.datasource.username=sa");
+        comando.add("--spring.datasource.password=");
+        comando.add("--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect");
+        // O snapshot em arquivo mudaria a carga inicial entre uma execucao e outra
+        comando.add("--produto.snapshot-arquivo.habilitado=false");
+        return new ProcessBuilder(comando)
+                .redirectErrorStream(true)
+                .redirectOutput(banco.resolve("aplicacao.log").toFile())
+                .start();
+    }
+
+    private static void aguardarSucesso(HttpRequest requisicao, Process processo) throws Exception {
+        long prazo = System.nanoTime() + TEMPO_MAXIMO.toNanos();
+        while (System.nanoTime() < prazo) {
+            if (!processo.isAlive()) {
+                throw new IllegalStateException("Aplicacao terminou com codigo " + processo.exitValue() + "; veja aplicacao.log");
+            }
+            try {
+                HttpResponse<Void> resposta = CLIENTE.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                if (resposta.statusCode() / 100 == 2) {
+                    return;
+                }
+            } catch (ConnectException e) {
+                // Servidor ainda nao abriu a porta
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Sem resposta de sucesso em " + TEMPO_MAXIMO);
+    }
+
+    private static void parar(Process processo) throws InterruptedException {
+        processo.destroy();
+        if (!processo.waitFor(30, TimeUnit.SECONDS)) {
+            processo.destroyForcibly().waitFor();
+        }
+    }
+
+    private static void limparBanco(Path banco) throws IOException {
+        if (Files.exists(banco)) {
+            try (var arquivos = Files.walk(banco)) {
+                for (Path arquivo : arquivos.sorted((a, b) -> b.compareTo(a)).toList()) {
+                    Files.delete(arquivo);
+                }
+            }
+        }
+        Files.createDirectories(banco);
+    }
+
+    private static int portaLivre() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Modo(String nome, List<String> opcoes) {
+    }
+}
@@ -12,4 +12,4 @@ public class ProdutoServiceApplication {
 		SpringApplication.run(ProdutoServiceApplication.class, args);
 	}
 
-}
\ No newline at end of file
+}
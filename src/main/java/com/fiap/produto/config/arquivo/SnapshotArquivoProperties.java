@@ -0,0 +1,15 @@
+package com.fiap.produto.config.arquivo;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "produto.snapshot-arquivo")
+public class SnapshotArquivoProperties {
+    private boolean habilitado = true;
+    // Precisa sobreviver ao restart do processo (volume do pod) para servir de partida quente
+    private String caminho = System.getProperty("java.io.tmpdir") + "/produto-service/catalogo.snapshot";
+    private long intervaloGravacaoMs = 60000;
+}
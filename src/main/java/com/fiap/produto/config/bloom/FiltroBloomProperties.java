@@ -0,0 +1,20 @@
+package com.fiap.produto.config.bloom;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "produto.bloom")
+public class FiltroBloomProperties {
+    private boolean habilitado = true;
+    private long capacidadeMinima = 1_000_000;
+    private double taxaFalsoPositivo = 0.01;
+    private long intervaloVerificacaoMs = 5000;
+    private Duration intervaloReconstrucao = Duration.ofHours(1);
+    // Sem verificacao bem-sucedida nesse prazo o filtro deixa de descartar SKUs
+    private Duration defasagemMaxima = Duration.ofSeconds(15);
+}
@@ -0,0 +1,17 @@
+package com.fiap.produto.config.busca;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "produto.busca")
+public class BuscaProdutosProperties {
+    private boolean habilitado = true;
+    private long intervaloVerificacaoMs = 5000;
+    private int limitePadrao = 20;
+    private int limiteMaximo = 100;
+    // Termos mais curtos so casam com tokens inteiros, para "a" nao varrer o catalogo todo
+    private int comprimentoMinimoPrefixo = 2;
+}
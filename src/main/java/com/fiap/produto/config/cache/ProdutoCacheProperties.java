@@ -0,0 +1,16 @@
+package com.fiap.produto.config.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "produto.cache")
+public class ProdutoCacheProperties {
+    private boolean habilitado = true;
+    private long tamanhoMaximo = 100_000;
+    private Duration ttl = Duration.ofMinutes(10);
+}
@@ -0,0 +1,46 @@
+package com.fiap.produto.config.cache;
+
+import com.fiap.produto.config.coalescencia.CoalescenciaProperties;
+import com.fiap.produto.gateway.ProdutoGatewayImpl;
+import com.fiap.produto.gateway.cache.ProdutoGatewayCache;
+import com.fiap.produto.gateway.coalescencia.ProdutoGatewayCoalescente;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+// Cadeia de decoradores: cache -> coalescencia (single-flight) -> ProdutoGatewayImpl
+@Configuration
+public class ProdutoGatewayConfig {
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "produto.cache", name = "habilitado", havingValue = "true", matchIfMissing = true)
+    public ProdutoGatewayCache produtoGatewayCache(ProdutoGatewayImpl produtoGatewayImpl, ProdutoCacheProperties properties,
+                                                   CoalescenciaProperties coalescencia,
+                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        ProdutoGatewayCache cache = new ProdutoGatewayCache(coalescente(produtoGatewayImpl, coalescencia, meterRegistry),
+                properties.getTamanhoMaximo(), properties.getTtl());
+        meterRegistry.ifAvailable(cache::registrarMetricas);
+        return cache;
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "produto.cache", name = "habilitado", havingValue = "false")
+    public ProdutoGatewayCoalescente produtoGatewayCoalescente(ProdutoGatewayImpl produtoGatewayImpl,
+                                                               CoalescenciaProperties coalescencia,
+                                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        return coalescente(produtoGatewayImpl, coalescencia, meterRegistry);
+    }
+
+    private static ProdutoGatewayCoalescente coalescente(ProdutoGatewayImpl produtoGatewayImpl, CoalescenciaProperties coalescencia,
+                                                         ObjectProvider<MeterRegistry> meterRegistry) {
+        ProdutoGatewayCoalescente coalescente = new ProdutoGatewayCoalescente(produtoGatewayImpl, coalescencia.isHabilitado(),
+                coalescencia.getTempoMaximoEspera());
+        meterRegistry.ifAvailable(coalescente::registrarMetricas);
+        return coalescente;
+    }
+}
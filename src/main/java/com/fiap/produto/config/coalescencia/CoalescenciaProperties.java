@@ -0,0 +1,16 @@
+package com.fiap.produto.config.coalescencia;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "produto.coalescencia")
+public class CoalescenciaProperties {
+    private boolean habilitado = true;
+    // Quanto uma requisicao espera pela consulta de outra antes de desistir com 503
+    private Duration tempoMaximoEspera = Duration.ofSeconds(3);
+}
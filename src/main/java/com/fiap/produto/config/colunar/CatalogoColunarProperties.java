@@ -0,0 +1,13 @@
+package com.fiap.produto.config.colunar;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "produto.colunar")
+public class CatalogoColunarProperties {
+    private boolean habilitado = false;
+    private long intervaloVerificacaoMs = 5000;
+}
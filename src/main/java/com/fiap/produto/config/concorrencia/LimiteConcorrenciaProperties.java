@@ -0,0 +1,28 @@
+package com.fiap.produto.config.concorrencia;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "produto.limite-concorrencia")
+public class LimiteConcorrenciaProperties {
+    private boolean habilitado = true;
+    // Comeca no tamanho do pool do Hikari: acima disso as requisicoes so esperariam conexao
+    private int limiteInicial = 20;
+    private int limiteMinimo = 1;
+    private int limiteMaximo = 200;
+    // Reducao multiplicativa quando uma requisicao passa do limiar de latencia ou falha com 5xx
+    private double fatorReducao = 0.9;
+    private Duration retryAfter = Duration.ofSeconds(1);
+    // Chaves: consulta-sku, listagem, escrita
+    private Map<String, Duration> limiarLatencia = new HashMap<>(Map.of(
+            "consulta-sku", Duration.ofMillis(100),
+            "listagem", Duration.ofMillis(500),
+            "escrita", Duration.ofMillis(250)));
+}
@@ -0,0 +1,64 @@
+package com.fiap.produto.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(prefix = "produto.datasource.roteamento", name = "habilitado", havingValue = "true")
+public class DataSourceRoteamentoConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primariaDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(ProdutoRoutingDataSource.PRIMARIA);
+        return dataSource;
+    }
+
+    @Bean
+    public SeletorReplicas seletorReplicas(DataSourceRoteamentoProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        List<ReplicaMonitorada> replicas = properties.getReplicas().stream()
+                .map(replica -> new ReplicaMonitorada(replica.getNome(), criarPoolReplica(replica)))
+                .toList();
+        SeletorReplicas seletor = new SeletorReplicas(replicas, properties.getEstrategia(), properties.getTimeoutVerificacaoSaude());
+        meterRegistry.ifAvailable(seletor::registrarMetricas);
+        return seletor;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primariaDataSource, SeletorReplicas seletorReplicas,
+                                 DataSourceRoteamentoProperties properties) {
+        JanelaLeituraPropriaEscrita janela = new JanelaLeituraPropriaEscrita(
+                properties.getJanelaLeituraPropriaEscrita(), properties.getCabecalhoCliente());
+        ProdutoRoutingDataSource roteamento = new ProdutoRoutingDataSource(primariaDataSource, seletorReplicas, janela);
+        roteamento.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(roteamento);
+    }
+
+    private HikariDataSource criarPoolReplica(DataSourceRoteamentoProperties.Replica replica) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replica.getUrl())
+                .username(replica.getUsername())
+                .password(replica.getPassword())
+                .build();
+        dataSource.setPoolName("replica-" + replica.getNome());
+        dataSource.setMaximumPoolSize(replica.getMaximoConexoes());
+        dataSource.setConnectionTimeout(replica.getTimeoutConexao().toMillis());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+}
@@ -0,0 +1,32 @@
+package com.fiap.produto.config.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "produto.datasource.roteamento")
+public class DataSourceRoteamentoProperties {
+    private boolean habilitado = false;
+    private EstrategiaSelecaoReplica estrategia = EstrategiaSelecaoReplica.ROUND_ROBIN;
+    // Zero desliga o read-your-writes; so vale para requisicoes que enviam o cabecalho do cliente
+    private Duration janelaLeituraPropriaEscrita = Duration.ZERO;
+    private String cabecalhoCliente = "X-Client-Id";
+    private Duration timeoutVerificacaoSaude = Duration.ofSeconds(2);
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Data
+    public static class Replica {
+        private String nome;
+        private String url;
+        private String username;
+        private String password;
+        private int maximoConexoes = 20;
+        private Duration timeoutConexao = Duration.ofSeconds(2);
+    }
+}
@@ -0,0 +1,6 @@
+package com.fiap.produto.config.datasource;
+
+public enum EstrategiaSelecaoReplica {
+    ROUND_ROBIN,
+    MENOS_CARREGADA
+}
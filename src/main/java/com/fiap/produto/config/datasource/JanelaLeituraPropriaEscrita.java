@@ -0,0 +1,52 @@
+package com.fiap.produto.config.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+// Depois de uma escrita, o mesmo cliente (cabecalho da requisicao) le da primaria ate a janela expirar,
+// cobrindo o atraso de replicacao
+public class JanelaLeituraPropriaEscrita {
+
+    private final String cabecalhoCliente;
+    private final Cache<String, Boolean> escritasRecentes;
+
+    public JanelaLeituraPropriaEscrita(Duration janela, String cabecalhoCliente) {
+        this.cabecalhoCliente = cabecalhoCliente;
+        this.escritasRecentes = janela.isZero() || janela.isNegative() ? null : Caffeine.newBuilder()
+                .expireAfterWrite(janela)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public boolean clienteAtualEscreveuRecentemente() {
+        String cliente = clienteAtual();
+        return cliente != null && escritasRecentes.getIfPresent(cliente) != null;
+    }
+
+    public void registrarEscritaAposCommit() {
+        String cliente = clienteAtual();
+        if (cliente == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                escritasRecentes.put(cliente, Boolean.TRUE);
+            }
+        });
+    }
+
+    private String clienteAtual() {
+        if (escritasRecentes == null
+                || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes atributos)) {
+            return null;
+        }
+        return atributos.getRequest().getHeader(cabecalhoCliente);
+    }
+}
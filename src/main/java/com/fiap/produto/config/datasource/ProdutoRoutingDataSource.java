@@ -0,0 +1,61 @@
+package com.fiap.produto.config.datasource;
+
+import com.fiap.produto.gateway.transacao.LeituraNaPrimaria;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+// Transacoes readOnly vao para uma replica saudavel; o restante (e qualquer falha de replica) vai para a primaria.
+// Precisa ficar atras de um LazyConnectionDataSourceProxy: o JpaTransactionManager pede a conexao antes de marcar
+// a transacao como readOnly, e o proxy so resolve a conexao real no primeiro comando SQL.
+public class ProdutoRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARIA = "primaria";
+
+    private final SeletorReplicas seletor;
+    private final JanelaLeituraPropriaEscrita janela;
+
+    public ProdutoRoutingDataSource(DataSource primaria, SeletorReplicas seletor, JanelaLeituraPropriaEscrita janela) {
+        this.seletor = seletor;
+        this.janela = janela;
+        Map<Object, Object> alvos = new HashMap<>();
+        alvos.put(PRIMARIA, primaria);
+        seletor.getReplicas().forEach(replica -> alvos.put(replica.getNome(), replica.getDataSource()));
+        setTargetDataSources(alvos);
+        setDefaultTargetDataSource(primaria);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            janela.registrarEscritaAposCommit();
+            return PRIMARIA;
+        }
+        // Recarga apos invalidacao: a replica pode ainda nao ter a versao anunciada pela mensagem
+        if (janela.clienteAtualEscreveuRecentemente() || LeituraNaPrimaria.ativa()) {
+            return PRIMARIA;
+        }
+        return seletor.selecionar().orElse(PRIMARIA);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object chave = determineCurrentLookupKey();
+        DataSource alvo = getResolvedDataSources().get(chave);
+        try {
+            return alvo.getConnection();
+        } catch (SQLException e) {
+            if (PRIMARIA.equals(chave)) {
+                throw e;
+            }
+            seletor.ejetar((String) chave, e);
+            return getResolvedDefaultDataSource().getConnection();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.fiap.produto.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.Getter;
+
+import javax.sql.DataSource;
+
+@Getter
+public class ReplicaMonitorada {
+
+    private final String nome;
+    private final DataSource dataSource;
+    private volatile boolean saudavel = true;
+
+    public ReplicaMonitorada(String nome, DataSource dataSource) {
+        this.nome = nome;
+        this.dataSource = dataSource;
+    }
+
+    public int conexoesAtivas() {
+        if (dataSource instanceof HikariDataSource hikari) {
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            return pool == null ? 0 : pool.getActiveConnections();
+        }
+        return 0;
+    }
+
+    void marcarSaudavel(boolean saudavel) {
+        this.saudavel = saudavel;
+    }
+}
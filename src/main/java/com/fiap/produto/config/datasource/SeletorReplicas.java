@@ -0,0 +1,96 @@
+package com.fiap.produto.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+public class SeletorReplicas implements AutoCloseable {
+
+    private final List<ReplicaMonitorada> replicas;
+    private final EstrategiaSelecaoReplica estrategia;
+    private final Duration timeoutVerificacao;
+    private final AtomicInteger proxima = new AtomicInteger();
+
+    public SeletorReplicas(List<ReplicaMonitorada> replicas, EstrategiaSelecaoReplica estrategia, Duration timeoutVerificacao) {
+        this.replicas = List.copyOf(replicas);
+        this.estrategia = estrategia;
+        this.timeoutVerificacao = timeoutVerificacao;
+    }
+
+    public Optional<String> selecionar() {
+        List<ReplicaMonitorada> saudaveis = replicas.stream().filter(ReplicaMonitorada::isSaudavel).toList();
+        if (saudaveis.isEmpty()) {
+            return Optional.empty();
+        }
+        ReplicaMonitorada escolhida = switch (estrategia) {
+            case ROUND_ROBIN -> saudaveis.get(Math.floorMod(proxima.getAndIncrement(), saudaveis.size()));
+            case MENOS_CARREGADA -> saudaveis.stream()
+                    .min(Comparator.comparingInt(ReplicaMonitorada::conexoesAtivas))
+                    .orElseThrow();
+        };
+        return Optional.of(escolhida.getNome());
+    }
+
+    public void ejetar(String nome, Exception causa) {
+        replicas.stream()
+                .filter(replica -> replica.getNome().equals(nome) && replica.isSaudavel())
+                .forEach(replica -> {
+                    replica.marcarSaudavel(false);
+                    log.warn("Réplica {} removida do roteamento de leitura: {}", nome, causa.getMessage());
+                });
+    }
+
+    @Scheduled(fixedDelayString = "${produto.datasource.roteamento.intervalo-verificacao-saude-ms:5000}")
+    public void verificarSaude() {
+        for (ReplicaMonitorada replica : replicas) {
+            boolean saudavel = validar(replica);
+            if (saudavel != replica.isSaudavel()) {
+                replica.marcarSaudavel(saudavel);
+                log.warn("Réplica {} {} do roteamento de leitura", replica.getNome(), saudavel ? "readmitida" : "removida");
+            }
+        }
+    }
+
+    public List<ReplicaMonitorada> getReplicas() {
+        return replicas;
+    }
+
+    public void registrarMetricas(MeterRegistry registry) {
+        for (ReplicaMonitorada replica : replicas) {
+            Gauge.builder("produto.datasource.replica.saudavel", replica, r -> r.isSaudavel() ? 1 : 0)
+                    .tag("replica", replica.getNome())
+                    .register(registry);
+            Gauge.builder("produto.datasource.replica.conexoes.ativas", replica, ReplicaMonitorada::conexoesAtivas)
+                    .tag("replica", replica.getNome())
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.stream()
+                .map(ReplicaMonitorada::getDataSource)
+                .filter(HikariDataSource.class::isInstance)
+                .map(HikariDataSource.class::cast)
+                .forEach(HikariDataSource::close);
+    }
+
+    private boolean validar(ReplicaMonitorada replica) {
+        try (Connection conexao = replica.getDataSource().getConnection()) {
+            return conexao.isValid((int) Math.max(1, timeoutVerificacao.toSeconds()));
+        } catch (Exception e) {
+            log.debug("Falha na verificação de saúde da réplica {}: {}", replica.getNome(), e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.fiap.produto.config.invalidacao;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "produto.invalidacao")
+public class InvalidacaoCacheProperties {
+    private boolean habilitado = true;
+    private String topico = "produto-invalidacao-cache";
+    // Espera maxima pelos metadados do topico na subida; sem resposta a aplicacao nao sobe
+    private Duration timeoutMetadados = Duration.ofSeconds(10);
+}
@@ -0,0 +1,13 @@
+package com.fiap.produto.config.listagem;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "produto.listagem")
+public class ListagemProperties {
+    private int limitePadrao = 100;
+    private int limiteMaximo = 500;
+}
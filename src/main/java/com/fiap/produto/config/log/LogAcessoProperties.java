@@ -0,0 +1,18 @@
+package com.fiap.produto.config.log;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "produto.log-acesso")
+public class LogAcessoProperties {
+    private boolean habilitado = true;
+    // Fracao das respostas rapidas e sem erro que vira linha de log (0 a 1)
+    private double taxaAmostragem = 0.01;
+    // Acima disso a requisicao e sempre registrada, como os erros
+    private Duration limiarLento = Duration.ofMillis(500);
+}
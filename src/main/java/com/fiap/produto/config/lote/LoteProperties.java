@@ -0,0 +1,13 @@
+package com.fiap.produto.config.lote;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "produto.lote")
+public class LoteProperties {
+    private int tamanhoMaximo = 10_000;
+    private int tamanhoMaximoBusca = 1_000;
+}
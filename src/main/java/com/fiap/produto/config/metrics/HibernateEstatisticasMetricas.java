@@ -0,0 +1,66 @@
+package com.fiap.produto.config.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+// Publica as Statistics do Hibernate (hibernate.generate_statistics=true) sem depender do hibernate-micrometer
+@Component
+public class HibernateEstatisticasMetricas implements MeterBinder {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public HibernateEstatisticasMetricas(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!estatisticas.isStatisticsEnabled()) {
+            return;
+        }
+
+        contador(registry, estatisticas, "hibernate.sessions.open", Statistics::getSessionOpenCount);
+        contador(registry, estatisticas, "hibernate.connections.obtained", Statistics::getConnectCount);
+        contador(registry, estatisticas, "hibernate.statements.prepared", Statistics::getPrepareStatementCount);
+        contador(registry, estatisticas, "hibernate.flushes", Statistics::getFlushCount);
+        contador(registry, estatisticas, "hibernate.transactions", Statistics::getTransactionCount);
+        contador(registry, estatisticas, "hibernate.optimistic.failures", Statistics::getOptimisticFailureCount);
+        contador(registry, estatisticas, "hibernate.query.executions", Statistics::getQueryExecutionCount);
+
+        contadorEntidades(registry, estatisticas, "insert", Statistics::getEntityInsertCount);
+        contadorEntidades(registry, estatisticas, "update", Statistics::getEntityUpdateCount);
+        contadorEntidades(registry, estatisticas, "delete", Statistics::getEntityDeleteCount);
+        contadorEntidades(registry, estatisticas, "load", Statistics::getEntityLoadCount);
+        contadorEntidades(registry, estatisticas, "fetch", Statistics::getEntityFetchCount);
+
+        TimeGauge.builder("hibernate.query.executions.max", estatisticas, TimeUnit.MILLISECONDS,
+                        Statistics::getQueryExecutionMaxTime)
+                .description("Tempo da consulta mais lenta desde o inicio")
+                .register(registry);
+        Gauge.builder("hibernate.sessions.active", estatisticas,
+                        s -> s.getSessionOpenCount() - s.getSessionCloseCount())
+                .register(registry);
+    }
+
+    private void contador(MeterRegistry registry, Statistics estatisticas, String nome, ToDoubleFunction<Statistics> funcao) {
+        FunctionCounter.builder(nome, estatisticas, funcao).register(registry);
+    }
+
+    private void contadorEntidades(MeterRegistry registry, Statistics estatisticas, String operacao,
+                                   ToDoubleFunction<Statistics> funcao) {
+        FunctionCounter.builder("hibernate.entities", estatisticas, funcao)
+                .tag("operacao", operacao)
+                .register(registry);
+    }
+}
@@ -0,0 +1,51 @@
+package com.fiap.produto.config.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+// Cronometra casos de uso e gateway; percentis/histogramas/SLOs vem de management.metrics.distribution.*
+@Aspect
+@Component
+public class MetricasCamadasAspect {
+
+    static final String METRICA_USECASE = "produto.usecase";
+    static final String METRICA_GATEWAY = "produto.gateway";
+
+    private final MeterRegistry registry;
+
+    public MetricasCamadasAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * com.fiap.produto.usecase.service..*.execute(..))")
+    public Object cronometrarUseCase(ProceedingJoinPoint joinPoint) throws Throwable {
+        return cronometrar(joinPoint, METRICA_USECASE);
+    }
+
+    // Tanto o decorator de cache quanto a implementacao JPA sao medidos; a tag "classe" separa acerto de cache de ida ao banco
+    @Around("execution(* com.fiap.produto.gateway.ProdutoGateway.*(..))")
+    public Object cronometrarGateway(ProceedingJoinPoint joinPoint) throws Throwable {
+        return cronometrar(joinPoint, METRICA_GATEWAY);
+    }
+
+    private Object cronometrar(ProceedingJoinPoint joinPoint, String metrica) throws Throwable {
+        Timer.Sample sample = Timer.start(registry);
+        String excecao = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            excecao = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(metrica)
+                    .tag("classe", joinPoint.getTarget().getClass().getSimpleName())
+                    .tag("metodo", joinPoint.getSignature().getName())
+                    .tag("exception", excecao)
+                    .register(registry));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.fiap.produto.config.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "produto.outbox")
+public class OutboxProperties {
+    private String topico = "produto-alterado";
+    private Relay relay = new Relay();
+
+    @Data
+    public static class Relay {
+        private boolean habilitado = true;
+        private int tamanhoLote = 500;
+        private Duration timeoutEnvio = Duration.ofSeconds(10);
+    }
+}
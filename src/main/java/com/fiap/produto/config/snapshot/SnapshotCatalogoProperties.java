@@ -0,0 +1,13 @@
+package com.fiap.produto.config.snapshot;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "produto.snapshot")
+public class SnapshotCatalogoProperties {
+    private boolean habilitado = true;
+    private long intervaloVerificacaoMs = 1000;
+}
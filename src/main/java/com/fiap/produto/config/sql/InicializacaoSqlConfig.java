@@ -0,0 +1,48 @@
+package com.fiap.produto.config.sql;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.boot.autoconfigure.sql.init.SqlDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.boot.sql.init.DatabaseInitializationMode;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+// Scripts por banco (schema-postgresql.sql, schema-h2.sql) escolhidos pelo banco conectado, e nao por uma
+// plataforma fixa na configuracao: um script de PostgreSQL nunca roda contra H2.
+// Substitui o inicializador da autoconfiguracao, que so conhece spring.sql.init.platform
+@Slf4j
+@Configuration
+public class InicializacaoSqlConfig {
+
+    static final String PLATAFORMA_PADRAO = "all";
+
+    @Bean
+    public SqlDataSourceScriptDatabaseInitializer dataSourceScriptDatabaseInitializer(DataSource dataSource,
+                                                                                     SqlInitializationProperties properties) {
+        SqlInitializationProperties efetivas = new SqlInitializationProperties();
+        BeanUtils.copyProperties(properties, efetivas);
+        // Com mode=never nada roda: nem conecta para descobrir o banco (treino do CDS sobe sem banco)
+        if (properties.getMode() != DatabaseInitializationMode.NEVER && PLATAFORMA_PADRAO.equals(properties.getPlatform())) {
+            efetivas.setPlatform(plataforma(dataSource));
+        }
+        return new SqlDataSourceScriptDatabaseInitializer(dataSource, efetivas);
+    }
+
+    static String plataforma(DataSource dataSource) {
+        try {
+            String produto = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            String id = DatabaseDriver.fromProductName(produto).getId();
+            return id == null ? PLATAFORMA_PADRAO : id;
+        } catch (MetaDataAccessException e) {
+            log.warn("Banco não identificado para os scripts de inicialização: {}", e.getMessage());
+            return PLATAFORMA_PADRAO;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.fiap.produto.config.threads;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Escuta o evento JFR jdk.VirtualThreadPinned: uma virtual thread bloqueada dentro de synchronized/native
+// segura a carrier thread e anula o ganho do modo virtual (caminho JPA -> Hikari -> driver JDBC)
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(prefix = "produto.virtual-threads", name = "monitorar-pinning", havingValue = "true", matchIfMissing = true)
+public class MonitorPinningVirtualThreads implements SmartLifecycle {
+
+    static final String EVENTO_PINNING = "jdk.VirtualThreadPinned";
+    static final String METRICA_PINNING = "produto.virtual-threads.pinned";
+    private static final int FRAMES_NO_LOG = 8;
+
+    private final VirtualThreadsProperties properties;
+    private final MeterRegistry registry;
+    private RecordingStream stream;
+
+    public MonitorPinningVirtualThreads(VirtualThreadsProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    @Override
+    public synchronized void start() {
+        stream = new RecordingStream();
+        stream.enable(EVENTO_PINNING).withThreshold(properties.getLimiarPinning()).withStackTrace();
+        stream.onEvent(EVENTO_PINNING, this::registrar);
+        stream.startAsync();
+        log.info("Monitor de pinning de virtual threads ativo (limiar {})", properties.getLimiarPinning());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+
+    private void registrar(RecordedEvent evento) {
+        List<String> classes = evento.getStackTrace() == null ? List.of() : evento.getStackTrace().getFrames().stream()
+                .map(RecordedFrame::getMethod)
+                .map(metodo -> metodo.getType().getName() + "." + metodo.getName())
+                .collect(Collectors.toList());
+        String camada = classificarCamada(classes);
+        Counter.builder(METRICA_PINNING).tag("camada", camada).register(registry).increment();
+        log.warn("Virtual thread fixada na carrier por {} ms (camada {}): {}", evento.getDuration().toMillis(), camada,
+                classes.stream().limit(FRAMES_NO_LOG).collect(Collectors.joining(" <- ")));
+    }
+
+    static String classificarCamada(List<String> frames) {
+        for (String frame : frames) {
+            if (frame.startsWith("org.postgresql.") || frame.startsWith("org.h2.")) {
+                return "jdbc";
+            }
+            if (frame.startsWith("com.zaxxer.hikari.")) {
+                return "pool";
+            }
+            if (frame.startsWith("org.hibernate.") || frame.startsWith("jakarta.persistence.")) {
+                return "jpa";
+            }
+        }
+        return "outro";
+    }
+}
@@ -0,0 +1,15 @@
+package com.fiap.produto.config.threads;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "produto.virtual-threads")
+public class VirtualThreadsProperties {
+    private boolean monitorarPinning = true;
+    private Duration limiarPinning = Duration.ofMillis(20);
+}
@@ -0,0 +1,34 @@
+package com.fiap.produto.controller;
+
+import com.fiap.produto.dto.response.CacheEstatisticasResponseDTO;
+import com.fiap.produto.gateway.cache.ProdutoGatewayCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/produtos/cache")
+@RequiredArgsConstructor
+public class ProdutoCacheController {
+
+    private final ObjectProvider<ProdutoGatewayCache> gatewayCache;
+
+    @GetMapping("/estatisticas")
+    public ResponseEntity<CacheEstatisticasResponseDTO> estatisticas() {
+        var cache = gatewayCache.getIfAvailable();
+        if (cache == null) {
+            return ResponseEntity.notFound().build();
+        }
+        var stats = cache.estatisticas();
+        return ResponseEntity.ok(CacheEstatisticasResponseDTO.builder()
+                .tamanho(cache.tamanho())
+                .acertos(stats.hitCount())
+                .faltas(stats.missCount())
+                .taxaAcerto(stats.hitRate())
+                .despejos(stats.evictionCount())
+                .build());
+    }
+}
@@ -1,17 +1,42 @@
 package com.fiap.produto.controller;
 
+import com.fiap.produto.controller.cursor.CursorProdutoCodec;
+import com.fiap.produto.controller.etag.EtagProduto;
+import com.fiap.produto.controller.export.FormatoExportacao;
+import com.fiap.produto.controller.export.ProdutoExportador;
+import com.fiap.produto.dto.request.AtualizacaoPrecoRequestDTO;
+import com.fiap.produto.dto.request.BuscaSkusRequestDTO;
+import com.fiap.produto.dto.request.FiltroProdutosRequestDTO;
 import com.fiap.produto.dto.request.ProdutoRequestDTO;
+import com.fiap.produto.dto.response.BuscaSkusResponseDTO;
+import com.fiap.produto.dto.response.EstatisticasPrecoResponseDTO;
+import com.fiap.produto.dto.response.ProdutoLoteResponseDTO;
+import com.fiap.produto.dto.response.ProdutoPaginaResponseDTO;
 import com.fiap.produto.dto.response.ProdutoResponseDTO;
+import com.fiap.produto.exception.ProdutoNaoEncontradoException;
 import com.fiap.produto.mapper.ProdutoMapper;
+import com.fiap.produto.usecase.service.AtualizarPrecoProdutoServiceUseCase;
 import com.fiap.produto.usecase.service.AtualizarProdutoServiceUseCase;
 import com.fiap.produto.usecase.service.BuscarProdutoPorSkuServiceUseCase;
+import com.fiap.produto.usecase.service.BuscarProdutosPorNomeServiceUseCase;
+import com.fiap.produto.usecase.service.BuscarProdutosPorSkusServiceUseCase;
+import com.fiap.produto.usecase.service.BuscarVersaoCatalogoServiceUseCase;
 import com.fiap.produto.usecase.service.CadastrarProdutoUseServiceCase;
+import com.fiap.produto.usecase.service.CadastrarProdutosEmLoteServiceUseCase;
+import com.fiap.produto.usecase.service.CalcularEstatisticasPrecoServiceUseCase;
+import com.fiap.produto.usecase.service.ListarProdutosPaginadoServiceUseCase;
 import com.fiap.produto.usecase.service.ListarProdutosServiceUseCase;
+import com.fiap.produto.usecase.service.UpsertProdutoServiceUseCase;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -22,50 +47,191 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ProdutoController {
 
+    static final String CABECALHO_RESULTADO_TRUNCADO = "X-Resultado-Truncado";
+
     private final CadastrarProdutoUseServiceCase cadastrarUseCase;
     private final AtualizarProdutoServiceUseCase atualizarUseCase;
     private final BuscarProdutoPorSkuServiceUseCase buscarPorSkuUseCase;
     private final ListarProdutosServiceUseCase listarUseCase;
+    private final ListarProdutosPaginadoServiceUseCase listarPaginadoUseCase;
+    private final CadastrarProdutosEmLoteServiceUseCase cadastrarEmLoteUseCase;
+    private final BuscarProdutosPorSkusServiceUseCase buscarPorSkusUseCase;
+    private final BuscarVersaoCatalogoServiceUseCase buscarVersaoCatalogoUseCase;
+    private final AtualizarPrecoProdutoServiceUseCase atualizarPrecoUseCase;
+    private final UpsertProdutoServiceUseCase upsertUseCase;
+    private final BuscarProdutosPorNomeServiceUseCase buscarPorNomeUseCase;
+    private final CalcularEstatisticasPrecoServiceUseCase estatisticasPrecoUseCase;
     private final ProdutoMapper mapper;
+    private final ProdutoExportador exportador;
 
     @PostMapping
     public ResponseEntity<ProdutoResponseDTO> cadastrar(@Valid @RequestBody ProdutoRequestDTO dto) {
-        log.info("Iniciando cadastro de produto com SKU: {}", dto.getSku());
+        log.debug("Iniciando cadastro de produto com SKU: {}", dto.getSku());
         var produto = mapper.toDomain(dto);
         var produtoSalvo = cadastrarUseCase.execute(produto);
-        log.info("Produto cadastrado com sucesso, ID: {}", produtoSalvo.getId());
+        log.debug("Produto cadastrado com sucesso, ID: {}", produtoSalvo.getId());
         return ResponseEntity.ok(mapper.toResponseDTO(produtoSalvo));
     }
 
+    @PutMapping("/sku/{sku}")
+    public ResponseEntity<ProdutoResponseDTO> upsertPorSku(@PathVariable String sku, @Valid @RequestBody ProdutoRequestDTO dto) {
+        log.debug("Iniciando upsert de produto com SKU: {}", sku);
+        var produto = mapper.toDomain(dto);
+        produto.setId(null);
+        produto.setSku(sku);
+        var resultado = upsertUseCase.execute(produto);
+        log.debug("Upsert concluído para SKU: {}, ID: {}, versão: {}", sku, resultado.getId(), resultado.getVersao());
+        return ResponseEntity.ok(mapper.toResponseDTO(resultado));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<ProdutoLoteResponseDTO>> cadastrarEmLote(@Valid @RequestBody List<ProdutoRequestDTO> dtos) {
+        log.debug("Iniciando cadastro em lote de {} produtos", dtos.size());
+        var produtos = dtos.stream().map(mapper::toDomain).collect(Collectors.toList());
+        var resultados = cadastrarEmLoteUseCase.execute(produtos).stream()
+                .map(mapper::toLoteResponseDTO)
+                .collect(Collectors.toList());
+        log.debug("Cadastro em lote concluído para {} produtos", resultados.size());
+        return ResponseEntity.ok(resultados);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ProdutoResponseDTO> atualizar(@PathVariable Long id, @Valid @RequestBody ProdutoRequestDTO dto) {
-        log.info("Iniciando atualização do produto ID: {}", id);
+        log.debug("Iniciando atualização do produto ID: {}", id);
         var produto = mapper.toDomain(dto);
         produto.setId(id);
         var produtoAtualizado = atualizarUseCase.execute(produto);
-        log.info("Produto atualizado com sucesso, ID: {}", produtoAtualizado.getId());
+        log.debug("Produto atualizado com sucesso, ID: {}", produtoAtualizado.getId());
+        return ResponseEntity.ok(mapper.toResponseDTO(produtoAtualizado));
+    }
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<ProdutoResponseDTO> atualizarPreco(@PathVariable Long id, @Valid @RequestBody AtualizacaoPrecoRequestDTO dto) {
+        log.debug("Atualizando preço do produto ID: {} na versão {}", id, dto.getVersao());
+        var produtoAtualizado = atualizarPrecoUseCase.execute(id, dto.getPreco(), dto.getVersao());
+        log.debug("Preço do produto ID: {} atualizado, nova versão {}", id, produtoAtualizado.getVersao());
         return ResponseEntity.ok(mapper.toResponseDTO(produtoAtualizado));
     }
 
+    // Caminho literal tem precedencia sobre /{sku}
+    @GetMapping("/search")
+    public ResponseEntity<List<ProdutoResponseDTO>> buscarPorNome(@RequestParam("q") String consulta,
+                                                                  @RequestParam(required = false) Integer limite) {
+        log.debug("Buscando produtos por nome: {}", consulta);
+        var produtos = buscarPorNomeUseCase.execute(consulta, limite).stream()
+                .map(mapper::toResponseDTO)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(produtos);
+    }
+
+    // Aceita os mesmos filtros da listagem; sort e limite sao ignorados
+    @GetMapping("/estatisticas")
+    public ResponseEntity<EstatisticasPrecoResponseDTO> estatisticasPreco(FiltroProdutosRequestDTO filtro) {
+        log.debug("Calculando estatísticas de preço com filtro {}", filtro);
+        var estatisticas = estatisticasPrecoUseCase.execute(mapper.toFiltro(filtro));
+        return ResponseEntity.ok(mapper.toEstatisticasPrecoResponseDTO(estatisticas));
+    }
+
     @GetMapping("/{sku}")
-    public ResponseEntity<ProdutoResponseDTO> buscarPorSku(@PathVariable String sku) {
-        log.info("Buscando produto por SKU: {}", sku);
+    public ResponseEntity<ProdutoResponseDTO> buscarPorSku(@PathVariable String sku, @RequestHeader HttpHeaders headers) {
+        log.debug("Buscando produto por SKU: {}", sku);
+        // Revalidacao pela copia em cache: se o cliente ja tem essa versao, nem filtro nem banco sao consultados
+        if (!headers.getIfNoneMatch().isEmpty()) {
+            var etagEmCache = buscarPorSkuUseCase.buscarEmCache(sku).map(EtagProduto::deProduto);
+            if (etagEmCache.isPresent() && EtagProduto.corresponde(headers.getIfNoneMatch(), etagEmCache.get())) {
+                log.debug("Produto {} não modificado desde {}", sku, etagEmCache.get());
+                return naoModificado(etagEmCache.get()).build();
+            }
+        }
         var produtoOpt = buscarPorSkuUseCase.execute(sku);
         return produtoOpt.map(produto -> {
-            log.info("Produto encontrado para SKU: {}", sku);
-            return ResponseEntity.ok(mapper.toResponseDTO(produto));
+            log.debug("Produto encontrado para SKU: {}", sku);
+            var etag = EtagProduto.deProduto(produto);
+            if (EtagProduto.corresponde(headers.getIfNoneMatch(), etag)) {
+                return naoModificado(etag).<ProdutoResponseDTO>build();
+            }
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .eTag(etag)
+                    .body(mapper.toResponseDTO(produto));
         }).orElseThrow(() -> {
-            log.warn("Produto não encontrado para SKU: {}", sku);
-            return new IllegalArgumentException("Produto não encontrado para SKU: " + sku);
+            log.debug("Produto não encontrado para SKU: {}", sku);
+            return new ProdutoNaoEncontradoException("Produto não encontrado para SKU: " + sku);
         });
     }
 
+    @PostMapping("/lookup")
+    public ResponseEntity<BuscaSkusResponseDTO> buscarPorSkus(@RequestBody BuscaSkusRequestDTO dto) {
+        log.debug("Buscando produtos por {} SKUs", dto.getSkus() == null ? 0 : dto.getSkus().size());
+        return ResponseEntity.ok(mapper.toBuscaSkusResponseDTO(buscarPorSkusUseCase.execute(dto.getSkus())));
+    }
+
+    @GetMapping(params = "skus")
+    public ResponseEntity<BuscaSkusResponseDTO> buscarPorSkus(@RequestParam List<String> skus) {
+        return buscarPorSkus(BuscaSkusRequestDTO.builder().skus(skus).build());
+    }
+
     @GetMapping
-    public ResponseEntity<List<ProdutoResponseDTO>> listar() {
-        log.info("Listando todos os produtos");
-        var produtos = listarUseCase.execute().stream().map(mapper::toResponseDTO).collect(Collectors.toList());
-        log.info("Total de produtos encontrados: {}", produtos.size());
-        return ResponseEntity.ok(produtos);
+    public ResponseEntity<List<ProdutoResponseDTO>> listar(@RequestHeader HttpHeaders headers, FiltroProdutosRequestDTO filtro) {
+        if (filtro.possuiFiltro()) {
+            return listarFiltrado(filtro);
+        }
+        log.debug("Listando todos os produtos");
+        // Revalidacao custa uma leitura de uma linha; a lista so e carregada e serializada se o catalogo mudou
+        var etagAtual = EtagProduto.deCatalogo(buscarVersaoCatalogoUseCase.execute());
+        if (EtagProduto.corresponde(headers.getIfNoneMatch(), etagAtual)) {
+            log.debug("Catálogo não modificado desde {}", etagAtual);
+            return naoModificado(etagAtual).build();
+        }
+        var catalogo = listarUseCase.execute();
+        var produtos = catalogo.getProdutos().stream().map(mapper::toResponseDTO).collect(Collectors.toList());
+        log.debug("Total de produtos encontrados: {}", produtos.size());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(EtagProduto.deCatalogo(catalogo.getVersao()))
+                .body(produtos);
+    }
+
+    private ResponseEntity<List<ProdutoResponseDTO>> listarFiltrado(FiltroProdutosRequestDTO filtro) {
+        log.debug("Listando produtos com filtro {}", filtro);
+        var listagem = listarUseCase.execute(mapper.toFiltro(filtro), filtro.getSort(), filtro.getLimite());
+        var produtos = listagem.getProdutos().stream().map(mapper::toResponseDTO).collect(Collectors.toList());
+        log.debug("Total de produtos encontrados: {}{}", produtos.size(), listagem.isTruncada() ? " (truncado pelo limite)" : "");
+        return ResponseEntity.ok()
+                .header(CABECALHO_RESULTADO_TRUNCADO, String.valueOf(listagem.isTruncada()))
+                .body(produtos);
+    }
+
+    @GetMapping("/pagina")
+    public ResponseEntity<ProdutoPaginaResponseDTO> listarPagina(@RequestParam(required = false) String cursor,
+                                                                 @RequestParam(required = false) Integer limite) {
+        log.debug("Listando pagina de produtos, cursor: {}, limite: {}", cursor, limite);
+        var pagina = listarPaginadoUseCase.execute(CursorProdutoCodec.decodificar(cursor), limite);
+        var produtos = pagina.getProdutos().stream().map(mapper::toResponseDTO).collect(Collectors.toList());
+        var proximoCursor = pagina.isTemProxima() ? CursorProdutoCodec.codificar(pagina.getUltimoId()) : null;
+        return ResponseEntity.ok(ProdutoPaginaResponseDTO.builder()
+                .produtos(produtos)
+                .proximoCursor(proximoCursor)
+                .build());
     }
-}
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportar(@RequestParam(defaultValue = "ndjson") String format) {
+        var formato = FormatoExportacao.de(format);
+        log.debug("Iniciando exportação do catálogo em {}", formato);
+        var disposition = ContentDisposition.attachment()
+                .filename("produtos." + formato.getExtensao())
+                .build();
+        StreamingResponseBody corpo = saida -> exportador.exportar(formato, saida);
+        return ResponseEntity.ok()
+                .contentType(formato.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(corpo);
+    }
+
+    private static ResponseEntity.BodyBuilder naoModificado(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag);
+    }
+}
@@ -0,0 +1,98 @@
+package com.fiap.produto.controller.acesso;
+
+import com.fiap.produto.config.log.LogAcessoProperties;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Uma linha chave=valor por requisicao no logger produto.acesso, no lugar dos logs INFO de cada chamada no controller.
+// Erros e requisicoes lentas sempre entram; as demais so por amostragem
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class LogAcessoFilter extends OncePerRequestFilter {
+
+    static final String LOGGER = "produto.acesso";
+    private static final Logger log = LoggerFactory.getLogger(LOGGER);
+
+    private final LogAcessoProperties properties;
+
+    // Desligar o logger produto.acesso em /actuator/loggers tambem desliga o filtro
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isHabilitado() || !log.isInfoEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long inicio = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            registrar(request, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, System.nanoTime() - inicio);
+            throw e;
+        }
+        if (request.isAsyncStarted()) {
+            // Exportacao em streaming: a duracao so e conhecida quando a resposta termina
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    registrar(request, response.getStatus(), System.nanoTime() - inicio);
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+        } else {
+            registrar(request, response.getStatus(), System.nanoTime() - inicio);
+        }
+    }
+
+    String motivo(int status, long duracaoNanos) {
+        if (status >= 400) {
+            return "erro";
+        }
+        if (duracaoNanos >= properties.getLimiarLento().toNanos()) {
+            return "lento";
+        }
+        double taxa = properties.getTaxaAmostragem();
+        if (taxa >= 1 || (taxa > 0 && ThreadLocalRandom.current().nextDouble() < taxa)) {
+            return "amostra";
+        }
+        return null;
+    }
+
+    private void registrar(HttpServletRequest request, int status, long duracaoNanos) {
+        String motivo = motivo(status, duracaoNanos);
+        if (motivo == null) {
+            return;
+        }
+        String consulta = request.getQueryString();
+        log.info("metodo={} caminho={} status={} duracao_us={} motivo={}",
+                request.getMethod(), consulta == null ? request.getRequestURI() : request.getRequestURI() + "?" + consulta,
+                status, duracaoNanos / 1_000, motivo);
+    }
+}
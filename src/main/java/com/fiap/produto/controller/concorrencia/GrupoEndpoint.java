@@ -0,0 +1,49 @@
+package com.fiap.produto.controller.concorrencia;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+
+import java.util.Set;
+
+// Cada grupo tem limite proprio: uma listagem pesada nao deve derrubar as consultas por SKU
+@Getter
+@RequiredArgsConstructor
+public enum GrupoEndpoint {
+    CONSULTA_SKU("consulta-sku"),
+    LISTAGEM("listagem"),
+    ESCRITA("escrita");
+
+    private static final String RAIZ = "/produtos";
+    private static final Set<String> SUBCAMINHOS_LISTAGEM = Set.of("/search", "/estatisticas", "/pagina");
+
+    private final String chave;
+
+    // Null para o que fica fora do limitador: actuator, swagger, estatisticas de cache e a exportacao,
+    // que e longa por natureza e so puxaria o limite para baixo
+    public static GrupoEndpoint de(HttpServletRequest request) {
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        if (!caminho.equals(RAIZ) && !caminho.startsWith(RAIZ + "/")) {
+            return null;
+        }
+        String resto = caminho.substring(RAIZ.length());
+        String metodo = request.getMethod();
+        if (HttpMethod.GET.matches(metodo) || HttpMethod.HEAD.matches(metodo)) {
+            if (resto.isEmpty()) {
+                return request.getParameter("skus") != null ? CONSULTA_SKU : LISTAGEM;
+            }
+            if (SUBCAMINHOS_LISTAGEM.contains(resto)) {
+                return LISTAGEM;
+            }
+            if (resto.equals("/export") || resto.startsWith("/cache/") || resto.indexOf('/', 1) >= 0) {
+                return null;
+            }
+            return CONSULTA_SKU;
+        }
+        if (HttpMethod.POST.matches(metodo) && resto.equals("/lookup")) {
+            return CONSULTA_SKU;
+        }
+        return HttpMethod.OPTIONS.matches(metodo) ? null : ESCRITA;
+    }
+}
@@ -0,0 +1,69 @@
+package com.fiap.produto.controller.concorrencia;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Limite de requisicoes simultaneas ajustado como no controle de congestionamento do TCP (AIMD):
+// sobe 1/limite a cada resposta rapida com o limite em uso e cai por um fator quando a latencia passa do limiar
+class LimitadorAimd {
+
+    private final int minimo;
+    private final int maximo;
+    private final double fatorReducao;
+    private final long limiarNanos;
+
+    private final AtomicInteger emAndamento = new AtomicInteger();
+    private final LongAdder rejeicoes = new LongAdder();
+    private volatile double limite;
+    // Requisicoes admitidas antes da ultima reducao ja contavam com o limite antigo; nao reduzem de novo
+    private long ultimaReducaoNanos = Long.MIN_VALUE;
+
+    LimitadorAimd(int inicial, int minimo, int maximo, double fatorReducao, long limiarNanos) {
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.fatorReducao = fatorReducao;
+        this.limiarNanos = limiarNanos;
+        this.limite = Math.max(minimo, Math.min(maximo, inicial));
+    }
+
+    boolean tentarAdquirir() {
+        int limiteAtual = (int) limite;
+        while (true) {
+            int atual = emAndamento.get();
+            if (atual >= limiteAtual) {
+                rejeicoes.increment();
+                return false;
+            }
+            if (emAndamento.compareAndSet(atual, atual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void liberar(long inicioNanos, long fimNanos, boolean falhou) {
+        int emUso = emAndamento.getAndDecrement();
+        synchronized (this) {
+            if (falhou || fimNanos - inicioNanos > limiarNanos) {
+                if (inicioNanos > ultimaReducaoNanos) {
+                    limite = Math.max(minimo, limite * fatorReducao);
+                    ultimaReducaoNanos = fimNanos;
+                }
+            } else if (emUso * 2 >= limite) {
+                // So cresce se o limite estava sendo usado; com pouca carga nao ha sinal para subir
+                limite = Math.min(maximo, limite + 1 / limite);
+            }
+        }
+    }
+
+    int limite() {
+        return (int) limite;
+    }
+
+    int emAndamento() {
+        return emAndamento.get();
+    }
+
+    long rejeicoes() {
+        return rejeicoes.sum();
+    }
+}
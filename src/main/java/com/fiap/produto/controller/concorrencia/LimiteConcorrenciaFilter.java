@@ -0,0 +1,126 @@
+package com.fiap.produto.controller.concorrencia;
+
+import com.fiap.produto.config.concorrencia.LimiteConcorrenciaProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Com o banco lento as requisicoes se acumulam nas threads e na fila do Hikari ate todas estourarem juntas.
+// Acima do limite adaptativo de cada grupo a resposta e um 503 imediato com Retry-After
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class LimiteConcorrenciaFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private static final byte[] CORPO_REJEICAO = "{\"error\":\"Serviço sobrecarregado; tente novamente\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final LimiteConcorrenciaProperties properties;
+    private final Map<GrupoEndpoint, LimitadorAimd> limitadores = new EnumMap<>(GrupoEndpoint.class);
+
+    public LimiteConcorrenciaFilter(LimiteConcorrenciaProperties properties) {
+        this.properties = properties;
+        for (GrupoEndpoint grupo : GrupoEndpoint.values()) {
+            Duration limiar = properties.getLimiarLatencia().getOrDefault(grupo.getChave(), Duration.ofMillis(500));
+            limitadores.put(grupo, new LimitadorAimd(properties.getLimiteInicial(), properties.getLimiteMinimo(),
+                    properties.getLimiteMaximo(), properties.getFatorReducao(), limiar.toNanos()));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isHabilitado() || GrupoEndpoint.de(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        LimitadorAimd limitador = limitadores.get(GrupoEndpoint.de(request));
+        if (!limitador.tentarAdquirir()) {
+            rejeitar(response);
+            return;
+        }
+        long inicio = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            limitador.liberar(inicio, System.nanoTime(), true);
+            throw e;
+        }
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    limitador.liberar(inicio, System.nanoTime(), falhou(response));
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+        } else {
+            limitador.liberar(inicio, System.nanoTime(), falhou(response));
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        limitadores.forEach((grupo, limitador) -> {
+            Gauge.builder("produto.concorrencia.limite", limitador, LimitadorAimd::limite)
+                    .description("Limite atual de requisicoes simultaneas do grupo")
+                    .tag("grupo", grupo.getChave())
+                    .register(registry);
+            Gauge.builder("produto.concorrencia.em.andamento", limitador, LimitadorAimd::emAndamento)
+                    .description("Requisicoes do grupo em andamento")
+                    .tag("grupo", grupo.getChave())
+                    .register(registry);
+            FunctionCounter.builder("produto.concorrencia.rejeitadas", limitador, LimitadorAimd::rejeicoes)
+                    .description("Requisicoes rejeitadas com 503 por excesso de concorrencia")
+                    .tag("grupo", grupo.getChave())
+                    .register(registry);
+        });
+    }
+
+    LimitadorAimd limitador(GrupoEndpoint grupo) {
+        return limitadores.get(grupo);
+    }
+
+    // 4xx e resposta do cliente; so erro do servidor (timeout do pool, banco fora) indica sobrecarga
+    private static boolean falhou(HttpServletResponse response) {
+        return response.getStatus() >= 500;
+    }
+
+    private void rejeitar(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, properties.getRetryAfter().toSeconds())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(CORPO_REJEICAO.length);
+        response.getOutputStream().write(CORPO_REJEICAO);
+    }
+}
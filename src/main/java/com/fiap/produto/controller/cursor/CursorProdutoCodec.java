@@ -0,0 +1,40 @@
+package com.fiap.produto.controller.cursor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public final class CursorProdutoCodec {
+
+    private static final String PREFIXO = "id:";
+
+    private CursorProdutoCodec() {
+    }
+
+    public static String codificar(Long id) {
+        if (id == null) {
+            return null;
+        }
+        byte[] bytes = (PREFIXO + id).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    public static Long decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String valor;
+        try {
+            valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+        if (!valor.startsWith(PREFIXO)) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+        try {
+            return Long.parseLong(valor.substring(PREFIXO.length()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+    }
+}
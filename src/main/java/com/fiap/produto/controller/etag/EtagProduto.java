@@ -0,0 +1,55 @@
+package com.fiap.produto.controller.etag;
+
+import com.fiap.produto.domain.Produto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public final class EtagProduto {
+
+    private static final String CURINGA = "*";
+    private static final String PREFIXO_FRACO = "W/";
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIMO = 0x100000001b3L;
+
+    private EtagProduto() {
+    }
+
+    public static String deCatalogo(long versao) {
+        return "\"catalogo-" + versao + "\"";
+    }
+
+    // Com @Version o par id/versao identifica o conteudo; o hash FNV-1a fica para produtos sem versao
+    public static String deProduto(Produto produto) {
+        if (produto.getVersao() != null) {
+            return "\"" + produto.getId() + "-" + produto.getVersao() + "\"";
+        }
+        long hash = FNV_OFFSET;
+        String conteudo = produto.getId() + "|" + produto.getNome() + "|" + produto.getSku() + "|" + produto.getPreco();
+        for (byte b : conteudo.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= FNV_PRIMO;
+        }
+        return "\"" + Long.toHexString(hash) + "\"";
+    }
+
+    public static boolean corresponde(List<String> ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        for (String candidato : ifNoneMatch) {
+            String valor = candidato.trim();
+            if (CURINGA.equals(valor)) {
+                return true;
+            }
+            // If-None-Match usa comparacao fraca (RFC 9110)
+            if (valor.startsWith(PREFIXO_FRACO)) {
+                valor = valor.substring(PREFIXO_FRACO.length());
+            }
+            if (valor.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
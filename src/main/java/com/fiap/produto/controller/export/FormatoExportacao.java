@@ -0,0 +1,24 @@
+package com.fiap.produto.controller.export;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+
+@Getter
+@RequiredArgsConstructor
+public enum FormatoExportacao {
+    NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson")),
+    CSV("csv", MediaType.parseMediaType("text/csv;charset=UTF-8"));
+
+    private final String extensao;
+    private final MediaType mediaType;
+
+    public static FormatoExportacao de(String valor) {
+        return Arrays.stream(values())
+                .filter(formato -> formato.extensao.equalsIgnoreCase(valor))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Formato de exportação não suportado: " + valor));
+    }
+}
@@ -0,0 +1,112 @@
+package com.fiap.produto.controller.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.dto.response.ProdutoResponseDTO;
+import com.fiap.produto.mapper.ProdutoMapper;
+import com.fiap.produto.usecase.service.ExportarProdutosServiceUseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProdutoExportador {
+
+    // Envia o que ja foi escrito ao cliente a cada N linhas, sem esperar o fim da leitura
+    static final int LINHAS_POR_FLUSH = 500;
+
+    private final ExportarProdutosServiceUseCase exportarUseCase;
+    private final ProdutoMapper mapper;
+    private final ObjectMapper objectMapper;
+
+    public void exportar(FormatoExportacao formato, OutputStream saida) throws IOException {
+        long inicio = System.nanoTime();
+        long total;
+        if (formato == FormatoExportacao.NDJSON) {
+            total = exportarNdjson(saida);
+        } else {
+            total = exportarCsv(saida);
+        }
+        log.info("Exportação {} concluída: {} produtos em {} ms", formato, total, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    private long exportarNdjson(OutputStream saida) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(saida)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            long[] linhas = {0};
+            executar(produto -> {
+                try {
+                    generator.writeObject(mapper.toResponseDTO(produto));
+                    generator.writeRaw('\n');
+                    if (++linhas[0] % LINHAS_POR_FLUSH == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.flush();
+            return linhas[0];
+        }
+    }
+
+    private long exportarCsv(OutputStream saida) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        writer.write("id,nome,sku,preco\n");
+        long[] linhas = {0};
+        executar(produto -> {
+            try {
+                escreverLinhaCsv(writer, mapper.toResponseDTO(produto));
+                if (++linhas[0] % LINHAS_POR_FLUSH == 0) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+        return linhas[0];
+    }
+
+    private void executar(Consumer<Produto> consumidor) throws IOException {
+        try {
+            exportarUseCase.execute(consumidor);
+        } catch (UncheckedIOException e) {
+            // Normalmente o cliente desconectou no meio da exportacao
+            throw e.getCause();
+        }
+    }
+
+    private void escreverLinhaCsv(Writer writer, ProdutoResponseDTO dto) throws IOException {
+        writer.write(String.valueOf(dto.getId()));
+        writer.write(',');
+        writer.write(escaparCsv(dto.getNome()));
+        writer.write(',');
+        writer.write(escaparCsv(dto.getSku()));
+        writer.write(',');
+        writer.write(dto.getPreco() == null ? "" : String.valueOf(dto.getPreco()));
+        writer.write('\n');
+    }
+
+    static String escaparCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
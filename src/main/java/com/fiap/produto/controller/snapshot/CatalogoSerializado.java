@@ -0,0 +1,13 @@
+package com.fiap.produto.controller.snapshot;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CatalogoSerializado {
+    private final long versao;
+    private final int totalProdutos;
+    private final byte[] json;
+    private final byte[] gzip;
+}
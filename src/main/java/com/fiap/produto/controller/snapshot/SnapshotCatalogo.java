@@ -0,0 +1,133 @@
+package com.fiap.produto.controller.snapshot;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.mapper.ProdutoMapper;
+import com.fiap.produto.usecase.service.BuscarVersaoCatalogoServiceUseCase;
+import com.fiap.produto.usecase.service.CarregarSnapshotArquivoServiceUseCase;
+import com.fiap.produto.usecase.service.ExportarProdutosServiceUseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "produto.snapshot", name = "habilitado", havingValue = "true", matchIfMissing = true)
+public class SnapshotCatalogo {
+
+    private final BuscarVersaoCatalogoServiceUseCase versaoUseCase;
+    private final ExportarProdutosServiceUseCase exportarUseCase;
+    private final ProdutoMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final CarregarSnapshotArquivoServiceUseCase snapshotArquivoUseCase;
+
+    private volatile CatalogoSerializado atual;
+    // JSON de cada produto da ultima reconstrucao: so produtos alterados voltam a ser serializados
+    private Map<Long, Fragmento> fragmentos = new HashMap<>();
+
+    public Optional<CatalogoSerializado> atual() {
+        return Optional.ofNullable(atual);
+    }
+
+    // Varias escritas dentro do intervalo geram uma unica reconstrucao; tambem detecta escritas de outras instancias
+    @Scheduled(fixedDelayString = "${produto.snapshot.intervalo-verificacao-ms:1000}")
+    public void atualizar() {
+        try {
+            long versao = versaoUseCase.execute();
+            if (atual == null) {
+                aquecerDoArquivo();
+            }
+            CatalogoSerializado snapshot = atual;
+            if (snapshot == null || snapshot.getVersao() != versao) {
+                reconstruir(versao);
+            }
+        } catch (RuntimeException e) {
+            // Mantem o snapshot anterior; enquanto a versao divergir a listagem cai no caminho normal
+            log.warn("Falha ao reconstruir snapshot do catálogo: {}", e.getMessage());
+        }
+    }
+
+    // Partida quente: monta o JSON a partir do snapshot em arquivo. Se a versao do arquivo ja for a do banco, a listagem
+    // e servida sem varrer o banco (o filtro compara as versoes a cada requisicao); senao, a reconstrucao pelo banco
+    // que vem em seguida so reserializa os produtos que mudaram desde o arquivo
+    private void aquecerDoArquivo() {
+        try {
+            snapshotArquivoUseCase.execute().ifPresent(arquivo -> aquecer(arquivo.getVersao(), arquivo::percorrer));
+        } catch (RuntimeException e) {
+            log.warn("Falha ao carregar snapshot do catálogo do arquivo: {}", e.getMessage());
+        }
+    }
+
+    synchronized void reconstruir(long versao) {
+        reconstruir(versao, exportarUseCase::execute);
+    }
+
+    // Nao troca por uma versao do arquivo um snapshot ja reconstruido pelo banco
+    synchronized void aquecer(long versao, Consumer<Consumer<Produto>> fonte) {
+        if (atual == null) {
+            reconstruir(versao, fonte);
+        }
+    }
+
+    private void reconstruir(long versao, Consumer<Consumer<Produto>> fonte) {
+        long inicio = System.nanoTime();
+        Map<Long, Fragmento> novos = new HashMap<>(Math.max(16, fragmentos.size() * 4 / 3 + 1));
+        ByteArrayOutputStream json = new ByteArrayOutputStream(Math.max(64, atual == null ? 64 : atual.getJson().length));
+        int[] reserializados = {0};
+        json.write('[');
+        fonte.accept(produto -> {
+            Fragmento fragmento = fragmentos.get(produto.getId());
+            if (fragmento == null || !fragmento.produto().equals(produto)) {
+                fragmento = new Fragmento(produto, serializar(produto));
+                reserializados[0]++;
+            }
+            if (!novos.isEmpty()) {
+                json.write(',');
+            }
+            json.writeBytes(fragmento.json());
+            novos.put(produto.getId(), fragmento);
+        });
+        json.write(']');
+
+        byte[] bytes = json.toByteArray();
+        fragmentos = novos;
+        atual = new CatalogoSerializado(versao, novos.size(), bytes, comprimir(bytes));
+        log.info("Snapshot do catálogo versão {} reconstruído: {} produtos ({} reserializados), {} bytes, {} gzip, em {} ms",
+                versao, novos.size(), reserializados[0], bytes.length, atual.getGzip().length,
+                (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    private byte[] serializar(Produto produto) {
+        try {
+            return objectMapper.writeValueAsBytes(mapper.toResponseDTO(produto));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static byte[] comprimir(byte[] bytes) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return saida.toByteArray();
+    }
+
+    private record Fragmento(Produto produto, byte[] json) {
+    }
+}
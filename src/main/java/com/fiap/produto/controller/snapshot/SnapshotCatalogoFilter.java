@@ -0,0 +1,97 @@
+package com.fiap.produto.controller.snapshot;
+
+import com.fiap.produto.controller.etag.EtagProduto;
+import com.fiap.produto.usecase.service.BuscarVersaoCatalogoServiceUseCase;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Collections;
+
+// Atende GET /produtos direto do snapshot em memoria; se o snapshot estiver atrasado em relacao a versao
+// do catalogo, a requisicao segue para o ProdutoController normalmente
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "produto.snapshot", name = "habilitado", havingValue = "true", matchIfMissing = true)
+public class SnapshotCatalogoFilter extends OncePerRequestFilter {
+
+    static final String CAMINHO = "/produtos";
+    private static final String GZIP = "gzip";
+
+    private final SnapshotCatalogo snapshotCatalogo;
+    private final BuscarVersaoCatalogoServiceUseCase versaoUseCase;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+                || request.getQueryString() != null
+                || !CAMINHO.equals(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        var snapshot = snapshotCatalogo.atual().orElse(null);
+        if (snapshot == null || snapshot.getVersao() != versaoUseCase.execute()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String etag = EtagProduto.deCatalogo(snapshot.getVersao());
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (EtagProduto.corresponde(new ServletServerHttpRequest(request).getHeaders().getIfNoneMatch(), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        byte[] corpo = snapshot.getJson();
+        if (aceitaGzip(request)) {
+            corpo = snapshot.getGzip();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(corpo.length);
+        response.getOutputStream().write(corpo);
+    }
+
+    static boolean aceitaGzip(HttpServletRequest request) {
+        for (String cabecalho : Collections.list(request.getHeaders(HttpHeaders.ACCEPT_ENCODING))) {
+            for (String item : cabecalho.split(",")) {
+                String[] partes = item.trim().split(";");
+                String codificacao = partes[0].trim();
+                if ((GZIP.equalsIgnoreCase(codificacao) || "*".equals(codificacao)) && !qualidadeZero(partes)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean qualidadeZero(String[] partes) {
+        for (int i = 1; i < partes.length; i++) {
+            String parametro = partes[i].trim();
+            if (parametro.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parametro.substring(2)) == 0;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
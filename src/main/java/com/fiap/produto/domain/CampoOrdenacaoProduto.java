@@ -0,0 +1,29 @@
+package com.fiap.produto.domain;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+public enum CampoOrdenacaoProduto {
+    ID("id"),
+    NOME("nome"),
+    SKU("sku"),
+    PRECO("preco");
+
+    private final String propriedade;
+
+    CampoOrdenacaoProduto(String propriedade) {
+        this.propriedade = propriedade;
+    }
+
+    public String getPropriedade() {
+        return propriedade;
+    }
+
+    public static CampoOrdenacaoProduto de(String nome) {
+        return Arrays.stream(values())
+                .filter(campo -> campo.propriedade.equals(nome.trim().toLowerCase(Locale.ROOT)))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Campo de ordenação inválido: " + nome
+                        + ". Use id, nome, sku ou preco"));
+    }
+}
@@ -0,0 +1,14 @@
+package com.fiap.produto.domain;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogoVersionado {
+    private long versao;
+    private List<Produto> produtos;
+}
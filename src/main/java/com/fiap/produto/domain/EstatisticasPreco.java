@@ -0,0 +1,14 @@
+package com.fiap.produto.domain;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticasPreco {
+    private long quantidade;
+    private Double precoMinimo;
+    private Double precoMaximo;
+    private Double precoMedio;
+}
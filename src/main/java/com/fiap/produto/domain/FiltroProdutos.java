@@ -0,0 +1,27 @@
+package com.fiap.produto.domain;
+
+import lombok.*;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class FiltroProdutos {
+    private Double precoMin;
+    private Double precoMax;
+    private String skuPrefixo;
+    private String nomeContem;
+    @Builder.Default
+    private CampoOrdenacaoProduto ordenarPor = CampoOrdenacaoProduto.ID;
+    private boolean decrescente;
+
+    // Regras da faixa de preco, comuns a listagem e as estatisticas
+    public void validar() {
+        if ((precoMin != null && precoMin < 0) || (precoMax != null && precoMax < 0)) {
+            throw new IllegalArgumentException("Os limites de preço não podem ser negativos");
+        }
+        if (precoMin != null && precoMax != null && precoMin > precoMax) {
+            throw new IllegalArgumentException("precoMin não pode ser maior que precoMax");
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.fiap.produto.domain;
+
+import lombok.*;
+
+// Mensagem entre instancias: so o necessario para localizar a entrada em cache e comparar versoes.
+// sku nulo numa atualizacao so de preco (nome e SKU nao mudaram); versaoCatalogo e a versao produzida pela escrita
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvalidacaoProduto {
+    private Long produtoId;
+    private String sku;
+    private Long versao;
+    private Long versaoCatalogo;
+
+    public static InvalidacaoProduto de(Produto produto, long versaoCatalogo) {
+        return InvalidacaoProduto.builder()
+                .produtoId(produto.getId())
+                .sku(produto.getSku())
+                .versao(produto.getVersao())
+                .versaoCatalogo(versaoCatalogo)
+                .build();
+    }
+}
@@ -0,0 +1,14 @@
+package com.fiap.produto.domain;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ListagemFiltrada {
+    private List<Produto> produtos;
+    private boolean truncada;
+}
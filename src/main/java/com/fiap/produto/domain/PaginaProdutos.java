@@ -0,0 +1,15 @@
+package com.fiap.produto.domain;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaProdutos {
+    private List<Produto> produtos;
+    private Long ultimoId;
+    private boolean temProxima;
+}
@@ -2,13 +2,31 @@ package com.fiap.produto.domain;
 
 import lombok.*;
 
+import java.util.Set;
+
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Produto {
+
+    // Caminhos literais de GET /produtos/... tem precedencia sobre GET /produtos/{sku}: um produto com um desses
+    // SKUs ficaria inacessivel pela busca por SKU
+    public static final Set<String> SKUS_RESERVADOS = Set.of("search", "estatisticas", "pagina", "export");
+
     private Long id;
     private String nome;
     private String sku;
     private Double preco;
+    private Long versao;
+
+    public static boolean skuReservado(String sku) {
+        return sku != null && SKUS_RESERVADOS.contains(sku);
+    }
+
+    public void validarSku() {
+        if (skuReservado(sku)) {
+            throw new IllegalArgumentException("SKU reservado: " + sku);
+        }
+    }
 }
@@ -0,0 +1,29 @@
+package com.fiap.produto.domain;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProdutoAlterado {
+    private TipoAlteracaoProduto tipo;
+    private Long produtoId;
+    private String sku;
+    private String nome;
+    private Double preco;
+    private Instant ocorridoEm;
+
+    public static ProdutoAlterado de(Produto produto, TipoAlteracaoProduto tipo) {
+        return ProdutoAlterado.builder()
+                .tipo(tipo)
+                .produtoId(produto.getId())
+                .sku(produto.getSku())
+                .nome(produto.getNome())
+                .preco(produto.getPreco())
+                .ocorridoEm(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,14 @@
+package com.fiap.produto.domain;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoCadastroLote {
+    private String sku;
+    private StatusCadastroLote status;
+    private Produto produto;
+    private String mensagem;
+}
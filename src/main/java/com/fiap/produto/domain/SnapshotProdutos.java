@@ -0,0 +1,18 @@
+package com.fiap.produto.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.function.Consumer;
+
+// Produtos de um snapshot do catalogo e a versao que eles refletem; cada percurso os le de novo da origem
+@Getter
+@AllArgsConstructor
+public class SnapshotProdutos {
+    private final long versao;
+    private final Consumer<Consumer<Produto>> percurso;
+
+    public void percorrer(Consumer<Produto> consumidor) {
+        percurso.accept(consumidor);
+    }
+}
@@ -0,0 +1,8 @@
+package com.fiap.produto.domain;
+
+public enum StatusCadastroLote {
+    CRIADO,
+    SKU_JA_CADASTRADO,
+    SKU_DUPLICADO_NO_LOTE,
+    INVALIDO
+}
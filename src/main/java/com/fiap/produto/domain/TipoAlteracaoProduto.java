@@ -0,0 +1,6 @@
+package com.fiap.produto.domain;
+
+public enum TipoAlteracaoProduto {
+    CRIADO,
+    ATUALIZADO
+}
@@ -0,0 +1,18 @@
+package com.fiap.produto.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AtualizacaoPrecoRequestDTO {
+    @NotNull
+    @Positive
+    private Double preco;
+    // Versao lida pelo cliente (campo versao da resposta); se o produto mudou desde entao a resposta e 409
+    @NotNull
+    private Long versao;
+}
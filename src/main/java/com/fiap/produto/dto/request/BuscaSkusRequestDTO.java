@@ -0,0 +1,13 @@
+package com.fiap.produto.dto.request;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BuscaSkusRequestDTO {
+    private List<String> skus;
+}
@@ -0,0 +1,22 @@
+package com.fiap.produto.dto.request;
+
+import lombok.*;
+
+// Parametros de query de GET /produtos; sem nenhum deles a listagem segue o caminho do catalogo completo
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FiltroProdutosRequestDTO {
+    private Double precoMin;
+    private Double precoMax;
+    private String skuPrefix;
+    private String nomeContains;
+    private String sort;
+    private Integer limite;
+
+    public boolean possuiFiltro() {
+        return precoMin != null || precoMax != null || skuPrefix != null || nomeContains != null
+                || sort != null || limite != null;
+    }
+}
@@ -11,4 +11,6 @@ public class ProdutoRequestDTO {
     private String nome;
     private String sku;
     private Double preco;
+    // Opcional no PUT: quando informada, a atualizacao so ocorre se o produto ainda estiver nessa versao
+    private Long versao;
 }
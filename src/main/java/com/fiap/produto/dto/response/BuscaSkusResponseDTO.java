@@ -0,0 +1,18 @@
+package com.fiap.produto.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BuscaSkusResponseDTO {
+
+    private List<ProdutoResponseDTO> produtos;
+    private List<String> skusNaoEncontrados;
+}
@@ -0,0 +1,19 @@
+package com.fiap.produto.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheEstatisticasResponseDTO {
+
+    private long tamanho;
+    private long acertos;
+    private long faltas;
+    private double taxaAcerto;
+    private long despejos;
+}
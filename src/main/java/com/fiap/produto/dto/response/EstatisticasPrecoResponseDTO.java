@@ -0,0 +1,18 @@
+package com.fiap.produto.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticasPrecoResponseDTO {
+
+    private long quantidade;
+    private Double precoMinimo;
+    private Double precoMaximo;
+    private Double precoMedio;
+}
@@ -0,0 +1,19 @@
+package com.fiap.produto.dto.response;
+
+import com.fiap.produto.domain.StatusCadastroLote;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProdutoLoteResponseDTO {
+
+    private String sku;
+    private StatusCadastroLote status;
+    private ProdutoResponseDTO produto;
+    private String mensagem;
+}
@@ -15,4 +15,5 @@ public class ProdutoResponseDTO {
     private String nome;
     private String sku;
     private Double preco;
+    private Long versao;
 }
\ No newline at end of file
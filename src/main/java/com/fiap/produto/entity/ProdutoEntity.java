@@ -2,24 +2,49 @@ package com.fiap.produto.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
-@Table(name = "produtos")
+// O indice de sku para LIKE 'prefixo%' (text_pattern_ops) so existe no PostgreSQL: ver schema-postgresql.sql
+@Table(name = "produtos",
+        uniqueConstraints = @UniqueConstraint(name = ProdutoEntity.UK_SKU, columnNames = "sku"),
+        indexes = {
+                @Index(name = "idx_produtos_preco", columnList = "preco"),
+                @Index(name = "idx_produtos_versao_catalogo", columnList = "versao_catalogo")
+        })
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class ProdutoEntity {
+    public static final String UK_SKU = "uk_produtos_sku";
+    // Criada pelos scripts schema-<banco>.sql: um nextval por transacao de escrita, sem linha de contador disputada
+    public static final String SEQ_VERSAO_CATALOGO = "catalogo_versao_seq";
+
+    // Sequence com otimizador pooled: IDENTITY impede o Hibernate de agrupar INSERTs em lote
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "produtos_seq")
+    @SequenceGenerator(name = "produtos_seq", sequenceName = "produtos_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private String nome;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String sku;
 
     @Column(nullable = false)
     private Double preco;
+
+    // Default no banco: com ddl-auto=update, a coluna adicionada a uma tabela que ja tem produtos nasce preenchida
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long versao;
+
+    // Versao do catalogo da ultima escrita da linha; a versao do catalogo e a maior delas (idx_produtos_versao_catalogo)
+    @ColumnDefault("0")
+    @Column(name = "versao_catalogo", nullable = false)
+    @Builder.Default
+    private Long versaoCatalogo = 0L;
 }
@@ -0,0 +1,39 @@
+package com.fiap.produto.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "produto_outbox")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProdutoOutboxEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "produto_outbox_seq")
+    @SequenceGenerator(name = "produto_outbox_seq", sequenceName = "produto_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    // Atribuida pelo banco no INSERT (default nextval, ver schema-*.sql), depois do lock da linha do produto: duas
+    // escritas do mesmo produto recebem valores na ordem de commit. O id nao serve: cada instancia reserva blocos de 50
+    @Column(insertable = false, updatable = false)
+    private Long ordem;
+
+    @Column(nullable = false)
+    private Long produtoId;
+
+    @Column(nullable = false)
+    private String chave;
+
+    @Column(nullable = false)
+    private String tipo;
+
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant criadoEm;
+}
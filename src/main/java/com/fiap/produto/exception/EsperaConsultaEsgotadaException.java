@@ -0,0 +1,8 @@
+package com.fiap.produto.exception;
+
+public class EsperaConsultaEsgotadaException extends RuntimeException {
+
+    public EsperaConsultaEsgotadaException(String sku) {
+        super("Tempo esgotado aguardando a consulta do SKU " + sku);
+    }
+}
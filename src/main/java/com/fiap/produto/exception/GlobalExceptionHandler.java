@@ -3,6 +3,7 @@ package com.fiap.produto.exception;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -22,6 +23,40 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(error);
     }
 
+    @ExceptionHandler(ProdutoNaoEncontradoException.class)
+    public ResponseEntity<Map<String, String>> handleProdutoNaoEncontrado(ProdutoNaoEncontradoException ex) {
+        log.debug("Produto não encontrado: {}", ex.getMessage());
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return ResponseEntity.badRequest().body(error);
+    }
+
+    @ExceptionHandler(SkuJaCadastradoException.class)
+    public ResponseEntity<Map<String, String>> handleSkuJaCadastrado(SkuJaCadastradoException ex) {
+        log.warn("SKU já cadastrado: {}", ex.getSku());
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler({VersaoConflitanteException.class, ObjectOptimisticLockingFailureException.class})
+    public ResponseEntity<Map<String, String>> handleConflitoDeVersao(RuntimeException ex) {
+        log.warn("Conflito de versão: {}", ex.getMessage());
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex instanceof VersaoConflitanteException
+                ? ex.getMessage()
+                : "Produto foi alterado por outra requisição; recarregue e tente novamente");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(EsperaConsultaEsgotadaException.class)
+    public ResponseEntity<Map<String, String>> handleEsperaConsultaEsgotada(EsperaConsultaEsgotadaException ex) {
+        log.warn("Espera por consulta em andamento esgotada: {}", ex.getMessage());
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Map<String, String>> handleRuntimeException(RuntimeException ex) {
         log.error("Runtime exception: {}", ex.getMessage(), ex);
@@ -0,0 +1,14 @@
+package com.fiap.produto.exception;
+
+// Resposta esperada para SKUs inexistentes: sem stack trace, que custaria mais que a propria consulta
+public class ProdutoNaoEncontradoException extends IllegalArgumentException {
+
+    public ProdutoNaoEncontradoException(String mensagem) {
+        super(mensagem);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
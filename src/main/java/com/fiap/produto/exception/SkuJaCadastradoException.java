@@ -0,0 +1,15 @@
+package com.fiap.produto.exception;
+
+public class SkuJaCadastradoException extends RuntimeException {
+
+    private final String sku;
+
+    public SkuJaCadastradoException(String sku, Throwable causa) {
+        super("SKU já cadastrado!", causa);
+        this.sku = sku;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+}
@@ -0,0 +1,8 @@
+package com.fiap.produto.exception;
+
+public class VersaoConflitanteException extends RuntimeException {
+
+    public VersaoConflitanteException(Long id, Long versaoEsperada) {
+        super("Produto " + id + " foi alterado por outra requisição; versão " + versaoEsperada + " não é mais a atual");
+    }
+}
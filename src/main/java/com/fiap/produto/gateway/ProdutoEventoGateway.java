@@ -0,0 +1,10 @@
+package com.fiap.produto.gateway;
+
+import com.fiap.produto.domain.ProdutoAlterado;
+
+import java.util.List;
+
+public interface ProdutoEventoGateway {
+    void registrar(ProdutoAlterado evento);
+    void registrarTodos(List<ProdutoAlterado> eventos);
+}
@@ -0,0 +1,63 @@
+package com.fiap.produto.gateway;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.produto.domain.ProdutoAlterado;
+import com.fiap.produto.entity.ProdutoOutboxEntity;
+import com.fiap.produto.repository.ProdutoOutboxRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class ProdutoEventoGatewayImpl implements ProdutoEventoGateway {
+
+    private final ProdutoOutboxRepository repository;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(ProdutoAlterado evento) {
+        repository.save(toEntity(evento));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarTodos(List<ProdutoAlterado> eventos) {
+        for (int inicio = 0; inicio < eventos.size(); inicio += ProdutoGatewayImpl.TAMANHO_BLOCO_INSERCAO) {
+            int fim = Math.min(inicio + ProdutoGatewayImpl.TAMANHO_BLOCO_INSERCAO, eventos.size());
+            List<ProdutoOutboxEntity> bloco = eventos.subList(inicio, fim).stream()
+                    .map(this::toEntity)
+                    .collect(Collectors.toList());
+            repository.saveAll(bloco);
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
+    private ProdutoOutboxEntity toEntity(ProdutoAlterado evento) {
+        return ProdutoOutboxEntity.builder()
+                .produtoId(evento.getProdutoId())
+                .chave(evento.getSku())
+                .tipo(evento.getTipo().name())
+                .payload(serializar(evento))
+                .criadoEm(Instant.now())
+                .build();
+    }
+
+    private String serializar(ProdutoAlterado evento) {
+        try {
+            return objectMapper.writeValueAsString(evento);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar evento do produto " + evento.getSku(), e);
+        }
+    }
+}
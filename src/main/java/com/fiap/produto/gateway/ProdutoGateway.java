@@ -1,14 +1,29 @@
 package com.fiap.produto.gateway;
 
+import com.fiap.produto.domain.EstatisticasPreco;
+import com.fiap.produto.domain.FiltroProdutos;
 import com.fiap.produto.domain.Produto;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ProdutoGateway {
     Produto salvar(Produto produto);
+    Produto upsertPorSku(Produto produto);
     Produto atualizar(Produto produto);
+    // Vazio quando o id nao existe ou a versao nao e mais a esperada
+    Optional<Produto> atualizarPreco(Long id, Double preco, Long versaoEsperada);
     Optional<Produto> buscarPorSku(String sku);
+    List<Produto> buscarPorSkus(Collection<String> skus);
     Optional<Produto> buscarPorId(Long id);
     List<Produto> listarTodos();
+    List<Produto> listarAposId(Long id, int limite);
+    List<Produto> listarFiltrado(FiltroProdutos filtro, int limite);
+    EstatisticasPreco estatisticasPreco(FiltroProdutos filtro);
+    void percorrerTodos(Consumer<Produto> consumidor);
+    // Grava somente os produtos cujo SKU ainda nao existe e devolve os gravados
+    List<Produto> salvarNovos(List<Produto> produtos);
+    long versaoCatalogo();
 }
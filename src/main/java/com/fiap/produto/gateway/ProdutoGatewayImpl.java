@@ -1,47 +1,244 @@
 package com.fiap.produto.gateway;
 
+import com.fiap.produto.domain.CampoOrdenacaoProduto;
+import com.fiap.produto.domain.EstatisticasPreco;
+import com.fiap.produto.domain.FiltroProdutos;
+import com.fiap.produto.domain.InvalidacaoProduto;
 import com.fiap.produto.domain.Produto;
 import com.fiap.produto.entity.ProdutoEntity;
+import com.fiap.produto.exception.SkuJaCadastradoException;
+import com.fiap.produto.exception.VersaoConflitanteException;
+import com.fiap.produto.gateway.bloom.FiltroBloomSkus;
+import com.fiap.produto.gateway.transacao.AposCommit;
+import com.fiap.produto.gateway.versao.ModeloLeituraLocal;
 import com.fiap.produto.mapper.ProdutoMapper;
+import com.fiap.produto.messaging.PublicadorInvalidacaoCache;
 import com.fiap.produto.repository.ProdutoRepository;
+import com.fiap.produto.repository.ProdutoSpecifications;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
 @RequiredArgsConstructor
 public class ProdutoGatewayImpl implements ProdutoGateway {
 
+    // Multiplo de hibernate.jdbc.batch_size; no INSERT de varias linhas mantem os parametros (3 por produto) bem
+    // abaixo do limite dos drivers JDBC
+    static final int TAMANHO_BLOCO_INSERCAO = 500;
+    // Mantem a clausula IN bem abaixo do limite de parametros dos drivers JDBC
+    static final int TAMANHO_MAXIMO_CLAUSULA_IN = 1000;
+
     private final ProdutoRepository repository;
     private final ProdutoMapper mapper;
+    private final EntityManager entityManager;
+    // Recebe o SKU antes da escrita; depois do commit e notificado junto com os demais modelos
+    private final FiltroBloomSkus filtroSkus;
+    private final List<ModeloLeituraLocal> modelosLocais;
+    private final PublicadorInvalidacaoCache publicadorInvalidacao;
 
     @Override
+    @Transactional
     public Produto salvar(Produto produto) {
+        filtroSkus.registrar(produto.getSku());
+        ProdutoEntity entity = mapper.toNovaEntity(produto);
+        long versao = repository.proximaVersaoCatalogo();
+        entity.setVersaoCatalogo(versao);
+        Produto salvo;
+        try {
+            // A constraint uk_produtos_sku decide a unicidade: sem consulta previa e sem janela de corrida
+            salvo = mapper.toDomain(repository.saveAndFlush(entity));
+        } catch (DataIntegrityViolationException e) {
+            throw traduzirViolacaoSku(produto.getSku(), e);
+        }
+        notificarAposCommit(List.of(salvo), versao);
+        return salvo;
+    }
+
+    @Override
+    @Transactional
+    public Produto upsertPorSku(Produto produto) {
+        filtroSkus.registrar(produto.getSku());
         ProdutoEntity entity = mapper.toEntity(produto);
-        return mapper.toDomain(repository.save(entity));
+        long versao = repository.proximaVersaoCatalogo();
+        entity.setVersaoCatalogo(versao);
+        Produto resultado = mapper.toDomain(repository.upsertPorSku(entity));
+        notificarAposCommit(List.of(resultado), versao);
+        return resultado;
     }
 
     @Override
+    @Transactional
     public Produto atualizar(Produto produto) {
-        ProdutoEntity entity = mapper.toEntity(produto);
-        return mapper.toDomain(repository.save(entity));
+        // Carrega a entidade gerenciada: com @Version, um merge de entidade sem versao seria tratado como insert
+        ProdutoEntity entity = repository.findById(produto.getId())
+                .orElseThrow(() -> new IllegalArgumentException("Produto não encontrado para ID: " + produto.getId()));
+        if (produto.getVersao() != null && !produto.getVersao().equals(entity.getVersao())) {
+            throw new VersaoConflitanteException(produto.getId(), produto.getVersao());
+        }
+        filtroSkus.registrar(produto.getSku());
+        mapper.atualizarEntity(produto, entity);
+        long versao = repository.proximaVersaoCatalogo();
+        entity.setVersaoCatalogo(versao);
+        // Flush aqui para devolver a versao ja incrementada (e falhar cedo se outra transacao venceu)
+        Produto atualizado = mapper.toDomain(repository.saveAndFlush(entity));
+        notificarAposCommit(List.of(atualizado), versao);
+        return atualizado;
     }
 
     @Override
+    @Transactional
+    public Optional<Produto> atualizarPreco(Long id, Double preco, Long versaoEsperada) {
+        return repository.atualizarPreco(id, preco, versaoEsperada).map(entity -> {
+            Produto atualizado = mapper.toDomain(entity);
+            long versao = entity.getVersaoCatalogo();
+            // Os modelos locais recebem a linha inteira. A mensagem segue sem SKU: nome e SKU nao mudaram
+            AposCommit.executar(() -> {
+                modelosLocais.forEach(modelo -> modelo.aplicar(atualizado, versao));
+                publicadorInvalidacao.publicar(InvalidacaoProduto.builder()
+                        .produtoId(id)
+                        .versao(atualizado.getVersao())
+                        .versaoCatalogo(versao)
+                        .build());
+            });
+            return atualizado;
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<Produto> buscarPorSku(String sku) {
         return repository.findBySku(sku).map(mapper::toDomain);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<Produto> buscarPorSkus(Collection<String> skus) {
+        List<String> lista = new ArrayList<>(skus);
+        List<Produto> produtos = new ArrayList<>(lista.size());
+        for (int inicio = 0; inicio < lista.size(); inicio += TAMANHO_MAXIMO_CLAUSULA_IN) {
+            List<String> bloco = lista.subList(inicio, Math.min(inicio + TAMANHO_MAXIMO_CLAUSULA_IN, lista.size()));
+            repository.findBySkuIn(bloco).forEach(entity -> produtos.add(mapper.toDomain(entity)));
+        }
+        return produtos;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<Produto> buscarPorId(Long id) {
         return repository.findById(id).map(mapper::toDomain);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Produto> listarTodos() {
         return repository.findAll().stream().map(mapper::toDomain).collect(Collectors.toList());
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Produto> listarAposId(Long id, int limite) {
+        return repository.findByIdGreaterThanOrderByIdAsc(id, Limit.of(limite)).stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Produto> listarFiltrado(FiltroProdutos filtro, int limite) {
+        Sort.Direction direcao = filtro.isDecrescente() ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort ordenacao = Sort.by(direcao, filtro.getOrdenarPor().getPropriedade());
+        if (filtro.getOrdenarPor() != CampoOrdenacaoProduto.ID) {
+            // Desempate estavel para campos nao unicos (nome, preco)
+            ordenacao = ordenacao.and(Sort.by(direcao, CampoOrdenacaoProduto.ID.getPropriedade()));
+        }
+        Sort ordenacaoFinal = ordenacao;
+        return repository.findBy(ProdutoSpecifications.de(filtro), consulta -> consulta.sortBy(ordenacaoFinal).limit(limite).all())
+                .stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EstatisticasPreco estatisticasPreco(FiltroProdutos filtro) {
+        return repository.estatisticasPreco(ProdutoSpecifications.de(filtro));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void percorrerTodos(Consumer<Produto> consumidor) {
+        try (Stream<ProdutoEntity> entities = repository.streamTodosOrdenadosPorId()) {
+            entities.forEach(entity -> {
+                consumidor.accept(mapper.toDomain(entity));
+                // Evita que o contexto de persistencia cresca junto com o catalogo
+                entityManager.detach(entity);
+            });
+        }
+    }
+
+    // SKU ja existente fica fora do retorno. Um SKU gravado por outra requisicao entre a consulta e o INSERT viola
+    // a constraint e desfaz o lote inteiro (409); reenviado, o lote o devolve como ja cadastrado
+    @Override
+    @Transactional
+    public List<Produto> salvarNovos(List<Produto> produtos) {
+        produtos.forEach(produto -> filtroSkus.registrar(produto.getSku()));
+        // Uma versao para o lote inteiro: todos os produtos saem no mesmo commit
+        long versao = repository.proximaVersaoCatalogo();
+        List<Produto> salvos = new ArrayList<>(produtos.size());
+        for (int inicio = 0; inicio < produtos.size(); inicio += TAMANHO_BLOCO_INSERCAO) {
+            List<ProdutoEntity> bloco = produtos.subList(inicio, Math.min(inicio + TAMANHO_BLOCO_INSERCAO, produtos.size()))
+                    .stream()
+                    .map(mapper::toNovaEntity)
+                    .collect(Collectors.toList());
+            bloco.forEach(entity -> entity.setVersaoCatalogo(versao));
+            try {
+                repository.inserirNovos(bloco).forEach(entity -> salvos.add(mapper.toDomain(entity)));
+            } catch (DataIntegrityViolationException e) {
+                throw traduzirViolacaoSku(bloco.stream().map(ProdutoEntity::getSku).collect(Collectors.joining(", ")), e);
+            }
+        }
+        if (!salvos.isEmpty()) {
+            notificarAposCommit(salvos, versao);
+        }
+        return salvos;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long versaoCatalogo() {
+        return repository.versaoCatalogo();
+    }
+
+    // Unico ponto em que uma escrita local chega aos modelos em memoria desta instancia e, pelas mensagens de
+    // invalidacao, aos caches e modelos das outras. Todos os produtos da transacao levam a mesma versao do catalogo
+    private void notificarAposCommit(List<Produto> produtos, long versao) {
+        AposCommit.executar(() -> produtos.forEach(produto -> {
+            modelosLocais.forEach(modelo -> modelo.aplicar(produto, versao));
+            publicadorInvalidacao.publicar(InvalidacaoProduto.de(produto, versao));
+        }));
+    }
+
+    private RuntimeException traduzirViolacaoSku(String sku, RuntimeException e) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException violacao && violacao.getConstraintName() != null
+                    && violacao.getConstraintName().toLowerCase().contains(ProdutoEntity.UK_SKU)) {
+                return new SkuJaCadastradoException(sku, e);
+            }
+        }
+        return e;
+    }
 }
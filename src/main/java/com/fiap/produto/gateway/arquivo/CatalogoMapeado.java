@@ -0,0 +1,47 @@
+package com.fiap.produto.gateway.arquivo;
+
+import com.fiap.produto.domain.Produto;
+
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+// Snapshot do catalogo lido do arquivo; cada percurso decodifica os registros de novo, com uma copia independente
+// da posicao do buffer. Nada e servido direto daqui: os modelos em memoria copiam os produtos na partida
+public final class CatalogoMapeado {
+
+    private final long versao;
+    private final int quantidade;
+    private final ByteBuffer corpo;
+
+    CatalogoMapeado(long versao, int quantidade, ByteBuffer corpo) {
+        this.versao = versao;
+        this.quantidade = quantidade;
+        this.corpo = corpo;
+    }
+
+    public long getVersao() {
+        return versao;
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    public void percorrer(Consumer<Produto> consumidor) {
+        percorrerEnquanto(produto -> {
+            consumidor.accept(produto);
+            return true;
+        });
+    }
+
+    // Para de decodificar assim que o consumidor devolve false
+    public void percorrerEnquanto(Predicate<Produto> consumidor) {
+        ByteBuffer leitura = corpo.duplicate();
+        for (int i = 0; i < quantidade; i++) {
+            if (!consumidor.test(FormatoSnapshotArquivo.lerProduto(leitura))) {
+                return;
+            }
+        }
+    }
+}
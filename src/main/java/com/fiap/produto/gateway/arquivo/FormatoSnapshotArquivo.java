@@ -0,0 +1,147 @@
+package com.fiap.produto.gateway.arquivo;
+
+import com.fiap.produto.domain.Produto;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+// Cabecalho: magico, formato, versao do catalogo, quantidade e CRC32 do corpo.
+// Corpo: por produto id, versao, preco, SKU e nome (tamanho em 2 bytes + UTF-8).
+final class FormatoSnapshotArquivo {
+
+    static final int MAGICO = 0x50524453;
+    // 2: versao do catalogo vinda de catalogo_versao_seq; a do formato 1 (contador antigo) nao e comparavel
+    static final int FORMATO = 2;
+    static final int TAMANHO_CABECALHO = 4 + 4 + 8 + 4 + 8;
+
+    private static final int TEXTO_NULO = 0xFFFF;
+    private static final long VERSAO_NULA = -1;
+
+    private FormatoSnapshotArquivo() {
+    }
+
+    // Grava em arquivo temporario e troca atomicamente: quem abrir o arquivo nunca ve uma gravacao pela metade
+    static int escrever(Path destino, long versao, Consumer<Consumer<Produto>> fonte) throws IOException {
+        Files.createDirectories(destino.toAbsolutePath().getParent());
+        Path temporario = destino.resolveSibling(destino.getFileName() + ".tmp");
+        int quantidade;
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            canal.position(TAMANHO_CABECALHO);
+            CRC32 crc = new CRC32();
+            DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(
+                    new CheckedOutputStream(Channels.newOutputStream(canal), crc), 64 * 1024));
+            int[] contador = {0};
+            try {
+                fonte.accept(produto -> {
+                    escreverProduto(saida, produto);
+                    contador[0]++;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            saida.flush();
+            quantidade = contador[0];
+
+            ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO)
+                    .putInt(MAGICO)
+                    .putInt(FORMATO)
+                    .putLong(versao)
+                    .putInt(quantidade)
+                    .putLong(crc.getValue())
+                    .flip();
+            canal.write(cabecalho, 0);
+            canal.force(true);
+        }
+        Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return quantidade;
+    }
+
+    // O mapeamento continua valido depois que o canal fecha; as paginas vem do page cache sob demanda
+    static CatalogoMapeado mapear(Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            if (tamanho < TAMANHO_CABECALHO || tamanho > Integer.MAX_VALUE) {
+                throw new IOException("Tamanho inválido para snapshot do catálogo: " + tamanho);
+            }
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+            if (mapa.getInt(0) != MAGICO || mapa.getInt(4) != FORMATO) {
+                throw new IOException("Arquivo não é um snapshot do catálogo no formato " + FORMATO);
+            }
+            long versao = mapa.getLong(8);
+            int quantidade = mapa.getInt(16);
+            long crcEsperado = mapa.getLong(20);
+            ByteBuffer corpo = mapa.slice(TAMANHO_CABECALHO, (int) tamanho - TAMANHO_CABECALHO);
+            CRC32 crc = new CRC32();
+            crc.update(corpo.duplicate());
+            if (crc.getValue() != crcEsperado) {
+                throw new IOException("Checksum do snapshot do catálogo não confere");
+            }
+            return new CatalogoMapeado(versao, quantidade, corpo);
+        }
+    }
+
+    static Produto lerProduto(ByteBuffer leitura) {
+        long id = leitura.getLong();
+        long versao = leitura.getLong();
+        double preco = leitura.getDouble();
+        String sku = lerTexto(leitura);
+        String nome = lerTexto(leitura);
+        return Produto.builder()
+                .id(id)
+                .versao(versao == VERSAO_NULA ? null : versao)
+                .preco(Double.isNaN(preco) ? null : preco)
+                .sku(sku)
+                .nome(nome)
+                .build();
+    }
+
+    private static void escreverProduto(DataOutputStream saida, Produto produto) {
+        try {
+            saida.writeLong(produto.getId());
+            saida.writeLong(produto.getVersao() == null ? VERSAO_NULA : produto.getVersao());
+            saida.writeDouble(produto.getPreco() == null ? Double.NaN : produto.getPreco());
+            escreverTexto(saida, produto.getSku());
+            escreverTexto(saida, produto.getNome());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void escreverTexto(DataOutputStream saida, String texto) throws IOException {
+        if (texto == null) {
+            saida.writeShort(TEXTO_NULO);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= TEXTO_NULO) {
+            throw new IOException("Texto grande demais para o snapshot do catálogo: " + bytes.length + " bytes");
+        }
+        saida.writeShort(bytes.length);
+        saida.write(bytes);
+    }
+
+    private static String lerTexto(ByteBuffer leitura) {
+        int tamanho = Short.toUnsignedInt(leitura.getShort());
+        if (tamanho == TEXTO_NULO) {
+            return null;
+        }
+        byte[] bytes = new byte[tamanho];
+        leitura.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
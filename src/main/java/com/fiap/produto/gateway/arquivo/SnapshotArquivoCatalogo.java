@@ -0,0 +1,123 @@
+package com.fiap.produto.gateway.arquivo;
+
+import com.fiap.produto.config.arquivo.SnapshotArquivoProperties;
+import com.fiap.produto.entity.ProdutoEntity;
+import com.fiap.produto.mapper.ProdutoMapper;
+import com.fiap.produto.repository.ProdutoRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Copia local do catalogo para partida quente: indice de busca, modelo colunar, filtro de Bloom, snapshot JSON e cache
+// por SKU sobem a partir do arquivo e a verificacao agendada de cada um alcanca o banco em segundo plano
+@Slf4j
+@Component
+public class SnapshotArquivoCatalogo {
+
+    private final ProdutoRepository repository;
+    private final ProdutoMapper mapper;
+    private final EntityManager entityManager;
+    private final SnapshotArquivoProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    // Mantido so ate a proxima gravacao: serve as cargas da inicializacao sem mapear e validar o arquivo varias vezes
+    private CatalogoMapeado aberto;
+    private boolean tentouAbrir;
+    private volatile long versaoGravada = -1;
+
+    public SnapshotArquivoCatalogo(ProdutoRepository repository, ProdutoMapper mapper, EntityManager entityManager,
+                                   SnapshotArquivoProperties properties, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.mapper = mapper;
+        this.entityManager = entityManager;
+        this.properties = properties;
+        // Versao e varredura na mesma transacao: o arquivo contem ao menos tudo ate a versao gravada no cabecalho
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public synchronized Optional<CatalogoMapeado> abrir() {
+        if (!properties.isHabilitado()) {
+            return Optional.empty();
+        }
+        if (!tentouAbrir) {
+            tentouAbrir = true;
+            aberto = mapear(Path.of(properties.getCaminho()));
+            if (aberto != null) {
+                versaoGravada = aberto.getVersao();
+            }
+        }
+        return Optional.ofNullable(aberto);
+    }
+
+    @Scheduled(fixedDelayString = "${produto.snapshot-arquivo.intervalo-gravacao-ms:60000}",
+            initialDelayString = "${produto.snapshot-arquivo.intervalo-gravacao-ms:60000}")
+    public void gravar() {
+        if (!properties.isHabilitado()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                long versao = repository.versaoCatalogo();
+                if (versao != versaoGravada) {
+                    gravar(versao);
+                }
+            });
+        } catch (RuntimeException e) {
+            // O arquivo anterior continua integro; so fica mais antigo
+            log.warn("Falha ao gravar snapshot do catálogo em arquivo: {}", e.getMessage());
+        }
+    }
+
+    private void gravar(long versao) {
+        long inicio = System.nanoTime();
+        Path destino = Path.of(properties.getCaminho());
+        try {
+            int quantidade = FormatoSnapshotArquivo.escrever(destino, versao, consumidor -> {
+                try (Stream<ProdutoEntity> entities = repository.streamTodosOrdenadosPorId()) {
+                    entities.forEach(entity -> {
+                        consumidor.accept(mapper.toDomain(entity));
+                        entityManager.detach(entity);
+                    });
+                }
+            });
+            versaoGravada = versao;
+            synchronized (this) {
+                aberto = null;
+                tentouAbrir = true;
+            }
+            log.info("Snapshot do catálogo versão {} gravado em {}: {} produtos, {} bytes, em {} ms",
+                    versao, destino, quantidade, Files.size(destino), (System.nanoTime() - inicio) / 1_000_000);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private CatalogoMapeado mapear(Path arquivo) {
+        if (!Files.exists(arquivo)) {
+            log.info("Sem snapshot do catálogo em {}; carga inicial vem do banco", arquivo);
+            return null;
+        }
+        long inicio = System.nanoTime();
+        try {
+            CatalogoMapeado catalogo = FormatoSnapshotArquivo.mapear(arquivo);
+            log.info("Snapshot do catálogo versão {} mapeado de {}: {} produtos, em {} ms",
+                    catalogo.getVersao(), arquivo, catalogo.getQuantidade(), (System.nanoTime() - inicio) / 1_000_000);
+            return catalogo;
+        } catch (IOException | RuntimeException e) {
+            // Arquivo corrompido ou de outro formato: ignora e deixa a proxima gravacao substituir
+            log.warn("Snapshot do catálogo em {} descartado: {}", arquivo, e.getMessage());
+            return null;
+        }
+    }
+}
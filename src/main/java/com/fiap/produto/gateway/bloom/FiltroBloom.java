@@ -0,0 +1,103 @@
+package com.fiap.produto.gateway.bloom;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Filtro de Bloom sobre um vetor de bits atomico: adicionar e consultar sao seguros entre threads, sem lock
+class FiltroBloom {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray palavras;
+    private final long totalBits;
+    private final int numeroHashes;
+    private final LongAdder elementos = new LongAdder();
+
+    private FiltroBloom(long totalBits, int numeroHashes) {
+        int quantidadePalavras = (int) Math.min(Integer.MAX_VALUE - 8L, (totalBits + 63) / 64);
+        this.palavras = new AtomicLongArray(quantidadePalavras);
+        this.totalBits = quantidadePalavras * 64L;
+        this.numeroHashes = numeroHashes;
+    }
+
+    // m = -n ln p / (ln 2)^2 e k = m/n ln 2
+    static FiltroBloom dimensionar(long capacidade, double taxaFalsoPositivo) {
+        if (capacidade <= 0 || taxaFalsoPositivo <= 0 || taxaFalsoPositivo >= 1) {
+            throw new IllegalArgumentException("Capacidade deve ser positiva e taxa de falso positivo entre 0 e 1");
+        }
+        long bits = Math.max(64, (long) Math.ceil(-capacidade * Math.log(taxaFalsoPositivo) / (LN2 * LN2)));
+        int hashes = Math.max(1, (int) Math.round((double) bits / capacidade * LN2));
+        return new FiltroBloom(bits, hashes);
+    }
+
+    void adicionar(String valor) {
+        long h1 = hash(valor);
+        long h2 = misturar(h1) | 1;
+        boolean novo = false;
+        for (int i = 0; i < numeroHashes; i++) {
+            novo |= marcar(Math.floorMod(h1 + i * h2, totalBits));
+        }
+        if (novo) {
+            elementos.increment();
+        }
+    }
+
+    boolean podeConter(String valor) {
+        long h1 = hash(valor);
+        long h2 = misturar(h1) | 1;
+        for (int i = 0; i < numeroHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, totalBits);
+            if ((palavras.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Estimativa (1 - e^(-kn/m))^k com o numero de elementos inseridos ate agora
+    double taxaFalsoPositivoEstimada() {
+        return Math.pow(1 - Math.exp(-(double) numeroHashes * elementos.sum() / totalBits), numeroHashes);
+    }
+
+    long elementos() {
+        return elementos.sum();
+    }
+
+    long totalBits() {
+        return totalBits;
+    }
+
+    int numeroHashes() {
+        return numeroHashes;
+    }
+
+    private boolean marcar(long bit) {
+        int indice = (int) (bit >>> 6);
+        long mascara = 1L << bit;
+        long atual;
+        do {
+            atual = palavras.get(indice);
+            if ((atual & mascara) != 0) {
+                return false;
+            }
+        } while (!palavras.compareAndSet(indice, atual, atual | mascara));
+        return true;
+    }
+
+    // FNV-1a 64 bits sobre UTF-8; o segundo hash (double hashing) sai do finalizador do SplitMix64
+    private static long hash(String valor) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : valor.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return misturar(h);
+    }
+
+    private static long misturar(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
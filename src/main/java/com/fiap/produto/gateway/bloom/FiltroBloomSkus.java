@@ -0,0 +1,200 @@
+package com.fiap.produto.gateway.bloom;
+
+import com.fiap.produto.config.bloom.FiltroBloomProperties;
+import com.fiap.produto.domain.InvalidacaoProduto;
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.gateway.arquivo.CatalogoMapeado;
+import com.fiap.produto.gateway.arquivo.SnapshotArquivoCatalogo;
+import com.fiap.produto.gateway.versao.ModeloLeituraVersionado;
+import com.fiap.produto.gateway.versao.VersaoConstruida;
+import com.fiap.produto.repository.ProdutoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Responde "com certeza nao existe" para SKUs desconhecidos sem buscar o produto; "talvez" sempre cai na consulta normal.
+// Enquanto nao ha filtro (antes da primeira carga ou apos falha) toda consulta responde "talvez"
+@Component
+public class FiltroBloomSkus extends ModeloLeituraVersionado<FiltroBloom> implements MeterBinder {
+
+    private final ProdutoRepository repository;
+    private final FiltroBloomProperties properties;
+
+    // Versao do banco lida na ultima verificacao ou anunciada depois por uma mensagem, e quando foi verificada
+    private final AtomicLong versaoBanco = new AtomicLong(VersaoConstruida.NENHUMA);
+    private volatile long verificadoEm;
+
+    private Counter descartes;
+    private Counter falsosPositivos;
+
+    public FiltroBloomSkus(ProdutoRepository repository, FiltroBloomProperties properties,
+                           SnapshotArquivoCatalogo snapshotArquivo, PlatformTransactionManager transactionManager) {
+        // Sem readOnly de proposito: a varredura vai para a primaria, pois uma replica atrasada apagaria SKUs recem-criados
+        super(repository, snapshotArquivo, transactionManager, false, "filtro de Bloom de SKUs");
+        this.repository = repository;
+        this.properties = properties;
+    }
+
+    public boolean podeConter(String sku) {
+        return sku == null || !podemConter(Set.of(sku)).isEmpty();
+    }
+
+    // Devolve os SKUs que precisam ir ao banco. As mensagens de invalidacao podem se perder (ou nem existir, com
+    // a invalidacao desligada), entao um descarte so vale se o filtro reflete a versao do banco lida ha menos de
+    // produto.bloom.defasagem-maxima. Nenhuma leitura no banco por requisicao
+    public Set<String> podemConter(Set<String> skus) {
+        // A versao e lida antes do filtro: a reconstrucao publica o filtro antes de avancar a versao
+        boolean emDia = versaoConstruida.emDia();
+        long versaoFiltro = versaoConstruida.atual();
+        FiltroBloom filtro = atual;
+        if (!properties.isHabilitado() || filtro == null || skus.isEmpty() || !emDia || !refleteBanco(versaoFiltro)) {
+            return skus;
+        }
+        Set<String> possiveis = skus.stream()
+                .filter(sku -> sku == null || filtro.podeConter(sku))
+                .collect(Collectors.toSet());
+        int descartados = skus.size() - possiveis.size();
+        if (descartados > 0 && descartes != null) {
+            descartes.increment(descartados);
+        }
+        return possiveis;
+    }
+
+    // Chamado antes da escrita: um bit a mais so custa um falso positivo, um bit a menos viraria 404 indevido
+    public void registrar(String sku) {
+        if (sku != null) {
+            aplicarEmTodos(filtro -> filtro.adicionar(sku));
+        }
+    }
+
+    // Apos o commit a versao produzida pela escrita passa a estar refletida no filtro, sem reconstrucao. O SKU e
+    // registrado de novo porque uma reconstrucao iniciada entre registrar e o commit nao o enxerga na varredura
+    @Override
+    public void aplicar(Produto produto, long versaoCatalogo) {
+        registrar(produto.getSku());
+        versaoConstruida.aplicada(versaoCatalogo);
+    }
+
+    // Cadastro em outra instancia: o filtro local negaria o SKU ate a proxima reconstrucao. Registrado o SKU (ou sem
+    // SKU, numa mudanca de preco) a escrita fica refletida e nao pede nova varredura
+    @Override
+    public void observar(InvalidacaoProduto invalidacao) {
+        registrar(invalidacao.getSku());
+        if (invalidacao.getVersaoCatalogo() != null) {
+            versaoConstruida.aplicada(invalidacao.getVersaoCatalogo());
+            versaoBanco.accumulateAndGet(invalidacao.getVersaoCatalogo(), Math::max);
+        }
+    }
+
+    public void registrarFalsoPositivo() {
+        if (falsosPositivos != null) {
+            falsosPositivos.increment();
+        }
+    }
+
+    // Na duvida (versao atrasada ou verificacao antiga demais) o SKU segue para a consulta normal
+    private boolean refleteBanco(long versaoFiltro) {
+        return versaoFiltro >= versaoBanco.get()
+                && System.currentTimeMillis() - verificadoEm < properties.getDefasagemMaxima().toMillis();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${produto.bloom.intervalo-verificacao-ms:5000}",
+            initialDelayString = "${produto.bloom.intervalo-verificacao-ms:5000}")
+    public void verificar() {
+        super.verificar();
+    }
+
+    @Override
+    protected boolean habilitado() {
+        return properties.isHabilitado();
+    }
+
+    // Escritas de outras instancias so chegam aqui pela versao do catalogo; a idade maxima limpa bits de SKUs alterados
+    @Override
+    protected boolean expirado() {
+        return System.currentTimeMillis() - reconstruidoEm() >= properties.getIntervaloReconstrucao().toMillis();
+    }
+
+    @Override
+    protected void aoVerificar(long versao) {
+        versaoBanco.accumulateAndGet(versao, Math::max);
+        verificadoEm = System.currentTimeMillis();
+    }
+
+    // Um filtro desatualizado poderia negar SKUs recem-criados em outra instancia: desliga ate a proxima carga
+    @Override
+    protected void aoFalharVerificacao() {
+        descartar();
+    }
+
+    // Um filtro nao pode esquecer SKUs: o arquivo so substitui a varredura se estiver exatamente na versao do banco
+    @Override
+    protected boolean aceitaArquivo(CatalogoMapeado arquivo) {
+        long versao = versaoCatalogo();
+        if (arquivo.getVersao() != versao) {
+            return false;
+        }
+        aoVerificar(versao);
+        return true;
+    }
+
+    @Override
+    protected FiltroBloom criar(FiltroBloom anterior, int capacidade) {
+        long elementos = Math.max(properties.getCapacidadeMinima(), anterior == null ? 0 : anterior.elementos() * 2);
+        return FiltroBloom.dimensionar(elementos, properties.getTaxaFalsoPositivo());
+    }
+
+    @Override
+    protected void varrerBanco(FiltroBloom novo) {
+        try (Stream<String> skus = repository.streamSkus()) {
+            skus.forEach(novo::adicionar);
+        }
+    }
+
+    @Override
+    protected void carregarArquivo(CatalogoMapeado arquivo, FiltroBloom novo) {
+        arquivo.percorrer(produto -> {
+            if (produto.getSku() != null) {
+                novo.adicionar(produto.getSku());
+            }
+        });
+    }
+
+    @Override
+    protected void registrarReconstrucao(long versao, FiltroBloom novo, long duracaoMs) {
+        log.info("Filtro de Bloom de SKUs versão {} reconstruído: {} SKUs, {} bits, {} hashes, falso positivo estimado {}, em {} ms",
+                versao, novo.elementos(), novo.totalBits(), novo.numeroHashes(),
+                String.format("%.5f", novo.taxaFalsoPositivoEstimada()), duracaoMs);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("produto.sku.bloom.elementos", this, filtro -> filtro.atual == null ? 0 : filtro.atual.elementos())
+                .description("SKUs registrados no filtro de Bloom")
+                .register(registry);
+        Gauge.builder("produto.sku.bloom.bits", this, filtro -> filtro.atual == null ? 0 : filtro.atual.totalBits())
+                .description("Tamanho do filtro de Bloom em bits")
+                .baseUnit("bits")
+                .register(registry);
+        Gauge.builder("produto.sku.bloom.falso.positivo.estimado", this,
+                        filtro -> filtro.atual == null ? 0 : filtro.atual.taxaFalsoPositivoEstimada())
+                .description("Taxa de falso positivo estimada pela ocupacao do filtro")
+                .register(registry);
+        descartes = Counter.builder("produto.sku.bloom.descartes")
+                .description("SKUs descartados pelo filtro sem consultar o produto no banco")
+                .register(registry);
+        falsosPositivos = Counter.builder("produto.sku.bloom.falsos.positivos")
+                .description("SKUs aceitos pelo filtro mas inexistentes no banco")
+                .register(registry);
+    }
+}
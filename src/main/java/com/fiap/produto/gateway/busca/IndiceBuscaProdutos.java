@@ -0,0 +1,115 @@
+package com.fiap.produto.gateway.busca;
+
+import com.fiap.produto.config.busca.BuscaProdutosProperties;
+import com.fiap.produto.domain.InvalidacaoProduto;
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.entity.ProdutoEntity;
+import com.fiap.produto.gateway.arquivo.CatalogoMapeado;
+import com.fiap.produto.gateway.arquivo.SnapshotArquivoCatalogo;
+import com.fiap.produto.gateway.versao.ModeloLeituraVersionado;
+import com.fiap.produto.mapper.ProdutoMapper;
+import com.fiap.produto.repository.ProdutoRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Busca por nome servida da memoria; o banco so e lido na carga e quando outra instancia altera o catalogo
+@Component
+public class IndiceBuscaProdutos extends ModeloLeituraVersionado<IndiceInvertido> {
+
+    private final ProdutoRepository repository;
+    private final ProdutoMapper mapper;
+    private final EntityManager entityManager;
+    private final BuscaProdutosProperties properties;
+
+    public IndiceBuscaProdutos(ProdutoRepository repository, ProdutoMapper mapper, EntityManager entityManager,
+                               BuscaProdutosProperties properties, SnapshotArquivoCatalogo snapshotArquivo,
+                               PlatformTransactionManager transactionManager) {
+        // Pode ler de replica: versao e varredura saem da mesma transacao, logo da mesma replica e do mesmo instante
+        super(repository, snapshotArquivo, transactionManager, true, "índice de busca de produtos");
+        this.repository = repository;
+        this.mapper = mapper;
+        this.entityManager = entityManager;
+        this.properties = properties;
+    }
+
+    // Vazio quando o indice nao pode responder (desabilitado, antes da carga ou atras de uma escrita de outra
+    // instancia): quem chama consulta o banco
+    public Optional<List<Produto>> buscar(String consulta, int limite) {
+        IndiceInvertido indice = atual;
+        if (!properties.isHabilitado() || indice == null || !versaoConstruida.emDia()) {
+            return Optional.empty();
+        }
+        return Optional.of(indice.buscar(consulta, limite, properties.getComprimentoMinimoPrefixo()));
+    }
+
+    @Override
+    public void aplicar(Produto produto, long versaoCatalogo) {
+        aplicarEmTodos(indice -> indice.indexar(produto));
+        versaoConstruida.aplicada(versaoCatalogo);
+    }
+
+    // Escrita de outra instancia: so o produto afetado e relido e reindexado. Uma mudanca so de preco (sem SKU) nao
+    // altera nome nem tokens; o preco exibido na busca fica defasado ate a proxima reconstrucao
+    @Override
+    public void observar(InvalidacaoProduto invalidacao) {
+        if (invalidacao.getSku() == null) {
+            if (invalidacao.getVersaoCatalogo() != null) {
+                versaoConstruida.aplicada(invalidacao.getVersaoCatalogo());
+            }
+            return;
+        }
+        recarregar(invalidacao, (indice, entity) -> indice.indexar(mapper.toDomain(entity)));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${produto.busca.intervalo-verificacao-ms:5000}",
+            initialDelayString = "${produto.busca.intervalo-verificacao-ms:5000}")
+    public void verificar() {
+        super.verificar();
+    }
+
+    @Override
+    protected boolean habilitado() {
+        return properties.isHabilitado();
+    }
+
+    @Override
+    protected boolean refleteLinha(IndiceInvertido indice, InvalidacaoProduto invalidacao) {
+        return invalidacao.getVersao() != null && indice.produto(invalidacao.getProdutoId())
+                .map(Produto::getVersao)
+                .filter(versao -> versao >= invalidacao.getVersao())
+                .isPresent();
+    }
+
+    @Override
+    protected IndiceInvertido criar(IndiceInvertido anterior, int capacidade) {
+        return new IndiceInvertido();
+    }
+
+    @Override
+    protected void varrerBanco(IndiceInvertido novo) {
+        try (Stream<ProdutoEntity> entities = repository.streamTodosOrdenadosPorId()) {
+            entities.forEach(entity -> {
+                novo.indexar(mapper.toDomain(entity));
+                entityManager.detach(entity);
+            });
+        }
+    }
+
+    @Override
+    protected void carregarArquivo(CatalogoMapeado arquivo, IndiceInvertido novo) {
+        arquivo.percorrer(novo::indexar);
+    }
+
+    @Override
+    protected void registrarReconstrucao(long versao, IndiceInvertido novo, long duracaoMs) {
+        log.info("Índice de busca versão {} reconstruído: {} produtos, {} tokens, em {} ms",
+                versao, novo.tamanho(), novo.quantidadeTokens(), duracaoMs);
+    }
+}
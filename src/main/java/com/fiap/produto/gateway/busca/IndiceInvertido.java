@@ -0,0 +1,154 @@
+package com.fiap.produto.gateway.busca;
+
+import com.fiap.produto.domain.Produto;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+// Indice invertido token -> ids; o mapa ordenado de tokens faz o papel da trie nas buscas por prefixo.
+// Escritas sao serializadas; leituras nao bloqueiam.
+class IndiceInvertido {
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int PONTOS_TOKEN_EXATO = 2;
+    private static final int PONTOS_PREFIXO = 1;
+
+    private static final Comparator<Resultado> RANKING = Comparator.comparingInt(Resultado::pontuacao).reversed()
+            .thenComparingInt(resultado -> resultado.entrada().nomeNormalizado().length())
+            .thenComparing(resultado -> resultado.entrada().nomeNormalizado())
+            .thenComparing(resultado -> resultado.entrada().produto().getId());
+
+    private final Map<Long, Entrada> entradas = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Set<Long>> tokens = new ConcurrentSkipListMap<>();
+
+    static String normalizar(String texto) {
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return semAcentos.toLowerCase(Locale.ROOT).trim();
+    }
+
+    static List<String> tokenizar(String texto) {
+        if (texto == null) {
+            return List.of();
+        }
+        Set<String> resultado = new LinkedHashSet<>();
+        for (String token : SEPARADORES.split(normalizar(texto))) {
+            if (!token.isEmpty()) {
+                resultado.add(token);
+            }
+        }
+        return new ArrayList<>(resultado);
+    }
+
+    synchronized void indexar(Produto produto) {
+        Entrada anterior = entradas.get(produto.getId());
+        // Uma varredura pode chegar depois de uma escrita local mais nova do mesmo produto
+        if (anterior != null && maisNovo(anterior.produto(), produto)) {
+            return;
+        }
+        Entrada nova = new Entrada(produto, normalizar(produto.getNome() == null ? "" : produto.getNome()),
+                tokenizar(produto.getNome()));
+        nova.tokens().forEach(token -> tokens.computeIfAbsent(token, chave -> ConcurrentHashMap.newKeySet()).add(produto.getId()));
+        entradas.put(produto.getId(), nova);
+        if (anterior != null) {
+            anterior.tokens().stream()
+                    .filter(token -> !nova.tokens().contains(token))
+                    .forEach(token -> desindexar(token, produto.getId()));
+        }
+    }
+
+    Optional<Produto> produto(Long id) {
+        Entrada entrada = entradas.get(id);
+        return entrada == null ? Optional.empty() : Optional.of(entrada.produto());
+    }
+
+    int tamanho() {
+        return entradas.size();
+    }
+
+    int quantidadeTokens() {
+        return tokens.size();
+    }
+
+    // Todos os termos precisam casar (token exato vale mais que prefixo); nome comecando pela consulta desempata
+    List<Produto> buscar(String consulta, int limite, int comprimentoMinimoPrefixo) {
+        List<String> termos = tokenizar(consulta);
+        if (termos.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+
+        Map<Long, Integer> pontuacao = null;
+        for (String termo : termos) {
+            Map<Long, Integer> doTermo = pontuarTermo(termo, comprimentoMinimoPrefixo);
+            if (pontuacao == null) {
+                pontuacao = doTermo;
+            } else {
+                pontuacao.keySet().retainAll(doTermo.keySet());
+                pontuacao.replaceAll((id, pontos) -> pontos + doTermo.get(id));
+            }
+            if (pontuacao.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        String consultaNormalizada = String.join(" ", termos);
+        PriorityQueue<Resultado> melhores = new PriorityQueue<>(limite + 1, RANKING.reversed());
+        pontuacao.forEach((id, pontos) -> {
+            Entrada entrada = entradas.get(id);
+            if (entrada == null) {
+                return;
+            }
+            int bonus = entrada.nomeNormalizado().startsWith(consultaNormalizada) ? 1 : 0;
+            melhores.add(new Resultado(entrada, pontos + bonus));
+            if (melhores.size() > limite) {
+                melhores.poll();
+            }
+        });
+
+        List<Resultado> ordenados = new ArrayList<>(melhores);
+        ordenados.sort(RANKING);
+        return ordenados.stream().map(resultado -> resultado.entrada().produto()).toList();
+    }
+
+    private Map<Long, Integer> pontuarTermo(String termo, int comprimentoMinimoPrefixo) {
+        Map<Long, Integer> pontos = new HashMap<>();
+        Set<Long> exatos = tokens.get(termo);
+        if (exatos != null) {
+            exatos.forEach(id -> pontos.put(id, PONTOS_TOKEN_EXATO));
+        }
+        if (termo.length() >= comprimentoMinimoPrefixo) {
+            tokens.subMap(termo, false, termo + Character.MAX_VALUE, false).values()
+                    .forEach(ids -> ids.forEach(id -> pontos.putIfAbsent(id, PONTOS_PREFIXO)));
+        }
+        return pontos;
+    }
+
+    private void desindexar(String token, Long id) {
+        tokens.computeIfPresent(token, (chave, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static boolean maisNovo(Produto atual, Produto candidato) {
+        return atual.getVersao() != null && candidato.getVersao() != null && atual.getVersao() > candidato.getVersao();
+    }
+
+    private record Entrada(Produto produto, String nomeNormalizado, List<String> tokens) {
+    }
+
+    private record Resultado(Entrada entrada, int pontuacao) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.fiap.produto.gateway.cache;
+
+import com.fiap.produto.gateway.arquivo.CatalogoMapeado;
+import com.fiap.produto.gateway.arquivo.SnapshotArquivoCatalogo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+// Preenche o cache por SKU a partir do snapshot em arquivo na partida, para as primeiras leituras nao irem ao banco
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AquecimentoCacheProdutos {
+
+    private final ObjectProvider<ProdutoGatewayCache> cache;
+    private final SnapshotArquivoCatalogo snapshotArquivo;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aquecer() {
+        ProdutoGatewayCache gatewayCache = cache.getIfAvailable();
+        if (gatewayCache == null) {
+            return;
+        }
+        try {
+            Optional<CatalogoMapeado> arquivo = snapshotArquivo.abrir();
+            if (arquivo.isEmpty()) {
+                return;
+            }
+            // Invalidacoes anteriores a subida nao chegaram aqui: uma copia de versao antiga ficaria no cache ate o TTL.
+            // Escritas posteriores a esta conferencia chegam como invalidacao e removem ou barram a copia do arquivo
+            long versao = gatewayCache.versaoCatalogo();
+            if (arquivo.get().getVersao() != versao) {
+                log.info("Cache de produtos não aquecido: snapshot em arquivo na versão {}, catálogo na versão {}",
+                        arquivo.get().getVersao(), versao);
+                return;
+            }
+            long inicio = System.nanoTime();
+            arquivo.get().percorrerEnquanto(gatewayCache::aquecer);
+            log.info("Cache de produtos aquecido do snapshot versão {}: {} produtos, em {} ms",
+                    versao, gatewayCache.tamanho(), (System.nanoTime() - inicio) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao aquecer cache de produtos do snapshot em arquivo: {}", e.getMessage());
+        }
+    }
+}
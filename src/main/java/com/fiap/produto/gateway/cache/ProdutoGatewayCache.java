@@ -0,0 +1,327 @@
+package com.fiap.produto.gateway.cache;
+
+import com.fiap.produto.domain.EstatisticasPreco;
+import com.fiap.produto.domain.FiltroProdutos;
+import com.fiap.produto.domain.InvalidacaoProduto;
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.gateway.ProdutoGateway;
+import com.fiap.produto.gateway.transacao.AposCommit;
+import com.fiap.produto.gateway.transacao.LeituraNaPrimaria;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Slf4j
+public class ProdutoGatewayCache implements ProdutoGateway {
+
+    // Quanto tempo uma versao recebida de outra instancia barra cargas mais antigas do mesmo produto
+    private static final Duration RETENCAO_VERSAO_MINIMA = Duration.ofMinutes(1);
+
+    private final ProdutoGateway delegate;
+    private final long tamanhoMaximo;
+    private final Cache<String, Produto> porSku;
+    // Indice id -> sku mantido pelo listener de remocao, para que as duas chaves nunca divirjam
+    private final Map<Long, String> skuPorId = new ConcurrentHashMap<>();
+    // Maior versao de cada produto anunciada por invalidacoes: uma consulta iniciada antes da escrita remota
+    // nao pode gravar no cache a linha antiga depois que a invalidacao ja passou
+    private final Cache<Long, Long> versoesMinimas;
+    private final LongAdder invalidacoesRemovidas = new LongAdder();
+    private final LongAdder invalidacoesIgnoradas = new LongAdder();
+
+    public ProdutoGatewayCache(ProdutoGateway delegate, long tamanhoMaximo, Duration ttl) {
+        this.delegate = delegate;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.porSku = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .executor(Runnable::run)
+                .removalListener(this::aoRemover)
+                .recordStats()
+                .build();
+        this.versoesMinimas = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(RETENCAO_VERSAO_MINIMA)
+                .executor(Runnable::run)
+                .build();
+    }
+
+    @Override
+    public Produto salvar(Produto produto) {
+        Produto salvo = delegate.salvar(produto);
+        armazenarAposCommit(salvo);
+        return salvo;
+    }
+
+    @Override
+    public Produto upsertPorSku(Produto produto) {
+        porSku.invalidate(produto.getSku());
+        Produto resultado = delegate.upsertPorSku(produto);
+        armazenarAposCommit(resultado);
+        return resultado;
+    }
+
+    @Override
+    public Produto atualizar(Produto produto) {
+        invalidarPorId(produto.getId());
+        Produto atualizado = delegate.atualizar(produto);
+        armazenarAposCommit(atualizado);
+        return atualizado;
+    }
+
+    @Override
+    public Optional<Produto> atualizarPreco(Long id, Double preco, Long versaoEsperada) {
+        invalidarPorId(id);
+        Optional<Produto> atualizado = delegate.atualizarPreco(id, preco, versaoEsperada);
+        atualizado.ifPresent(this::armazenarAposCommit);
+        return atualizado;
+    }
+
+    @Override
+    public Optional<Produto> buscarPorSku(String sku) {
+        Produto produto = porSku.getIfPresent(sku);
+        if (produto != null) {
+            return Optional.of(produto);
+        }
+        // Carrega fora do lock do Caffeine: quem busca o mesmo SKU espera no delegate coalescente, com prazo,
+        // e nao preso ao compute (que fixaria a virtual thread na carrier durante a consulta).
+        // Caffeine nao armazena null, entao SKUs inexistentes continuam indo ao banco
+        return carregar(() -> delegate.buscarPorSku(sku));
+    }
+
+    @Override
+    public List<Produto> buscarPorSkus(Collection<String> skus) {
+        Map<String, Produto> encontrados = new LinkedHashMap<>(porSku.getAllPresent(skus));
+        Set<String> faltantes = skus.stream()
+                .filter(sku -> !encontrados.containsKey(sku))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        // Uma unica ida ao delegate para todas as faltas; SKUs inexistentes ficam fora do mapa. Sem getAll: ele
+        // gravaria o resultado por cima de um valor mais novo publicado por uma escrita enquanto a consulta rodava
+        if (!faltantes.isEmpty()) {
+            List<Produto> carregados = delegate.buscarPorSkus(faltantes);
+            Set<String> atrasados = carregados.stream()
+                    .filter(this::abaixoDaVersaoMinima)
+                    .map(Produto::getSku)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            if (!atrasados.isEmpty()) {
+                Map<String, Produto> relidos = LeituraNaPrimaria.executar(() -> delegate.buscarPorSkus(atrasados)).stream()
+                        .collect(Collectors.toMap(Produto::getSku, produto -> produto, (a, b) -> a));
+                carregados = carregados.stream()
+                        .map(produto -> atrasados.contains(produto.getSku()) ? relidos.get(produto.getSku()) : produto)
+                        .filter(Objects::nonNull)
+                        .toList();
+            }
+            carregados.forEach(produto -> {
+                encontrados.putIfAbsent(produto.getSku(), produto);
+                armazenarSeAusente(produto);
+            });
+        }
+        return new ArrayList<>(encontrados.values());
+    }
+
+    @Override
+    public Optional<Produto> buscarPorId(Long id) {
+        Produto emCache = buscarEmCache(id);
+        if (emCache != null) {
+            return Optional.of(emCache);
+        }
+        return carregar(() -> delegate.buscarPorId(id));
+    }
+
+    @Override
+    public List<Produto> listarTodos() {
+        return delegate.listarTodos();
+    }
+
+    @Override
+    public List<Produto> listarAposId(Long id, int limite) {
+        return delegate.listarAposId(id, limite);
+    }
+
+    @Override
+    public List<Produto> listarFiltrado(FiltroProdutos filtro, int limite) {
+        return delegate.listarFiltrado(filtro, limite);
+    }
+
+    @Override
+    public EstatisticasPreco estatisticasPreco(FiltroProdutos filtro) {
+        return delegate.estatisticasPreco(filtro);
+    }
+
+    @Override
+    public void percorrerTodos(Consumer<Produto> consumidor) {
+        delegate.percorrerTodos(consumidor);
+    }
+
+    @Override
+    public List<Produto> salvarNovos(List<Produto> produtos) {
+        // SKUs novos nunca estao no cache (nao ha cache negativo), entao nao ha o que invalidar
+        return delegate.salvarNovos(produtos);
+    }
+
+    @Override
+    public long versaoCatalogo() {
+        // Nao cacheada: outras instancias tambem incrementam a versao
+        return delegate.versaoCatalogo();
+    }
+
+    // Somente a copia local, sem carga e sem contar acerto ou falta: a revalidacao de ETag a consulta antes da busca
+    public Optional<Produto> copiaEmCache(String sku) {
+        return Optional.ofNullable(porSku.asMap().get(sku));
+    }
+
+    public CacheStats estatisticas() {
+        return porSku.stats();
+    }
+
+    public long tamanho() {
+        return porSku.estimatedSize();
+    }
+
+    public void registrarMetricas(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, porSku, "produtos");
+        FunctionCounter.builder("produto.cache.invalidacoes.remotas", invalidacoesRemovidas, LongAdder::sum)
+                .description("Invalidacoes recebidas de outras instancias")
+                .tag("resultado", "removida")
+                .register(registry);
+        FunctionCounter.builder("produto.cache.invalidacoes.remotas", invalidacoesIgnoradas, LongAdder::sum)
+                .description("Invalidacoes recebidas de outras instancias")
+                .tag("resultado", "ignorada")
+                .register(registry);
+    }
+
+    // Mensagens atrasadas (versao menor ou igual a da copia local) e o eco das proprias escritas sao ignorados
+    public void aplicarInvalidacao(InvalidacaoProduto invalidacao) {
+        Long id = invalidacao.getProdutoId();
+        Long versao = invalidacao.getVersao();
+        if (id != null && versao != null) {
+            versoesMinimas.asMap().merge(id, versao, Math::max);
+        }
+        String sku = invalidacao.getSku() != null ? invalidacao.getSku() : id == null ? null : skuPorId.get(id);
+        Produto emCache = sku == null ? null : porSku.getIfPresent(sku);
+        if (emCache == null || emCacheAtualizado(emCache, id, versao)) {
+            invalidacoesIgnoradas.increment();
+            return;
+        }
+        // Remocao condicional: nao descarta um valor mais novo gravado nesse meio tempo
+        porSku.asMap().remove(sku, emCache);
+        invalidacoesRemovidas.increment();
+    }
+
+    // Carga de partida quente: nao sobrescreve o que ja foi carregado do banco e para quando o cache enche,
+    // para nao expulsar entradas so para trocar uma copia do arquivo por outra
+    public boolean aquecer(Produto produto) {
+        if (porSku.estimatedSize() >= tamanhoMaximo) {
+            return false;
+        }
+        if (produto.getSku() != null && !abaixoDaVersaoMinima(produto)
+                && porSku.asMap().putIfAbsent(produto.getSku(), produto) == null) {
+            skuPorId.put(produto.getId(), produto.getSku());
+        }
+        return true;
+    }
+
+    public void invalidarTudo() {
+        porSku.invalidateAll();
+        skuPorId.clear();
+    }
+
+    private Produto buscarEmCache(Long id) {
+        String sku = skuPorId.get(id);
+        if (sku == null) {
+            return null;
+        }
+        Produto produto = porSku.getIfPresent(sku);
+        return produto != null && id.equals(produto.getId()) ? produto : null;
+    }
+
+    private void invalidarPorId(Long id) {
+        if (id == null) {
+            return;
+        }
+        String sku = skuPorId.remove(id);
+        if (sku != null) {
+            porSku.invalidate(sku);
+        }
+    }
+
+    private void armazenarAposCommit(Produto produto) {
+        if (produto == null) {
+            return;
+        }
+        invalidarPorId(produto.getId());
+        // Evita publicar no cache um valor que ainda pode sofrer rollback
+        AposCommit.executar(() -> armazenar(produto));
+    }
+
+    // Uma carga mais antiga que a versao ja anunciada por invalidacao veio de uma replica atrasada: sem a releitura
+    // na primaria, cada busca ate a replica alcancar devolveria a linha antiga (e nunca a deixaria no cache)
+    private Optional<Produto> carregar(Supplier<Optional<Produto>> consulta) {
+        Optional<Produto> carregado = consulta.get();
+        if (carregado.filter(this::abaixoDaVersaoMinima).isPresent()) {
+            carregado = LeituraNaPrimaria.executar(consulta);
+        }
+        carregado.ifPresent(this::armazenarSeAusente);
+        return carregado;
+    }
+
+    // Carga do banco: nao sobrescreve um valor mais novo publicado por uma escrita enquanto a consulta rodava.
+    // Leitura feita dentro de uma transacao (ex.: a de atualizacao de preco) pode ver linhas nao commitadas ou
+    // sofrer rollback: nao vai para o cache; a proxima leitura fora de transacao o preenche
+    private void armazenarSeAusente(Produto produto) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        if (!abaixoDaVersaoMinima(produto) && porSku.asMap().putIfAbsent(produto.getSku(), produto) == null) {
+            skuPorId.put(produto.getId(), produto.getSku());
+        }
+    }
+
+    private void armazenar(Produto produto) {
+        if (abaixoDaVersaoMinima(produto)) {
+            return;
+        }
+        porSku.put(produto.getSku(), produto);
+        skuPorId.put(produto.getId(), produto.getSku());
+    }
+
+    private boolean abaixoDaVersaoMinima(Produto produto) {
+        if (produto.getId() == null) {
+            return false;
+        }
+        Long minima = versoesMinimas.getIfPresent(produto.getId());
+        return minima != null && produto.getVersao() != null && produto.getVersao() < minima;
+    }
+
+    private static boolean emCacheAtualizado(Produto emCache, Long id, Long versao) {
+        return id != null && id.equals(emCache.getId()) && versao != null && emCache.getVersao() != null
+                && emCache.getVersao() >= versao;
+    }
+
+    private void aoRemover(String sku, Produto produto, RemovalCause causa) {
+        if (produto != null && causa != RemovalCause.REPLACED) {
+            skuPorId.remove(produto.getId(), sku);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.fiap.produto.gateway.coalescencia;
+
+import com.fiap.produto.domain.EstatisticasPreco;
+import com.fiap.produto.domain.FiltroProdutos;
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.exception.EsperaConsultaEsgotadaException;
+import com.fiap.produto.gateway.ProdutoGateway;
+import com.fiap.produto.gateway.transacao.AposCommit;
+import com.fiap.produto.gateway.transacao.LeituraNaPrimaria;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Single-flight por SKU: buscas simultaneas pelo mesmo SKU, unitarias ou em lote, compartilham uma unica consulta.
+// Quem chega enquanto ela esta em andamento espera o resultado (ou a excecao) por ate tempoMaximoEspera
+public class ProdutoGatewayCoalescente implements ProdutoGateway {
+
+    private final ProdutoGateway delegate;
+    private final boolean habilitado;
+    private final long tempoMaximoEsperaNanos;
+
+    private final Map<String, CompletableFuture<Optional<Produto>>> emAndamento = new ConcurrentHashMap<>();
+    private final LongAdder coalescidas = new LongAdder();
+    private final LongAdder esperasEsgotadas = new LongAdder();
+
+    public ProdutoGatewayCoalescente(ProdutoGateway delegate, boolean habilitado, Duration tempoMaximoEspera) {
+        this.delegate = delegate;
+        this.habilitado = habilitado;
+        this.tempoMaximoEsperaNanos = tempoMaximoEspera.toNanos();
+    }
+
+    @Override
+    public Optional<Produto> buscarPorSku(String sku) {
+        if (!ativo()) {
+            return delegate.buscarPorSku(sku);
+        }
+        CompletableFuture<Optional<Produto>> proprio = new CompletableFuture<>();
+        CompletableFuture<Optional<Produto>> existente = emAndamento.putIfAbsent(sku, proprio);
+        if (existente != null) {
+            coalescidas.increment();
+            return aguardar(sku, existente, System.nanoTime() + tempoMaximoEsperaNanos);
+        }
+        try {
+            Optional<Produto> produto = delegate.buscarPorSku(sku);
+            proprio.complete(produto);
+            return produto;
+        } catch (RuntimeException | Error e) {
+            proprio.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(sku, proprio);
+        }
+    }
+
+    @Override
+    public List<Produto> buscarPorSkus(Collection<String> skus) {
+        if (!ativo()) {
+            return delegate.buscarPorSkus(skus);
+        }
+        Map<String, CompletableFuture<Optional<Produto>>> proprios = new LinkedHashMap<>();
+        Map<String, CompletableFuture<Optional<Produto>>> alheios = new LinkedHashMap<>();
+        for (String sku : new LinkedHashSet<>(skus)) {
+            CompletableFuture<Optional<Produto>> proprio = new CompletableFuture<>();
+            CompletableFuture<Optional<Produto>> existente = emAndamento.putIfAbsent(sku, proprio);
+            if (existente == null) {
+                proprios.put(sku, proprio);
+            } else {
+                alheios.put(sku, existente);
+            }
+        }
+
+        // Completa os proprios antes de esperar pelos alheios: dois lotes cruzados nunca esperam um pelo outro
+        List<Produto> resultado = new ArrayList<>(proprios.size() + alheios.size());
+        if (!proprios.isEmpty()) {
+            try {
+                Map<String, Produto> encontrados = delegate.buscarPorSkus(proprios.keySet()).stream()
+                        .collect(Collectors.toMap(Produto::getSku, Function.identity(), (a, b) -> a));
+                proprios.forEach((sku, futuro) -> futuro.complete(Optional.ofNullable(encontrados.get(sku))));
+                resultado.addAll(encontrados.values());
+            } catch (RuntimeException | Error e) {
+                proprios.values().forEach(futuro -> futuro.completeExceptionally(e));
+                throw e;
+            } finally {
+                proprios.forEach(emAndamento::remove);
+            }
+        }
+
+        coalescidas.add(alheios.size());
+        long prazo = System.nanoTime() + tempoMaximoEsperaNanos;
+        alheios.forEach((sku, futuro) -> aguardar(sku, futuro, prazo).ifPresent(resultado::add));
+        return resultado;
+    }
+
+    // Escritas soltam as consultas em andamento dos SKUs afetados apos o commit: uma busca que chega depois da
+    // escrita nao pode pegar carona numa consulta iniciada antes dela e receber a linha antiga
+    @Override
+    public Produto salvar(Produto produto) {
+        Produto salvo = delegate.salvar(produto);
+        liberarAposCommit(List.of(salvo.getSku()));
+        return salvo;
+    }
+
+    @Override
+    public Produto upsertPorSku(Produto produto) {
+        Produto resultado = delegate.upsertPorSku(produto);
+        liberarAposCommit(List.of(resultado.getSku()));
+        return resultado;
+    }
+
+    // O SKU anterior a atualizacao nao e conhecido aqui: solta todas as consultas em andamento, que so perdem a carona
+    @Override
+    public Produto atualizar(Produto produto) {
+        Produto atualizado = delegate.atualizar(produto);
+        liberarAposCommit(null);
+        return atualizado;
+    }
+
+    @Override
+    public Optional<Produto> atualizarPreco(Long id, Double preco, Long versaoEsperada) {
+        Optional<Produto> atualizado = delegate.atualizarPreco(id, preco, versaoEsperada);
+        atualizado.ifPresent(produto -> liberarAposCommit(List.of(produto.getSku())));
+        return atualizado;
+    }
+
+    @Override
+    public Optional<Produto> buscarPorId(Long id) {
+        return delegate.buscarPorId(id);
+    }
+
+    @Override
+    public List<Produto> listarTodos() {
+        return delegate.listarTodos();
+    }
+
+    @Override
+    public List<Produto> listarAposId(Long id, int limite) {
+        return delegate.listarAposId(id, limite);
+    }
+
+    @Override
+    public List<Produto> listarFiltrado(FiltroProdutos filtro, int limite) {
+        return delegate.listarFiltrado(filtro, limite);
+    }
+
+    @Override
+    public EstatisticasPreco estatisticasPreco(FiltroProdutos filtro) {
+        return delegate.estatisticasPreco(filtro);
+    }
+
+    @Override
+    public void percorrerTodos(Consumer<Produto> consumidor) {
+        delegate.percorrerTodos(consumidor);
+    }
+
+    @Override
+    public List<Produto> salvarNovos(List<Produto> produtos) {
+        List<Produto> salvos = delegate.salvarNovos(produtos);
+        liberarAposCommit(salvos.stream().map(Produto::getSku).toList());
+        return salvos;
+    }
+
+    @Override
+    public long versaoCatalogo() {
+        return delegate.versaoCatalogo();
+    }
+
+    public void registrarMetricas(MeterRegistry registry) {
+        FunctionCounter.builder("produto.gateway.coalescidas", coalescidas, LongAdder::sum)
+                .description("Buscas por SKU atendidas pela consulta de outra requisicao em andamento")
+                .register(registry);
+        FunctionCounter.builder("produto.gateway.coalescidas.esgotadas", esperasEsgotadas, LongAdder::sum)
+                .description("Esperas por consulta em andamento que passaram do tempo maximo")
+                .register(registry);
+    }
+
+    // Dentro de uma transacao a leitura pode depender de escritas ainda nao commitadas: vai direto ao banco.
+    // Uma releitura na primaria tambem: a consulta em andamento pode ser justamente a da replica atrasada
+    private boolean ativo() {
+        return habilitado && !TransactionSynchronizationManager.isActualTransactionActive() && !LeituraNaPrimaria.ativa();
+    }
+
+    // skus null solta todas. Quem ja esperava recebe o resultado da consulta antiga; so novas buscas consultam de novo
+    private void liberarAposCommit(Collection<String> skus) {
+        AposCommit.executar(() -> {
+            if (skus == null) {
+                emAndamento.clear();
+            } else {
+                skus.forEach(emAndamento::remove);
+            }
+        });
+    }
+
+    private Optional<Produto> aguardar(String sku, CompletableFuture<Optional<Produto>> futuro, long prazo) {
+        try {
+            return futuro.get(Math.max(0, prazo - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            esperasEsgotadas.increment();
+            throw new EsperaConsultaEsgotadaException(sku);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EsperaConsultaEsgotadaException(sku);
+        } catch (ExecutionException e) {
+            // A mesma excecao da consulta original, para que cada requisicao receba o mesmo status
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error erro) {
+                throw erro;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.fiap.produto.gateway.colunar;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Textos em UTF-8 concatenados em um unico byte[], cada um prefixado pelo tamanho (varint).
+// Um texto repetido aponta para a mesma posicao; nada e removido ate a proxima reconstrucao.
+// Sem sincronizacao propria: quem usa controla o acesso.
+class ArenaTextos {
+
+    static final int NENHUM = -1;
+
+    private byte[] dados;
+    private int usados;
+    // Tabela de enderecamento aberto (sondagem linear) com as posicoes dos textos, para deduplicar
+    private int[] tabela;
+    private int textos;
+    private long bytesDescartados;
+
+    ArenaTextos(int capacidadeTextos) {
+        this.dados = new byte[Math.max(64, capacidadeTextos * 16)];
+        this.tabela = new int[potenciaDeDois(Math.max(16, capacidadeTextos * 2))];
+        Arrays.fill(tabela, NENHUM);
+    }
+
+    int adicionar(String texto) {
+        if (texto == null) {
+            return NENHUM;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        int mascara = tabela.length - 1;
+        int posicao = hash(bytes, 0, bytes.length) & mascara;
+        while (tabela[posicao] != NENHUM) {
+            int referencia = tabela[posicao];
+            if (igual(referencia, bytes)) {
+                return referencia;
+            }
+            posicao = (posicao + 1) & mascara;
+        }
+        int referencia = anexar(bytes);
+        tabela[posicao] = referencia;
+        if (++textos * 2 > tabela.length) {
+            redimensionarTabela();
+        }
+        return referencia;
+    }
+
+    String texto(int referencia) {
+        if (referencia == NENHUM) {
+            return null;
+        }
+        return new String(dados, inicio(referencia), comprimento(referencia), StandardCharsets.UTF_8);
+    }
+
+    // Chamado por quem deixou de apontar para o texto; serve apenas para estimar o desperdicio
+    void descartar(int referencia) {
+        if (referencia != NENHUM) {
+            bytesDescartados += comprimento(referencia);
+        }
+    }
+
+    int inicio(int referencia) {
+        int posicao = referencia;
+        while ((dados[posicao] & 0x80) != 0) {
+            posicao++;
+        }
+        return posicao + 1;
+    }
+
+    int comprimento(int referencia) {
+        int comprimento = 0;
+        int deslocamento = 0;
+        int posicao = referencia;
+        byte atual;
+        do {
+            atual = dados[posicao++];
+            comprimento |= (atual & 0x7f) << deslocamento;
+            deslocamento += 7;
+        } while ((atual & 0x80) != 0);
+        return comprimento;
+    }
+
+    // Acesso direto para varreduras sem alocacao; o array muda quando a arena cresce
+    byte[] dados() {
+        return dados;
+    }
+
+    int hash(int referencia) {
+        return referencia == NENHUM ? 0 : hash(dados, inicio(referencia), comprimento(referencia));
+    }
+
+    boolean igual(int referencia, byte[] bytes) {
+        if (referencia == NENHUM || comprimento(referencia) != bytes.length) {
+            return false;
+        }
+        return Arrays.equals(dados, inicio(referencia), inicio(referencia) + bytes.length, bytes, 0, bytes.length);
+    }
+
+    long bytesOcupados() {
+        return dados.length + tabela.length * 4L;
+    }
+
+    long bytesDescartados() {
+        return bytesDescartados;
+    }
+
+    // FNV-1a 32 bits com finalizador do MurmurHash3, para espalhar bem na sondagem linear
+    static int hash(byte[] bytes, int inicio, int comprimento) {
+        int h = 0x811c9dc5;
+        for (int i = inicio; i < inicio + comprimento; i++) {
+            h ^= bytes[i] & 0xff;
+            h *= 0x01000193;
+        }
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+
+    static int potenciaDeDois(int minimo) {
+        return Integer.highestOneBit(Math.max(2, minimo) - 1) << 1;
+    }
+
+    private int anexar(byte[] bytes) {
+        int necessario = usados + 5 + bytes.length;
+        if (necessario > dados.length) {
+            dados = Arrays.copyOf(dados, Math.max(necessario, dados.length * 2));
+        }
+        int referencia = usados;
+        int comprimento = bytes.length;
+        while (comprimento >= 0x80) {
+            dados[usados++] = (byte) (comprimento | 0x80);
+            comprimento >>>= 7;
+        }
+        dados[usados++] = (byte) comprimento;
+        System.arraycopy(bytes, 0, dados, usados, bytes.length);
+        usados += bytes.length;
+        return referencia;
+    }
+
+    private void redimensionarTabela() {
+        int[] nova = new int[tabela.length * 2];
+        Arrays.fill(nova, NENHUM);
+        int mascara = nova.length - 1;
+        for (int referencia : tabela) {
+            if (referencia != NENHUM) {
+                int posicao = hash(referencia) & mascara;
+                while (nova[posicao] != NENHUM) {
+                    posicao = (posicao + 1) & mascara;
+                }
+                nova[posicao] = referencia;
+            }
+        }
+        tabela = nova;
+    }
+}
@@ -0,0 +1,453 @@
+package com.fiap.produto.gateway.colunar;
+
+import com.fiap.produto.domain.CampoOrdenacaoProduto;
+import com.fiap.produto.domain.EstatisticasPreco;
+import com.fiap.produto.domain.FiltroProdutos;
+import com.fiap.produto.domain.Produto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Catalogo em colunas de tipos primitivos: id, preco em centavos e versao em long[], SKU e nome como
+// posicoes na arena de textos. Varreduras leem so os arrays e nao alocam por linha; objetos Produto
+// so sao criados para as linhas devolvidas.
+class CatalogoColunar {
+
+    private static final int LIVRE = 0;
+    private static final long SEM_VERSAO = -1;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ArenaTextos arena;
+
+    private long[] ids;
+    private long[] precos;
+    private long[] versoes;
+    private int[] skus;
+    private int[] nomes;
+    private int tamanho;
+
+    // Enderecamento aberto com sondagem linear; cada posicao guarda linha + 1 (0 = livre)
+    private int[] linhasPorId;
+    private int[] linhasPorSku;
+
+    // Preco com mais de duas casas nao cabe em centavos: o catalogo deixa de responder ate a proxima reconstrucao
+    private boolean precosExatos = true;
+
+    CatalogoColunar(int capacidade) {
+        int inicial = Math.max(16, capacidade);
+        ids = new long[inicial];
+        precos = new long[inicial];
+        versoes = new long[inicial];
+        skus = new int[inicial];
+        nomes = new int[inicial];
+        linhasPorId = new int[ArenaTextos.potenciaDeDois(inicial * 2)];
+        linhasPorSku = new int[ArenaTextos.potenciaDeDois(inicial * 2)];
+        arena = new ArenaTextos(inicial);
+    }
+
+    void aplicar(Produto produto) {
+        aplicar(produto.getId(), produto.getNome(), produto.getSku(), produto.getPreco(), produto.getVersao());
+    }
+
+    void aplicar(Long id, String nome, String sku, Double preco, Long versao) {
+        lock.writeLock().lock();
+        try {
+            int linha = linhaDoId(id);
+            if (linha < 0) {
+                linha = novaLinha(id);
+            } else if (versao != null && versoes[linha] != SEM_VERSAO && versoes[linha] > versao) {
+                // Uma varredura pode chegar depois de uma escrita local mais nova do mesmo produto
+                return;
+            } else {
+                removerSku(linha);
+                arena.descartar(skus[linha]);
+                arena.descartar(nomes[linha]);
+            }
+            nomes[linha] = arena.adicionar(nome);
+            skus[linha] = arena.adicionar(sku);
+            precos[linha] = centavos(preco);
+            versoes[linha] = versao == null ? SEM_VERSAO : versao;
+            if (skus[linha] != ArenaTextos.NENHUM) {
+                indexarSku(linha);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    Optional<Produto> buscarPorSku(String sku) {
+        if (sku == null) {
+            return Optional.empty();
+        }
+        byte[] bytes = sku.getBytes(StandardCharsets.UTF_8);
+        lock.readLock().lock();
+        try {
+            int mascara = linhasPorSku.length - 1;
+            int posicao = ArenaTextos.hash(bytes, 0, bytes.length) & mascara;
+            while (linhasPorSku[posicao] != LIVRE) {
+                int linha = linhasPorSku[posicao] - 1;
+                if (arena.igual(skus[linha], bytes)) {
+                    return Optional.of(produto(linha));
+                }
+                posicao = (posicao + 1) & mascara;
+            }
+            return Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Produto ja gravado no catalogo nesta versao ou numa mais nova
+    boolean contemVersao(long id, long versao) {
+        lock.readLock().lock();
+        try {
+            int linha = linhaDoId(id);
+            return linha >= 0 && versoes[linha] != SEM_VERSAO && versoes[linha] >= versao;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Mesma semantica de ProdutoSpecifications; ordenacao por id ou preco com id como desempate
+    List<Produto> listar(FiltroProdutos filtro, int limite) {
+        Varredura varredura = new Varredura(filtro);
+        boolean porPreco = filtro.getOrdenarPor() == CampoOrdenacaoProduto.PRECO;
+        int sinal = filtro.isDecrescente() ? -1 : 1;
+        lock.readLock().lock();
+        try {
+            // Heap de maximo com os melhores ate agora: a raiz e a pior linha e sai quando chega uma melhor
+            int[] heap = new int[Math.max(0, Math.min(limite, tamanho))];
+            int ocupados = 0;
+            for (int linha = 0; linha < tamanho && heap.length > 0; linha++) {
+                if (!varredura.aceita(linha)) {
+                    continue;
+                }
+                if (ocupados < heap.length) {
+                    heap[ocupados] = linha;
+                    subir(heap, ocupados++, porPreco, sinal);
+                } else if (comparar(linha, heap[0], porPreco, sinal) < 0) {
+                    heap[0] = linha;
+                    descer(heap, ocupados, porPreco, sinal);
+                }
+            }
+            Produto[] resultado = new Produto[ocupados];
+            for (int restantes = ocupados; restantes > 0; restantes--) {
+                resultado[restantes - 1] = produto(heap[0]);
+                heap[0] = heap[restantes - 1];
+                descer(heap, restantes - 1, porPreco, sinal);
+            }
+            return new ArrayList<>(Arrays.asList(resultado));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    EstatisticasPreco estatisticas(FiltroProdutos filtro) {
+        Varredura varredura = new Varredura(filtro);
+        lock.readLock().lock();
+        try {
+            long quantidade = 0;
+            long minimo = Long.MAX_VALUE;
+            long maximo = Long.MIN_VALUE;
+            long soma = 0;
+            for (int linha = 0; linha < tamanho; linha++) {
+                if (varredura.aceita(linha)) {
+                    long preco = precos[linha];
+                    quantidade++;
+                    minimo = Math.min(minimo, preco);
+                    maximo = Math.max(maximo, preco);
+                    soma += preco;
+                }
+            }
+            if (quantidade == 0) {
+                return EstatisticasPreco.builder().quantidade(0).build();
+            }
+            return EstatisticasPreco.builder()
+                    .quantidade(quantidade)
+                    .precoMinimo(minimo / 100.0)
+                    .precoMaximo(maximo / 100.0)
+                    .precoMedio(soma / 100.0 / quantidade)
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    boolean precosExatos() {
+        lock.readLock().lock();
+        try {
+            return precosExatos;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int tamanho() {
+        lock.readLock().lock();
+        try {
+            return tamanho;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long bytesOcupados() {
+        lock.readLock().lock();
+        try {
+            long colunas = ids.length * (3L * Long.BYTES + 2L * Integer.BYTES);
+            long tabelas = (linhasPorId.length + linhasPorSku.length) * (long) Integer.BYTES;
+            return colunas + tabelas + arena.bytesOcupados();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long bytesDescartados() {
+        lock.readLock().lock();
+        try {
+            return arena.bytesDescartados();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Produto produto(int linha) {
+        return Produto.builder()
+                .id(ids[linha])
+                .nome(arena.texto(nomes[linha]))
+                .sku(arena.texto(skus[linha]))
+                .preco(precos[linha] / 100.0)
+                .versao(versoes[linha] == SEM_VERSAO ? null : versoes[linha])
+                .build();
+    }
+
+    // Divisao por 100.0 e corretamente arredondada: devolve exatamente o Double de origem quando ele tem ate duas casas
+    private long centavos(Double preco) {
+        if (preco == null) {
+            precosExatos = false;
+            return 0;
+        }
+        long centavos = Math.round(preco * 100);
+        if (centavos / 100.0 != preco) {
+            precosExatos = false;
+        }
+        return centavos;
+    }
+
+    private int comparar(int linhaA, int linhaB, boolean porPreco, int sinal) {
+        int comparacao = porPreco ? Long.compare(precos[linhaA], precos[linhaB]) : 0;
+        if (comparacao == 0) {
+            comparacao = Long.compare(ids[linhaA], ids[linhaB]);
+        }
+        return comparacao * sinal;
+    }
+
+    private void subir(int[] heap, int posicao, boolean porPreco, int sinal) {
+        while (posicao > 0) {
+            int pai = (posicao - 1) / 2;
+            if (comparar(heap[posicao], heap[pai], porPreco, sinal) <= 0) {
+                return;
+            }
+            trocar(heap, posicao, pai);
+            posicao = pai;
+        }
+    }
+
+    private void descer(int[] heap, int ocupados, boolean porPreco, int sinal) {
+        int posicao = 0;
+        while (true) {
+            int maior = posicao;
+            int esquerda = 2 * posicao + 1;
+            int direita = esquerda + 1;
+            if (esquerda < ocupados && comparar(heap[esquerda], heap[maior], porPreco, sinal) > 0) {
+                maior = esquerda;
+            }
+            if (direita < ocupados && comparar(heap[direita], heap[maior], porPreco, sinal) > 0) {
+                maior = direita;
+            }
+            if (maior == posicao) {
+                return;
+            }
+            trocar(heap, posicao, maior);
+            posicao = maior;
+        }
+    }
+
+    private static void trocar(int[] heap, int a, int b) {
+        int temporario = heap[a];
+        heap[a] = heap[b];
+        heap[b] = temporario;
+    }
+
+    private int linhaDoId(long id) {
+        int mascara = linhasPorId.length - 1;
+        int posicao = espalhar(id) & mascara;
+        while (linhasPorId[posicao] != LIVRE) {
+            int linha = linhasPorId[posicao] - 1;
+            if (ids[linha] == id) {
+                return linha;
+            }
+            posicao = (posicao + 1) & mascara;
+        }
+        return -1;
+    }
+
+    private int novaLinha(long id) {
+        if (tamanho == ids.length) {
+            int capacidade = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacidade);
+            precos = Arrays.copyOf(precos, capacidade);
+            versoes = Arrays.copyOf(versoes, capacidade);
+            skus = Arrays.copyOf(skus, capacidade);
+            nomes = Arrays.copyOf(nomes, capacidade);
+        }
+        int linha = tamanho++;
+        ids[linha] = id;
+        skus[linha] = ArenaTextos.NENHUM;
+        nomes[linha] = ArenaTextos.NENHUM;
+        if (tamanho * 2 > linhasPorId.length) {
+            redimensionarTabelas();
+        } else {
+            indexarId(linha);
+        }
+        return linha;
+    }
+
+    private void indexarId(int linha) {
+        int mascara = linhasPorId.length - 1;
+        int posicao = espalhar(ids[linha]) & mascara;
+        while (linhasPorId[posicao] != LIVRE) {
+            posicao = (posicao + 1) & mascara;
+        }
+        linhasPorId[posicao] = linha + 1;
+    }
+
+    // Um SKU so pertence a uma linha no banco; se uma copia antiga ainda o tiver, a escrita mais recente assume
+    private void indexarSku(int linha) {
+        int mascara = linhasPorSku.length - 1;
+        int posicao = arena.hash(skus[linha]) & mascara;
+        while (linhasPorSku[posicao] != LIVRE) {
+            if (skus[linhasPorSku[posicao] - 1] == skus[linha]) {
+                break;
+            }
+            posicao = (posicao + 1) & mascara;
+        }
+        linhasPorSku[posicao] = linha + 1;
+    }
+
+    // Remocao com deslocamento para tras: mantem as cadeias de sondagem sem marcadores de remocao
+    private void removerSku(int linha) {
+        if (skus[linha] == ArenaTextos.NENHUM) {
+            return;
+        }
+        int mascara = linhasPorSku.length - 1;
+        int vaga = arena.hash(skus[linha]) & mascara;
+        while (linhasPorSku[vaga] != linha + 1) {
+            if (linhasPorSku[vaga] == LIVRE) {
+                return;
+            }
+            vaga = (vaga + 1) & mascara;
+        }
+        linhasPorSku[vaga] = LIVRE;
+        int posicao = vaga;
+        while (true) {
+            posicao = (posicao + 1) & mascara;
+            if (linhasPorSku[posicao] == LIVRE) {
+                return;
+            }
+            int ideal = arena.hash(skus[linhasPorSku[posicao] - 1]) & mascara;
+            // So move se a posicao ideal do item nao esta entre a vaga (exclusive) e a posicao atual (inclusive)
+            boolean podeMover = vaga <= posicao ? ideal <= vaga || ideal > posicao : ideal <= vaga && ideal > posicao;
+            if (podeMover) {
+                linhasPorSku[vaga] = linhasPorSku[posicao];
+                linhasPorSku[posicao] = LIVRE;
+                vaga = posicao;
+            }
+        }
+    }
+
+    private void redimensionarTabelas() {
+        int capacidade = linhasPorId.length * 2;
+        linhasPorId = new int[capacidade];
+        linhasPorSku = new int[capacidade];
+        for (int linha = 0; linha < tamanho; linha++) {
+            indexarId(linha);
+            if (skus[linha] != ArenaTextos.NENHUM) {
+                indexarSku(linha);
+            }
+        }
+    }
+
+    private static int espalhar(long id) {
+        long z = (id ^ (id >>> 33)) * 0xff51afd7ed558ccdL;
+        return (int) (z ^ (z >>> 33));
+    }
+
+    // Filtro pre-processado uma vez por consulta; aceita() so compara primitivos e bytes da arena
+    private final class Varredura {
+
+        private final Double precoMin;
+        private final Double precoMax;
+        private final byte[] prefixoSku;
+        private final byte[] trechoNome;
+
+        private Varredura(FiltroProdutos filtro) {
+            precoMin = filtro.getPrecoMin();
+            precoMax = filtro.getPrecoMax();
+            String prefixo = filtro.getSkuPrefixo();
+            prefixoSku = prefixo == null || prefixo.isEmpty() ? null : prefixo.getBytes(StandardCharsets.UTF_8);
+            String trecho = filtro.getNomeContem();
+            trechoNome = trecho == null || trecho.isBlank() ? null
+                    : trecho.trim().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+        }
+
+        private boolean aceita(int linha) {
+            double preco = precos[linha] / 100.0;
+            if ((precoMin != null && preco < precoMin) || (precoMax != null && preco > precoMax)) {
+                return false;
+            }
+            if (prefixoSku != null && !comecaCom(skus[linha], prefixoSku)) {
+                return false;
+            }
+            return trechoNome == null || contemIgnorandoCaixa(nomes[linha], trechoNome);
+        }
+
+        private boolean comecaCom(int referencia, byte[] prefixo) {
+            if (referencia == ArenaTextos.NENHUM || arena.comprimento(referencia) < prefixo.length) {
+                return false;
+            }
+            byte[] dados = arena.dados();
+            int inicio = arena.inicio(referencia);
+            return Arrays.equals(dados, inicio, inicio + prefixo.length, prefixo, 0, prefixo.length);
+        }
+
+        // Caixa so e ignorada em ASCII; quem chama garante que o trecho e ASCII
+        private boolean contemIgnorandoCaixa(int referencia, byte[] trecho) {
+            if (referencia == ArenaTextos.NENHUM) {
+                return false;
+            }
+            byte[] dados = arena.dados();
+            int inicio = arena.inicio(referencia);
+            int ultimo = inicio + arena.comprimento(referencia) - trecho.length;
+            for (int i = inicio; i <= ultimo; i++) {
+                int j = 0;
+                while (j < trecho.length && minuscula(dados[i + j]) == trecho[j]) {
+                    j++;
+                }
+                if (j == trecho.length) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private byte minuscula(byte valor) {
+            return valor >= 'A' && valor <= 'Z' ? (byte) (valor + ('a' - 'A')) : valor;
+        }
+    }
+}
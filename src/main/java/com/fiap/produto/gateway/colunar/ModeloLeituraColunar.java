@@ -0,0 +1,146 @@
+package com.fiap.produto.gateway.colunar;
+
+import com.fiap.produto.config.colunar.CatalogoColunarProperties;
+import com.fiap.produto.domain.CampoOrdenacaoProduto;
+import com.fiap.produto.domain.EstatisticasPreco;
+import com.fiap.produto.domain.FiltroProdutos;
+import com.fiap.produto.domain.InvalidacaoProduto;
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.entity.ProdutoEntity;
+import com.fiap.produto.gateway.arquivo.CatalogoMapeado;
+import com.fiap.produto.gateway.arquivo.SnapshotArquivoCatalogo;
+import com.fiap.produto.gateway.versao.ModeloLeituraVersionado;
+import com.fiap.produto.repository.ProdutoRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Modelo de leitura opcional para listagem filtrada e estatisticas de preco. Vazio significa "consulte o banco":
+// desligado, ainda nao carregado, precos fora de centavos ou consulta que o modelo nao responde com a mesma semantica
+@Component
+public class ModeloLeituraColunar extends ModeloLeituraVersionado<CatalogoColunar> implements MeterBinder {
+
+    private final ProdutoRepository repository;
+    private final EntityManager entityManager;
+    private final CatalogoColunarProperties properties;
+
+    public ModeloLeituraColunar(ProdutoRepository repository, EntityManager entityManager, CatalogoColunarProperties properties,
+                                SnapshotArquivoCatalogo snapshotArquivo, PlatformTransactionManager transactionManager) {
+        // Pode ler de replica: versao e varredura saem da mesma transacao, logo da mesma replica e do mesmo instante
+        super(repository, snapshotArquivo, transactionManager, true, "catálogo colunar");
+        this.repository = repository;
+        this.entityManager = entityManager;
+        this.properties = properties;
+    }
+
+    // Ordenar por nome ou SKU depende da collation do banco, que a comparacao de bytes nao reproduz
+    public Optional<List<Produto>> listarFiltrado(FiltroProdutos filtro, int limite) {
+        if (filtro.getOrdenarPor() == CampoOrdenacaoProduto.NOME || filtro.getOrdenarPor() == CampoOrdenacaoProduto.SKU) {
+            return Optional.empty();
+        }
+        return disponivel(filtro).map(catalogo -> catalogo.listar(filtro, limite));
+    }
+
+    public Optional<EstatisticasPreco> estatisticasPreco(FiltroProdutos filtro) {
+        return disponivel(filtro).map(catalogo -> catalogo.estatisticas(filtro));
+    }
+
+    @Override
+    public void aplicar(Produto produto, long versaoCatalogo) {
+        aplicarEmTodos(catalogo -> catalogo.aplicar(produto));
+        versaoConstruida.aplicada(versaoCatalogo);
+    }
+
+    // Escrita de outra instancia, inclusive so de preco: a linha afetada e relida e corrigida no lugar, e as
+    // consultas seguem respondidas pelo modelo
+    @Override
+    public void observar(InvalidacaoProduto invalidacao) {
+        recarregar(invalidacao, (catalogo, entity) -> catalogo.aplicar(entity.getId(), entity.getNome(), entity.getSku(),
+                entity.getPreco(), entity.getVersao()));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${produto.colunar.intervalo-verificacao-ms:5000}",
+            initialDelayString = "${produto.colunar.intervalo-verificacao-ms:5000}")
+    public void verificar() {
+        super.verificar();
+    }
+
+    @Override
+    protected boolean habilitado() {
+        return properties.isHabilitado();
+    }
+
+    @Override
+    protected boolean refleteLinha(CatalogoColunar catalogo, InvalidacaoProduto invalidacao) {
+        return invalidacao.getVersao() != null && catalogo.contemVersao(invalidacao.getProdutoId(), invalidacao.getVersao());
+    }
+
+    // Reconstruir tambem compacta a arena, descartando SKUs e nomes que deixaram de ser usados
+    @Override
+    protected CatalogoColunar criar(CatalogoColunar anterior, int capacidade) {
+        return new CatalogoColunar(Math.max(capacidade, anterior == null ? 0 : anterior.tamanho()));
+    }
+
+    @Override
+    protected void varrerBanco(CatalogoColunar novo) {
+        try (Stream<ProdutoEntity> entities = repository.streamTodosOrdenadosPorId()) {
+            entities.forEach(entity -> {
+                novo.aplicar(entity.getId(), entity.getNome(), entity.getSku(), entity.getPreco(), entity.getVersao());
+                entityManager.detach(entity);
+            });
+        }
+    }
+
+    @Override
+    protected void carregarArquivo(CatalogoMapeado arquivo, CatalogoColunar novo) {
+        arquivo.percorrer(novo::aplicar);
+    }
+
+    @Override
+    protected void registrarReconstrucao(long versao, CatalogoColunar novo, long duracaoMs) {
+        if (!novo.precosExatos()) {
+            log.warn("Catálogo colunar versão {} tem preços com mais de duas casas decimais; consultas seguem para o banco", versao);
+        }
+        log.info("Catálogo colunar versão {} reconstruído: {} produtos, {} bytes, em {} ms",
+                versao, novo.tamanho(), novo.bytesOcupados(), duracaoMs);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("produto.catalogo.colunar.produtos", this, modelo -> modelo.atual == null ? 0 : modelo.atual.tamanho())
+                .description("Produtos no catalogo colunar em memoria")
+                .register(registry);
+        Gauge.builder("produto.catalogo.colunar.bytes", this, modelo -> modelo.atual == null ? 0 : modelo.atual.bytesOcupados())
+                .description("Memoria ocupada pelas colunas, tabelas e arena de textos")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("produto.catalogo.colunar.bytes.descartados", this,
+                        modelo -> modelo.atual == null ? 0 : modelo.atual.bytesDescartados())
+                .description("Bytes da arena que deixaram de ser usados desde a ultima reconstrucao")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private Optional<CatalogoColunar> disponivel(FiltroProdutos filtro) {
+        CatalogoColunar catalogo = atual;
+        if (!properties.isHabilitado() || catalogo == null || !catalogo.precosExatos() || !versaoConstruida.emDia()) {
+            return Optional.empty();
+        }
+        // A comparacao sem caixa da varredura so vale para ASCII; o lower() do banco cobre o resto
+        String trecho = filtro.getNomeContem();
+        if (trecho != null && trecho.length() != trecho.getBytes(StandardCharsets.UTF_8).length) {
+            return Optional.empty();
+        }
+        return Optional.of(catalogo);
+    }
+}
@@ -0,0 +1,25 @@
+package com.fiap.produto.gateway.transacao;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Efeitos fora do banco (caches, modelos em memoria, mensagens) so podem aparecer depois do commit: um rollback
+// deixaria publicado um valor que nunca existiu. Fora de transacao a acao roda na hora
+public final class AposCommit {
+
+    private AposCommit() {
+    }
+
+    public static void executar(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.fiap.produto.gateway.transacao;
+
+import java.util.function.Supplier;
+
+// Leituras que precisam da primaria mesmo em transacao readOnly, como a recarga de um produto cuja invalidacao
+// ja chegou mas cuja replica ainda nao aplicou a escrita. Sem roteamento para replicas a marca nao tem efeito
+public final class LeituraNaPrimaria {
+
+    private static final ThreadLocal<Boolean> ATIVA = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private LeituraNaPrimaria() {
+    }
+
+    public static <T> T executar(Supplier<T> leitura) {
+        Boolean anterior = ATIVA.get();
+        ATIVA.set(Boolean.TRUE);
+        try {
+            return leitura.get();
+        } finally {
+            ATIVA.set(anterior);
+        }
+    }
+
+    public static boolean ativa() {
+        return ATIVA.get();
+    }
+}
@@ -0,0 +1,14 @@
+package com.fiap.produto.gateway.versao;
+
+import com.fiap.produto.domain.InvalidacaoProduto;
+import com.fiap.produto.domain.Produto;
+
+// Modelo em memoria do catalogo nesta instancia. Escritas locais chegam do ProdutoGatewayImpl ja apos o commit;
+// escritas de outras instancias chegam pelas mensagens de invalidacao
+public interface ModeloLeituraLocal {
+
+    // versaoCatalogo e a versao produzida pela escrita: aplicada aqui, ela nao pede reconstrucao
+    void aplicar(Produto produto, long versaoCatalogo);
+
+    void observar(InvalidacaoProduto invalidacao);
+}
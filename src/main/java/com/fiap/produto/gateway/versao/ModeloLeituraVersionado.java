@@ -0,0 +1,225 @@
+package com.fiap.produto.gateway.versao;
+
+import com.fiap.produto.domain.InvalidacaoProduto;
+import com.fiap.produto.entity.ProdutoEntity;
+import com.fiap.produto.gateway.arquivo.CatalogoMapeado;
+import com.fiap.produto.gateway.arquivo.SnapshotArquivoCatalogo;
+import com.fiap.produto.gateway.transacao.LeituraNaPrimaria;
+import com.fiap.produto.repository.ProdutoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+// Ciclo comum dos modelos em memoria (indice de busca, catalogo colunar, filtro de Bloom): sobem do snapshot em arquivo
+// ou de uma varredura do banco, recebem as escritas locais e sao reconstruidos quando a versao do catalogo no banco
+// passa da versao refletida. Cada subclasse agenda verificar() com o proprio intervalo
+public abstract class ModeloLeituraVersionado<M> implements ModeloLeituraLocal {
+
+    protected final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final ProdutoRepository produtoRepository;
+    private final SnapshotArquivoCatalogo snapshotArquivo;
+    private final TransactionTemplate transactionTemplate;
+    private final String descricao;
+
+    protected volatile M atual;
+    // Recebe tambem as escritas locais feitas durante uma reconstrucao, que a varredura pode nao enxergar
+    protected volatile M emConstrucao;
+    protected final VersaoConstruida versaoConstruida = new VersaoConstruida();
+    private volatile long reconstruidoEm;
+
+    protected ModeloLeituraVersionado(ProdutoRepository produtoRepository, SnapshotArquivoCatalogo snapshotArquivo,
+                                      PlatformTransactionManager transactionManager, boolean somenteLeitura, String descricao) {
+        this.produtoRepository = produtoRepository;
+        this.snapshotArquivo = snapshotArquivo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(somenteLeitura);
+        this.descricao = descricao;
+    }
+
+    protected abstract boolean habilitado();
+
+    // capacidade e a quantidade de produtos conhecida de antemao (snapshot em arquivo), ou zero
+    protected abstract M criar(M anterior, int capacidade);
+
+    // Chamado dentro da transacao em que a versao foi lida
+    protected abstract void varrerBanco(M novo);
+
+    protected abstract void carregarArquivo(CatalogoMapeado arquivo, M novo);
+
+    protected abstract void registrarReconstrucao(long versao, M novo, long duracaoMs);
+
+    // Escrita de outra instancia: ate a proxima reconstrucao alcancar a versao, o modelo nao esta em dia
+    @Override
+    public void observar(InvalidacaoProduto invalidacao) {
+        if (invalidacao.getVersaoCatalogo() != null) {
+            versaoConstruida.observada(invalidacao.getVersaoCatalogo());
+        }
+    }
+
+    // Escrita de outra instancia aplicada no lugar, relendo so a linha afetada, sem varredura. Linha ausente ou falha
+    // na leitura contam a escrita como observada: as consultas seguem para o banco ate a proxima reconstrucao
+    protected void recarregar(InvalidacaoProduto invalidacao, BiConsumer<M, ProdutoEntity> aplicarLinha) {
+        Long versaoCatalogo = invalidacao.getVersaoCatalogo();
+        if (versaoCatalogo == null || !habilitado()) {
+            return;
+        }
+        M modelo = atual;
+        if (modelo == null && emConstrucao == null) {
+            versaoConstruida.observada(versaoCatalogo);
+            return;
+        }
+        // Eco de uma escrita local ou mensagem repetida: a linha ja esta no modelo
+        if (modelo != null && refleteLinha(modelo, invalidacao)) {
+            versaoConstruida.aplicada(versaoCatalogo);
+            return;
+        }
+        try {
+            Optional<ProdutoEntity> linha = lerLinha(invalidacao.getProdutoId());
+            // Replica que ainda nao aplicou a escrita anunciada: relida na primaria
+            if (linha.filter(entity -> atrasada(entity, invalidacao)).isPresent()) {
+                linha = LeituraNaPrimaria.executar(() -> lerLinha(invalidacao.getProdutoId()));
+            }
+            if (linha.isEmpty() || atrasada(linha.get(), invalidacao)) {
+                versaoConstruida.observada(versaoCatalogo);
+                return;
+            }
+            ProdutoEntity entity = linha.get();
+            aplicarEmTodos(alvo -> aplicarLinha.accept(alvo, entity));
+            versaoConstruida.aplicada(versaoCatalogo);
+        } catch (RuntimeException e) {
+            versaoConstruida.observada(versaoCatalogo);
+            log.warn("Falha ao recarregar o produto {} no {}: {}", invalidacao.getProdutoId(), descricao, e.getMessage());
+        }
+    }
+
+    // Por padrao a linha sempre e relida
+    protected boolean refleteLinha(M modelo, InvalidacaoProduto invalidacao) {
+        return false;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarNaInicializacao() {
+        if (!carregarDoArquivo()) {
+            verificar();
+        }
+    }
+
+    public void verificar() {
+        if (!habilitado()) {
+            return;
+        }
+        try {
+            // Versao e varredura na mesma transacao, como no snapshot em arquivo: com replicas, duas transacoes
+            // podiam ler de replicas diferentes e rotular com uma versao um conteudo de outra
+            transactionTemplate.executeWithoutResult(status -> {
+                long versao = produtoRepository.versaoCatalogo();
+                // Uma replica atrasada (versao menor que a ja aplicada localmente) nao pede reconstrucao: so regrediria
+                if (atual == null || versao > versaoConstruida.atual() || !versaoConstruida.emDia() || expirado()
+                        || escritaNaoAplicada()) {
+                    reconstruir(versao, 0, this::varrerBanco);
+                }
+                aoVerificar(versao);
+            });
+        } catch (RuntimeException e) {
+            aoFalharVerificacao();
+            log.warn("Falha ao reconstruir {}: {}", descricao, e.getMessage());
+        }
+    }
+
+    // Escritas locais avancam a versao sem varredura; uma escrita de outra instancia entre elas, sem mensagem de
+    // invalidacao, ficaria abaixo da maior versao. Toda linha gravada desde a varredura precisa ser conhecida
+    private boolean escritaNaoAplicada() {
+        long base = versaoConstruida.base();
+        return versaoConstruida.atual() > base && produtoRepository.versoesCatalogoApos(base).stream()
+                .anyMatch(versao -> !versaoConstruida.conhecida(versao));
+    }
+
+    // Idade maxima do modelo, alem da versao; por padrao nenhuma
+    protected boolean expirado() {
+        return false;
+    }
+
+    protected long reconstruidoEm() {
+        return reconstruidoEm;
+    }
+
+    // Modelo em dia com a versao lida do banco
+    protected void aoVerificar(long versao) {
+    }
+
+    // Por padrao mantem o modelo anterior: resultados um pouco defasados sao preferiveis a nenhum
+    protected void aoFalharVerificacao() {
+    }
+
+    // Por padrao qualquer versao serve; a verificacao agendada alcanca o banco em segundo plano
+    protected boolean aceitaArquivo(CatalogoMapeado arquivo) {
+        return true;
+    }
+
+    protected void descartar() {
+        atual = null;
+        versaoConstruida.descartar();
+    }
+
+    protected void aplicarEmTodos(Consumer<M> acao) {
+        M modelo = atual;
+        if (modelo != null) {
+            acao.accept(modelo);
+        }
+        M novo = emConstrucao;
+        if (novo != null) {
+            acao.accept(novo);
+        }
+    }
+
+    private Optional<ProdutoEntity> lerLinha(Long id) {
+        return transactionTemplate.execute(status -> produtoRepository.findById(id));
+    }
+
+    private static boolean atrasada(ProdutoEntity entity, InvalidacaoProduto invalidacao) {
+        return invalidacao.getVersao() != null && entity.getVersao() != null && entity.getVersao() < invalidacao.getVersao();
+    }
+
+    protected long versaoCatalogo() {
+        return transactionTemplate.execute(status -> produtoRepository.versaoCatalogo());
+    }
+
+    private synchronized void reconstruir(long versao, int capacidade, Consumer<M> fonte) {
+        long inicio = System.nanoTime();
+        M novo = criar(atual, capacidade);
+        emConstrucao = novo;
+        versaoConstruida.iniciarReconstrucao();
+        try {
+            fonte.accept(novo);
+            atual = novo;
+            versaoConstruida.reconstruida(versao);
+            reconstruidoEm = System.currentTimeMillis();
+        } finally {
+            emConstrucao = null;
+        }
+        registrarReconstrucao(versao, novo, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    private boolean carregarDoArquivo() {
+        if (!habilitado()) {
+            return false;
+        }
+        try {
+            Optional<CatalogoMapeado> arquivo = snapshotArquivo.abrir().filter(this::aceitaArquivo);
+            arquivo.ifPresent(catalogo -> reconstruir(catalogo.getVersao(), catalogo.getQuantidade(),
+                    novo -> carregarArquivo(catalogo, novo)));
+            return arquivo.isPresent();
+        } catch (RuntimeException e) {
+            log.warn("Falha ao carregar {} do snapshot em arquivo: {}", descricao, e.getMessage());
+            return false;
+        }
+    }
+}
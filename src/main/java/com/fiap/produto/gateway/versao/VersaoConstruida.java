@@ -0,0 +1,91 @@
+package com.fiap.produto.gateway.versao;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+// Versao do catalogo refletida por um modelo em memoria (indice de busca, filtro de Bloom, catalogo colunar).
+// Escritas locais aplicadas apos o commit avancam a versao sem nova varredura. A versao vem de uma sequence: ha
+// lacunas (transacoes desfeitas) e commits fora de ordem, entao a versao e a maior aplicada, nao a ultima contigua
+public class VersaoConstruida {
+
+    public static final long NENHUMA = -1;
+    // Alem disso a escrita mais antiga e esquecida: uma linha com essa versao so custa uma reconstrucao
+    private static final int LIMITE_APLICADAS = 10_000;
+
+    private long versao = NENHUMA;
+    // Versao lida do banco na ultima reconstrucao: linhas com versao ate ela estao no modelo
+    private long base = NENHUMA;
+    // Versoes aplicadas sem varredura. A sequence da uma versao por transacao, entao a versao identifica a escrita
+    private final Set<Long> aplicadas = new LinkedHashSet<>();
+    // Maior versao local aplicada desde o inicio da reconstrucao em andamento: ja esta tambem no modelo novo
+    private long aplicadaNaReconstrucao = NENHUMA;
+    // Escritas de outras instancias que o modelo nao aplicou. Contadas, e nao comparadas pela versao: uma escrita
+    // com versao menor que a lida do banco pode ter feito commit depois da varredura
+    private long observadas;
+    private long maiorObservada = NENHUMA;
+    private long refletidas;
+    private long observadasNoInicio;
+    private long maiorObservadaNoInicio = NENHUMA;
+
+    public synchronized long atual() {
+        return versao;
+    }
+
+    // Chamado antes da varredura: as escritas anunciadas ate aqui ja fizeram commit e serao lidas por ela
+    public synchronized void iniciarReconstrucao() {
+        aplicadaNaReconstrucao = NENHUMA;
+        observadasNoInicio = observadas;
+        maiorObservadaNoInicio = maiorObservada;
+    }
+
+    public synchronized long base() {
+        return base;
+    }
+
+    // Linha gravada com esta versao ja esta refletida no modelo
+    public synchronized boolean conhecida(long versao) {
+        return versao <= base || aplicadas.contains(versao);
+    }
+
+    public synchronized void reconstruida(long versao) {
+        this.versao = Math.max(versao, aplicadaNaReconstrucao);
+        base = versao;
+        // Uma replica atrasada pode nao enxergar as escritas anunciadas; a proxima verificacao tenta de novo
+        if (versao >= maiorObservadaNoInicio) {
+            refletidas = Math.max(refletidas, observadasNoInicio);
+        }
+    }
+
+    // Antes da primeira carga so conta para a reconstrucao em andamento, que ja le o banco inteiro
+    public synchronized void aplicada(long versao) {
+        if (this.versao != NENHUMA) {
+            this.versao = Math.max(this.versao, versao);
+        }
+        aplicadaNaReconstrucao = Math.max(aplicadaNaReconstrucao, versao);
+        aplicadas.add(versao);
+        if (aplicadas.size() > LIMITE_APLICADAS) {
+            Iterator<Long> maisAntiga = aplicadas.iterator();
+            maisAntiga.next();
+            maisAntiga.remove();
+        }
+    }
+
+    // O eco de uma escrita ja aplicada (as mensagens voltam para a propria instancia) nao conta
+    public synchronized void observada(long versao) {
+        if (aplicadas.contains(versao)) {
+            return;
+        }
+        observadas++;
+        maiorObservada = Math.max(maiorObservada, versao);
+    }
+
+    public synchronized boolean emDia() {
+        return versao != NENHUMA && refletidas >= observadas;
+    }
+
+    public synchronized void descartar() {
+        versao = NENHUMA;
+        base = NENHUMA;
+    }
+}
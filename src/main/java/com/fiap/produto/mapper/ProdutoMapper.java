@@ -1,15 +1,51 @@
 package com.fiap.produto.mapper;
 
+import com.fiap.produto.domain.EstatisticasPreco;
+import com.fiap.produto.domain.FiltroProdutos;
 import com.fiap.produto.domain.Produto;
+import com.fiap.produto.domain.ResultadoBuscaSkus;
+import com.fiap.produto.domain.ResultadoCadastroLote;
+import com.fiap.produto.dto.request.FiltroProdutosRequestDTO;
 import com.fiap.produto.dto.request.ProdutoRequestDTO;
+import com.fiap.produto.dto.response.BuscaSkusResponseDTO;
+import com.fiap.produto.dto.response.EstatisticasPrecoResponseDTO;
+import com.fiap.produto.dto.response.ProdutoLoteResponseDTO;
 import com.fiap.produto.dto.response.ProdutoResponseDTO;
 import com.fiap.produto.entity.ProdutoEntity;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 
 @Mapper(componentModel = "spring")
 public interface ProdutoMapper {
+    @Mapping(target = "versaoCatalogo", ignore = true)
     ProdutoEntity toEntity(Produto produto);
     Produto toDomain(ProdutoEntity entity);
+
+    // Cadastro: id e versao vindos do cliente (ex.: o corpo de um GET reenviado) fariam o save virar merge da linha existente
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "versao", ignore = true)
+    @Mapping(target = "versaoCatalogo", ignore = true)
+    ProdutoEntity toNovaEntity(Produto produto);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "versao", ignore = true)
+    @Mapping(target = "versaoCatalogo", ignore = true)
+    void atualizarEntity(Produto produto, @MappingTarget ProdutoEntity entity);
+
     ProdutoResponseDTO toResponseDTO(Produto produto);
     Produto toDomain(ProdutoRequestDTO dto);
+    ProdutoLoteResponseDTO toLoteResponseDTO(ResultadoCadastroLote resultado);
+
+    @Mapping(target = "produtos", source = "encontrados")
+    @Mapping(target = "skusNaoEncontrados", source = "naoEncontrados")
+    BuscaSkusResponseDTO toBuscaSkusResponseDTO(ResultadoBuscaSkus resultado);
+
+    EstatisticasPrecoResponseDTO toEstatisticasPrecoResponseDTO(EstatisticasPreco estatisticas);
+
+    @Mapping(target = "skuPrefixo", source = "skuPrefix")
+    @Mapping(target = "nomeContem", source = "nomeContains")
+    @Mapping(target = "ordenarPor", ignore = true)
+    @Mapping(target = "decrescente", ignore = true)
+    FiltroProdutos toFiltro(FiltroProdutosRequestDTO dto);
 }
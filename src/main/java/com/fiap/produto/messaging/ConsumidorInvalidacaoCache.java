@@ -0,0 +1,45 @@
+package com.fiap.produto.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.produto.domain.InvalidacaoProduto;
+import com.fiap.produto.gateway.cache.ProdutoGatewayCache;
+import com.fiap.produto.gateway.versao.ModeloLeituraLocal;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Recebe tambem as proprias mensagens; o cache as ignora porque ja tem a versao publicada
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConsumidorInvalidacaoCache {
+
+    private final ObjectProvider<ProdutoGatewayCache> gatewayCache;
+    private final List<ModeloLeituraLocal> modelosLocais;
+    private final ObjectMapper objectMapper;
+
+    // Sem historico: uma instancia que sobe agora tem o cache vazio, so importa o que chegar daqui em diante.
+    // Particoes atribuidas manualmente e sem grupo: nada de grupo orfao por reinicio nem offset commitado.
+    // Todas as particoes do topico sao atribuidas (ParticoesInvalidacao)
+    @KafkaListener(topicPartitions = @TopicPartition(topic = "${produto.invalidacao.topico:produto-invalidacao-cache}",
+            partitions = "#{@particoesInvalidacao.resolver()}"),
+            autoStartup = "${produto.invalidacao.habilitado:true}",
+            properties = {"auto.offset.reset=latest", "enable.auto.commit=false"})
+    public void receber(String payload) {
+        InvalidacaoProduto invalidacao;
+        try {
+            invalidacao = objectMapper.readValue(payload, InvalidacaoProduto.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Mensagem de invalidação descartada: {}", e.getMessage());
+            return;
+        }
+        gatewayCache.ifAvailable(cache -> cache.aplicarInvalidacao(invalidacao));
+        modelosLocais.forEach(modelo -> modelo.observar(invalidacao));
+    }
+}
@@ -0,0 +1,47 @@
+package com.fiap.produto.messaging;
+
+import com.fiap.produto.config.invalidacao.InvalidacaoCacheProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.PartitionInfo;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Particoes do topico de invalidacao lidas dos metadados do broker na subida, para o consumidor sem grupo
+// receber todas elas. Particoes criadas depois so sao lidas apos reiniciar a instancia
+@Slf4j
+@Component("particoesInvalidacao")
+@RequiredArgsConstructor
+public class ParticoesInvalidacao {
+
+    private final ConsumerFactory<?, ?> consumerFactory;
+    private final InvalidacaoCacheProperties properties;
+
+    public String[] resolver() {
+        if (!properties.isHabilitado()) {
+            // O listener e registrado mesmo sem subir; nao consulta o broker
+            return new String[]{"0"};
+        }
+        String topico = properties.getTopico();
+        List<PartitionInfo> particoes;
+        try (Consumer<?, ?> consumer = consumerFactory.createConsumer()) {
+            particoes = consumer.partitionsFor(topico, properties.getTimeoutMetadados());
+        } catch (KafkaException e) {
+            throw new IllegalStateException("Não foi possível obter as partições do tópico " + topico, e);
+        }
+        if (particoes == null || particoes.isEmpty()) {
+            throw new IllegalStateException("Tópico " + topico + " não existe ou não tem partições");
+        }
+        String[] ids = particoes.stream()
+                .map(PartitionInfo::partition)
+                .sorted()
+                .map(String::valueOf)
+                .toArray(String[]::new);
+        log.info("Invalidação de cache lendo {} partições do tópico {}", ids.length, topico);
+        return ids;
+    }
+}
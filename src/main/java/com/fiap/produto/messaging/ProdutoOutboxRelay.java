@@ -0,0 +1,76 @@
+package com.fiap.produto.messaging;
+
+import com.fiap.produto.config.outbox.OutboxProperties;
+import com.fiap.produto.entity.ProdutoOutboxEntity;
+import com.fiap.produto.repository.ProdutoOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "produto.outbox.relay", name = "habilitado", havingValue = "true", matchIfMissing = true)
+public class ProdutoOutboxRelay {
+
+    private final ProdutoOutboxRepository repository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final OutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProdutoOutboxRelay(ProdutoOutboxRepository repository, KafkaTemplate<String, String> kafkaTemplate,
+                              OutboxProperties properties, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${produto.outbox.relay.intervalo-ms:500}")
+    public void drenar() {
+        int publicados;
+        do {
+            Integer resultado = transactionTemplate.execute(status -> publicarLote());
+            publicados = resultado == null ? 0 : resultado;
+        } while (publicados == properties.getRelay().getTamanhoLote());
+    }
+
+    int publicarLote() {
+        List<ProdutoOutboxEntity> pendentes = repository.buscarPendentes(Limit.of(properties.getRelay().getTamanhoLote()));
+        if (pendentes.isEmpty()) {
+            return 0;
+        }
+
+        // Envia o lote inteiro antes de esperar: o produtor agrupa as mensagens (linger/batch.size/compressao)
+        CompletableFuture<?>[] envios = pendentes.stream()
+                .map(evento -> kafkaTemplate.send(properties.getTopico(), evento.getChave(), evento.getPayload()))
+                .toArray(CompletableFuture[]::new);
+        aguardar(CompletableFuture.allOf(envios));
+
+        repository.deleteAllInBatch(pendentes);
+        log.debug("Relay da outbox publicou {} eventos no tópico {}", pendentes.size(), properties.getTopico());
+        return pendentes.size();
+    }
+
+    private void aguardar(CompletableFuture<Void> envios) {
+        try {
+            envios.get(properties.getRelay().getTimeoutEnvio().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Relay da outbox interrompido", e);
+        } catch (ExecutionException | TimeoutException e) {
+            // Rollback mantem as linhas na outbox para a proxima execucao (entrega at-least-once)
+            throw new IllegalStateException("Falha ao publicar eventos da outbox", e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.fiap.produto.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.produto.config.invalidacao.InvalidacaoCacheProperties;
+import com.fiap.produto.domain.InvalidacaoProduto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+// Publicacao direta apos o commit, sem outbox: o objetivo e latencia de milissegundos, e uma mensagem perdida
+// so deixa a copia da outra instancia viva ate o TTL do cache
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PublicadorInvalidacaoCache {
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final InvalidacaoCacheProperties properties;
+
+    // Chamado pelo ProdutoGatewayImpl ja apos o commit
+    public void publicar(InvalidacaoProduto invalidacao) {
+        if (!properties.isHabilitado()) {
+            return;
+        }
+        try {
+            String payload = objectMapper.writeValueAsString(invalidacao);
+            // Chave pelo id: as mensagens de um produto ficam na mesma particao, em ordem
+            kafkaTemplate.send(properties.getTopico(), String.valueOf(invalidacao.getProdutoId()), payload)
+                    .whenComplete((resultado, erro) -> {
+                        if (erro != null) {
+                            log.warn("Falha ao publicar invalidação do produto {}: {}", invalidacao.getProdutoId(), erro.getMessage());
+                        }
+                    });
+        } catch (JsonProcessingException | RuntimeException e) {
+            // A escrita ja foi commitada; nao ha o que desfazer
+            log.warn("Falha ao publicar invalidação do produto {}: {}", invalidacao.getProdutoId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.fiap.produto.repository;
+
+import com.fiap.produto.entity.ProdutoOutboxEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface ProdutoOutboxRepository extends JpaRepository<ProdutoOutboxEntity, Long> {
+
+    // FOR UPDATE sem SKIP LOCKED: com varias replicas so uma publica por vez; as outras esperam o lote mais antigo
+    // ser commitado e seguem com o proximo. SKIP LOCKED deixaria duas replicas publicarem eventos do mesmo SKU fora
+    // de ordem. Linhas anteriores a coluna ordem (nula) saem primeiro
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from ProdutoOutboxEntity o order by o.ordem nulls first, o.id")
+    List<ProdutoOutboxEntity> buscarPendentes(Limit limite);
+}
@@ -1,11 +1,48 @@
 package com.fiap.produto.repository;
 
 import com.fiap.produto.entity.ProdutoEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface ProdutoRepository extends JpaRepository<ProdutoEntity, Long> {
+public interface ProdutoRepository extends JpaRepository<ProdutoEntity, Long>, JpaSpecificationExecutor<ProdutoEntity>,
+        ProdutoRepositoryCustom {
     Optional<ProdutoEntity> findBySku(String sku);
     boolean existsBySku(String sku);
-}
\ No newline at end of file
+    List<ProdutoEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limite);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select p from ProdutoEntity p order by p.id")
+    Stream<ProdutoEntity> streamTodosOrdenadosPorId();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select p.sku from ProdutoEntity p")
+    Stream<String> streamSkus();
+
+    List<ProdutoEntity> findBySkuIn(Collection<String> skus);
+
+    // Le uma ponta do indice idx_produtos_versao_catalogo; catalogo vazio e a versao 0
+    @Query("select coalesce(max(p.versaoCatalogo), 0) from ProdutoEntity p")
+    long versaoCatalogo();
+
+    // Linhas gravadas depois de uma versao: faixa do mesmo indice, so as escritas recentes
+    @Query("select p.versaoCatalogo from ProdutoEntity p where p.versaoCatalogo > :versao")
+    List<Long> versoesCatalogoApos(@Param("versao") long versao);
+}
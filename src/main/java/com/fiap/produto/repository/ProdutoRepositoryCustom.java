@@ -0,0 +1,17 @@
+package com.fiap.produto.repository;
+
+import com.fiap.produto.domain.EstatisticasPreco;
+import com.fiap.produto.entity.ProdutoEntity;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ProdutoRepositoryCustom {
+    ProdutoEntity upsertPorSku(ProdutoEntity produto);
+    List<ProdutoEntity> inserirNovos(List<ProdutoEntity> produtos);
+    // Vazio quando o id nao existe ou a versao nao e mais a esperada
+    Optional<ProdutoEntity> atualizarPreco(Long id, Double preco, Long versaoEsperada);
+    EstatisticasPreco estatisticasPreco(Specification<ProdutoEntity> filtro);
+    long proximaVersaoCatalogo();
+}
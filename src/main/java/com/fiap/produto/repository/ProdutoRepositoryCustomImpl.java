@@ -0,0 +1,177 @@
+package com.fiap.produto.repository;
+
+import com.fiap.produto.domain.EstatisticasPreco;
+import com.fiap.produto.entity.ProdutoEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public class ProdutoRepositoryCustomImpl implements ProdutoRepositoryCustom {
+
+    // Postgres: um unico statement, atomico mesmo com requisicoes concorrentes para o mesmo SKU
+    static final String UPSERT_POSTGRES = """
+            insert into produtos (id, nome, sku, preco, versao, versao_catalogo)
+            values (nextval('produtos_seq'), :nome, :sku, :preco, 0, :versaoCatalogo)
+            on conflict (sku) do update
+                set nome = excluded.nome, preco = excluded.preco, versao = produtos.versao + 1,
+                    versao_catalogo = excluded.versao_catalogo
+            returning id, nome, sku, preco, versao, versao_catalogo""";
+
+    // Demais bancos (H2 nos testes): MERGE padrao SQL seguido da leitura da linha
+    static final String UPSERT_MERGE = """
+            merge into produtos p
+            using (values (cast(:nome as varchar(255)), cast(:sku as varchar(255)), cast(:preco as double precision))) v(nome, sku, preco)
+                on p.sku = v.sku
+            when matched then update set nome = v.nome, preco = v.preco, versao = p.versao + 1,
+                versao_catalogo = :versaoCatalogo
+            when not matched then insert (id, nome, sku, preco, versao, versao_catalogo)
+                values (next value for produtos_seq, v.nome, v.sku, v.preco, 0, :versaoCatalogo)""";
+
+    // Postgres: UPDATE com checagem otimista que ja devolve a linha. A versao do catalogo sai da sequence no
+    // proprio comando (%s): uma ida ao banco, sem leitura previa
+    static final String ATUALIZAR_PRECO_POSTGRES = """
+            update produtos set preco = :preco, versao = versao + 1, versao_catalogo = %s
+            where id = :id and versao = :versao
+            returning id, nome, sku, preco, versao, versao_catalogo""";
+
+    // Demais bancos (H2 nos testes): o mesmo UPDATE lido como tabela delta
+    static final String ATUALIZAR_PRECO_FINAL_TABLE = """
+            select id, nome, sku, preco, versao, versao_catalogo from final table (
+                update produtos set preco = :preco, versao = versao + 1, versao_catalogo = %s
+                where id = :id and versao = :versao)""";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Boolean postgres;
+
+    @Override
+    public ProdutoEntity upsertPorSku(ProdutoEntity produto) {
+        // A entidade pode estar gerenciada com valores antigos; o upsert nativo passa por fora do contexto
+        entityManager.flush();
+        entityManager.clear();
+        if (isPostgres()) {
+            Object[] linha = (Object[]) entityManager.createNativeQuery(UPSERT_POSTGRES)
+                    .setParameter("nome", produto.getNome())
+                    .setParameter("sku", produto.getSku())
+                    .setParameter("preco", produto.getPreco())
+                    .setParameter("versaoCatalogo", produto.getVersaoCatalogo())
+                    .getSingleResult();
+            return entity(linha);
+        }
+        entityManager.createNativeQuery(UPSERT_MERGE)
+                .setParameter("nome", produto.getNome())
+                .setParameter("sku", produto.getSku())
+                .setParameter("preco", produto.getPreco())
+                .setParameter("versaoCatalogo", produto.getVersaoCatalogo())
+                .executeUpdate();
+        return entityManager.createQuery("select p from ProdutoEntity p where p.sku = :sku", ProdutoEntity.class)
+                .setParameter("sku", produto.getSku())
+                .getSingleResult();
+    }
+
+    // Os SKUs ja gravados saem de uma unica consulta IN; os novos vao por persist e o Hibernate os agrupa em lotes
+    // JDBC (hibernate.jdbc.batch_size, order_inserts). Os ids vem da sequence pooled: um nextval a cada 50 linhas
+    @Override
+    public List<ProdutoEntity> inserirNovos(List<ProdutoEntity> produtos) {
+        if (produtos.isEmpty()) {
+            return List.of();
+        }
+        Set<String> existentes = new HashSet<>(entityManager
+                .createQuery("select p.sku from ProdutoEntity p where p.sku in :skus", String.class)
+                .setParameter("skus", produtos.stream().map(ProdutoEntity::getSku).toList())
+                .getResultList());
+        List<ProdutoEntity> novos = produtos.stream()
+                .filter(produto -> existentes.add(produto.getSku()))
+                .toList();
+        novos.forEach(entityManager::persist);
+        entityManager.flush();
+        // Um lote grande nao acumula entidades gerenciadas ate o fim da transacao
+        novos.forEach(entityManager::detach);
+        return novos;
+    }
+
+    @Override
+    public Optional<ProdutoEntity> atualizarPreco(Long id, Double preco, Long versaoEsperada) {
+        // Como no upsert: uma copia gerenciada ficaria com o preco e a versao antigos
+        entityManager.flush();
+        entityManager.clear();
+        String proximaVersao = dialeto().getSequenceSupport().getSelectSequenceNextValString(ProdutoEntity.SEQ_VERSAO_CATALOGO);
+        String sql = (isPostgres() ? ATUALIZAR_PRECO_POSTGRES : ATUALIZAR_PRECO_FINAL_TABLE).formatted(proximaVersao);
+        List<?> linhas = entityManager.createNativeQuery(sql)
+                .setParameter("preco", preco)
+                .setParameter("id", id)
+                .setParameter("versao", versaoEsperada)
+                .getResultList();
+        return linhas.stream()
+                .map(linha -> entity((Object[]) linha))
+                .findFirst();
+    }
+
+    // Uma unica linha agregada no banco, sem trafegar os produtos
+    @Override
+    public EstatisticasPreco estatisticasPreco(Specification<ProdutoEntity> filtro) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> consulta = cb.createTupleQuery();
+        Root<ProdutoEntity> root = consulta.from(ProdutoEntity.class);
+        Expression<Double> preco = root.get("preco");
+        consulta.multiselect(cb.count(root), cb.min(preco), cb.max(preco), cb.avg(preco));
+        Predicate predicado = filtro == null ? null : filtro.toPredicate(root, consulta, cb);
+        if (predicado != null) {
+            consulta.where(predicado);
+        }
+        Tuple linha = entityManager.createQuery(consulta).getSingleResult();
+        return EstatisticasPreco.builder()
+                .quantidade(linha.get(0, Long.class))
+                .precoMinimo(linha.get(1, Double.class))
+                .precoMaximo(linha.get(2, Double.class))
+                .precoMedio(linha.get(3, Double.class))
+                .build();
+    }
+
+    // nextval e lock-free: transacoes concorrentes nao se esperam, ao contrario de uma linha de contador
+    @Override
+    public long proximaVersaoCatalogo() {
+        String sql = dialeto().getSequenceSupport().getSequenceNextValString(ProdutoEntity.SEQ_VERSAO_CATALOGO);
+        return ((Number) entityManager.createNativeQuery(sql).getSingleResult()).longValue();
+    }
+
+    private static ProdutoEntity entity(Object[] linha) {
+        return ProdutoEntity.builder()
+                .id(((Number) linha[0]).longValue())
+                .nome((String) linha[1])
+                .sku((String) linha[2])
+                .preco(((Number) linha[3]).doubleValue())
+                .versao(((Number) linha[4]).longValue())
+                .versaoCatalogo(((Number) linha[5]).longValue())
+                .build();
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = dialeto() instanceof PostgreSQLDialect;
+        }
+        return postgres;
+    }
+
+    private Dialect dialeto() {
+        return entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect();
+    }
+}
@@ -0,0 +1,48 @@
+package com.fiap.produto.repository;
+
+import com.fiap.produto.domain.FiltroProdutos;
+import com.fiap.produto.entity.ProdutoEntity;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Locale;
+
+// Cada filtro vira um predicado simples sobre uma coluna indexada (preco, sku); nome so filtra o que sobrou
+public final class ProdutoSpecifications {
+
+    private static final char ESCAPE = '\\';
+
+    private ProdutoSpecifications() {
+    }
+
+    public static Specification<ProdutoEntity> de(FiltroProdutos filtro) {
+        return Specification.allOf(
+                precoMinimo(filtro.getPrecoMin()),
+                precoMaximo(filtro.getPrecoMax()),
+                skuComPrefixo(filtro.getSkuPrefixo()),
+                nomeContendo(filtro.getNomeContem()));
+    }
+
+    static Specification<ProdutoEntity> precoMinimo(Double preco) {
+        return preco == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("preco"), preco);
+    }
+
+    static Specification<ProdutoEntity> precoMaximo(Double preco) {
+        return preco == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("preco"), preco);
+    }
+
+    // LIKE 'prefixo%' sem funcao sobre a coluna, para usar o indice text_pattern_ops no PostgreSQL
+    static Specification<ProdutoEntity> skuComPrefixo(String prefixo) {
+        return prefixo == null || prefixo.isEmpty() ? null
+                : (root, query, cb) -> cb.like(root.get("sku"), escapar(prefixo) + "%", ESCAPE);
+    }
+
+    static Specification<ProdutoEntity> nomeContendo(String trecho) {
+        return trecho == null || trecho.isBlank() ? null
+                : (root, query, cb) -> cb.like(cb.lower(root.get("nome")),
+                "%" + escapar(trecho.trim().toLowerCase(Locale.ROOT)) + "%", ESCAPE);
+    }
+
+    private static String escapar(String valor) {
+        return valor.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,36 @@
+package com.fiap.produto.usecase.service;
+
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.domain.ProdutoAlterado;
+import com.fiap.produto.domain.TipoAlteracaoProduto;
+import com.fiap.produto.exception.VersaoConflitanteException;
+import com.fiap.produto.gateway.ProdutoEventoGateway;
+import com.fiap.produto.gateway.ProdutoGateway;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class AtualizarPrecoProdutoServiceUseCase {
+
+    private final ProdutoGateway gateway;
+    private final ProdutoEventoGateway eventoGateway;
+
+    @Transactional
+    public Produto execute(Long id, Double preco, Long versaoEsperada) {
+        // O UPDATE versionado devolve a linha gravada: resposta e evento saem dela, sem leitura previa
+        Produto atualizado = gateway.atualizarPreco(id, preco, versaoEsperada)
+                .orElseThrow(() -> falhaAtualizacao(id, versaoEsperada));
+        eventoGateway.registrar(ProdutoAlterado.de(atualizado, TipoAlteracaoProduto.ATUALIZADO));
+        return atualizado;
+    }
+
+    // Somente quando nenhuma linha foi atualizada: distingue o id inexistente da versao ultrapassada
+    private RuntimeException falhaAtualizacao(Long id, Long versaoEsperada) {
+        if (gateway.buscarPorId(id).isEmpty()) {
+            return new IllegalArgumentException("Produto não encontrado para ID: " + id);
+        }
+        return new VersaoConflitanteException(id, versaoEsperada);
+    }
+}
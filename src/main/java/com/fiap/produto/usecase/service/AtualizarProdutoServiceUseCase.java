@@ -1,17 +1,30 @@
 package com.fiap.produto.usecase.service;
 
 import com.fiap.produto.domain.Produto;
+import com.fiap.produto.domain.ProdutoAlterado;
+import com.fiap.produto.domain.TipoAlteracaoProduto;
+import com.fiap.produto.gateway.ProdutoEventoGateway;
 import com.fiap.produto.gateway.ProdutoGateway;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 public class AtualizarProdutoServiceUseCase {
 
     private final ProdutoGateway gateway;
+    private final ProdutoEventoGateway eventoGateway;
 
+    @Transactional
     public Produto execute(Produto produto) {
-        return gateway.atualizar(produto);
+        if (produto != null) {
+            produto.validarSku();
+        }
+        Produto atualizado = gateway.atualizar(produto);
+        if (atualizado != null) {
+            eventoGateway.registrar(ProdutoAlterado.de(atualizado, TipoAlteracaoProduto.ATUALIZADO));
+        }
+        return atualizado;
     }
 }
@@ -2,7 +2,10 @@ package com.fiap.produto.usecase.service;
 
 import com.fiap.produto.domain.Produto;
 import com.fiap.produto.gateway.ProdutoGateway;
+import com.fiap.produto.gateway.bloom.FiltroBloomSkus;
+import com.fiap.produto.gateway.cache.ProdutoGatewayCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -12,8 +15,23 @@ import java.util.Optional;
 public class BuscarProdutoPorSkuServiceUseCase {
 
     private final ProdutoGateway gateway;
+    private final FiltroBloomSkus filtroSkus;
+    private final ObjectProvider<ProdutoGatewayCache> gatewayCache;
 
     public Optional<Produto> execute(String sku) {
-        return gateway.buscarPorSku(sku);
+        if (!filtroSkus.podeConter(sku)) {
+            return Optional.empty();
+        }
+        Optional<Produto> produto = gateway.buscarPorSku(sku);
+        if (produto.isEmpty()) {
+            filtroSkus.registrarFalsoPositivo();
+        }
+        return produto;
+    }
+
+    // Copia que esta instancia ja tem, mantida em dia pelas invalidacoes; vazio sem cache ou em falta
+    public Optional<Produto> buscarEmCache(String sku) {
+        ProdutoGatewayCache cache = gatewayCache.getIfAvailable();
+        return cache == null || sku == null ? Optional.empty() : cache.copiaEmCache(sku);
     }
 }
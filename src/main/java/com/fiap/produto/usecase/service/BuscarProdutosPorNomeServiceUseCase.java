@@ -0,0 +1,44 @@
+package com.fiap.produto.usecase.service;
+
+import com.fiap.produto.config.busca.BuscaProdutosProperties;
+import com.fiap.produto.domain.CampoOrdenacaoProduto;
+import com.fiap.produto.domain.FiltroProdutos;
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.gateway.ProdutoGateway;
+import com.fiap.produto.gateway.busca.IndiceBuscaProdutos;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class BuscarProdutosPorNomeServiceUseCase {
+
+    private final IndiceBuscaProdutos indice;
+    private final ProdutoGateway gateway;
+    private final BuscaProdutosProperties properties;
+
+    public List<Produto> execute(String consulta, Integer limite) {
+        if (consulta == null || consulta.isBlank()) {
+            throw new IllegalArgumentException("O termo de busca é obrigatório");
+        }
+        int tamanho = resolverLimite(limite);
+        // Sem o indice a consulta vira um LIKE no nome: mais lenta e sem normalizacao de acentos, mas responde
+        return indice.buscar(consulta, tamanho)
+                .orElseGet(() -> gateway.listarFiltrado(FiltroProdutos.builder()
+                        .nomeContem(consulta.trim())
+                        .ordenarPor(CampoOrdenacaoProduto.NOME)
+                        .build(), tamanho));
+    }
+
+    private int resolverLimite(Integer limite) {
+        if (limite == null) {
+            return properties.getLimitePadrao();
+        }
+        if (limite < 1) {
+            throw new IllegalArgumentException("O limite deve ser maior que zero");
+        }
+        return Math.min(limite, properties.getLimiteMaximo());
+    }
+}
@@ -0,0 +1,56 @@
+package com.fiap.produto.usecase.service;
+
+import com.fiap.produto.config.lote.LoteProperties;
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.domain.ResultadoBuscaSkus;
+import com.fiap.produto.gateway.ProdutoGateway;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class BuscarProdutosPorSkusServiceUseCase {
+
+    private final ProdutoGateway gateway;
+    private final LoteProperties properties;
+
+    public ResultadoBuscaSkus execute(Collection<String> skus) {
+        if (skus == null || skus.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um SKU");
+        }
+        Set<String> distintos = skus.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(sku -> !sku.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (distintos.size() > properties.getTamanhoMaximoBusca()) {
+            throw new IllegalArgumentException("A busca excede o máximo de " + properties.getTamanhoMaximoBusca() + " SKUs");
+        }
+
+        Map<String, Produto> porSku = gateway.buscarPorSkus(distintos).stream()
+                .collect(Collectors.toMap(Produto::getSku, Function.identity(), (a, b) -> a));
+
+        // Mantem a ordem em que os SKUs foram pedidos
+        List<Produto> encontrados = distintos.stream()
+                .map(porSku::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        List<String> naoEncontrados = distintos.stream()
+                .filter(sku -> !porSku.containsKey(sku))
+                .collect(Collectors.toList());
+
+        return ResultadoBuscaSkus.builder()
+                .encontrados(encontrados)
+                .naoEncontrados(naoEncontrados)
+                .build();
+    }
+}
@@ -0,0 +1,16 @@
+package com.fiap.produto.usecase.service;
+
+import com.fiap.produto.gateway.ProdutoGateway;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class BuscarVersaoCatalogoServiceUseCase {
+
+    private final ProdutoGateway gateway;
+
+    public long execute() {
+        return gateway.versaoCatalogo();
+    }
+}
@@ -1,20 +1,27 @@
 package com.fiap.produto.usecase.service;
 
 import com.fiap.produto.domain.Produto;
+import com.fiap.produto.domain.ProdutoAlterado;
+import com.fiap.produto.domain.TipoAlteracaoProduto;
+import com.fiap.produto.gateway.ProdutoEventoGateway;
 import com.fiap.produto.gateway.ProdutoGateway;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 public class CadastrarProdutoUseServiceCase {
 
     private final ProdutoGateway gateway;
+    private final ProdutoEventoGateway eventoGateway;
 
+    // SKU duplicado e detectado pela constraint unica no INSERT (SkuJaCadastradoException -> 409)
+    @Transactional
     public Produto execute(Produto produto) {
-        gateway.buscarPorSku(produto.getSku()).ifPresent(p -> {
-            throw new IllegalArgumentException("SKU já cadastrado!");
-        });
-        return gateway.salvar(produto);
+        produto.validarSku();
+        Produto salvo = gateway.salvar(produto);
+        eventoGateway.registrar(ProdutoAlterado.de(salvo, TipoAlteracaoProduto.CRIADO));
+        return salvo;
     }
-}
\ No newline at end of file
+}
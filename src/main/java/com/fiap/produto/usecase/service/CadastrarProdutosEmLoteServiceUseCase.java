@@ -0,0 +1,98 @@
+package com.fiap.produto.usecase.service;
+
+import com.fiap.produto.config.lote.LoteProperties;
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.domain.ProdutoAlterado;
+import com.fiap.produto.domain.ResultadoCadastroLote;
+import com.fiap.produto.domain.StatusCadastroLote;
+import com.fiap.produto.domain.TipoAlteracaoProduto;
+import com.fiap.produto.gateway.ProdutoEventoGateway;
+import com.fiap.produto.gateway.ProdutoGateway;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class CadastrarProdutosEmLoteServiceUseCase {
+
+    private final ProdutoGateway gateway;
+    private final ProdutoEventoGateway eventoGateway;
+    private final LoteProperties properties;
+
+    @Transactional
+    public List<ResultadoCadastroLote> execute(List<Produto> produtos) {
+        if (produtos == null || produtos.isEmpty()) {
+            throw new IllegalArgumentException("O lote deve conter ao menos um produto");
+        }
+        if (produtos.size() > properties.getTamanhoMaximo()) {
+            throw new IllegalArgumentException("O lote excede o tamanho máximo de " + properties.getTamanhoMaximo() + " produtos");
+        }
+
+        List<ResultadoCadastroLote> resultados = new ArrayList<>(produtos.size());
+        List<Produto> novos = new ArrayList<>();
+        List<Integer> posicoesNovos = new ArrayList<>();
+        Set<String> vistos = new HashSet<>();
+
+        for (Produto produto : produtos) {
+            if (!valido(produto)) {
+                resultados.add(rejeitado(produto, StatusCadastroLote.INVALIDO, "Nome, SKU e preço não negativo são obrigatórios"));
+            } else if (Produto.skuReservado(produto.getSku())) {
+                resultados.add(rejeitado(produto, StatusCadastroLote.INVALIDO, "SKU reservado: " + produto.getSku()));
+            } else if (!vistos.add(produto.getSku())) {
+                resultados.add(rejeitado(produto, StatusCadastroLote.SKU_DUPLICADO_NO_LOTE, "SKU repetido no lote"));
+            } else {
+                posicoesNovos.add(resultados.size());
+                resultados.add(null);
+                novos.add(produto);
+            }
+        }
+
+        if (!novos.isEmpty()) {
+            // O gateway deixa de fora os SKUs ja existentes (uma consulta IN por bloco), e cada um vira um
+            // resultado SKU_JA_CADASTRADO
+            List<Produto> salvos = gateway.salvarNovos(novos);
+            Map<String, Produto> salvosPorSku = salvos.stream()
+                    .collect(Collectors.toMap(Produto::getSku, Function.identity()));
+            for (int i = 0; i < novos.size(); i++) {
+                Produto salvo = salvosPorSku.get(novos.get(i).getSku());
+                resultados.set(posicoesNovos.get(i), salvo == null
+                        ? rejeitado(novos.get(i), StatusCadastroLote.SKU_JA_CADASTRADO, "SKU já cadastrado!")
+                        : ResultadoCadastroLote.builder()
+                                .sku(salvo.getSku())
+                                .status(StatusCadastroLote.CRIADO)
+                                .produto(salvo)
+                                .build());
+            }
+            if (!salvos.isEmpty()) {
+                eventoGateway.registrarTodos(salvos.stream()
+                        .map(salvo -> ProdutoAlterado.de(salvo, TipoAlteracaoProduto.CRIADO))
+                        .collect(Collectors.toList()));
+            }
+        }
+        return resultados;
+    }
+
+    private boolean valido(Produto produto) {
+        return produto != null
+                && produto.getNome() != null && !produto.getNome().isBlank()
+                && produto.getSku() != null && !produto.getSku().isBlank()
+                && produto.getPreco() != null && produto.getPreco() >= 0;
+    }
+
+    private ResultadoCadastroLote rejeitado(Produto produto, StatusCadastroLote status, String mensagem) {
+        return ResultadoCadastroLote.builder()
+                .sku(produto == null ? null : produto.getSku())
+                .status(status)
+                .mensagem(mensagem)
+                .build();
+    }
+}
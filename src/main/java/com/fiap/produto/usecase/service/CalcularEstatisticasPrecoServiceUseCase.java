@@ -0,0 +1,22 @@
+package com.fiap.produto.usecase.service;
+
+import com.fiap.produto.domain.EstatisticasPreco;
+import com.fiap.produto.domain.FiltroProdutos;
+import com.fiap.produto.gateway.ProdutoGateway;
+import com.fiap.produto.gateway.colunar.ModeloLeituraColunar;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class CalcularEstatisticasPrecoServiceUseCase {
+
+    private final ProdutoGateway gateway;
+    private final ModeloLeituraColunar modeloColunar;
+
+    public EstatisticasPreco execute(FiltroProdutos filtro) {
+        filtro.validar();
+        return modeloColunar.estatisticasPreco(filtro)
+                .orElseGet(() -> gateway.estatisticasPreco(filtro));
+    }
+}
@@ -0,0 +1,21 @@
+package com.fiap.produto.usecase.service;
+
+import com.fiap.produto.domain.SnapshotProdutos;
+import com.fiap.produto.gateway.arquivo.SnapshotArquivoCatalogo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class CarregarSnapshotArquivoServiceUseCase {
+
+    private final SnapshotArquivoCatalogo snapshotArquivo;
+
+    // Vazio sem arquivo ou com arquivo ilegivel
+    public Optional<SnapshotProdutos> execute() {
+        return snapshotArquivo.abrir()
+                .map(arquivo -> new SnapshotProdutos(arquivo.getVersao(), arquivo::percorrer));
+    }
+}
@@ -0,0 +1,19 @@
+package com.fiap.produto.usecase.service;
+
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.gateway.ProdutoGateway;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.function.Consumer;
+
+@Service
+@RequiredArgsConstructor
+public class ExportarProdutosServiceUseCase {
+
+    private final ProdutoGateway gateway;
+
+    public void execute(Consumer<Produto> consumidor) {
+        gateway.percorrerTodos(consumidor);
+    }
+}
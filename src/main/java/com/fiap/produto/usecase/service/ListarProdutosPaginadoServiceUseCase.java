@@ -0,0 +1,47 @@
+package com.fiap.produto.usecase.service;
+
+import com.fiap.produto.config.listagem.ListagemProperties;
+import com.fiap.produto.domain.PaginaProdutos;
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.gateway.ProdutoGateway;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ListarProdutosPaginadoServiceUseCase {
+
+    private final ProdutoGateway gateway;
+    private final ListagemProperties properties;
+
+    public PaginaProdutos execute(Long aposId, Integer limite) {
+        int tamanho = resolverLimite(limite);
+        long inicio = aposId == null ? 0L : aposId;
+
+        // Busca um registro a mais apenas para saber se existe proxima pagina
+        List<Produto> produtos = gateway.listarAposId(inicio, tamanho + 1);
+        boolean temProxima = produtos.size() > tamanho;
+        if (temProxima) {
+            produtos = produtos.subList(0, tamanho);
+        }
+        Long ultimoId = produtos.isEmpty() ? null : produtos.get(produtos.size() - 1).getId();
+
+        return PaginaProdutos.builder()
+                .produtos(produtos)
+                .ultimoId(ultimoId)
+                .temProxima(temProxima)
+                .build();
+    }
+
+    private int resolverLimite(Integer limite) {
+        if (limite == null) {
+            return properties.getLimitePadrao();
+        }
+        if (limite < 1) {
+            throw new IllegalArgumentException("O limite deve ser maior que zero");
+        }
+        return Math.min(limite, properties.getLimiteMaximo());
+    }
+}
@@ -1,9 +1,16 @@
 package com.fiap.produto.usecase.service;
 
+import com.fiap.produto.config.listagem.ListagemProperties;
+import com.fiap.produto.domain.CampoOrdenacaoProduto;
+import com.fiap.produto.domain.CatalogoVersionado;
+import com.fiap.produto.domain.FiltroProdutos;
+import com.fiap.produto.domain.ListagemFiltrada;
 import com.fiap.produto.domain.Produto;
 import com.fiap.produto.gateway.ProdutoGateway;
+import com.fiap.produto.gateway.colunar.ModeloLeituraColunar;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -12,8 +19,64 @@ import java.util.List;
 public class ListarProdutosServiceUseCase {
 
     private final ProdutoGateway gateway;
+    private final ListagemProperties properties;
+    private final ModeloLeituraColunar modeloColunar;
 
-    public List<Produto> execute() {
-        return gateway.listarTodos();
+    // Versao lida antes da lista e na mesma transacao: no pior caso o ETag fica mais antigo que o corpo e o cliente rebaixa de novo
+    @Transactional(readOnly = true)
+    public CatalogoVersionado execute() {
+        long versao = gateway.versaoCatalogo();
+        return CatalogoVersionado.builder()
+                .versao(versao)
+                .produtos(gateway.listarTodos())
+                .build();
+    }
+
+    // Ordenacao no formato "campo" ou "campo,asc|desc"
+    public ListagemFiltrada execute(FiltroProdutos filtro, String ordenacao, Integer limite) {
+        filtro.validar();
+        int tamanho = resolverLimite(limite);
+        FiltroProdutos filtroOrdenado = aplicarOrdenacao(filtro, ordenacao);
+
+        // Um registro a mais apenas para saber se o resultado foi cortado pelo limite
+        List<Produto> produtos = modeloColunar.listarFiltrado(filtroOrdenado, tamanho + 1)
+                .orElseGet(() -> gateway.listarFiltrado(filtroOrdenado, tamanho + 1));
+        boolean truncada = produtos.size() > tamanho;
+        return ListagemFiltrada.builder()
+                .produtos(truncada ? produtos.subList(0, tamanho) : produtos)
+                .truncada(truncada)
+                .build();
+    }
+
+    private FiltroProdutos aplicarOrdenacao(FiltroProdutos filtro, String ordenacao) {
+        if (ordenacao == null || ordenacao.isBlank()) {
+            return filtro;
+        }
+        String[] partes = ordenacao.split(",");
+        if (partes.length > 2) {
+            throw new IllegalArgumentException("Ordenação inválida: " + ordenacao);
+        }
+        boolean decrescente = false;
+        if (partes.length == 2) {
+            String direcao = partes[1].trim();
+            if (!direcao.equalsIgnoreCase("asc") && !direcao.equalsIgnoreCase("desc")) {
+                throw new IllegalArgumentException("Direção de ordenação inválida: " + direcao + ". Use asc ou desc");
+            }
+            decrescente = direcao.equalsIgnoreCase("desc");
+        }
+        return filtro.toBuilder()
+                .ordenarPor(CampoOrdenacaoProduto.de(partes[0]))
+                .decrescente(decrescente)
+                .build();
+    }
+
+    private int resolverLimite(Integer limite) {
+        if (limite == null) {
+            return properties.getLimitePadrao();
+        }
+        if (limite < 1) {
+            throw new IllegalArgumentException("O limite deve ser maior que zero");
+        }
+        return Math.min(limite, properties.getLimiteMaximo());
     }
 }
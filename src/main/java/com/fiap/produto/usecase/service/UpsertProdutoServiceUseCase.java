@@ -0,0 +1,30 @@
+package com.fiap.produto.usecase.service;
+
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.domain.ProdutoAlterado;
+import com.fiap.produto.domain.TipoAlteracaoProduto;
+import com.fiap.produto.gateway.ProdutoEventoGateway;
+import com.fiap.produto.gateway.ProdutoGateway;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class UpsertProdutoServiceUseCase {
+
+    private final ProdutoGateway gateway;
+    private final ProdutoEventoGateway eventoGateway;
+
+    @Transactional
+    public Produto execute(Produto produto) {
+        produto.validarSku();
+        Produto resultado = gateway.upsertPorSku(produto);
+        // Versao 0 so existe logo apos o INSERT; qualquer atualizacao a incrementa
+        TipoAlteracaoProduto tipo = Long.valueOf(0L).equals(resultado.getVersao())
+                ? TipoAlteracaoProduto.CRIADO
+                : TipoAlteracaoProduto.ATUALIZADO;
+        eventoGateway.registrar(ProdutoAlterado.de(resultado, tipo));
+        return resultado;
+    }
+}
@@ -0,0 +1,7 @@
+-- Executado apos o ddl-auto, somente quando o banco conectado e H2 (InicializacaoSqlConfig).
+-- Ordem de publicacao da outbox atribuida no INSERT, como em schema-postgresql.sql
+create sequence if not exists produto_outbox_ordem_seq;
+alter table if exists produto_outbox alter column ordem set default next value for produto_outbox_ordem_seq;
+
+-- Versao do catalogo (ProdutoEntity.SEQ_VERSAO_CATALOGO): um nextval por transacao de escrita
+create sequence if not exists catalogo_versao_seq;
@@ -0,0 +1,13 @@
+-- Executado apos o ddl-auto (spring.jpa.defer-datasource-initialization=true), somente quando o banco conectado
+-- e PostgreSQL (InicializacaoSqlConfig).
+-- Com collation diferente de C, o indice unico de sku nao atende LIKE 'prefixo%'; text_pattern_ops atende.
+create index if not exists idx_produtos_sku_pattern on produtos (sku text_pattern_ops);
+
+-- Ordem de publicacao da outbox atribuida no INSERT, e nao pelos blocos de ids pre-reservados de cada instancia
+create sequence if not exists produto_outbox_ordem_seq;
+alter table produto_outbox alter column ordem set default nextval('produto_outbox_ordem_seq');
+create index if not exists idx_produto_outbox_ordem on produto_outbox (ordem);
+
+-- Versao do catalogo (ProdutoEntity.SEQ_VERSAO_CATALOGO): um nextval por transacao de escrita, sem lock entre
+-- escritores. A tabela catalogo_versao de versoes anteriores deixa de ser usada
+create sequence if not exists catalogo_versao_seq;
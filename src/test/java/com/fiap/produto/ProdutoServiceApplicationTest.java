@@ -11,6 +11,8 @@ import org.springframework.test.context.TestPropertySource;
 		"spring.datasource.username=sa",
 		"spring.datasource.password=",
 		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"produto.snapshot-arquivo.habilitado=false",
+		"produto.invalidacao.habilitado=false",
 		"spring.kafka.bootstrap-servers=localhost:9092",
 		"spring.kafka.consumer.group-id=test-group",
 		"spring.kafka.consumer.auto-offset-reset=earliest",
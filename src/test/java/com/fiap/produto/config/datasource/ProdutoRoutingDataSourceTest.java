@@ -0,0 +1,134 @@
+package com.fiap.produto.config.datasource;
+
+import com.fiap.produto.gateway.transacao.LeituraNaPrimaria;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Duas instancias H2 em memoria fazem o papel de primaria e replica; cada uma responde o proprio nome
+class ProdutoRoutingDataSourceTest {
+
+    private DataSource primaria;
+    private DataSource replica;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate escrita;
+    private TransactionTemplate leitura;
+    private SeletorReplicas seletor;
+
+    @BeforeEach
+    void setUp() {
+        primaria = criarBanco("primaria");
+        replica = criarBanco("replica-1");
+        configurar(List.of(new ReplicaMonitorada("replica-1", replica)), Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void deveEnviarTransacaoSomenteLeituraParaReplica() {
+        assertEquals("replica-1", leitura.execute(status -> origem()));
+    }
+
+    @Test
+    void deveEnviarTransacaoDeEscritaParaPrimaria() {
+        assertEquals("primaria", escrita.execute(status -> origem()));
+    }
+
+    @Test
+    void deveUsarPrimariaQuandoNaoHouverReplicaSaudavel() {
+        seletor.ejetar("replica-1", new SQLException("fora do ar"));
+
+        assertEquals("primaria", leitura.execute(status -> origem()));
+    }
+
+    @Test
+    void deveEjetarReplicaQueFalhaAoConectarERecorrerAPrimaria() throws SQLException {
+        DataSource replicaFora = mock(DataSource.class);
+        when(replicaFora.getConnection()).thenThrow(new SQLException("Connection refused"));
+        configurar(List.of(new ReplicaMonitorada("replica-1", replicaFora)), Duration.ofSeconds(5));
+
+        assertEquals("primaria", leitura.execute(status -> origem()));
+        assertFalse(seletor.getReplicas().get(0).isSaudavel());
+    }
+
+    @Test
+    void deveLerDaPrimariaDentroDaJanelaAposEscritaDoMesmoCliente() {
+        simularRequisicaoDoCliente("pedido-service-1");
+        escrita.execute(status -> origem());
+
+        assertEquals("primaria", leitura.execute(status -> origem()));
+
+        simularRequisicaoDoCliente("pedido-service-2");
+        assertEquals("replica-1", leitura.execute(status -> origem()));
+    }
+
+    @Test
+    void deveLerDaPrimariaQuandoLeituraForMarcadaParaPrimaria() {
+        assertEquals("primaria", LeituraNaPrimaria.executar(() -> leitura.execute(status -> origem())));
+
+        assertEquals("replica-1", leitura.execute(status -> origem()));
+    }
+
+    @Test
+    void naoDeveAbrirJanelaQuandoEscritaSofrerRollback() {
+        simularRequisicaoDoCliente("pedido-service-1");
+        escrita.execute(status -> {
+            origem();
+            status.setRollbackOnly();
+            return null;
+        });
+
+        assertEquals("replica-1", leitura.execute(status -> origem()));
+    }
+
+    private void configurar(List<ReplicaMonitorada> replicas, Duration janela) {
+        seletor = new SeletorReplicas(replicas, EstrategiaSelecaoReplica.ROUND_ROBIN, Duration.ofSeconds(1));
+        var roteamento = new ProdutoRoutingDataSource(primaria, seletor, new JanelaLeituraPropriaEscrita(janela, "X-Client-Id"));
+        roteamento.afterPropertiesSet();
+        var dataSource = new LazyConnectionDataSourceProxy(roteamento);
+        var transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        escrita = new TransactionTemplate(transactionManager);
+        leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+    }
+
+    private String origem() {
+        return jdbcTemplate.queryForObject("select nome from origem", String.class);
+    }
+
+    private void simularRequisicaoDoCliente(String cliente) {
+        var request = new MockHttpServletRequest();
+        request.addHeader("X-Client-Id", cliente);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private DataSource criarBanco(String nome) {
+        var dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:roteamento-" + nome + ";DB_CLOSE_DELAY=-1");
+        var jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table if not exists origem (nome varchar(50))");
+        jdbc.update("delete from origem");
+        jdbc.update("insert into origem (nome) values (?)", nome);
+        return dataSource;
+    }
+}
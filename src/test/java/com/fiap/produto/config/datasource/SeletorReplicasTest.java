@@ -0,0 +1,81 @@
+package com.fiap.produto.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SeletorReplicasTest {
+
+    @Test
+    void deveAlternarReplicasEmRoundRobin() {
+        var seletor = new SeletorReplicas(List.of(
+                new ReplicaMonitorada("r1", mock(DataSource.class)),
+                new ReplicaMonitorada("r2", mock(DataSource.class))), EstrategiaSelecaoReplica.ROUND_ROBIN, Duration.ofSeconds(1));
+
+        assertEquals(Optional.of("r1"), seletor.selecionar());
+        assertEquals(Optional.of("r2"), seletor.selecionar());
+        assertEquals(Optional.of("r1"), seletor.selecionar());
+    }
+
+    @Test
+    void deveEscolherReplicaComMenosConexoesAtivas() {
+        var seletor = new SeletorReplicas(List.of(
+                new ReplicaMonitorada("r1", hikariComConexoesAtivas(8)),
+                new ReplicaMonitorada("r2", hikariComConexoesAtivas(2))), EstrategiaSelecaoReplica.MENOS_CARREGADA, Duration.ofSeconds(1));
+
+        assertEquals(Optional.of("r2"), seletor.selecionar());
+    }
+
+    @Test
+    void deveIgnorarReplicaEjetadaERetornarVazioSemReplicasSaudaveis() {
+        var seletor = new SeletorReplicas(List.of(
+                new ReplicaMonitorada("r1", mock(DataSource.class)),
+                new ReplicaMonitorada("r2", mock(DataSource.class))), EstrategiaSelecaoReplica.ROUND_ROBIN, Duration.ofSeconds(1));
+
+        seletor.ejetar("r1", new SQLException("falha"));
+        assertEquals(Optional.of("r2"), seletor.selecionar());
+        assertEquals(Optional.of("r2"), seletor.selecionar());
+
+        seletor.ejetar("r2", new SQLException("falha"));
+        assertEquals(Optional.empty(), seletor.selecionar());
+    }
+
+    @Test
+    void deveReadmitirOuEjetarReplicasNaVerificacaoDeSaude() throws SQLException {
+        DataSource recuperada = mock(DataSource.class);
+        Connection conexao = mock(Connection.class);
+        when(recuperada.getConnection()).thenReturn(conexao);
+        when(conexao.isValid(anyInt())).thenReturn(true);
+        DataSource foraDoAr = mock(DataSource.class);
+        when(foraDoAr.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        var seletor = new SeletorReplicas(List.of(
+                new ReplicaMonitorada("r1", recuperada),
+                new ReplicaMonitorada("r2", foraDoAr)), EstrategiaSelecaoReplica.ROUND_ROBIN, Duration.ofSeconds(1));
+        seletor.ejetar("r1", new SQLException("falha anterior"));
+
+        seletor.verificarSaude();
+
+        assertTrue(seletor.getReplicas().get(0).isSaudavel());
+        assertFalse(seletor.getReplicas().get(1).isSaudavel());
+        verify(conexao).close();
+    }
+
+    private HikariDataSource hikariComConexoesAtivas(int ativas) {
+        HikariDataSource dataSource = mock(HikariDataSource.class);
+        HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+        when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+        when(pool.getActiveConnections()).thenReturn(ativas);
+        return dataSource;
+    }
+}
@@ -0,0 +1,66 @@
+package com.fiap.produto.config.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HibernateEstatisticasMetricasTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Statistics estatisticas;
+
+    private HibernateEstatisticasMetricas metricas;
+
+    @BeforeEach
+    void setUp() {
+        // SessionFactory tambem e um EntityManagerFactory, entao @InjectMocks poderia injetar o mock errado
+        metricas = new HibernateEstatisticasMetricas(entityManagerFactory);
+    }
+
+    @Test
+    void devePublicarEstatisticasQuandoHabilitadas() {
+        var registry = new SimpleMeterRegistry();
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getStatistics()).thenReturn(estatisticas);
+        when(estatisticas.isStatisticsEnabled()).thenReturn(true);
+        when(estatisticas.getPrepareStatementCount()).thenReturn(42L);
+        when(estatisticas.getEntityInsertCount()).thenReturn(7L);
+        when(estatisticas.getQueryExecutionMaxTime()).thenReturn(120L);
+
+        metricas.bindTo(registry);
+
+        assertEquals(42.0, registry.get("hibernate.statements.prepared").functionCounter().count());
+        assertEquals(7.0, registry.get("hibernate.entities").tag("operacao", "insert").functionCounter().count());
+        assertEquals(120.0, registry.get("hibernate.query.executions.max").timeGauge().value(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void naoDevePublicarNadaQuandoEstatisticasDesabilitadas() {
+        var registry = new SimpleMeterRegistry();
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getStatistics()).thenReturn(estatisticas);
+        when(estatisticas.isStatisticsEnabled()).thenReturn(false);
+
+        metricas.bindTo(registry);
+
+        assertTrue(registry.getMeters().isEmpty());
+    }
+}
@@ -0,0 +1,76 @@
+package com.fiap.produto.config.metrics;
+
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.gateway.ProdutoGateway;
+import com.fiap.produto.gateway.bloom.FiltroBloomSkus;
+import com.fiap.produto.gateway.cache.ProdutoGatewayCache;
+import com.fiap.produto.usecase.service.BuscarProdutoPorSkuServiceUseCase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MetricasCamadasAspectTest {
+
+    @Mock
+    private ProdutoGateway gateway;
+
+    @Mock
+    private FiltroBloomSkus filtroSkus;
+
+    private SimpleMeterRegistry registry;
+    private MetricasCamadasAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        aspect = new MetricasCamadasAspect(registry);
+    }
+
+    @Test
+    void deveCronometrarExecucaoDoUseCase() {
+        var produto = Produto.builder().id(1L).nome("Produto").sku("SKU123").preco(10.0).build();
+        when(filtroSkus.podeConter("SKU123")).thenReturn(true);
+        when(gateway.buscarPorSku("SKU123")).thenReturn(Optional.of(produto));
+        BuscarProdutoPorSkuServiceUseCase useCase = proxy(new BuscarProdutoPorSkuServiceUseCase(gateway, filtroSkus,
+                new DefaultListableBeanFactory().getBeanProvider(ProdutoGatewayCache.class)));
+
+        var resultado = useCase.execute("SKU123");
+
+        assertEquals(Optional.of(produto), resultado);
+        var timer = registry.get(MetricasCamadasAspect.METRICA_USECASE)
+                .tags("classe", "BuscarProdutoPorSkuServiceUseCase", "metodo", "execute", "exception", "none")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void deveCronometrarMetodoDoGatewayComTagDeExcecao() {
+        when(gateway.buscarPorSku("SKU123")).thenThrow(new IllegalStateException("falha"));
+        ProdutoGateway gatewayMedido = proxy(gateway);
+
+        assertThrows(IllegalStateException.class, () -> gatewayMedido.buscarPorSku("SKU123"));
+
+        var timer = registry.get(MetricasCamadasAspect.METRICA_GATEWAY)
+                .tags("metodo", "buscarPorSku", "exception", "IllegalStateException")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    private <T> T proxy(T alvo) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(alvo);
+        factory.setProxyTargetClass(!(alvo instanceof ProdutoGateway));
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+}
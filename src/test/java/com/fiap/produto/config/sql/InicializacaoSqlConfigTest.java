@@ -0,0 +1,59 @@
+package com.fiap.produto.config.sql;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.boot.sql.init.DatabaseInitializationMode;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class InicializacaoSqlConfigTest {
+
+    private final EmbeddedDatabase h2 = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .build();
+
+    @AfterEach
+    void tearDown() {
+        h2.shutdown();
+    }
+
+    @Test
+    void deveIdentificarPlataformaPeloBancoConectado() {
+        assertEquals("h2", InicializacaoSqlConfig.plataforma(h2));
+    }
+
+    @Test
+    void deveRodarSoOsScriptsDoBancoConectado() {
+        var jdbcTemplate = new JdbcTemplate(h2);
+        var properties = new SqlInitializationProperties();
+        properties.setMode(DatabaseInitializationMode.ALWAYS);
+
+        var inicializador = new InicializacaoSqlConfig().dataSourceScriptDatabaseInitializer(h2, properties);
+
+        // schema-postgresql.sql (text_pattern_ops) falharia no H2; schema-h2.sql cria a sequence da versao do catalogo
+        assertDoesNotThrow(inicializador::initializeDatabase);
+        assertEquals(1L, jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.sequences where sequence_name = 'CATALOGO_VERSAO_SEQ'", Long.class));
+        assertEquals(InicializacaoSqlConfig.PLATAFORMA_PADRAO, properties.getPlatform());
+    }
+
+    @Test
+    void naoDeveConectarQuandoInicializacaoEstiverDesligada() {
+        var dataSource = mock(DataSource.class);
+        var properties = new SqlInitializationProperties();
+        properties.setMode(DatabaseInitializationMode.NEVER);
+
+        new InicializacaoSqlConfig().dataSourceScriptDatabaseInitializer(dataSource, properties).initializeDatabase();
+
+        verifyNoInteractions(dataSource);
+    }
+}
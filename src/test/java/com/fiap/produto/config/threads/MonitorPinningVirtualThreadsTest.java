@@ -0,0 +1,37 @@
+package com.fiap.produto.config.threads;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonitorPinningVirtualThreadsTest {
+
+    @Test
+    void deveClassificarPinningPeloFrameMaisProximoDoBloqueio() {
+        var frames = List.of(
+                "java.lang.VirtualThread.parkOnCarrierThread",
+                "org.postgresql.core.v3.QueryExecutorImpl.execute",
+                "com.zaxxer.hikari.pool.ProxyPreparedStatement.executeQuery",
+                "org.hibernate.sql.exec.internal.JdbcSelectExecutorStandardImpl.executeQuery");
+
+        assertEquals("jdbc", MonitorPinningVirtualThreads.classificarCamada(frames));
+    }
+
+    @Test
+    void deveClassificarPinningNoPoolENoHibernate() {
+        assertEquals("pool", MonitorPinningVirtualThreads.classificarCamada(List.of(
+                "java.util.concurrent.locks.LockSupport.park",
+                "com.zaxxer.hikari.util.ConcurrentBag.borrow")));
+        assertEquals("jpa", MonitorPinningVirtualThreads.classificarCamada(List.of(
+                "org.hibernate.internal.SessionImpl.find")));
+    }
+
+    @Test
+    void deveClassificarComoOutroQuandoNaoHouverFrameDePersistencia() {
+        assertEquals("outro", MonitorPinningVirtualThreads.classificarCamada(List.of(
+                "com.fiap.produto.controller.ProdutoController.buscarPorSku")));
+        assertEquals("outro", MonitorPinningVirtualThreads.classificarCamada(List.of()));
+    }
+}
@@ -0,0 +1,52 @@
+package com.fiap.produto.controller;
+
+import com.fiap.produto.gateway.cache.ProdutoGatewayCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProdutoCacheControllerTest {
+
+    @InjectMocks
+    private ProdutoCacheController produtoCacheController;
+
+    @Mock
+    private ObjectProvider<ProdutoGatewayCache> gatewayCacheProvider;
+
+    @Mock
+    private ProdutoGatewayCache gatewayCache;
+
+    @Test
+    void deveRetornarEstatisticasDoCache() {
+        when(gatewayCacheProvider.getIfAvailable()).thenReturn(gatewayCache);
+        when(gatewayCache.tamanho()).thenReturn(10L);
+        when(gatewayCache.estatisticas()).thenReturn(CacheStats.of(3, 1, 1, 0, 0, 2, 0));
+
+        var response = produtoCacheController.estatisticas();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(10L, response.getBody().getTamanho());
+        assertEquals(3L, response.getBody().getAcertos());
+        assertEquals(1L, response.getBody().getFaltas());
+        assertEquals(0.75, response.getBody().getTaxaAcerto());
+        assertEquals(2L, response.getBody().getDespejos());
+    }
+
+    @Test
+    void deveRetornarNotFoundQuandoCacheEstiverDesabilitado() {
+        when(gatewayCacheProvider.getIfAvailable()).thenReturn(null);
+
+        var response = produtoCacheController.estatisticas();
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+}
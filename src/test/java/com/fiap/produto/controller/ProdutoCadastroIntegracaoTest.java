@@ -0,0 +1,66 @@
+package com.fiap.produto.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cadastro",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "produto.snapshot-arquivo.habilitado=false",
+        "produto.invalidacao.habilitado=false",
+        "produto.outbox.relay.habilitado=false"
+})
+class ProdutoCadastroIntegracaoTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void deveResponderConflitoQuandoCorpoDeUmGetForReenviadoNoCadastro() throws Exception {
+        mockMvc.perform(post("/produtos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Café\",\"sku\":\"SKU-REENVIADO\",\"preco\":10.0}"))
+                .andExpect(status().isOk());
+        String corpoDoGet = mockMvc.perform(get("/produtos/SKU-REENVIADO"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(post("/produtos").contentType(MediaType.APPLICATION_JSON).content(corpoDoGet))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get("/produtos/SKU-REENVIADO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.versao").value(0));
+    }
+
+    @Test
+    void deveIgnorarIdInformadoNoCadastro() throws Exception {
+        mockMvc.perform(post("/produtos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":987654,\"nome\":\"Chá\",\"sku\":\"SKU-COM-ID\",\"preco\":5.0}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.versao").value(0));
+    }
+
+    @Test
+    void deveRejeitarSkuQueColideComRotaLiteral() throws Exception {
+        mockMvc.perform(post("/produtos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Busca\",\"sku\":\"search\",\"preco\":1.0}"))
+                .andExpect(status().isBadRequest());
+    }
+}
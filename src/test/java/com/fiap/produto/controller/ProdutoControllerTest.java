@@ -1,21 +1,50 @@
 package com.fiap.produto.controller;
 
+import com.fiap.produto.controller.cursor.CursorProdutoCodec;
+import com.fiap.produto.controller.etag.EtagProduto;
+import com.fiap.produto.controller.export.FormatoExportacao;
+import com.fiap.produto.controller.export.ProdutoExportador;
+import com.fiap.produto.domain.CatalogoVersionado;
+import com.fiap.produto.domain.EstatisticasPreco;
+import com.fiap.produto.domain.FiltroProdutos;
+import com.fiap.produto.domain.ListagemFiltrada;
+import com.fiap.produto.domain.PaginaProdutos;
 import com.fiap.produto.domain.Produto;
+import com.fiap.produto.domain.ResultadoBuscaSkus;
+import com.fiap.produto.domain.ResultadoCadastroLote;
+import com.fiap.produto.domain.StatusCadastroLote;
+import com.fiap.produto.dto.request.AtualizacaoPrecoRequestDTO;
+import com.fiap.produto.dto.request.BuscaSkusRequestDTO;
+import com.fiap.produto.dto.request.FiltroProdutosRequestDTO;
 import com.fiap.produto.dto.request.ProdutoRequestDTO;
+import com.fiap.produto.dto.response.BuscaSkusResponseDTO;
+import com.fiap.produto.dto.response.EstatisticasPrecoResponseDTO;
+import com.fiap.produto.dto.response.ProdutoLoteResponseDTO;
 import com.fiap.produto.dto.response.ProdutoResponseDTO;
 import com.fiap.produto.mapper.ProdutoMapper;
+import com.fiap.produto.usecase.service.AtualizarPrecoProdutoServiceUseCase;
 import com.fiap.produto.usecase.service.AtualizarProdutoServiceUseCase;
 import com.fiap.produto.usecase.service.BuscarProdutoPorSkuServiceUseCase;
+import com.fiap.produto.usecase.service.BuscarProdutosPorNomeServiceUseCase;
+import com.fiap.produto.usecase.service.BuscarProdutosPorSkusServiceUseCase;
+import com.fiap.produto.usecase.service.BuscarVersaoCatalogoServiceUseCase;
 import com.fiap.produto.usecase.service.CadastrarProdutoUseServiceCase;
+import com.fiap.produto.usecase.service.CadastrarProdutosEmLoteServiceUseCase;
+import com.fiap.produto.usecase.service.CalcularEstatisticasPrecoServiceUseCase;
+import com.fiap.produto.usecase.service.ListarProdutosPaginadoServiceUseCase;
 import com.fiap.produto.usecase.service.ListarProdutosServiceUseCase;
+import com.fiap.produto.usecase.service.UpsertProdutoServiceUseCase;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
 
+import java.io.ByteArrayOutputStream;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -42,9 +71,36 @@ class ProdutoControllerTest {
     @Mock
     private ListarProdutosServiceUseCase listarUseCase;
 
+    @Mock
+    private ListarProdutosPaginadoServiceUseCase listarPaginadoUseCase;
+
     @Mock
     private ProdutoMapper mapper;
 
+    @Mock
+    private ProdutoExportador exportador;
+
+    @Mock
+    private CadastrarProdutosEmLoteServiceUseCase cadastrarEmLoteUseCase;
+
+    @Mock
+    private BuscarProdutosPorSkusServiceUseCase buscarPorSkusUseCase;
+
+    @Mock
+    private BuscarVersaoCatalogoServiceUseCase buscarVersaoCatalogoUseCase;
+
+    @Mock
+    private AtualizarPrecoProdutoServiceUseCase atualizarPrecoUseCase;
+
+    @Mock
+    private UpsertProdutoServiceUseCase upsertUseCase;
+
+    @Mock
+    private BuscarProdutosPorNomeServiceUseCase buscarPorNomeUseCase;
+
+    @Mock
+    private CalcularEstatisticasPrecoServiceUseCase estatisticasPrecoUseCase;
+
     @Test
     void deveCadastrarProdutoComSucesso() {
         var requestDTO = criarProdutoRequestDTO();
@@ -95,7 +151,7 @@ class ProdutoControllerTest {
         when(buscarPorSkuUseCase.execute(sku)).thenReturn(Optional.of(produto));
         when(mapper.toResponseDTO(produto)).thenReturn(responseDTO);
 
-        var response = produtoController.buscarPorSku(sku);
+        var response = produtoController.buscarPorSku(sku, new HttpHeaders());
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(responseDTO, response.getBody());
@@ -110,7 +166,7 @@ class ProdutoControllerTest {
         when(buscarPorSkuUseCase.execute(sku)).thenReturn(Optional.empty());
 
         var exception = assertThrows(IllegalArgumentException.class,
-                () -> produtoController.buscarPorSku(sku));
+                () -> produtoController.buscarPorSku(sku, new HttpHeaders()));
 
         assertEquals("Produto não encontrado para SKU: " + sku, exception.getMessage());
         verify(buscarPorSkuUseCase).execute(sku);
@@ -123,23 +179,24 @@ class ProdutoControllerTest {
         var responseDTO1 = criarProdutoResponseDTO();
         var responseDTO2 = criarProdutoResponseDTODois();
 
-        when(listarUseCase.execute()).thenReturn(produtos);
+        when(listarUseCase.execute()).thenReturn(new CatalogoVersionado(3L, produtos));
         when(mapper.toResponseDTO(produtos.get(0))).thenReturn(responseDTO1);
         when(mapper.toResponseDTO(produtos.get(1))).thenReturn(responseDTO2);
 
-        var response = produtoController.listar();
+        var response = produtoController.listar(new HttpHeaders(), new FiltroProdutosRequestDTO());
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(2, response.getBody().size());
+        assertEquals("\"catalogo-3\"", response.getHeaders().getETag());
         verify(listarUseCase).execute();
         verify(mapper, times(2)).toResponseDTO(any(Produto.class));
     }
 
     @Test
     void deveRetornarListaVaziaQuandoNaoHouverProdutos() {
-        when(listarUseCase.execute()).thenReturn(List.of());
+        when(listarUseCase.execute()).thenReturn(new CatalogoVersionado(0L, List.of()));
 
-        var response = produtoController.listar();
+        var response = produtoController.listar(new HttpHeaders(), new FiltroProdutosRequestDTO());
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertTrue(response.getBody().isEmpty());
@@ -147,6 +204,144 @@ class ProdutoControllerTest {
         verify(mapper, never()).toResponseDTO(any());
     }
 
+    @Test
+    void deveListarComFiltroSemCarregarCatalogoCompleto() {
+        var dto = FiltroProdutosRequestDTO.builder().precoMin(10.0).skuPrefix("NOTE").sort("preco,desc").limite(1).build();
+        var filtro = FiltroProdutos.builder().precoMin(10.0).skuPrefixo("NOTE").build();
+        var produto = criarProdutoComId();
+        var responseDTO = criarProdutoResponseDTO();
+
+        when(mapper.toFiltro(dto)).thenReturn(filtro);
+        when(listarUseCase.execute(filtro, "preco,desc", 1)).thenReturn(new ListagemFiltrada(List.of(produto), true));
+        when(mapper.toResponseDTO(produto)).thenReturn(responseDTO);
+
+        var response = produtoController.listar(new HttpHeaders(), dto);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(responseDTO), response.getBody());
+        assertEquals("true", response.getHeaders().getFirst(ProdutoController.CABECALHO_RESULTADO_TRUNCADO));
+        verify(listarUseCase, never()).execute();
+        verifyNoInteractions(buscarVersaoCatalogoUseCase);
+    }
+
+    @Test
+    void deveRetornarNaoModificadoQuandoVersaoDoCatalogoNaoMudou() {
+        var headers = new HttpHeaders();
+        headers.setIfNoneMatch("\"catalogo-7\"");
+
+        when(buscarVersaoCatalogoUseCase.execute()).thenReturn(7L);
+
+        var response = produtoController.listar(headers, new FiltroProdutosRequestDTO());
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"catalogo-7\"", response.getHeaders().getETag());
+        assertNull(response.getBody());
+        verifyNoInteractions(listarUseCase);
+    }
+
+    @Test
+    void deveListarQuandoVersaoDoCatalogoMudou() {
+        var headers = new HttpHeaders();
+        headers.setIfNoneMatch("\"catalogo-6\"");
+
+        when(buscarVersaoCatalogoUseCase.execute()).thenReturn(7L);
+        when(listarUseCase.execute()).thenReturn(new CatalogoVersionado(7L, List.of()));
+
+        var response = produtoController.listar(headers, new FiltroProdutosRequestDTO());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"catalogo-7\"", response.getHeaders().getETag());
+        verify(listarUseCase).execute();
+    }
+
+    @Test
+    void deveRetornarNaoModificadoQuandoEtagDoProdutoCorresponder() {
+        var sku = "SKU123";
+        var produto = criarProdutoComId();
+        var headers = new HttpHeaders();
+        headers.setIfNoneMatch(EtagProduto.deProduto(produto));
+
+        when(buscarPorSkuUseCase.execute(sku)).thenReturn(Optional.of(produto));
+
+        var response = produtoController.buscarPorSku(sku, headers);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        verify(mapper, never()).toResponseDTO(any());
+    }
+
+    @Test
+    void deveRetornarNaoModificadoPelaCopiaEmCacheSemBuscarProduto() {
+        var sku = "SKU123";
+        var produto = criarProdutoComId();
+        var headers = new HttpHeaders();
+        headers.setIfNoneMatch(EtagProduto.deProduto(produto));
+
+        when(buscarPorSkuUseCase.buscarEmCache(sku)).thenReturn(Optional.of(produto));
+
+        var response = produtoController.buscarPorSku(sku, headers);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(EtagProduto.deProduto(produto), response.getHeaders().getETag());
+        verify(buscarPorSkuUseCase, never()).execute(any());
+    }
+
+    @Test
+    void deveBuscarProdutoQuandoCopiaEmCacheTiverOutraVersao() {
+        var sku = "SKU123";
+        var produto = criarProdutoComId();
+        var headers = new HttpHeaders();
+        headers.setIfNoneMatch("\"1-99\"");
+
+        when(buscarPorSkuUseCase.buscarEmCache(sku)).thenReturn(Optional.of(produto));
+        when(buscarPorSkuUseCase.execute(sku)).thenReturn(Optional.of(produto));
+        when(mapper.toResponseDTO(produto)).thenReturn(criarProdutoResponseDTO());
+
+        var response = produtoController.buscarPorSku(sku, headers);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(buscarPorSkuUseCase).execute(sku);
+    }
+
+    @Test
+    void deveAtualizarPrecoComVersaoInformada() {
+        var produtoAtualizado = criarProdutoComId();
+        produtoAtualizado.setVersao(4L);
+        var responseDTO = criarProdutoResponseDTO();
+        var dto = AtualizacaoPrecoRequestDTO.builder().preco(2600.00).versao(3L).build();
+
+        when(atualizarPrecoUseCase.execute(1L, 2600.00, 3L)).thenReturn(produtoAtualizado);
+        when(mapper.toResponseDTO(produtoAtualizado)).thenReturn(responseDTO);
+
+        var response = produtoController.atualizarPreco(1L, dto);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(responseDTO, response.getBody());
+        verify(atualizarPrecoUseCase).execute(1L, 2600.00, 3L);
+    }
+
+    @Test
+    void deveUsarSkuDoCaminhoNoUpsert() {
+        var requestDTO = criarProdutoRequestDTO();
+        var produto = criarProduto();
+        produto.setSku("OUTRO");
+        var resultado = criarProdutoComId();
+        var responseDTO = criarProdutoResponseDTO();
+
+        when(mapper.toDomain(requestDTO)).thenReturn(produto);
+        when(upsertUseCase.execute(any(Produto.class))).thenReturn(resultado);
+        when(mapper.toResponseDTO(resultado)).thenReturn(responseDTO);
+
+        var response = produtoController.upsertPorSku("SKU123", requestDTO);
+
+        ArgumentCaptor<Produto> captor = ArgumentCaptor.forClass(Produto.class);
+        verify(upsertUseCase).execute(captor.capture());
+        assertEquals("SKU123", captor.getValue().getSku());
+        assertNull(captor.getValue().getId());
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(responseDTO, response.getBody());
+    }
+
     @Test
     void deveDefinirIdDoProdutoAoAtualizar() {
         var id = 5L;
@@ -167,6 +362,156 @@ class ProdutoControllerTest {
         assertEquals(id, produtoCaptor.getValue().getId());
     }
 
+    @Test
+    void deveListarPaginaComProximoCursor() {
+        var produto = criarProdutoComId();
+        var responseDTO = criarProdutoResponseDTO();
+        var pagina = PaginaProdutos.builder()
+                .produtos(List.of(produto))
+                .ultimoId(1L)
+                .temProxima(true)
+                .build();
+
+        when(listarPaginadoUseCase.execute(null, 1)).thenReturn(pagina);
+        when(mapper.toResponseDTO(produto)).thenReturn(responseDTO);
+
+        var response = produtoController.listarPagina(null, 1);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(responseDTO), response.getBody().getProdutos());
+        assertEquals(1L, CursorProdutoCodec.decodificar(response.getBody().getProximoCursor()));
+    }
+
+    @Test
+    void deveListarUltimaPaginaSemCursor() {
+        var cursor = CursorProdutoCodec.codificar(10L);
+        var pagina = PaginaProdutos.builder()
+                .produtos(List.of())
+                .temProxima(false)
+                .build();
+
+        when(listarPaginadoUseCase.execute(10L, null)).thenReturn(pagina);
+
+        var response = produtoController.listarPagina(cursor, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().getProdutos().isEmpty());
+        assertNull(response.getBody().getProximoCursor());
+    }
+
+    @Test
+    void deveLancarExcecaoQuandoCursorForInvalido() {
+        var exception = assertThrows(IllegalArgumentException.class,
+                () -> produtoController.listarPagina("cursor-invalido", null));
+
+        assertEquals("Cursor inválido: cursor-invalido", exception.getMessage());
+        verify(listarPaginadoUseCase, never()).execute(any(), any());
+    }
+
+    @Test
+    void deveExportarCatalogoNoFormatoSolicitado() throws Exception {
+        var response = produtoController.exportar("csv");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(FormatoExportacao.CSV.getMediaType(), response.getHeaders().getContentType());
+        assertTrue(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION).contains("produtos.csv"));
+        verifyNoInteractions(exportador);
+
+        var saida = new ByteArrayOutputStream();
+        response.getBody().writeTo(saida);
+
+        verify(exportador).exportar(FormatoExportacao.CSV, saida);
+    }
+
+    @Test
+    void deveLancarExcecaoQuandoFormatoDeExportacaoForInvalido() {
+        var exception = assertThrows(IllegalArgumentException.class,
+                () -> produtoController.exportar("xml"));
+
+        assertEquals("Formato de exportação não suportado: xml", exception.getMessage());
+        verifyNoInteractions(exportador);
+    }
+
+    @Test
+    void deveCadastrarProdutosEmLote() {
+        var requestDTO = criarProdutoRequestDTO();
+        var produto = criarProduto();
+        var resultado = ResultadoCadastroLote.builder()
+                .sku("SKU123")
+                .status(StatusCadastroLote.CRIADO)
+                .produto(criarProdutoComId())
+                .build();
+        var loteResponseDTO = ProdutoLoteResponseDTO.builder()
+                .sku("SKU123")
+                .status(StatusCadastroLote.CRIADO)
+                .produto(criarProdutoResponseDTO())
+                .build();
+
+        when(mapper.toDomain(requestDTO)).thenReturn(produto);
+        when(cadastrarEmLoteUseCase.execute(List.of(produto))).thenReturn(List.of(resultado));
+        when(mapper.toLoteResponseDTO(resultado)).thenReturn(loteResponseDTO);
+
+        var response = produtoController.cadastrarEmLote(List.of(requestDTO));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(loteResponseDTO), response.getBody());
+        verify(cadastrarUseCase, never()).execute(any());
+    }
+
+    @Test
+    void deveBuscarProdutosPorNome() {
+        var produto = criarProdutoComId();
+        var responseDTO = criarProdutoResponseDTO();
+        when(buscarPorNomeUseCase.execute("note", 5)).thenReturn(List.of(produto));
+        when(mapper.toResponseDTO(produto)).thenReturn(responseDTO);
+
+        var response = produtoController.buscarPorNome("note", 5);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(responseDTO), response.getBody());
+    }
+
+    @Test
+    void deveCalcularEstatisticasDePrecoComFiltro() {
+        var dto = FiltroProdutosRequestDTO.builder().skuPrefix("NOTE").build();
+        var filtro = FiltroProdutos.builder().skuPrefixo("NOTE").build();
+        var estatisticas = EstatisticasPreco.builder().quantidade(2).precoMinimo(10.0).precoMaximo(20.0).precoMedio(15.0).build();
+        var responseDTO = EstatisticasPrecoResponseDTO.builder().quantidade(2).precoMinimo(10.0).precoMaximo(20.0).precoMedio(15.0).build();
+
+        when(mapper.toFiltro(dto)).thenReturn(filtro);
+        when(estatisticasPrecoUseCase.execute(filtro)).thenReturn(estatisticas);
+        when(mapper.toEstatisticasPrecoResponseDTO(estatisticas)).thenReturn(responseDTO);
+
+        var response = produtoController.estatisticasPreco(dto);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(responseDTO, response.getBody());
+    }
+
+    @Test
+    void deveBuscarVariosSkusEmUmaChamada() {
+        var skus = List.of("SKU123", "SKU_NAO_EXISTE");
+        var resultado = ResultadoBuscaSkus.builder()
+                .encontrados(List.of(criarProdutoComId()))
+                .naoEncontrados(List.of("SKU_NAO_EXISTE"))
+                .build();
+        var responseDTO = BuscaSkusResponseDTO.builder()
+                .produtos(List.of(criarProdutoResponseDTO()))
+                .skusNaoEncontrados(List.of("SKU_NAO_EXISTE"))
+                .build();
+
+        when(buscarPorSkusUseCase.execute(skus)).thenReturn(resultado);
+        when(mapper.toBuscaSkusResponseDTO(resultado)).thenReturn(responseDTO);
+
+        var response = produtoController.buscarPorSkus(BuscaSkusRequestDTO.builder().skus(skus).build());
+        var responseGet = produtoController.buscarPorSkus(skus);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(responseDTO, response.getBody());
+        assertEquals(responseDTO, responseGet.getBody());
+        verify(buscarPorSkuUseCase, never()).execute(any());
+    }
+
     private ProdutoRequestDTO criarProdutoRequestDTO() {
         return ProdutoRequestDTO.builder()
                 .nome("Notebook Dell")
@@ -209,4 +554,19 @@ class ProdutoControllerTest {
                 .preco(150.00)
                 .build();
     }
-}
\ No newline at end of file
+
+    @Test
+    void todaRotaLiteralDeGetDeveSerUmSkuReservado() {
+        // Uma nova rota GET /produtos/<literal> sombrearia GET /produtos/{sku} para o SKU de mesmo nome
+        var literais = Arrays.stream(ProdutoController.class.getDeclaredMethods())
+                .map(metodo -> metodo.getAnnotation(GetMapping.class))
+                .filter(mapping -> mapping != null)
+                .flatMap(mapping -> Arrays.stream(mapping.value()))
+                .filter(caminho -> !caminho.contains("{"))
+                .map(caminho -> caminho.substring(1))
+                .toList();
+
+        assertFalse(literais.isEmpty());
+        assertTrue(Produto.SKUS_RESERVADOS.containsAll(literais), () -> "Rotas nao reservadas: " + literais);
+    }
+}
@@ -0,0 +1,59 @@
+package com.fiap.produto.controller;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Banco criado antes da coluna versao, com um produto ja gravado: o ddl-auto=update precisa adicionar a coluna
+// NOT NULL preenchendo as linhas existentes
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.datasource.url=" + ProdutoSchemaLegadoIntegracaoTest.URL,
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=update",
+        "produto.snapshot-arquivo.habilitado=false",
+        "produto.invalidacao.habilitado=false",
+        "produto.outbox.relay.habilitado=false"
+})
+class ProdutoSchemaLegadoIntegracaoTest {
+
+    static final String URL = "jdbc:h2:mem:legado;DB_CLOSE_DELAY=-1";
+
+    // Criado uma unica vez antes do contexto: um INIT na URL rodaria a cada conexao aberta pelo pool e disputaria
+    // a tabela com o ALTER do ddl-auto
+    @BeforeAll
+    static void criarSchemaLegado() throws SQLException {
+        try (Connection conexao = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = conexao.createStatement()) {
+            statement.execute("create table produtos (id bigint not null primary key, nome varchar(255) not null,"
+                    + " sku varchar(255) not null, preco float(53) not null)");
+            statement.execute("insert into produtos (id, nome, sku, preco) values (1, 'Legado', 'SKU-LEGADO', 10.0)");
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void deveAdicionarVersaoComValorPadraoAsLinhasExistentes() throws Exception {
+        mockMvc.perform(get("/produtos/SKU-LEGADO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.versao").value(0));
+    }
+}
@@ -0,0 +1,116 @@
+package com.fiap.produto.controller.acesso;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.fiap.produto.config.log.LogAcessoProperties;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogAcessoFilterTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(LogAcessoFilter.LOGGER);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    private LogAcessoProperties properties;
+    private LogAcessoFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+        properties = new LogAcessoProperties();
+        properties.setTaxaAmostragem(0);
+        filter = new LogAcessoFilter(properties);
+        request = new MockHttpServletRequest("GET", "/produtos/SKU-1");
+        response = new MockHttpServletResponse();
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void naoDeveRegistrarSucessoRapidoForaDaAmostra() throws Exception {
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertTrue(appender.list.isEmpty());
+    }
+
+    @Test
+    void deveRegistrarSucessoQuandoAmostraForTotal() throws Exception {
+        properties.setTaxaAmostragem(1);
+        request.setQueryString("nomeContem=note");
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertEquals(1, appender.list.size());
+        String linha = appender.list.get(0).getFormattedMessage();
+        assertTrue(linha.startsWith("metodo=GET caminho=/produtos/SKU-1?nomeContem=note status=200 duracao_us="));
+        assertTrue(linha.endsWith("motivo=amostra"));
+    }
+
+    @Test
+    void deveSempreRegistrarErro() throws Exception {
+        MockFilterChain chain = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) {
+                ((MockHttpServletResponse) res).setStatus(404);
+            }
+        };
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().contains("status=404"));
+        assertTrue(appender.list.get(0).getFormattedMessage().endsWith("motivo=erro"));
+    }
+
+    @Test
+    void deveRegistrarComo500ExcecaoQueEscapaDoController() {
+        MockFilterChain chain = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) throws ServletException {
+                throw new ServletException("falha");
+            }
+        };
+
+        assertThrows(ServletException.class, () -> filter.doFilter(request, response, chain));
+
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().contains("status=500"));
+    }
+
+    @Test
+    void deveSempreRegistrarRequisicaoLenta() {
+        properties.setLimiarLento(Duration.ofMillis(100));
+
+        assertEquals("lento", filter.motivo(200, Duration.ofMillis(150).toNanos()));
+        assertNull(filter.motivo(200, Duration.ofMillis(50).toNanos()));
+    }
+
+    @Test
+    void naoDeveFiltrarQuandoDesabilitado() throws Exception {
+        properties.setHabilitado(false);
+        properties.setTaxaAmostragem(1);
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertTrue(appender.list.isEmpty());
+    }
+}
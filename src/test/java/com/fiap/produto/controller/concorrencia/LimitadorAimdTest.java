@@ -0,0 +1,98 @@
+package com.fiap.produto.controller.concorrencia;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimitadorAimdTest {
+
+    private static final long LIMIAR = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long RAPIDA = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long LENTA = TimeUnit.MILLISECONDS.toNanos(200);
+
+    @Test
+    void deveRejeitarAcimaDoLimite() {
+        LimitadorAimd limitador = new LimitadorAimd(2, 1, 10, 0.5, LIMIAR);
+
+        assertTrue(limitador.tentarAdquirir());
+        assertTrue(limitador.tentarAdquirir());
+        assertFalse(limitador.tentarAdquirir());
+
+        assertEquals(2, limitador.emAndamento());
+        assertEquals(1, limitador.rejeicoes());
+    }
+
+    @Test
+    void deveReduzirQuandoLatenciaPassarDoLimiar() {
+        LimitadorAimd limitador = new LimitadorAimd(10, 1, 20, 0.5, LIMIAR);
+        limitador.tentarAdquirir();
+
+        limitador.liberar(0, LENTA, false);
+
+        assertEquals(5, limitador.limite());
+        assertEquals(0, limitador.emAndamento());
+    }
+
+    @Test
+    void deveReduzirQuandoRequisicaoFalhar() {
+        LimitadorAimd limitador = new LimitadorAimd(10, 1, 20, 0.5, LIMIAR);
+        limitador.tentarAdquirir();
+
+        limitador.liberar(0, RAPIDA, true);
+
+        assertEquals(5, limitador.limite());
+    }
+
+    @Test
+    void naoDeveReduzirDeNovoPorRequisicoesAdmitidasAntesDaReducao() {
+        LimitadorAimd limitador = new LimitadorAimd(10, 1, 20, 0.5, LIMIAR);
+        for (int i = 0; i < 3; i++) {
+            limitador.tentarAdquirir();
+        }
+
+        limitador.liberar(0, LENTA, false);
+        limitador.liberar(1, LENTA + 1, false);
+        assertEquals(5, limitador.limite());
+
+        limitador.liberar(LENTA + 10, 2 * LENTA + 20, false);
+        assertEquals(2, limitador.limite());
+    }
+
+    @Test
+    void naoDeveFicarAbaixoDoMinimo() {
+        LimitadorAimd limitador = new LimitadorAimd(2, 2, 20, 0.1, LIMIAR);
+        limitador.tentarAdquirir();
+
+        limitador.liberar(0, LENTA, false);
+
+        assertEquals(2, limitador.limite());
+    }
+
+    @Test
+    void deveAumentarQuandoLimiteEstiverEmUsoERespostasRapidas() {
+        LimitadorAimd limitador = new LimitadorAimd(2, 1, 3, 0.5, LIMIAR);
+
+        for (int i = 0; i < 20; i++) {
+            limitador.tentarAdquirir();
+            limitador.tentarAdquirir();
+            limitador.liberar(0, RAPIDA, false);
+            limitador.liberar(0, RAPIDA, false);
+        }
+
+        assertEquals(3, limitador.limite());
+    }
+
+    @Test
+    void naoDeveAumentarComPoucaCarga() {
+        LimitadorAimd limitador = new LimitadorAimd(10, 1, 20, 0.5, LIMIAR);
+
+        for (int i = 0; i < 100; i++) {
+            limitador.tentarAdquirir();
+            limitador.liberar(0, RAPIDA, false);
+        }
+
+        assertEquals(10, limitador.limite());
+    }
+}
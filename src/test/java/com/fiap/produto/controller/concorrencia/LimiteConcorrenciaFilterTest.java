@@ -0,0 +1,118 @@
+package com.fiap.produto.controller.concorrencia;
+
+import com.fiap.produto.config.concorrencia.LimiteConcorrenciaProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimiteConcorrenciaFilterTest {
+
+    private LimiteConcorrenciaProperties properties;
+    private LimiteConcorrenciaFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LimiteConcorrenciaProperties();
+        properties.setLimiteInicial(1);
+        properties.setRetryAfter(Duration.ofSeconds(2));
+        filter = new LimiteConcorrenciaFilter(properties);
+    }
+
+    @Test
+    void deveClassificarEndpointsPorGrupo() {
+        assertEquals(GrupoEndpoint.CONSULTA_SKU, GrupoEndpoint.de(new MockHttpServletRequest("GET", "/produtos/SKU-1")));
+        assertEquals(GrupoEndpoint.CONSULTA_SKU, GrupoEndpoint.de(new MockHttpServletRequest("POST", "/produtos/lookup")));
+        MockHttpServletRequest porSkus = new MockHttpServletRequest("GET", "/produtos");
+        porSkus.setParameter("skus", "SKU-1,SKU-2");
+        assertEquals(GrupoEndpoint.CONSULTA_SKU, GrupoEndpoint.de(porSkus));
+        assertEquals(GrupoEndpoint.LISTAGEM, GrupoEndpoint.de(new MockHttpServletRequest("GET", "/produtos")));
+        assertEquals(GrupoEndpoint.LISTAGEM, GrupoEndpoint.de(new MockHttpServletRequest("GET", "/produtos/search")));
+        assertEquals(GrupoEndpoint.LISTAGEM, GrupoEndpoint.de(new MockHttpServletRequest("GET", "/produtos/pagina")));
+        assertEquals(GrupoEndpoint.ESCRITA, GrupoEndpoint.de(new MockHttpServletRequest("POST", "/produtos")));
+        assertEquals(GrupoEndpoint.ESCRITA, GrupoEndpoint.de(new MockHttpServletRequest("PUT", "/produtos/sku/SKU-1")));
+        assertEquals(GrupoEndpoint.ESCRITA, GrupoEndpoint.de(new MockHttpServletRequest("PATCH", "/produtos/1")));
+        assertNull(GrupoEndpoint.de(new MockHttpServletRequest("GET", "/produtos/export")));
+        assertNull(GrupoEndpoint.de(new MockHttpServletRequest("GET", "/produtos/cache/estatisticas")));
+        assertNull(GrupoEndpoint.de(new MockHttpServletRequest("GET", "/actuator/prometheus")));
+    }
+
+    @Test
+    void deveResponder503ComRetryAfterAcimaDoLimite() throws Exception {
+        filter.limitador(GrupoEndpoint.CONSULTA_SKU).tentarAdquirir();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/produtos/SKU-1"), response, chain);
+
+        assertEquals(503, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("error"));
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void deveIsolarLimitesPorGrupo() throws Exception {
+        filter.limitador(GrupoEndpoint.LISTAGEM).tentarAdquirir();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/produtos/SKU-1"), response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest());
+        assertEquals(0, filter.limitador(GrupoEndpoint.CONSULTA_SKU).emAndamento());
+    }
+
+    @Test
+    void deveLiberarEReduzirLimiteQuandoControllerFalhar() {
+        properties.setLimiteInicial(10);
+        properties.setFatorReducao(0.5);
+        filter = new LimiteConcorrenciaFilter(properties);
+        MockFilterChain chain = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                throw new IllegalStateException("falha");
+            }
+        };
+
+        assertThrows(IllegalStateException.class,
+                () -> filter.doFilter(new MockHttpServletRequest("POST", "/produtos"), new MockHttpServletResponse(), chain));
+
+        assertEquals(0, filter.limitador(GrupoEndpoint.ESCRITA).emAndamento());
+        assertEquals(5, filter.limitador(GrupoEndpoint.ESCRITA).limite());
+    }
+
+    @Test
+    void naoDeveLimitarQuandoDesabilitado() throws Exception {
+        properties.setHabilitado(false);
+        filter.limitador(GrupoEndpoint.CONSULTA_SKU).tentarAdquirir();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/produtos/SKU-1"), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void deveExporLimiteERejeicoesPorGrupo() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        filter.bindTo(registry);
+        filter.limitador(GrupoEndpoint.CONSULTA_SKU).tentarAdquirir();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/produtos/SKU-1"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals(1.0, registry.get("produto.concorrencia.limite").tag("grupo", "consulta-sku").gauge().value());
+        assertEquals(1.0, registry.get("produto.concorrencia.em.andamento").tag("grupo", "consulta-sku").gauge().value());
+        assertEquals(1.0, registry.get("produto.concorrencia.rejeitadas").tag("grupo", "consulta-sku").functionCounter().count());
+        assertEquals(0.0, registry.get("produto.concorrencia.rejeitadas").tag("grupo", "escrita").functionCounter().count());
+    }
+}
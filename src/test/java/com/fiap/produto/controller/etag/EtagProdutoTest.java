@@ -0,0 +1,45 @@
+package com.fiap.produto.controller.etag;
+
+import com.fiap.produto.domain.Produto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EtagProdutoTest {
+
+    @Test
+    void deveGerarEtagForteDoCatalogo() {
+        assertEquals("\"catalogo-12\"", EtagProduto.deCatalogo(12L));
+    }
+
+    @Test
+    void deveGerarMesmoEtagParaMesmoConteudo() {
+        assertEquals(EtagProduto.deProduto(criarProduto(10.0)), EtagProduto.deProduto(criarProduto(10.0)));
+    }
+
+    @Test
+    void deveMudarEtagQuandoPrecoMudar() {
+        assertNotEquals(EtagProduto.deProduto(criarProduto(10.0)), EtagProduto.deProduto(criarProduto(10.5)));
+    }
+
+    @Test
+    void deveCorresponderEtagFracoECuringa() {
+        var etag = EtagProduto.deCatalogo(3L);
+
+        assertTrue(EtagProduto.corresponde(List.of("\"catalogo-1\"", "W/" + etag), etag));
+        assertTrue(EtagProduto.corresponde(List.of("*"), etag));
+        assertFalse(EtagProduto.corresponde(List.of("\"catalogo-2\""), etag));
+        assertFalse(EtagProduto.corresponde(List.of(), etag));
+    }
+
+    private Produto criarProduto(Double preco) {
+        return Produto.builder()
+                .id(1L)
+                .nome("Produto")
+                .sku("SKU123")
+                .preco(preco)
+                .build();
+    }
+}
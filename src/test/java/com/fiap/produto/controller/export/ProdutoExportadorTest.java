@@ -0,0 +1,132 @@
+package com.fiap.produto.controller.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.dto.response.ProdutoResponseDTO;
+import com.fiap.produto.mapper.ProdutoMapper;
+import com.fiap.produto.usecase.service.ExportarProdutosServiceUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProdutoExportadorTest {
+
+    @Mock
+    private ExportarProdutosServiceUseCase exportarUseCase;
+
+    @Mock
+    private ProdutoMapper mapper;
+
+    private ProdutoExportador exportador;
+
+    private final List<Produto> produtos = List.of(
+            Produto.builder().id(1L).nome("Notebook Dell").sku("SKU123").preco(2500.00).versao(3L).build(),
+            Produto.builder().id(2L).nome("Mouse \"Gamer\", sem fio").sku("SKU456").preco(150.00).build()
+    );
+
+    @BeforeEach
+    void setUp() {
+        exportador = new ProdutoExportador(exportarUseCase, mapper, new ObjectMapper());
+        lenient().when(mapper.toResponseDTO(any(Produto.class))).thenAnswer(invocation -> {
+            Produto produto = invocation.getArgument(0);
+            return new ProdutoResponseDTO(produto.getId(), produto.getNome(), produto.getSku(), produto.getPreco(), produto.getVersao());
+        });
+    }
+
+    @Test
+    void deveExportarUmProdutoPorLinhaEmNdjson() throws IOException {
+        simularCatalogo();
+        var saida = new ByteArrayOutputStream();
+
+        exportador.exportar(FormatoExportacao.NDJSON, saida);
+
+        var linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, linhas.length);
+        assertEquals("{\"id\":1,\"nome\":\"Notebook Dell\",\"sku\":\"SKU123\",\"preco\":2500.0,\"versao\":3}", linhas[0]);
+        assertTrue(linhas[1].contains("\"sku\":\"SKU456\""));
+    }
+
+    @Test
+    void deveExportarCsvComCabecalhoEEscapeDeCampos() throws IOException {
+        simularCatalogo();
+        var saida = new ByteArrayOutputStream();
+
+        exportador.exportar(FormatoExportacao.CSV, saida);
+
+        var linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, linhas.length);
+        assertEquals("id,nome,sku,preco", linhas[0]);
+        assertEquals("1,Notebook Dell,SKU123,2500.0", linhas[1]);
+        assertEquals("2,\"Mouse \"\"Gamer\"\", sem fio\",SKU456,150.0", linhas[2]);
+    }
+
+    @Test
+    void deveEnviarBytesAntesDeTerminarALeitura() throws IOException {
+        var escritos = new long[1];
+        var saida = new OutputStream() {
+            @Override
+            public void write(int b) {
+                escritos[0]++;
+            }
+        };
+        var bytesAntesDoFim = new long[1];
+        doAnswer(invocation -> {
+            Consumer<Produto> consumidor = invocation.getArgument(0);
+            for (long id = 1; id <= ProdutoExportador.LINHAS_POR_FLUSH; id++) {
+                consumidor.accept(Produto.builder().id(id).nome("Produto").sku("SKU" + id).preco(1.0).build());
+            }
+            bytesAntesDoFim[0] = escritos[0];
+            return null;
+        }).when(exportarUseCase).execute(any());
+
+        exportador.exportar(FormatoExportacao.NDJSON, saida);
+
+        assertTrue(bytesAntesDoFim[0] > 0);
+    }
+
+    @Test
+    void devePropagarFalhaDeEscritaComoIOException() {
+        simularCatalogo();
+        var saida = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Cliente desconectou");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw new IOException("Cliente desconectou");
+            }
+        };
+
+        assertThrows(IOException.class, () -> exportador.exportar(FormatoExportacao.CSV, saida));
+    }
+
+    @Test
+    void deveRejeitarFormatoDesconhecido() {
+        assertThrows(IllegalArgumentException.class, () -> FormatoExportacao.de("xlsx"));
+        assertEquals(FormatoExportacao.NDJSON, FormatoExportacao.de("NDJSON"));
+    }
+
+    private void simularCatalogo() {
+        doAnswer(invocation -> {
+            Consumer<Produto> consumidor = invocation.getArgument(0);
+            produtos.forEach(consumidor);
+            return null;
+        }).when(exportarUseCase).execute(any());
+    }
+}
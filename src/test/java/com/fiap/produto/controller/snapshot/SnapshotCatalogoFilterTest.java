@@ -0,0 +1,113 @@
+package com.fiap.produto.controller.snapshot;
+
+import com.fiap.produto.usecase.service.BuscarVersaoCatalogoServiceUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SnapshotCatalogoFilterTest {
+
+    @Mock
+    private SnapshotCatalogo snapshotCatalogo;
+
+    @Mock
+    private BuscarVersaoCatalogoServiceUseCase versaoUseCase;
+
+    @InjectMocks
+    private SnapshotCatalogoFilter filter;
+
+    private final byte[] json = "[{\"id\":1}]".getBytes(StandardCharsets.UTF_8);
+    private final byte[] gzip = SnapshotCatalogo.comprimir(json);
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private MockFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        request = new MockHttpServletRequest("GET", "/produtos");
+        response = new MockHttpServletResponse();
+        chain = new MockFilterChain();
+    }
+
+    @Test
+    void deveServirJsonDoSnapshotQuandoVersaoForAtual() throws Exception {
+        when(snapshotCatalogo.atual()).thenReturn(Optional.of(new CatalogoSerializado(4L, 1, json, gzip)));
+        when(versaoUseCase.execute()).thenReturn(4L);
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertArrayEquals(json, response.getContentAsByteArray());
+        assertEquals("\"catalogo-4\"", response.getHeader("ETag"));
+        assertNull(response.getHeader("Content-Encoding"));
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void deveServirGzipQuandoClienteAceitar() throws Exception {
+        request.addHeader("Accept-Encoding", "br;q=1.0, gzip;q=0.8");
+        when(snapshotCatalogo.atual()).thenReturn(Optional.of(new CatalogoSerializado(4L, 1, json, gzip)));
+        when(versaoUseCase.execute()).thenReturn(4L);
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertArrayEquals(gzip, response.getContentAsByteArray());
+    }
+
+    @Test
+    void deveResponderNaoModificadoQuandoEtagCorresponder() throws Exception {
+        request.addHeader("If-None-Match", "\"catalogo-4\"");
+        when(snapshotCatalogo.atual()).thenReturn(Optional.of(new CatalogoSerializado(4L, 1, json, gzip)));
+        when(versaoUseCase.execute()).thenReturn(4L);
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void deveSeguirParaControllerQuandoSnapshotEstiverDesatualizado() throws Exception {
+        when(snapshotCatalogo.atual()).thenReturn(Optional.of(new CatalogoSerializado(4L, 1, json, gzip)));
+        when(versaoUseCase.execute()).thenReturn(5L);
+
+        filter.doFilter(request, response, chain);
+
+        assertSame(request, chain.getRequest());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void naoDeveInterceptarOutrasRotasNemConsultasComParametros() throws Exception {
+        var comParametros = new MockHttpServletRequest("GET", "/produtos");
+        comParametros.setQueryString("skus=a,b");
+        var outraRota = new MockHttpServletRequest("GET", "/produtos/SKU1");
+
+        filter.doFilter(comParametros, response, chain);
+        filter.doFilter(outraRota, new MockHttpServletResponse(), new MockFilterChain());
+
+        verifyNoInteractions(snapshotCatalogo, versaoUseCase);
+    }
+
+    @Test
+    void deveIgnorarGzipComQualidadeZero() {
+        request.addHeader("Accept-Encoding", "gzip;q=0, identity");
+
+        assertFalse(SnapshotCatalogoFilter.aceitaGzip(request));
+    }
+}
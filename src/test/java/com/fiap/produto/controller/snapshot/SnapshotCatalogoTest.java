@@ -0,0 +1,175 @@
+package com.fiap.produto.controller.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.domain.SnapshotProdutos;
+import com.fiap.produto.dto.response.ProdutoResponseDTO;
+import com.fiap.produto.mapper.ProdutoMapper;
+import com.fiap.produto.usecase.service.BuscarVersaoCatalogoServiceUseCase;
+import com.fiap.produto.usecase.service.CarregarSnapshotArquivoServiceUseCase;
+import com.fiap.produto.usecase.service.ExportarProdutosServiceUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SnapshotCatalogoTest {
+
+    @Mock
+    private BuscarVersaoCatalogoServiceUseCase versaoUseCase;
+
+    @Mock
+    private ExportarProdutosServiceUseCase exportarUseCase;
+
+    @Mock
+    private ProdutoMapper mapper;
+
+    @Mock
+    private CarregarSnapshotArquivoServiceUseCase snapshotArquivoUseCase;
+
+    private SnapshotCatalogo snapshotCatalogo;
+
+    @BeforeEach
+    void setUp() {
+        snapshotCatalogo = new SnapshotCatalogo(versaoUseCase, exportarUseCase, mapper, new ObjectMapper(), snapshotArquivoUseCase);
+        lenient().when(mapper.toResponseDTO(any(Produto.class))).thenAnswer(invocation -> {
+            Produto produto = invocation.getArgument(0);
+            return new ProdutoResponseDTO(produto.getId(), produto.getNome(), produto.getSku(), produto.getPreco(), produto.getVersao());
+        });
+    }
+
+    @Test
+    void deveSerializarCatalogoComoArrayJsonEGzip() throws IOException {
+        when(versaoUseCase.execute()).thenReturn(3L);
+        simularCatalogo(List.of(criarProduto(1L, 10.0), criarProduto(2L, 20.0)));
+
+        snapshotCatalogo.atualizar();
+
+        var snapshot = snapshotCatalogo.atual().orElseThrow();
+        assertEquals(3L, snapshot.getVersao());
+        assertEquals(2, snapshot.getTotalProdutos());
+        var json = new String(snapshot.getJson(), StandardCharsets.UTF_8);
+        assertEquals("[{\"id\":1,\"nome\":\"Produto 1\",\"sku\":\"SKU1\",\"preco\":10.0,\"versao\":0},"
+                + "{\"id\":2,\"nome\":\"Produto 2\",\"sku\":\"SKU2\",\"preco\":20.0,\"versao\":0}]", json);
+        try (var gzip = new GZIPInputStream(new ByteArrayInputStream(snapshot.getGzip()))) {
+            assertArrayEquals(snapshot.getJson(), gzip.readAllBytes());
+        }
+    }
+
+    @Test
+    void deveGerarArrayVazioQuandoNaoHouverProdutos() {
+        when(versaoUseCase.execute()).thenReturn(0L);
+        simularCatalogo(List.of());
+
+        snapshotCatalogo.atualizar();
+
+        assertEquals("[]", new String(snapshotCatalogo.atual().orElseThrow().getJson(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void naoDeveReconstruirQuandoVersaoNaoMudou() {
+        when(versaoUseCase.execute()).thenReturn(1L);
+        simularCatalogo(List.of(criarProduto(1L, 10.0)));
+
+        snapshotCatalogo.atualizar();
+        snapshotCatalogo.atualizar();
+
+        verify(exportarUseCase, times(1)).execute(any());
+    }
+
+    @Test
+    void deveReserializarApenasProdutosAlterados() {
+        when(versaoUseCase.execute()).thenReturn(1L, 2L);
+        simularCatalogo(List.of(criarProduto(1L, 10.0), criarProduto(2L, 20.0)),
+                List.of(criarProduto(1L, 10.0), criarProduto(2L, 25.0)));
+
+        snapshotCatalogo.atualizar();
+        snapshotCatalogo.atualizar();
+
+        verify(mapper, times(3)).toResponseDTO(any(Produto.class));
+        var json = new String(snapshotCatalogo.atual().orElseThrow().getJson(), StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"preco\":25.0"));
+        assertEquals(2L, snapshotCatalogo.atual().orElseThrow().getVersao());
+    }
+
+    @Test
+    void deveManterSnapshotAnteriorQuandoReconstrucaoFalhar() {
+        when(versaoUseCase.execute()).thenReturn(1L, 2L);
+        simularCatalogo(List.of(criarProduto(1L, 10.0)));
+        snapshotCatalogo.atualizar();
+
+        doThrow(new IllegalStateException("banco fora")).when(exportarUseCase).execute(any());
+        snapshotCatalogo.atualizar();
+
+        assertEquals(1L, snapshotCatalogo.atual().orElseThrow().getVersao());
+    }
+
+    @Test
+    void deveServirSnapshotDoArquivoSemVarrerOBancoQuandoVersaoForAAtual() {
+        when(versaoUseCase.execute()).thenReturn(4L);
+        simularArquivo(4L, List.of(criarProduto(1L, 10.0), criarProduto(2L, 20.0)));
+
+        snapshotCatalogo.atualizar();
+
+        assertEquals(4L, snapshotCatalogo.atual().orElseThrow().getVersao());
+        assertEquals(2, snapshotCatalogo.atual().orElseThrow().getTotalProdutos());
+        verifyNoInteractions(exportarUseCase);
+    }
+
+    @Test
+    void deveReserializarSomenteProdutosAlteradosDepoisDoArquivo() {
+        when(versaoUseCase.execute()).thenReturn(5L);
+        simularArquivo(4L, List.of(criarProduto(1L, 10.0), criarProduto(2L, 20.0)));
+        simularCatalogo(List.of(criarProduto(1L, 10.0), criarProduto(2L, 25.0)));
+
+        snapshotCatalogo.atualizar();
+
+        assertEquals(5L, snapshotCatalogo.atual().orElseThrow().getVersao());
+        verify(mapper, times(3)).toResponseDTO(any(Produto.class));
+        assertTrue(new String(snapshotCatalogo.atual().orElseThrow().getJson(), StandardCharsets.UTF_8).contains("\"preco\":25.0"));
+    }
+
+    @Test
+    void naoDeveLerArquivoDepoisDaPrimeiraConstrucao() {
+        when(versaoUseCase.execute()).thenReturn(1L, 2L);
+        simularCatalogo(List.of(criarProduto(1L, 10.0)));
+
+        snapshotCatalogo.atualizar();
+        snapshotCatalogo.atualizar();
+
+        verify(snapshotArquivoUseCase, times(1)).execute();
+    }
+
+    private void simularArquivo(long versao, List<Produto> produtos) {
+        when(snapshotArquivoUseCase.execute()).thenReturn(Optional.of(new SnapshotProdutos(versao, produtos::forEach)));
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    private void simularCatalogo(List<Produto>... catalogos) {
+        int[] chamada = {0};
+        doAnswer(invocation -> {
+            Consumer<Produto> consumidor = invocation.getArgument(0);
+            catalogos[Math.min(chamada[0]++, catalogos.length - 1)].forEach(consumidor);
+            return null;
+        }).when(exportarUseCase).execute(any(Consumer.class));
+    }
+
+    private Produto criarProduto(Long id, Double preco) {
+        return Produto.builder().id(id).nome("Produto " + id).sku("SKU" + id).preco(preco).versao(0L).build();
+    }
+}
@@ -8,6 +8,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -69,6 +70,25 @@ class GlobalExceptionHandlerTest {
         assertNull(response.getBody().get("error"));
     }
 
+    @Test
+    void deveRetornarBadRequestSemStackTraceParaProdutoNaoEncontrado() {
+        var exception = new ProdutoNaoEncontradoException("Produto não encontrado para SKU: X");
+
+        var response = globalExceptionHandler.handleProdutoNaoEncontrado(exception);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Produto não encontrado para SKU: X", response.getBody().get("error"));
+        assertEquals(0, exception.getStackTrace().length);
+    }
+
+    @Test
+    void deveRetornarServiceUnavailableQuandoEsperaPorConsultaEsgotar() {
+        var response = globalExceptionHandler.handleEsperaConsultaEsgotada(new EsperaConsultaEsgotadaException("SKU-1"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("Tempo esgotado aguardando a consulta do SKU SKU-1", response.getBody().get("error"));
+    }
+
     @Test
     void deveRetornarInternalServerErrorParaRuntimeException() {
         var mensagemErro = "Erro de runtime inesperado";
@@ -172,4 +192,34 @@ class GlobalExceptionHandlerTest {
         assertEquals(1, errors.size());
         assertEquals("Segunda mensagem", errors.get("nome"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void deveRetornarConflictParaSkuJaCadastrado() {
+        var exception = new SkuJaCadastradoException("SKU123", null);
+
+        var response = globalExceptionHandler.handleSkuJaCadastrado(exception);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("SKU já cadastrado!", response.getBody().get("error"));
+    }
+
+    @Test
+    void deveRetornarConflictParaVersaoConflitante() {
+        var exception = new VersaoConflitanteException(1L, 3L);
+
+        var response = globalExceptionHandler.handleConflitoDeVersao(exception);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals(exception.getMessage(), response.getBody().get("error"));
+    }
+
+    @Test
+    void deveRetornarConflictParaFalhaDeLockOtimista() {
+        var exception = new ObjectOptimisticLockingFailureException(Object.class, 1L);
+
+        var response = globalExceptionHandler.handleConflitoDeVersao(exception);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertNotNull(response.getBody().get("error"));
+    }
+}
@@ -0,0 +1,91 @@
+package com.fiap.produto.gateway;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fiap.produto.domain.ProdutoAlterado;
+import com.fiap.produto.domain.TipoAlteracaoProduto;
+import com.fiap.produto.entity.ProdutoOutboxEntity;
+import com.fiap.produto.repository.ProdutoOutboxRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProdutoEventoGatewayImplTest {
+
+    @Mock
+    private ProdutoOutboxRepository repository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ObjectMapper objectMapper;
+
+    private ProdutoEventoGatewayImpl eventoGateway;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        eventoGateway = new ProdutoEventoGatewayImpl(repository, objectMapper, entityManager);
+    }
+
+    @Test
+    void deveGravarEventoNaOutboxComSkuComoChave() throws Exception {
+        var evento = criarEvento("SKU123");
+
+        eventoGateway.registrar(evento);
+
+        ArgumentCaptor<ProdutoOutboxEntity> captor = ArgumentCaptor.forClass(ProdutoOutboxEntity.class);
+        verify(repository).save(captor.capture());
+        var entity = captor.getValue();
+        assertEquals("SKU123", entity.getChave());
+        assertEquals(1L, entity.getProdutoId());
+        assertEquals("CRIADO", entity.getTipo());
+        assertNotNull(entity.getCriadoEm());
+        assertEquals(evento, objectMapper.readValue(entity.getPayload(), ProdutoAlterado.class));
+    }
+
+    @Test
+    void deveGravarEventosEmBlocosLimpandoOContexto() {
+        var eventos = IntStream.range(0, ProdutoGatewayImpl.TAMANHO_BLOCO_INSERCAO + 1)
+                .mapToObj(i -> criarEvento("SKU" + i))
+                .collect(Collectors.toList());
+
+        eventoGateway.registrarTodos(eventos);
+
+        verify(repository, times(2)).saveAll(anyList());
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void naoDeveGravarNadaQuandoListaEstiverVazia() {
+        eventoGateway.registrarTodos(List.of());
+
+        verifyNoInteractions(repository, entityManager);
+    }
+
+    private ProdutoAlterado criarEvento(String sku) {
+        return ProdutoAlterado.builder()
+                .tipo(TipoAlteracaoProduto.CRIADO)
+                .produtoId(1L)
+                .sku(sku)
+                .nome("Produto " + sku)
+                .preco(10.0)
+                .ocorridoEm(Instant.parse("2025-01-01T10:00:00Z"))
+                .build();
+    }
+}
@@ -1,27 +1,44 @@
 package com.fiap.produto.gateway;
 
+import com.fiap.produto.domain.InvalidacaoProduto;
 import com.fiap.produto.domain.Produto;
 import com.fiap.produto.entity.ProdutoEntity;
+import com.fiap.produto.exception.SkuJaCadastradoException;
+import com.fiap.produto.exception.VersaoConflitanteException;
+import com.fiap.produto.gateway.bloom.FiltroBloomSkus;
+import com.fiap.produto.gateway.busca.IndiceBuscaProdutos;
+import com.fiap.produto.gateway.colunar.ModeloLeituraColunar;
 import com.fiap.produto.mapper.ProdutoMapper;
+import com.fiap.produto.messaging.PublicadorInvalidacaoCache;
 import com.fiap.produto.repository.ProdutoRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ProdutoGatewayImplTest {
 
-    @InjectMocks
     private ProdutoGatewayImpl produtoGateway;
 
     @Mock
@@ -30,6 +47,51 @@ class ProdutoGatewayImplTest {
     @Mock
     private ProdutoMapper mapper;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private FiltroBloomSkus filtroSkus;
+
+    @Mock
+    private IndiceBuscaProdutos indiceBusca;
+
+    @Mock
+    private ModeloLeituraColunar modeloColunar;
+
+    @Mock
+    private PublicadorInvalidacaoCache publicadorInvalidacao;
+
+    @BeforeEach
+    void setUp() {
+        produtoGateway = new ProdutoGatewayImpl(repository, mapper, entityManager, filtroSkus,
+                List.of(filtroSkus, indiceBusca, modeloColunar), publicadorInvalidacao);
+        // A escrita recebe a versao 7 da sequence do catalogo
+        lenient().when(repository.proximaVersaoCatalogo()).thenReturn(7L);
+    }
+
+    @Test
+    void deveGravarAVersaoDoCatalogoNaLinhaInserida() {
+        var produto = criarProduto();
+        var produtoEntity = criarProdutoEntity();
+
+        when(mapper.toNovaEntity(produto)).thenReturn(produtoEntity);
+        when(repository.saveAndFlush(produtoEntity)).thenReturn(criarProdutoEntityComId());
+        when(mapper.toDomain(any(ProdutoEntity.class))).thenReturn(criarProdutoComId());
+
+        produtoGateway.salvar(produto);
+
+        assertEquals(7L, produtoEntity.getVersaoCatalogo());
+        verify(repository, times(1)).proximaVersaoCatalogo();
+    }
+
+    @Test
+    void deveLerAVersaoDoCatalogoDaMaiorVersaoGravadaNasLinhas() {
+        when(repository.versaoCatalogo()).thenReturn(0L);
+
+        assertEquals(0L, produtoGateway.versaoCatalogo());
+    }
+
     @Test
     void deveSalvarProdutoComSucesso() {
         var produto = criarProduto();
@@ -37,18 +99,97 @@ class ProdutoGatewayImplTest {
         var produtoEntitySalva = criarProdutoEntityComId();
         var produtoSalvo = criarProdutoComId();
 
-        when(mapper.toEntity(produto)).thenReturn(produtoEntity);
-        when(repository.save(produtoEntity)).thenReturn(produtoEntitySalva);
+        when(mapper.toNovaEntity(produto)).thenReturn(produtoEntity);
+        when(repository.saveAndFlush(produtoEntity)).thenReturn(produtoEntitySalva);
         when(mapper.toDomain(produtoEntitySalva)).thenReturn(produtoSalvo);
 
         var resultado = produtoGateway.salvar(produto);
 
         assertEquals(produtoSalvo, resultado);
-        verify(mapper).toEntity(produto);
-        verify(repository).save(produtoEntity);
+        verify(mapper).toNovaEntity(produto);
+        verify(repository).saveAndFlush(produtoEntity);
         verify(mapper).toDomain(produtoEntitySalva);
     }
 
+    @Test
+    void deveRegistrarSkuNoFiltroAntesDeInserir() {
+        var produto = criarProduto();
+        var produtoEntity = criarProdutoEntity();
+
+        when(mapper.toNovaEntity(produto)).thenReturn(produtoEntity);
+        when(repository.saveAndFlush(produtoEntity)).thenReturn(criarProdutoEntityComId());
+        when(mapper.toDomain(any(ProdutoEntity.class))).thenReturn(criarProdutoComId());
+
+        produtoGateway.salvar(produto);
+
+        var ordem = inOrder(filtroSkus, repository);
+        ordem.verify(filtroSkus).registrar("SKU123");
+        ordem.verify(repository).saveAndFlush(produtoEntity);
+    }
+
+    @Test
+    void deveIndexarProdutoSalvoNaBuscaPorNomeENoModeloColunar() {
+        var produto = criarProduto();
+        var produtoEntity = criarProdutoEntity();
+        var produtoEntitySalva = criarProdutoEntityComId();
+        var produtoSalvo = criarProdutoComId();
+
+        when(mapper.toNovaEntity(produto)).thenReturn(produtoEntity);
+        when(repository.saveAndFlush(produtoEntity)).thenReturn(produtoEntitySalva);
+        when(mapper.toDomain(produtoEntitySalva)).thenReturn(produtoSalvo);
+
+        produtoGateway.salvar(produto);
+
+        verify(filtroSkus).aplicar(produtoSalvo, 7L);
+        verify(indiceBusca).aplicar(produtoSalvo, 7L);
+        verify(modeloColunar).aplicar(produtoSalvo, 7L);
+        verify(publicadorInvalidacao).publicar(InvalidacaoProduto.de(produtoSalvo, 7L));
+    }
+
+    @Test
+    void deveTraduzirViolacaoDaConstraintDeSkuParaConflito() {
+        var produto = criarProduto();
+        var produtoEntity = criarProdutoEntity();
+        var violacao = new ConstraintViolationException("duplicate key", new SQLException("duplicate key"),
+                "UK_PRODUTOS_SKU_INDEX_F");
+
+        when(mapper.toNovaEntity(produto)).thenReturn(produtoEntity);
+        when(repository.saveAndFlush(produtoEntity)).thenThrow(new DataIntegrityViolationException("duplicate key", violacao));
+
+        var exception = assertThrows(SkuJaCadastradoException.class, () -> produtoGateway.salvar(produto));
+        assertEquals("SKU123", exception.getSku());
+        verifyNoInteractions(publicadorInvalidacao);
+    }
+
+    @Test
+    void deveRepassarOutrasViolacoesDeIntegridade() {
+        var produto = criarProduto();
+        var produtoEntity = criarProdutoEntity();
+        var erro = new DataIntegrityViolationException("not null",
+                new ConstraintViolationException("not null", new SQLException("not null"), "nome_not_null"));
+
+        when(mapper.toNovaEntity(produto)).thenReturn(produtoEntity);
+        when(repository.saveAndFlush(produtoEntity)).thenThrow(erro);
+
+        assertSame(erro, assertThrows(DataIntegrityViolationException.class, () -> produtoGateway.salvar(produto)));
+    }
+
+    @Test
+    void deveFazerUpsertPorSkuComAVersaoDoCatalogo() {
+        var produto = criarProduto();
+        var produtoEntity = criarProdutoEntity();
+        var resultadoEntity = criarProdutoEntityComId();
+        var resultado = criarProdutoComId();
+
+        when(mapper.toEntity(produto)).thenReturn(produtoEntity);
+        when(repository.upsertPorSku(produtoEntity)).thenReturn(resultadoEntity);
+        when(mapper.toDomain(resultadoEntity)).thenReturn(resultado);
+
+        assertEquals(resultado, produtoGateway.upsertPorSku(produto));
+        assertEquals(7L, produtoEntity.getVersaoCatalogo());
+        verify(publicadorInvalidacao).publicar(InvalidacaoProduto.de(resultado, 7L));
+    }
+
     @Test
     void deveAtualizarProdutoComSucesso() {
         var produto = criarProdutoComId();
@@ -56,16 +197,69 @@ class ProdutoGatewayImplTest {
         var produtoEntityAtualizada = criarProdutoEntityComId();
         var produtoAtualizado = criarProdutoComId();
 
-        when(mapper.toEntity(produto)).thenReturn(produtoEntity);
-        when(repository.save(produtoEntity)).thenReturn(produtoEntityAtualizada);
+        when(repository.findById(1L)).thenReturn(Optional.of(produtoEntity));
+        when(repository.saveAndFlush(produtoEntity)).thenReturn(produtoEntityAtualizada);
         when(mapper.toDomain(produtoEntityAtualizada)).thenReturn(produtoAtualizado);
 
         var resultado = produtoGateway.atualizar(produto);
 
         assertEquals(produtoAtualizado, resultado);
-        verify(mapper).toEntity(produto);
-        verify(repository).save(produtoEntity);
+        verify(mapper).atualizarEntity(produto, produtoEntity);
+        verify(repository).saveAndFlush(produtoEntity);
         verify(mapper).toDomain(produtoEntityAtualizada);
+        assertEquals(7L, produtoEntity.getVersaoCatalogo());
+        verify(publicadorInvalidacao).publicar(InvalidacaoProduto.de(produtoAtualizado, 7L));
+    }
+
+    @Test
+    void deveLancarConflitoQuandoVersaoInformadaNaoForAAtual() {
+        var produto = criarProdutoComId();
+        produto.setVersao(1L);
+        var produtoEntity = criarProdutoEntityComId();
+        produtoEntity.setVersao(2L);
+
+        when(repository.findById(1L)).thenReturn(Optional.of(produtoEntity));
+
+        assertThrows(VersaoConflitanteException.class, () -> produtoGateway.atualizar(produto));
+        verify(repository, never()).saveAndFlush(any());
+        verify(repository, never()).proximaVersaoCatalogo();
+    }
+
+    @Test
+    void deveLancarExcecaoAoAtualizarProdutoInexistente() {
+        var produto = criarProdutoComId();
+
+        when(repository.findById(1L)).thenReturn(Optional.empty());
+
+        var exception = assertThrows(IllegalArgumentException.class, () -> produtoGateway.atualizar(produto));
+        assertEquals("Produto não encontrado para ID: 1", exception.getMessage());
+    }
+
+    @Test
+    void deveAtualizarPrecoComUmUnicoUpdateVersionado() {
+        var entity = criarProdutoEntityComId();
+        entity.setPreco(2600.00);
+        entity.setVersao(4L);
+        entity.setVersaoCatalogo(9L);
+        var atualizado = criarProdutoComId().toBuilder().preco(2600.00).versao(4L).build();
+        when(repository.atualizarPreco(1L, 2600.00, 3L)).thenReturn(Optional.of(entity));
+        when(mapper.toDomain(entity)).thenReturn(atualizado);
+
+        assertEquals(Optional.of(atualizado), produtoGateway.atualizarPreco(1L, 2600.00, 3L));
+        verify(repository, never()).findById(any());
+        verify(repository, never()).proximaVersaoCatalogo();
+        verify(filtroSkus).aplicar(atualizado, 9L);
+        verify(indiceBusca).aplicar(atualizado, 9L);
+        verify(modeloColunar).aplicar(atualizado, 9L);
+        verify(publicadorInvalidacao).publicar(InvalidacaoProduto.builder().produtoId(1L).versao(4L).versaoCatalogo(9L).build());
+    }
+
+    @Test
+    void naoDeveNotificarQuandoVersaoDoPrecoEstiverDesatualizada() {
+        when(repository.atualizarPreco(1L, 2600.00, 3L)).thenReturn(Optional.empty());
+
+        assertTrue(produtoGateway.atualizarPreco(1L, 2600.00, 3L).isEmpty());
+        verifyNoInteractions(indiceBusca, modeloColunar, publicadorInvalidacao);
     }
 
     @Test
@@ -158,6 +352,106 @@ class ProdutoGatewayImplTest {
         verify(mapper, never()).toDomain(any(ProdutoEntity.class));
     }
 
+    @Test
+    void deveListarProdutosAposIdComLimite() {
+        var produtoEntities = List.of(criarProdutoEntityComIdDois());
+        var produto2 = criarProdutoComIdDois();
+
+        when(repository.findByIdGreaterThanOrderByIdAsc(1L, Limit.of(10))).thenReturn(produtoEntities);
+        when(mapper.toDomain(produtoEntities.get(0))).thenReturn(produto2);
+
+        var resultado = produtoGateway.listarAposId(1L, 10);
+
+        assertEquals(List.of(produto2), resultado);
+        verify(repository).findByIdGreaterThanOrderByIdAsc(1L, Limit.of(10));
+        verify(repository, never()).findAll();
+    }
+
+    @Test
+    void devePercorrerTodosProdutosDesanexandoEntidades() {
+        var entity1 = criarProdutoEntityComId();
+        var entity2 = criarProdutoEntityComIdDois();
+        var produto1 = criarProdutoComId();
+        var produto2 = criarProdutoComIdDois();
+        var recebidos = new ArrayList<Produto>();
+
+        when(repository.streamTodosOrdenadosPorId()).thenReturn(Stream.of(entity1, entity2));
+        when(mapper.toDomain(entity1)).thenReturn(produto1);
+        when(mapper.toDomain(entity2)).thenReturn(produto2);
+
+        produtoGateway.percorrerTodos(recebidos::add);
+
+        assertEquals(List.of(produto1, produto2), recebidos);
+        verify(entityManager).detach(entity1);
+        verify(entityManager).detach(entity2);
+        verify(repository, never()).findAll();
+    }
+
+    @Test
+    void deveSalvarNovosEmBlocos() {
+        var quantidade = ProdutoGatewayImpl.TAMANHO_BLOCO_INSERCAO + 1;
+        var produtos = IntStream.range(0, quantidade).mapToObj(i -> criarProduto()).collect(Collectors.toList());
+        var produtoEntity = criarProdutoEntity();
+        var produtoSalvo = criarProdutoComId();
+
+        when(mapper.toNovaEntity(any(Produto.class))).thenReturn(produtoEntity);
+        when(repository.inserirNovos(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mapper.toDomain(any(ProdutoEntity.class))).thenReturn(produtoSalvo);
+
+        var resultado = produtoGateway.salvarNovos(produtos);
+
+        assertEquals(quantidade, resultado.size());
+        verify(filtroSkus, times(quantidade)).registrar("SKU123");
+        verify(repository, times(2)).inserirNovos(anyList());
+        verify(repository, never()).saveAll(anyList());
+        // Uma unica versao do catalogo para o lote inteiro
+        verify(repository, times(1)).proximaVersaoCatalogo();
+        assertEquals(7L, produtoEntity.getVersaoCatalogo());
+        verify(publicadorInvalidacao, times(quantidade)).publicar(InvalidacaoProduto.de(produtoSalvo, 7L));
+    }
+
+    @Test
+    void naoDeveNotificarQuandoNenhumSkuForNovo() {
+        when(mapper.toNovaEntity(any(Produto.class))).thenReturn(criarProdutoEntity());
+        when(repository.inserirNovos(anyList())).thenReturn(List.of());
+
+        var resultado = produtoGateway.salvarNovos(List.of(criarProduto()));
+
+        assertTrue(resultado.isEmpty());
+        verifyNoInteractions(publicadorInvalidacao, indiceBusca, modeloColunar);
+    }
+
+    @Test
+    void deveTraduzirSkuGravadoConcorrentementeNoLoteParaConflito() {
+        var violacao = new ConstraintViolationException("duplicate key", new SQLException("duplicate key"),
+                "UK_PRODUTOS_SKU_INDEX_F");
+        when(mapper.toNovaEntity(any(Produto.class))).thenReturn(criarProdutoEntity());
+        when(repository.inserirNovos(anyList())).thenThrow(new DataIntegrityViolationException("duplicate key", violacao));
+
+        var exception = assertThrows(SkuJaCadastradoException.class, () -> produtoGateway.salvarNovos(List.of(criarProduto())));
+
+        assertEquals("SKU123", exception.getSku());
+        verifyNoInteractions(publicadorInvalidacao, indiceBusca, modeloColunar);
+    }
+
+    @Test
+    void deveBuscarProdutosPorSkusComUmaConsultaPorBloco() {
+        var skus = IntStream.range(0, ProdutoGatewayImpl.TAMANHO_MAXIMO_CLAUSULA_IN + 1)
+                .mapToObj(i -> "SKU" + i)
+                .collect(Collectors.toList());
+        var produtoEntity = criarProdutoEntityComId();
+        var produto = criarProdutoComId();
+
+        when(repository.findBySkuIn(anyList())).thenReturn(List.of(produtoEntity)).thenReturn(List.of());
+        when(mapper.toDomain(produtoEntity)).thenReturn(produto);
+
+        var resultado = produtoGateway.buscarPorSkus(skus);
+
+        assertEquals(List.of(produto), resultado);
+        verify(repository, times(2)).findBySkuIn(anyList());
+        verify(repository, never()).findBySku(any());
+    }
+
     private Produto criarProduto() {
         return Produto.builder()
                 .nome("Notebook Dell")
@@ -0,0 +1,60 @@
+package com.fiap.produto.gateway.arquivo;
+
+import com.fiap.produto.domain.Produto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormatoSnapshotArquivoTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void deveLerOsMesmosProdutosGravados() throws IOException {
+        var arquivo = diretorio.resolve("catalogo.snapshot");
+        var produtos = List.of(
+                Produto.builder().id(1L).nome("Café Torrado").sku("CAFE-1").preco(19.9).versao(3L).build(),
+                Produto.builder().id(2L).nome(null).sku("SEM-NOME").preco(null).versao(null).build());
+
+        int gravados = FormatoSnapshotArquivo.escrever(arquivo, 42L, consumidor -> produtos.forEach(consumidor));
+
+        var catalogo = FormatoSnapshotArquivo.mapear(arquivo);
+        var lidos = new ArrayList<Produto>();
+        catalogo.percorrer(lidos::add);
+        assertEquals(2, gravados);
+        assertEquals(42L, catalogo.getVersao());
+        assertEquals(2, catalogo.getQuantidade());
+        assertEquals(produtos, lidos);
+        assertFalse(Files.exists(diretorio.resolve("catalogo.snapshot.tmp")));
+    }
+
+    @Test
+    void deveRejeitarArquivoComChecksumInvalido() throws IOException {
+        var arquivo = diretorio.resolve("catalogo.snapshot");
+        FormatoSnapshotArquivo.escrever(arquivo, 1L, consumidor ->
+                consumidor.accept(Produto.builder().id(1L).nome("Café").sku("CAFE-1").preco(10.0).versao(0L).build()));
+        byte[] bytes = Files.readAllBytes(arquivo);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(arquivo, bytes);
+
+        var erro = assertThrows(IOException.class, () -> FormatoSnapshotArquivo.mapear(arquivo));
+
+        assertTrue(erro.getMessage().contains("Checksum"));
+    }
+
+    @Test
+    void deveRejeitarArquivoDeOutroFormato() throws IOException {
+        var arquivo = diretorio.resolve("catalogo.snapshot");
+        Files.write(arquivo, new byte[FormatoSnapshotArquivo.TAMANHO_CABECALHO]);
+
+        assertThrows(IOException.class, () -> FormatoSnapshotArquivo.mapear(arquivo));
+    }
+}
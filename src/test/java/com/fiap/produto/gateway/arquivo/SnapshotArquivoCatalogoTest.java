@@ -0,0 +1,126 @@
+package com.fiap.produto.gateway.arquivo;
+
+import com.fiap.produto.config.arquivo.SnapshotArquivoProperties;
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.entity.ProdutoEntity;
+import com.fiap.produto.mapper.ProdutoMapper;
+import com.fiap.produto.repository.ProdutoRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SnapshotArquivoCatalogoTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Mock
+    private ProdutoRepository repository;
+
+    @Mock
+    private ProdutoMapper mapper;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SnapshotArquivoProperties properties;
+    private Path arquivo;
+
+    @BeforeEach
+    void setUp() {
+        arquivo = diretorio.resolve("sub").resolve("catalogo.snapshot");
+        properties = new SnapshotArquivoProperties();
+        properties.setCaminho(arquivo.toString());
+    }
+
+    @Test
+    void naoDeveAbrirQuandoArquivoNaoExistir() {
+        assertTrue(novoSnapshot().abrir().isEmpty());
+    }
+
+    @Test
+    void deveGravarEAbrirNaProximaSubida() {
+        var entity = new ProdutoEntity();
+        var produto = Produto.builder().id(1L).nome("Café").sku("CAFE-1").preco(10.0).versao(0L).build();
+        when(repository.versaoCatalogo()).thenReturn(5L);
+        when(repository.streamTodosOrdenadosPorId()).thenReturn(Stream.of(entity));
+        when(mapper.toDomain(entity)).thenReturn(produto);
+
+        novoSnapshot().gravar();
+
+        var catalogo = novoSnapshot().abrir().orElseThrow();
+        List<Produto> lidos = new ArrayList<>();
+        catalogo.percorrer(lidos::add);
+        assertEquals(5L, catalogo.getVersao());
+        assertEquals(List.of(produto), lidos);
+        verify(entityManager).detach(entity);
+    }
+
+    @Test
+    void naoDeveRegravarQuandoVersaoForADoArquivo() throws IOException {
+        FormatoSnapshotArquivo.escrever(arquivo, 5L, consumidor -> { });
+        when(repository.versaoCatalogo()).thenReturn(5L);
+        var snapshot = novoSnapshot();
+        snapshot.abrir();
+
+        snapshot.gravar();
+
+        verify(repository, never()).streamTodosOrdenadosPorId();
+    }
+
+    @Test
+    void deveDescartarArquivoCorrompido() throws IOException {
+        Files.createDirectories(arquivo.getParent());
+        Files.write(arquivo, new byte[]{1, 2, 3});
+
+        assertTrue(novoSnapshot().abrir().isEmpty());
+    }
+
+    // O formato 1 trazia a versao do contador antigo, sem relacao com a sequence do catalogo
+    @Test
+    void deveDescartarArquivoDoFormatoAnterior() throws IOException {
+        Files.createDirectories(arquivo.getParent());
+        Files.write(arquivo, ByteBuffer.allocate(FormatoSnapshotArquivo.TAMANHO_CABECALHO)
+                .putInt(FormatoSnapshotArquivo.MAGICO)
+                .putInt(1)
+                .putLong(500L)
+                .array());
+
+        assertTrue(novoSnapshot().abrir().isEmpty());
+    }
+
+    @Test
+    void naoDeveFazerNadaQuandoDesabilitado() {
+        properties.setHabilitado(false);
+        var snapshot = novoSnapshot();
+
+        snapshot.gravar();
+
+        assertTrue(snapshot.abrir().isEmpty());
+        verifyNoInteractions(repository);
+    }
+
+    private SnapshotArquivoCatalogo novoSnapshot() {
+        return new SnapshotArquivoCatalogo(repository, mapper, entityManager, properties, transactionManager);
+    }
+}
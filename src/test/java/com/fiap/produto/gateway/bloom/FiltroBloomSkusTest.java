@@ -0,0 +1,287 @@
+package com.fiap.produto.gateway.bloom;
+
+import com.fiap.produto.config.bloom.FiltroBloomProperties;
+import com.fiap.produto.domain.InvalidacaoProduto;
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.gateway.arquivo.CatalogoMapeado;
+import com.fiap.produto.gateway.arquivo.SnapshotArquivoCatalogo;
+import com.fiap.produto.repository.ProdutoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FiltroBloomSkusTest {
+
+    @Mock
+    private ProdutoRepository repository;
+
+    @Mock
+    private SnapshotArquivoCatalogo snapshotArquivo;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private FiltroBloomProperties properties;
+    private FiltroBloomSkus filtroSkus;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FiltroBloomProperties();
+        properties.setCapacidadeMinima(1_000);
+        filtroSkus = new FiltroBloomSkus(repository, properties, snapshotArquivo, transactionManager);
+    }
+
+    @Test
+    void deveResponderTalvezAntesDaPrimeiraCarga() {
+        assertTrue(filtroSkus.podeConter("QUALQUER"));
+    }
+
+    @Test
+    void deveDescartarSkusForaDoBancoAposCarga() {
+        when(repository.versaoCatalogo()).thenReturn(3L);
+        when(repository.streamSkus()).thenReturn(Stream.of("SKU1", "SKU2"));
+
+        filtroSkus.verificar();
+
+        assertTrue(filtroSkus.podeConter("SKU1"));
+        assertTrue(filtroSkus.podeConter("SKU2"));
+        assertFalse(filtroSkus.podeConter("INEXISTENTE"));
+    }
+
+    @Test
+    void naoDeveDescartarSkuQuandoVerificacaoForMaisAntigaQueADefasagemMaxima() {
+        properties.setDefasagemMaxima(Duration.ZERO);
+        when(repository.versaoCatalogo()).thenReturn(3L);
+        when(repository.streamSkus()).thenReturn(Stream.of("SKU1"));
+        filtroSkus.verificar();
+
+        // SKU2 pode ter sido criado em outra instancia depois da verificacao e a invalidacao se perdido
+        assertTrue(filtroSkus.podeConter("SKU2"));
+        assertEquals(Set.of("SKU2", "SKU3"), filtroSkus.podemConter(Set.of("SKU2", "SKU3")));
+    }
+
+    @Test
+    void naoDeveTratarLacunaNaVersaoDaInvalidacaoComoEscritaPerdida() {
+        when(repository.versaoCatalogo()).thenReturn(3L);
+        when(repository.streamSkus()).thenReturn(Stream.of("SKU1"));
+        filtroSkus.verificar();
+
+        // A versao 4 veio de uma transacao desfeita: a sequence deixa lacunas
+        filtroSkus.observar(InvalidacaoProduto.builder().sku("SKU5").versaoCatalogo(5L).build());
+
+        assertTrue(filtroSkus.podeConter("SKU5"));
+        assertFalse(filtroSkus.podeConter("SKU2"));
+        verify(repository, times(1)).streamSkus();
+    }
+
+    @Test
+    void deveAplicarSkuDeOutraInstanciaSemReconstruir() {
+        when(repository.versaoCatalogo()).thenReturn(3L);
+        when(repository.streamSkus()).thenReturn(Stream.of("SKU1"));
+        filtroSkus.verificar();
+
+        filtroSkus.observar(InvalidacaoProduto.builder().sku("SKU2").versaoCatalogo(4L).build());
+        filtroSkus.observar(InvalidacaoProduto.builder().produtoId(1L).versaoCatalogo(5L).build());
+        when(repository.versaoCatalogo()).thenReturn(5L);
+
+        assertTrue(filtroSkus.podeConter("SKU2"));
+        assertFalse(filtroSkus.podeConter("SKU3"));
+        filtroSkus.verificar();
+        verify(repository, times(1)).streamSkus();
+    }
+
+    @Test
+    void deveDescartarNoLoteSomenteSkusForaDoFiltro() {
+        when(repository.versaoCatalogo()).thenReturn(3L);
+        when(repository.streamSkus()).thenReturn(Stream.of("SKU1"));
+        filtroSkus.verificar();
+
+        assertEquals(Set.of("SKU1"), filtroSkus.podemConter(Set.of("SKU1", "INEXISTENTE")));
+    }
+
+    @Test
+    void naoDeveLerOBancoAoDescartarSku() {
+        when(repository.versaoCatalogo()).thenReturn(3L);
+        when(repository.streamSkus()).thenReturn(Stream.of("SKU1"));
+        filtroSkus.verificar();
+
+        assertFalse(filtroSkus.podeConter("INEXISTENTE"));
+        assertTrue(filtroSkus.podeConter("SKU1"));
+
+        // Somente a verificacao agendada le a versao do catalogo
+        verify(repository, times(1)).versaoCatalogo();
+        verify(repository, times(1)).streamSkus();
+    }
+
+    @Test
+    void naoDeveDescartarSkuQuandoVersaoDoCatalogoNaoPuderSerLida() {
+        when(repository.versaoCatalogo()).thenReturn(3L);
+        when(repository.streamSkus()).thenReturn(Stream.empty());
+        filtroSkus.verificar();
+
+        when(repository.versaoCatalogo()).thenThrow(new IllegalStateException("banco fora"));
+        filtroSkus.verificar();
+
+        assertTrue(filtroSkus.podeConter("SKU1"));
+    }
+
+    @Test
+    void naoDeveReconstruirQuandoInvalidacaoJaRegistrouOSku() {
+        when(repository.versaoCatalogo()).thenReturn(3L);
+        when(repository.streamSkus()).thenReturn(Stream.of("SKU1"));
+        filtroSkus.verificar();
+        filtroSkus.observar(InvalidacaoProduto.builder().sku("SKU2").versaoCatalogo(5L).build());
+
+        when(repository.versaoCatalogo()).thenReturn(5L);
+        filtroSkus.verificar();
+
+        assertTrue(filtroSkus.podeConter("SKU2"));
+        assertFalse(filtroSkus.podeConter("INEXISTENTE"));
+        verify(repository, times(1)).streamSkus();
+    }
+
+    @Test
+    void deveCarregarDoSnapshotEmArquivoNaVersaoAtualSemVarrerOBanco() {
+        var catalogo = catalogoMapeado(3L, "SKU1");
+        when(snapshotArquivo.abrir()).thenReturn(Optional.of(catalogo));
+        when(repository.versaoCatalogo()).thenReturn(3L);
+
+        filtroSkus.carregarNaInicializacao();
+
+        assertTrue(filtroSkus.podeConter("SKU1"));
+        assertFalse(filtroSkus.podeConter("INEXISTENTE"));
+        verify(repository, never()).streamSkus();
+    }
+
+    @Test
+    void deveIgnorarSnapshotEmArquivoDeOutraVersao() {
+        var catalogo = catalogoMapeado(2L, "SKU1");
+        when(snapshotArquivo.abrir()).thenReturn(Optional.of(catalogo));
+        when(repository.versaoCatalogo()).thenReturn(3L);
+        when(repository.streamSkus()).thenReturn(Stream.of("SKU1", "SKU2"));
+
+        filtroSkus.carregarNaInicializacao();
+
+        assertTrue(filtroSkus.podeConter("SKU2"));
+        verify(catalogo, never()).percorrer(any());
+    }
+
+    @Test
+    void deveAceitarSkuRegistradoAposCarga() {
+        when(repository.versaoCatalogo()).thenReturn(1L);
+        when(repository.streamSkus()).thenReturn(Stream.empty());
+        filtroSkus.verificar();
+
+        filtroSkus.registrar("NOVO");
+
+        assertTrue(filtroSkus.podeConter("NOVO"));
+    }
+
+    @Test
+    void deveReconstruirSomenteQuandoVersaoMudar() {
+        when(repository.versaoCatalogo()).thenReturn(1L);
+        when(repository.streamSkus()).thenReturn(Stream.of("SKU1")).thenReturn(Stream.of("SKU1", "SKU2"));
+
+        filtroSkus.verificar();
+        filtroSkus.verificar();
+        assertFalse(filtroSkus.podeConter("SKU2"));
+
+        when(repository.versaoCatalogo()).thenReturn(2L);
+        filtroSkus.verificar();
+
+        verify(repository, times(2)).streamSkus();
+        assertTrue(filtroSkus.podeConter("SKU2"));
+    }
+
+    @Test
+    void naoDeveReconstruirDepoisDeConfirmarEscritaLocal() {
+        when(repository.versaoCatalogo()).thenReturn(1L).thenReturn(2L);
+        when(repository.streamSkus()).thenReturn(Stream.empty());
+        filtroSkus.verificar();
+
+        filtroSkus.aplicar(Produto.builder().sku("NOVO").build(), 2L);
+        filtroSkus.verificar();
+
+        verify(repository, times(1)).streamSkus();
+        assertTrue(filtroSkus.podeConter("NOVO"));
+    }
+
+    @Test
+    void deveReconstruirQuandoFiltroExpirar() {
+        properties.setIntervaloReconstrucao(Duration.ZERO);
+        when(repository.versaoCatalogo()).thenReturn(1L);
+        when(repository.streamSkus()).thenReturn(Stream.of("SKU1")).thenReturn(Stream.of("SKU1"));
+
+        filtroSkus.verificar();
+        filtroSkus.verificar();
+
+        verify(repository, times(2)).streamSkus();
+    }
+
+    @Test
+    void deveDesligarFiltroQuandoReconstrucaoFalhar() {
+        when(repository.versaoCatalogo()).thenReturn(1L);
+        when(repository.streamSkus()).thenReturn(Stream.empty()).thenThrow(new IllegalStateException("banco fora"));
+        filtroSkus.verificar();
+        assertFalse(filtroSkus.podeConter("SKU1"));
+
+        when(repository.versaoCatalogo()).thenReturn(2L);
+        filtroSkus.verificar();
+
+        assertTrue(filtroSkus.podeConter("SKU1"));
+    }
+
+    @Test
+    void naoDeveCarregarQuandoDesabilitado() {
+        properties.setHabilitado(false);
+
+        filtroSkus.verificar();
+
+        assertTrue(filtroSkus.podeConter("QUALQUER"));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void devePublicarMetricasDeTamanhoEFalsoPositivo() {
+        var registry = new SimpleMeterRegistry();
+        filtroSkus.bindTo(registry);
+        when(repository.versaoCatalogo()).thenReturn(1L);
+        when(repository.streamSkus()).thenReturn(Stream.of("SKU1", "SKU2"));
+        filtroSkus.verificar();
+
+        filtroSkus.podeConter("INEXISTENTE");
+        filtroSkus.registrarFalsoPositivo();
+
+        assertEquals(2.0, registry.get("produto.sku.bloom.elementos").gauge().value());
+        assertTrue(registry.get("produto.sku.bloom.bits").gauge().value() >= 9_585);
+        assertTrue(registry.get("produto.sku.bloom.falso.positivo.estimado").gauge().value() > 0);
+        assertEquals(1.0, registry.get("produto.sku.bloom.descartes").counter().count());
+        assertEquals(1.0, registry.get("produto.sku.bloom.falsos.positivos").counter().count());
+    }
+
+    private CatalogoMapeado catalogoMapeado(long versao, String sku) {
+        var catalogo = mock(CatalogoMapeado.class);
+        lenient().when(catalogo.getVersao()).thenReturn(versao);
+        lenient().doAnswer(invocacao -> {
+            Consumer<Produto> consumidor = invocacao.getArgument(0);
+            consumidor.accept(Produto.builder().id(1L).sku(sku).build());
+            return null;
+        }).when(catalogo).percorrer(any());
+        return catalogo;
+    }
+}
@@ -0,0 +1,57 @@
+package com.fiap.produto.gateway.bloom;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FiltroBloomTest {
+
+    @Test
+    void naoDeveTerFalsoNegativo() {
+        var filtro = FiltroBloom.dimensionar(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filtro.adicionar("SKU-" + i));
+
+        assertTrue(IntStream.range(0, 10_000).allMatch(i -> filtro.podeConter("SKU-" + i)));
+        assertEquals(10_000, filtro.elementos(), 50);
+    }
+
+    @Test
+    void deveManterTaxaDeFalsoPositivoProximaDaConfigurada() {
+        var filtro = FiltroBloom.dimensionar(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filtro.adicionar("SKU-" + i));
+
+        long falsosPositivos = IntStream.range(0, 100_000)
+                .filter(i -> filtro.podeConter("INEXISTENTE-" + i))
+                .count();
+
+        assertTrue(falsosPositivos < 2_000, "falsos positivos: " + falsosPositivos);
+        assertEquals(0.01, filtro.taxaFalsoPositivoEstimada(), 0.005);
+    }
+
+    @Test
+    void deveDimensionarBitsEHashesPelaCapacidade() {
+        var filtro = FiltroBloom.dimensionar(1_000, 0.01);
+
+        assertTrue(filtro.totalBits() >= 9_585);
+        assertEquals(7, filtro.numeroHashes());
+        assertEquals(0.0, filtro.taxaFalsoPositivoEstimada());
+    }
+
+    @Test
+    void naoDeveContarDuasVezesOMesmoSku() {
+        var filtro = FiltroBloom.dimensionar(1_000, 0.01);
+
+        filtro.adicionar("SKU1");
+        filtro.adicionar("SKU1");
+
+        assertEquals(1, filtro.elementos());
+    }
+
+    @Test
+    void deveRejeitarParametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> FiltroBloom.dimensionar(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> FiltroBloom.dimensionar(1_000, 1.0));
+    }
+}
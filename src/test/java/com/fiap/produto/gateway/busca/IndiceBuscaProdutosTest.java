@@ -0,0 +1,278 @@
+package com.fiap.produto.gateway.busca;
+
+import com.fiap.produto.config.busca.BuscaProdutosProperties;
+import com.fiap.produto.domain.InvalidacaoProduto;
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.entity.ProdutoEntity;
+import com.fiap.produto.gateway.arquivo.CatalogoMapeado;
+import com.fiap.produto.gateway.arquivo.SnapshotArquivoCatalogo;
+import com.fiap.produto.mapper.ProdutoMapper;
+import com.fiap.produto.repository.ProdutoRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IndiceBuscaProdutosTest {
+
+    @Mock
+    private ProdutoRepository repository;
+
+    @Mock
+    private ProdutoMapper mapper;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private SnapshotArquivoCatalogo snapshotArquivo;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BuscaProdutosProperties properties;
+    private IndiceBuscaProdutos indiceBusca;
+
+    @BeforeEach
+    void setUp() {
+        properties = new BuscaProdutosProperties();
+        indiceBusca = new IndiceBuscaProdutos(repository, mapper, entityManager, properties,
+                snapshotArquivo, transactionManager);
+    }
+
+    @Test
+    void deveDelegarAoBancoAntesDaPrimeiraCarga() {
+        assertTrue(indiceBusca.buscar("cafe", 10).isEmpty());
+    }
+
+    @Test
+    void deveCarregarDaVarreduraEDesanexarEntidades() {
+        var entity = new ProdutoEntity();
+        carregar(entity, produto(1L, "Café Torrado", 0L));
+
+        assertEquals(List.of(1L), ids(indiceBusca.buscar("cafe", 10).orElseThrow()));
+        verify(entityManager).detach(entity);
+    }
+
+    @Test
+    void deveResponderDoSnapshotEmArquivoNaSubidaEAlcancarOBancoDepois() {
+        var catalogo = mock(CatalogoMapeado.class);
+        when(catalogo.getVersao()).thenReturn(1L);
+        doAnswer(invocacao -> {
+            Consumer<Produto> consumidor = invocacao.getArgument(0);
+            consumidor.accept(produto(1L, "Café", 0L));
+            return null;
+        }).when(catalogo).percorrer(any());
+        when(snapshotArquivo.abrir()).thenReturn(Optional.of(catalogo));
+
+        indiceBusca.carregarNaInicializacao();
+
+        assertEquals(List.of(1L), ids(indiceBusca.buscar("cafe", 10).orElseThrow()));
+        verifyNoInteractions(repository);
+
+        var entity = new ProdutoEntity();
+        when(repository.versaoCatalogo()).thenReturn(2L);
+        when(repository.streamTodosOrdenadosPorId()).thenReturn(Stream.of(entity));
+        when(mapper.toDomain(entity)).thenReturn(produto(2L, "Chá", 0L));
+        indiceBusca.verificar();
+
+        assertEquals(List.of(2L), ids(indiceBusca.buscar("cha", 10).orElseThrow()));
+    }
+
+    @Test
+    void naoDeveReconstruirQuandoVersaoNaoMudar() {
+        carregar(new ProdutoEntity(), produto(1L, "Café", 0L));
+
+        indiceBusca.verificar();
+
+        verify(repository, times(1)).streamTodosOrdenadosPorId();
+    }
+
+    @Test
+    void deveLerVersaoEVarrerNaMesmaTransacao() {
+        carregar(new ProdutoEntity(), produto(1L, "Café", 0L));
+
+        var ordem = inOrder(transactionManager, repository);
+        ordem.verify(transactionManager).getTransaction(any());
+        ordem.verify(repository).versaoCatalogo();
+        ordem.verify(repository).streamTodosOrdenadosPorId();
+        ordem.verify(transactionManager).commit(any());
+        verify(transactionManager, times(1)).getTransaction(any());
+    }
+
+    @Test
+    void naoDeveRegredirParaVersaoDeReplicaAtrasada() {
+        carregar(new ProdutoEntity(), produto(1L, "Café", 0L));
+        indiceBusca.aplicar(produto(2L, "Chá", 0L), 2L);
+
+        // A replica ainda devolve a versao 1
+        indiceBusca.verificar();
+
+        verify(repository, times(1)).streamTodosOrdenadosPorId();
+        assertEquals(List.of(2L), ids(indiceBusca.buscar("cha", 10).orElseThrow()));
+    }
+
+    @Test
+    void deveIndexarEscritaLocal() {
+        carregar(new ProdutoEntity(), produto(1L, "Café", 0L));
+
+        indiceBusca.aplicar(produto(2L, "Chá Verde", 0L), 2L);
+        indiceBusca.aplicar(produto(1L, "Café Moído", 1L), 3L);
+
+        assertEquals(List.of(2L), ids(indiceBusca.buscar("cha", 10).orElseThrow()));
+        assertEquals(List.of(1L), ids(indiceBusca.buscar("moido", 10).orElseThrow()));
+    }
+
+    @Test
+    void deveReindexarSoOProdutoAlteradoPorOutraInstancia() {
+        carregar(new ProdutoEntity(), produto(1L, "Café", 0L));
+        var alterado = ProdutoEntity.builder().id(1L).nome("Café Moído").sku("SKU1").preco(10.0).versao(1L).build();
+        when(repository.findById(1L)).thenReturn(Optional.of(alterado));
+        when(mapper.toDomain(alterado)).thenReturn(produto(1L, "Café Moído", 1L));
+
+        indiceBusca.observar(invalidacao(1L, 1L, 2L));
+
+        assertEquals(List.of(1L), ids(indiceBusca.buscar("moido", 10).orElseThrow()));
+        verify(repository, times(1)).streamTodosOrdenadosPorId();
+    }
+
+    @Test
+    void deveRelerNaPrimariaQuandoReplicaNaoTiverAEscritaAnunciada() {
+        carregar(new ProdutoEntity(), produto(1L, "Café", 0L));
+        var atrasado = ProdutoEntity.builder().id(1L).nome("Café").sku("SKU1").preco(10.0).versao(0L).build();
+        var alterado = ProdutoEntity.builder().id(1L).nome("Café Moído").sku("SKU1").preco(10.0).versao(1L).build();
+        when(repository.findById(1L)).thenReturn(Optional.of(atrasado), Optional.of(alterado));
+        when(mapper.toDomain(alterado)).thenReturn(produto(1L, "Café Moído", 1L));
+
+        indiceBusca.observar(invalidacao(1L, 1L, 2L));
+
+        verify(repository, times(2)).findById(1L);
+        assertEquals(List.of(1L), ids(indiceBusca.buscar("moido", 10).orElseThrow()));
+    }
+
+    @Test
+    void naoDeveRelerProdutoNoEcoDeEscritaLocal() {
+        carregar(new ProdutoEntity(), produto(1L, "Café", 0L));
+        indiceBusca.aplicar(produto(2L, "Chá", 0L), 2L);
+
+        indiceBusca.observar(invalidacao(2L, 0L, 2L));
+
+        verify(repository, never()).findById(any());
+        assertEquals(List.of(2L), ids(indiceBusca.buscar("cha", 10).orElseThrow()));
+    }
+
+    @Test
+    void naoDeveRelerProdutoEmMudancaSoDePrecoDeOutraInstancia() {
+        carregar(new ProdutoEntity(), produto(1L, "Café", 0L));
+        when(repository.versaoCatalogo()).thenReturn(2L);
+        when(repository.versoesCatalogoApos(1L)).thenReturn(List.of(2L));
+
+        indiceBusca.observar(InvalidacaoProduto.builder().produtoId(1L).versao(1L).versaoCatalogo(2L).build());
+        indiceBusca.verificar();
+
+        verify(repository, never()).findById(any());
+        verify(repository, times(1)).streamTodosOrdenadosPorId();
+        assertEquals(List.of(1L), ids(indiceBusca.buscar("cafe", 10).orElseThrow()));
+    }
+
+    @Test
+    void deveDelegarAoBancoQuandoNaoConseguirRelerOProdutoAlterado() {
+        carregar(new ProdutoEntity(), produto(1L, "Café", 0L));
+        when(repository.findById(1L)).thenThrow(new IllegalStateException("banco fora"));
+
+        indiceBusca.observar(invalidacao(1L, 1L, 2L));
+
+        assertTrue(indiceBusca.buscar("cafe", 10).isEmpty());
+    }
+
+    @Test
+    void naoDeveReconstruirDepoisDeAplicarEscritasLocais() {
+        carregar(new ProdutoEntity(), produto(1L, "Café", 0L));
+        indiceBusca.aplicar(produto(2L, "Chá", 0L), 2L);
+        indiceBusca.aplicar(produto(1L, "Café", 1L).toBuilder().preco(42.0).build(), 3L);
+        when(repository.versaoCatalogo()).thenReturn(3L);
+        when(repository.versoesCatalogoApos(1L)).thenReturn(List.of(2L, 3L));
+
+        indiceBusca.verificar();
+
+        verify(repository, times(1)).streamTodosOrdenadosPorId();
+    }
+
+    @Test
+    void deveReconstruirQuandoHouverEscritaDeOutraInstancia() {
+        carregar(new ProdutoEntity(), produto(1L, "Café", 0L));
+        // Versao 2 foi escrita por outra instancia, sem mensagem de invalidacao; a 3 e local
+        indiceBusca.aplicar(produto(2L, "Chá", 0L), 3L);
+        when(repository.versaoCatalogo()).thenReturn(3L);
+        when(repository.versoesCatalogoApos(1L)).thenReturn(List.of(2L, 3L));
+        when(repository.streamTodosOrdenadosPorId()).thenReturn(Stream.empty());
+
+        indiceBusca.verificar();
+
+        verify(repository, times(2)).streamTodosOrdenadosPorId();
+    }
+
+    @Test
+    void deveAplicarLinhaDevolvidaPelaAtualizacaoDePreco() {
+        carregar(new ProdutoEntity(), produto(1L, "Café", 3L));
+
+        indiceBusca.aplicar(produto(1L, "Café", 4L).toBuilder().preco(42.0).build(), 2L);
+
+        var produto = indiceBusca.buscar("cafe", 10).orElseThrow().get(0);
+        assertEquals(42.0, produto.getPreco());
+        assertEquals(4L, produto.getVersao());
+    }
+
+    @Test
+    void deveManterIndiceAnteriorQuandoReconstrucaoFalhar() {
+        carregar(new ProdutoEntity(), produto(1L, "Café", 0L));
+        when(repository.versaoCatalogo()).thenReturn(2L);
+        when(repository.streamTodosOrdenadosPorId()).thenThrow(new IllegalStateException("banco fora"));
+
+        indiceBusca.verificar();
+
+        assertEquals(List.of(1L), ids(indiceBusca.buscar("cafe", 10).orElseThrow()));
+    }
+
+    @Test
+    void deveDelegarAoBancoQuandoDesabilitado() {
+        properties.setHabilitado(false);
+
+        indiceBusca.verificar();
+
+        assertTrue(indiceBusca.buscar("cafe", 10).isEmpty());
+        verifyNoInteractions(repository);
+    }
+
+    private void carregar(ProdutoEntity entity, Produto produto) {
+        when(repository.versaoCatalogo()).thenReturn(1L);
+        when(repository.streamTodosOrdenadosPorId()).thenReturn(Stream.of(entity));
+        when(mapper.toDomain(entity)).thenReturn(produto);
+        indiceBusca.verificar();
+    }
+
+    private InvalidacaoProduto invalidacao(Long id, Long versao, Long versaoCatalogo) {
+        return InvalidacaoProduto.builder().produtoId(id).sku("SKU" + id).versao(versao).versaoCatalogo(versaoCatalogo).build();
+    }
+
+    private List<Long> ids(List<Produto> produtos) {
+        return produtos.stream().map(Produto::getId).toList();
+    }
+
+    private Produto produto(Long id, String nome, Long versao) {
+        return Produto.builder().id(id).nome(nome).sku("SKU" + id).preco(10.0).versao(versao).build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.fiap.produto.gateway.busca;
+
+import com.fiap.produto.domain.Produto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndiceInvertidoTest {
+
+    private IndiceInvertido indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceInvertido();
+        indice.indexar(produto(1L, "Café Torrado Especial", 0L));
+        indice.indexar(produto(2L, "Açúcar Cristal", 0L));
+        indice.indexar(produto(3L, "Café", 0L));
+        indice.indexar(produto(4L, "Cafeteira Elétrica", 0L));
+    }
+
+    @Test
+    void deveNormalizarAcentosEMaiusculas() {
+        assertEquals(List.of("acucar", "cristal"), IndiceInvertido.tokenizar("AÇÚCAR  cristal!"));
+        assertEquals(List.of(2L), ids(indice.buscar("acucar", 10, 2)));
+        assertEquals(List.of(2L), ids(indice.buscar("Açúcar", 10, 2)));
+    }
+
+    @Test
+    void deveRanquearTokenExatoAntesDePrefixo() {
+        assertEquals(List.of(3L, 1L, 4L), ids(indice.buscar("cafe", 10, 2)));
+    }
+
+    @Test
+    void deveExigirTodosOsTermos() {
+        assertEquals(List.of(1L), ids(indice.buscar("caf torr", 10, 2)));
+        assertTrue(indice.buscar("cafe cristal", 10, 2).isEmpty());
+    }
+
+    @Test
+    void deveRespeitarLimite() {
+        assertEquals(List.of(3L, 4L), ids(indice.buscar("caf", 2, 2)));
+    }
+
+    @Test
+    void naoDeveExpandirPrefixoMenorQueOMinimo() {
+        assertTrue(indice.buscar("c", 10, 2).isEmpty());
+    }
+
+    @Test
+    void deveReindexarNomeAlterado() {
+        indice.indexar(produto(3L, "Chá Mate", 1L));
+
+        assertEquals(List.of(1L, 4L), ids(indice.buscar("cafe", 10, 2)));
+        assertEquals(List.of(3L), ids(indice.buscar("cha", 10, 2)));
+    }
+
+    @Test
+    void deveIgnorarVersaoMaisAntigaDoQueAIndexada() {
+        indice.indexar(produto(3L, "Chá Mate", 2L));
+        indice.indexar(produto(3L, "Café", 1L));
+
+        assertEquals(List.of(3L), ids(indice.buscar("mate", 10, 2)));
+        assertEquals(4, indice.tamanho());
+    }
+
+    private List<Long> ids(List<Produto> produtos) {
+        return produtos.stream().map(Produto::getId).toList();
+    }
+
+    private Produto produto(Long id, String nome, Long versao) {
+        return Produto.builder().id(id).nome(nome).sku("SKU" + id).preco(10.0).versao(versao).build();
+    }
+}
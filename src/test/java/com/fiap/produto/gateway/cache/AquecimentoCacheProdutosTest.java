@@ -0,0 +1,78 @@
+package com.fiap.produto.gateway.cache;
+
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.gateway.arquivo.CatalogoMapeado;
+import com.fiap.produto.gateway.arquivo.SnapshotArquivoCatalogo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AquecimentoCacheProdutosTest {
+
+    @Mock
+    private ObjectProvider<ProdutoGatewayCache> provider;
+
+    @Mock
+    private ProdutoGatewayCache cache;
+
+    @Mock
+    private SnapshotArquivoCatalogo snapshotArquivo;
+
+    @Mock
+    private CatalogoMapeado arquivo;
+
+    private AquecimentoCacheProdutos aquecimento;
+
+    @BeforeEach
+    void setUp() {
+        aquecimento = new AquecimentoCacheProdutos(provider, snapshotArquivo);
+        lenient().when(provider.getIfAvailable()).thenReturn(cache);
+        lenient().when(snapshotArquivo.abrir()).thenReturn(Optional.of(arquivo));
+    }
+
+    @Test
+    void deveAquecerCacheQuandoArquivoEstiverNaVersaoDoCatalogo() {
+        var produto = Produto.builder().id(1L).sku("SKU1").versao(0L).build();
+        when(arquivo.getVersao()).thenReturn(3L);
+        when(cache.versaoCatalogo()).thenReturn(3L);
+        doAnswer(invocation -> {
+            Predicate<Produto> consumidor = invocation.getArgument(0);
+            consumidor.test(produto);
+            return null;
+        }).when(arquivo).percorrerEnquanto(any());
+
+        aquecimento.aquecer();
+
+        verify(cache).aquecer(produto);
+    }
+
+    @Test
+    void naoDeveAquecerCacheComArquivoDeOutraVersao() {
+        when(arquivo.getVersao()).thenReturn(2L);
+        when(cache.versaoCatalogo()).thenReturn(3L);
+
+        aquecimento.aquecer();
+
+        verify(arquivo, never()).percorrerEnquanto(any());
+        verify(cache, never()).aquecer(any());
+    }
+
+    @Test
+    void naoDeveFazerNadaComCacheDesabilitado() {
+        when(provider.getIfAvailable()).thenReturn(null);
+
+        aquecimento.aquecer();
+
+        verifyNoInteractions(snapshotArquivo);
+    }
+}
@@ -0,0 +1,453 @@
+package com.fiap.produto.gateway.cache;
+
+import com.fiap.produto.domain.EstatisticasPreco;
+import com.fiap.produto.domain.FiltroProdutos;
+import com.fiap.produto.domain.InvalidacaoProduto;
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.gateway.ProdutoGateway;
+import com.fiap.produto.gateway.transacao.LeituraNaPrimaria;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProdutoGatewayCacheTest {
+
+    @Mock
+    private ProdutoGateway delegate;
+
+    private ProdutoGatewayCache gatewayCache;
+
+    @BeforeEach
+    void setUp() {
+        gatewayCache = new ProdutoGatewayCache(delegate, 100, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void naoDeveSobrescreverValorGravadoEnquantoConsultaRodava() {
+        var antigo = criarProduto(1L, "SKU123", 10.0);
+        var novo = criarProduto(1L, "SKU123", 20.0);
+        when(delegate.salvar(novo)).thenReturn(novo);
+        when(delegate.buscarPorSku("SKU123")).thenAnswer(invocacao -> {
+            gatewayCache.salvar(novo);
+            return Optional.of(antigo);
+        });
+
+        assertEquals(Optional.of(antigo), gatewayCache.buscarPorSku("SKU123"));
+        assertEquals(Optional.of(novo), gatewayCache.buscarPorSku("SKU123"));
+        verify(delegate, times(1)).buscarPorSku("SKU123");
+    }
+
+    @Test
+    void naoDeveSobrescreverValorGravadoEnquantoConsultaEmLoteRodava() {
+        var antigo = criarProduto(1L, "SKU123", 10.0);
+        var novo = criarProduto(1L, "SKU123", 20.0);
+        when(delegate.salvar(novo)).thenReturn(novo);
+        when(delegate.buscarPorSkus(Set.of("SKU123"))).thenAnswer(invocacao -> {
+            gatewayCache.salvar(novo);
+            return List.of(antigo);
+        });
+
+        assertEquals(List.of(antigo), gatewayCache.buscarPorSkus(List.of("SKU123")));
+        assertEquals(List.of(novo), gatewayCache.buscarPorSkus(List.of("SKU123")));
+        assertEquals(Optional.of(novo), gatewayCache.buscarPorId(1L));
+        verify(delegate, times(1)).buscarPorSkus(any());
+    }
+
+    @Test
+    void naoDeveArmazenarLeituraFeitaDentroDeTransacao() {
+        var lidoNaTransacao = criarProduto(1L, "SKU123", 20.0);
+        when(delegate.buscarPorId(1L)).thenReturn(Optional.of(lidoNaTransacao));
+        when(delegate.buscarPorSku("SKU123")).thenReturn(Optional.of(lidoNaTransacao));
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            gatewayCache.buscarPorId(1L);
+            gatewayCache.buscarPorSku("SKU123");
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        assertEquals(0, gatewayCache.tamanho());
+    }
+
+    @Test
+    void deveIrAoBancoApenasNaPrimeiraBuscaPorSku() {
+        var produto = criarProduto(1L, "SKU123", 10.0);
+        when(delegate.buscarPorSku("SKU123")).thenReturn(Optional.of(produto));
+
+        var primeira = gatewayCache.buscarPorSku("SKU123");
+        var segunda = gatewayCache.buscarPorSku("SKU123");
+
+        assertEquals(Optional.of(produto), primeira);
+        assertEquals(Optional.of(produto), segunda);
+        verify(delegate, times(1)).buscarPorSku("SKU123");
+        assertEquals(1, gatewayCache.estatisticas().hitCount());
+        assertEquals(1, gatewayCache.estatisticas().missCount());
+    }
+
+    @Test
+    void deveServirBuscaPorIdAPartirDoCachePorSku() {
+        var produto = criarProduto(1L, "SKU123", 10.0);
+        when(delegate.buscarPorSku("SKU123")).thenReturn(Optional.of(produto));
+
+        gatewayCache.buscarPorSku("SKU123");
+        var resultado = gatewayCache.buscarPorId(1L);
+
+        assertEquals(Optional.of(produto), resultado);
+        verify(delegate, never()).buscarPorId(any());
+    }
+
+    @Test
+    void naoDeveArmazenarSkuInexistente() {
+        when(delegate.buscarPorSku("NAO_EXISTE")).thenReturn(Optional.empty());
+
+        assertTrue(gatewayCache.buscarPorSku("NAO_EXISTE").isEmpty());
+        assertTrue(gatewayCache.buscarPorSku("NAO_EXISTE").isEmpty());
+
+        verify(delegate, times(2)).buscarPorSku("NAO_EXISTE");
+        assertEquals(0, gatewayCache.tamanho());
+    }
+
+    @Test
+    void deveArmazenarProdutoSalvoSemTransacao() {
+        var produto = criarProduto(null, "SKU123", 10.0);
+        var salvo = criarProduto(1L, "SKU123", 10.0);
+        when(delegate.salvar(produto)).thenReturn(salvo);
+
+        gatewayCache.salvar(produto);
+        var resultado = gatewayCache.buscarPorSku("SKU123");
+
+        assertEquals(Optional.of(salvo), resultado);
+        verify(delegate, never()).buscarPorSku(any());
+    }
+
+    @Test
+    void deveSubstituirEntradaAntigaQuandoSkuMudarNaAtualizacao() {
+        var original = criarProduto(1L, "SKU_ANTIGO", 10.0);
+        var atualizado = criarProduto(1L, "SKU_NOVO", 12.0);
+        when(delegate.buscarPorSku("SKU_ANTIGO")).thenReturn(Optional.of(original)).thenReturn(Optional.empty());
+        when(delegate.atualizar(atualizado)).thenReturn(atualizado);
+
+        gatewayCache.buscarPorSku("SKU_ANTIGO");
+        gatewayCache.atualizar(atualizado);
+
+        assertTrue(gatewayCache.buscarPorSku("SKU_ANTIGO").isEmpty());
+        assertEquals(Optional.of(atualizado), gatewayCache.buscarPorSku("SKU_NOVO"));
+        assertEquals(Optional.of(atualizado), gatewayCache.buscarPorId(1L));
+        verify(delegate, never()).buscarPorSku("SKU_NOVO");
+    }
+
+    @Test
+    void deveArmazenarSomenteAposCommitQuandoHouverTransacao() {
+        var original = criarProduto(1L, "SKU123", 10.0);
+        var atualizado = criarProduto(1L, "SKU123", 12.0);
+        when(delegate.buscarPorSku("SKU123")).thenReturn(Optional.of(original));
+        when(delegate.atualizar(atualizado)).thenReturn(atualizado);
+        gatewayCache.buscarPorSku("SKU123");
+
+        TransactionSynchronizationManager.initSynchronization();
+        gatewayCache.atualizar(atualizado);
+
+        assertEquals(0, gatewayCache.tamanho());
+        List<TransactionSynchronization> sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+        sincronizacoes.forEach(TransactionSynchronization::afterCommit);
+
+        assertEquals(Optional.of(atualizado), gatewayCache.buscarPorSku("SKU123"));
+        verify(delegate, times(1)).buscarPorSku("SKU123");
+    }
+
+    @Test
+    void deveRespeitarTamanhoMaximo() {
+        var gatewayPequeno = new ProdutoGatewayCache(delegate, 1, Duration.ofMinutes(1));
+        when(delegate.buscarPorSku(anyString())).thenAnswer(invocation ->
+                Optional.of(criarProduto((long) invocation.getArgument(0).hashCode(), invocation.getArgument(0), 1.0)));
+
+        for (int i = 0; i < 50; i++) {
+            gatewayPequeno.buscarPorSku("SKU" + i);
+        }
+        gatewayPequeno.tamanho();
+
+        assertTrue(gatewayPequeno.estatisticas().evictionCount() > 0);
+    }
+
+    @Test
+    void deveDelegarListagensSemCache() {
+        var produtos = List.of(criarProduto(1L, "SKU123", 10.0));
+        when(delegate.listarTodos()).thenReturn(produtos);
+        when(delegate.listarAposId(0L, 10)).thenReturn(produtos);
+        var filtro = FiltroProdutos.builder().skuPrefixo("SKU").build();
+        when(delegate.listarFiltrado(filtro, 10)).thenReturn(produtos);
+        var estatisticas = EstatisticasPreco.builder().quantidade(1).build();
+        when(delegate.estatisticasPreco(filtro)).thenReturn(estatisticas);
+
+        assertEquals(produtos, gatewayCache.listarTodos());
+        assertEquals(produtos, gatewayCache.listarAposId(0L, 10));
+        assertEquals(produtos, gatewayCache.listarFiltrado(filtro, 10));
+        assertEquals(estatisticas, gatewayCache.estatisticasPreco(filtro));
+        gatewayCache.percorrerTodos(p -> { });
+
+        verify(delegate).percorrerTodos(any());
+    }
+
+    @Test
+    void deveBuscarNoDelegateApenasOsSkusAusentesDoCache() {
+        var emCache = criarProduto(1L, "SKU1", 10.0);
+        var doBanco = criarProduto(2L, "SKU2", 20.0);
+        when(delegate.buscarPorSku("SKU1")).thenReturn(Optional.of(emCache));
+        when(delegate.buscarPorSkus(Set.of("SKU2", "SKU3"))).thenReturn(List.of(doBanco));
+        gatewayCache.buscarPorSku("SKU1");
+
+        var resultado = gatewayCache.buscarPorSkus(List.of("SKU1", "SKU2", "SKU3"));
+
+        assertEquals(2, resultado.size());
+        assertTrue(resultado.containsAll(List.of(emCache, doBanco)));
+        assertEquals(Optional.of(doBanco), gatewayCache.buscarPorId(2L));
+        verify(delegate, never()).buscarPorSku("SKU2");
+    }
+
+    @Test
+    void deveDelegarOperacoesEmLote() {
+        var produtos = List.of(criarProduto(null, "SKU123", 10.0));
+        var salvos = List.of(criarProduto(1L, "SKU123", 10.0));
+        when(delegate.salvarNovos(produtos)).thenReturn(salvos);
+
+        assertEquals(salvos, gatewayCache.salvarNovos(produtos));
+    }
+
+    @Test
+    void deveGuardarEmCacheALinhaDevolvidaPeloUpdateDePreco() {
+        var produto = criarProduto(1L, "SKU123", 10.0);
+        produto.setVersao(3L);
+        var atualizado = produto.toBuilder().preco(12.0).versao(4L).build();
+        when(delegate.buscarPorSku("SKU123")).thenReturn(Optional.of(produto));
+        when(delegate.atualizarPreco(1L, 12.0, 3L)).thenReturn(Optional.of(atualizado));
+        gatewayCache.buscarPorSku("SKU123");
+
+        assertEquals(Optional.of(atualizado), gatewayCache.atualizarPreco(1L, 12.0, 3L));
+
+        var emCache = gatewayCache.buscarPorId(1L).orElseThrow();
+        assertEquals(12.0, emCache.getPreco());
+        assertEquals(4L, emCache.getVersao());
+        verify(delegate, never()).buscarPorId(1L);
+    }
+
+    @Test
+    void deveInvalidarCopiaEmCacheQuandoVersaoDoPrecoNaoCorresponder() {
+        var produto = criarProduto(1L, "SKU123", 10.0);
+        produto.setVersao(3L);
+        when(delegate.buscarPorSku("SKU123")).thenReturn(Optional.of(produto));
+        when(delegate.atualizarPreco(1L, 12.0, 2L)).thenReturn(Optional.empty());
+        when(delegate.buscarPorId(1L)).thenReturn(Optional.of(produto));
+        gatewayCache.buscarPorSku("SKU123");
+
+        assertTrue(gatewayCache.atualizarPreco(1L, 12.0, 2L).isEmpty());
+
+        gatewayCache.buscarPorId(1L);
+        verify(delegate).buscarPorId(1L);
+    }
+
+    @Test
+    void deveSubstituirProdutoEmCacheAposUpsert() {
+        var original = criarProduto(1L, "SKU123", 10.0);
+        var resultado = criarProduto(1L, "SKU123", 15.0);
+        when(delegate.buscarPorSku("SKU123")).thenReturn(Optional.of(original));
+        when(delegate.upsertPorSku(any())).thenReturn(resultado);
+        gatewayCache.buscarPorSku("SKU123");
+
+        gatewayCache.upsertPorSku(criarProduto(null, "SKU123", 15.0));
+
+        assertEquals(Optional.of(resultado), gatewayCache.buscarPorSku("SKU123"));
+        verify(delegate, times(1)).buscarPorSku("SKU123");
+    }
+
+    @Test
+    void naoDeveCachearVersaoDoCatalogo() {
+        when(delegate.versaoCatalogo()).thenReturn(1L, 2L);
+
+        assertEquals(1L, gatewayCache.versaoCatalogo());
+        assertEquals(2L, gatewayCache.versaoCatalogo());
+    }
+
+    @Test
+    void deveDevolverCopiaEmCacheSemCarregarNemContarFalta() {
+        var produto = criarProduto(1L, "SKU123", 10.0, 0L);
+        when(delegate.buscarPorSku("SKU123")).thenReturn(Optional.of(produto));
+        gatewayCache.buscarPorSku("SKU123");
+
+        assertEquals(Optional.of(produto), gatewayCache.copiaEmCache("SKU123"));
+        assertTrue(gatewayCache.copiaEmCache("SKU999").isEmpty());
+
+        verify(delegate, never()).buscarPorSku("SKU999");
+        assertEquals(1, gatewayCache.estatisticas().requestCount());
+    }
+
+    @Test
+    void devePublicarMetricasDoCacheNoRegistry() {
+        var registry = new SimpleMeterRegistry();
+        gatewayCache.registrarMetricas(registry);
+        when(delegate.buscarPorSku("SKU123")).thenReturn(Optional.of(criarProduto(1L, "SKU123", 10.0)));
+
+        gatewayCache.buscarPorSku("SKU123");
+        gatewayCache.buscarPorSku("SKU123");
+
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", "produtos", "result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", "produtos", "result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void deveRemoverCopiaEmCacheAoReceberInvalidacaoDeVersaoMaisNova() {
+        var registry = new SimpleMeterRegistry();
+        gatewayCache.registrarMetricas(registry);
+        var antigo = criarProduto(1L, "SKU123", 10.0, 1L);
+        var novo = criarProduto(1L, "SKU123", 20.0, 2L);
+        when(delegate.buscarPorSku("SKU123")).thenReturn(Optional.of(antigo)).thenReturn(Optional.of(novo));
+        gatewayCache.buscarPorSku("SKU123");
+
+        gatewayCache.aplicarInvalidacao(new InvalidacaoProduto(1L, "SKU123", 2L, null));
+
+        assertEquals(Optional.of(novo), gatewayCache.buscarPorSku("SKU123"));
+        verify(delegate, times(2)).buscarPorSku("SKU123");
+        assertEquals(1.0, registry.get("produto.cache.invalidacoes.remotas").tag("resultado", "removida").functionCounter().count());
+    }
+
+    @Test
+    void deveIgnorarInvalidacaoAtrasadaOuEcoDaPropriaEscrita() {
+        var registry = new SimpleMeterRegistry();
+        gatewayCache.registrarMetricas(registry);
+        var produto = criarProduto(1L, "SKU123", 10.0, 3L);
+        when(delegate.buscarPorSku("SKU123")).thenReturn(Optional.of(produto));
+        gatewayCache.buscarPorSku("SKU123");
+
+        gatewayCache.aplicarInvalidacao(new InvalidacaoProduto(1L, "SKU123", 2L, null));
+        gatewayCache.aplicarInvalidacao(new InvalidacaoProduto(1L, "SKU123", 3L, null));
+
+        assertEquals(Optional.of(produto), gatewayCache.buscarPorSku("SKU123"));
+        verify(delegate, times(1)).buscarPorSku("SKU123");
+        assertEquals(2.0, registry.get("produto.cache.invalidacoes.remotas").tag("resultado", "ignorada").functionCounter().count());
+    }
+
+    @Test
+    void deveLocalizarEntradaPeloIdQuandoInvalidacaoNaoTrouxerSku() {
+        when(delegate.buscarPorSku("SKU123")).thenReturn(Optional.of(criarProduto(1L, "SKU123", 10.0, 1L)));
+        gatewayCache.buscarPorSku("SKU123");
+
+        gatewayCache.aplicarInvalidacao(new InvalidacaoProduto(1L, null, 2L, null));
+
+        assertEquals(0, gatewayCache.tamanho());
+        verify(delegate, never()).buscarPorId(any());
+    }
+
+    @Test
+    void naoDeveCachearCargaMaisAntigaQueVersaoJaInvalidada() {
+        var antigo = criarProduto(1L, "SKU123", 10.0, 1L);
+        when(delegate.buscarPorSku("SKU123")).thenAnswer(invocacao -> {
+            // A escrita remota commita e a invalidacao chega antes da consulta terminar
+            gatewayCache.aplicarInvalidacao(new InvalidacaoProduto(1L, "SKU123", 2L, null));
+            return Optional.of(antigo);
+        });
+        when(delegate.buscarPorSkus(Set.of("SKU123"))).thenReturn(List.of(antigo));
+
+        assertEquals(Optional.of(antigo), gatewayCache.buscarPorSku("SKU123"));
+        assertEquals(List.of(antigo), gatewayCache.buscarPorSkus(List.of("SKU123")));
+
+        assertEquals(0, gatewayCache.tamanho());
+    }
+
+    @Test
+    void deveRelerNaPrimariaQuandoReplicaAindaNaoTiverVersaoInvalidada() {
+        var antigo = criarProduto(1L, "SKU123", 10.0, 1L);
+        var atual = criarProduto(1L, "SKU123", 12.0, 2L);
+        gatewayCache.aplicarInvalidacao(new InvalidacaoProduto(1L, "SKU123", 2L, null));
+        when(delegate.buscarPorSku("SKU123"))
+                .thenAnswer(invocacao -> Optional.of(LeituraNaPrimaria.ativa() ? atual : antigo));
+
+        assertEquals(Optional.of(atual), gatewayCache.buscarPorSku("SKU123"));
+        assertEquals(Optional.of(atual), gatewayCache.buscarPorSku("SKU123"));
+
+        verify(delegate, times(2)).buscarPorSku("SKU123");
+        assertFalse(LeituraNaPrimaria.ativa());
+    }
+
+    @Test
+    void deveRelerNaPrimariaApenasOsSkusAtrasadosDoLote() {
+        var outro = criarProduto(2L, "SKU456", 5.0, 0L);
+        var antigo = criarProduto(1L, "SKU123", 10.0, 1L);
+        var atual = criarProduto(1L, "SKU123", 12.0, 2L);
+        gatewayCache.aplicarInvalidacao(new InvalidacaoProduto(1L, "SKU123", 2L, null));
+        when(delegate.buscarPorSkus(Set.of("SKU123", "SKU456"))).thenReturn(List.of(antigo, outro));
+        when(delegate.buscarPorSkus(Set.of("SKU123"))).thenReturn(List.of(atual));
+
+        assertEquals(List.of(atual, outro), gatewayCache.buscarPorSkus(List.of("SKU123", "SKU456")));
+        assertEquals(2, gatewayCache.tamanho());
+    }
+
+    @Test
+    void deveAquecerSemSobrescreverEntradaCarregadaDoBanco() {
+        var doBanco = criarProduto(1L, "SKU1", 20.0, 2L);
+        when(delegate.buscarPorSku("SKU1")).thenReturn(Optional.of(doBanco));
+        gatewayCache.buscarPorSku("SKU1");
+
+        assertTrue(gatewayCache.aquecer(criarProduto(1L, "SKU1", 10.0, 1L)));
+        assertTrue(gatewayCache.aquecer(criarProduto(2L, "SKU2", 30.0, 0L)));
+
+        assertEquals(Optional.of(doBanco), gatewayCache.buscarPorSku("SKU1"));
+        assertEquals(30.0, gatewayCache.buscarPorId(2L).orElseThrow().getPreco());
+        verify(delegate, times(1)).buscarPorSku("SKU1");
+        verify(delegate, never()).buscarPorId(2L);
+    }
+
+    @Test
+    void naoDeveAquecerCopiaMaisAntigaQueVersaoJaInvalidada() {
+        gatewayCache.aplicarInvalidacao(new InvalidacaoProduto(1L, "SKU1", 2L, null));
+
+        gatewayCache.aquecer(criarProduto(1L, "SKU1", 10.0, 1L));
+
+        assertEquals(0, gatewayCache.tamanho());
+    }
+
+    @Test
+    void devePararDeAquecerQuandoCacheEncher() {
+        var pequeno = new ProdutoGatewayCache(delegate, 1, Duration.ofMinutes(1));
+
+        assertTrue(pequeno.aquecer(criarProduto(1L, "SKU1", 10.0)));
+        assertFalse(pequeno.aquecer(criarProduto(2L, "SKU2", 20.0)));
+        assertEquals(1, pequeno.tamanho());
+    }
+
+    private Produto criarProduto(Long id, String sku, Double preco, Long versao) {
+        return criarProduto(id, sku, preco).toBuilder()
+                .versao(versao)
+                .build();
+    }
+
+    private Produto criarProduto(Long id, String sku, Double preco) {
+        return Produto.builder()
+                .id(id)
+                .nome("Produto " + sku)
+                .sku(sku)
+                .preco(preco)
+                .build();
+    }
+}
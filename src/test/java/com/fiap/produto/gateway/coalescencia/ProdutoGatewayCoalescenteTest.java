@@ -0,0 +1,238 @@
+package com.fiap.produto.gateway.coalescencia;
+
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.exception.EsperaConsultaEsgotadaException;
+import com.fiap.produto.gateway.ProdutoGateway;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProdutoGatewayCoalescenteTest {
+
+    @Mock
+    private ProdutoGateway delegate;
+
+    private SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch consultaIniciada = new CountDownLatch(1);
+    private final CountDownLatch liberarConsulta = new CountDownLatch(1);
+
+    private ProdutoGatewayCoalescente gateway;
+
+    @BeforeEach
+    void setUp() {
+        gateway = new ProdutoGatewayCoalescente(delegate, true, Duration.ofSeconds(5));
+        gateway.registrarMetricas(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        liberarConsulta.countDown();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void deveCompartilharConsultaEntreBuscasSimultaneasDoMesmoSku() throws Exception {
+        var produto = criarProduto(1L, "SKU-1");
+        when(delegate.buscarPorSku("SKU-1")).thenAnswer(invocacao -> {
+            bloquearConsulta();
+            return Optional.of(produto);
+        });
+
+        var lider = CompletableFuture.supplyAsync(() -> gateway.buscarPorSku("SKU-1"));
+        assertTrue(consultaIniciada.await(5, TimeUnit.SECONDS));
+        var seguidor = CompletableFuture.supplyAsync(() -> gateway.buscarPorSku("SKU-1"));
+        aguardarCoalescidas(1);
+        liberarConsulta.countDown();
+
+        assertEquals(Optional.of(produto), lider.get(5, TimeUnit.SECONDS));
+        assertEquals(Optional.of(produto), seguidor.get(5, TimeUnit.SECONDS));
+        verify(delegate, times(1)).buscarPorSku("SKU-1");
+    }
+
+    @Test
+    void deveRepassarExcecaoDaConsultaParaQuemEsperava() throws Exception {
+        var falha = new IllegalStateException("banco fora");
+        when(delegate.buscarPorSku("SKU-1")).thenAnswer(invocacao -> {
+            bloquearConsulta();
+            throw falha;
+        });
+
+        var lider = CompletableFuture.supplyAsync(() -> gateway.buscarPorSku("SKU-1"));
+        assertTrue(consultaIniciada.await(5, TimeUnit.SECONDS));
+        var seguidor = CompletableFuture.supplyAsync(() -> gateway.buscarPorSku("SKU-1"));
+        aguardarCoalescidas(1);
+        liberarConsulta.countDown();
+
+        var erroLider = assertThrows(ExecutionException.class, () -> lider.get(5, TimeUnit.SECONDS));
+        var erroSeguidor = assertThrows(ExecutionException.class, () -> seguidor.get(5, TimeUnit.SECONDS));
+        assertSame(falha, erroLider.getCause());
+        assertSame(falha, erroSeguidor.getCause());
+    }
+
+    @Test
+    void deveDesistirDeEsperarAposTempoMaximo() throws Exception {
+        gateway = new ProdutoGatewayCoalescente(delegate, true, Duration.ofMillis(50));
+        registry = new SimpleMeterRegistry();
+        gateway.registrarMetricas(registry);
+        when(delegate.buscarPorSku("SKU-1")).thenAnswer(invocacao -> {
+            bloquearConsulta();
+            return Optional.empty();
+        });
+
+        var lider = CompletableFuture.supplyAsync(() -> gateway.buscarPorSku("SKU-1"));
+        assertTrue(consultaIniciada.await(5, TimeUnit.SECONDS));
+
+        assertThrows(EsperaConsultaEsgotadaException.class, () -> gateway.buscarPorSku("SKU-1"));
+        assertEquals(1.0, registry.get("produto.gateway.coalescidas.esgotadas").functionCounter().count());
+
+        liberarConsulta.countDown();
+        assertEquals(Optional.empty(), lider.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void deveBuscarEmLoteSoOsSkusSemConsultaEmAndamento() throws Exception {
+        var produto1 = criarProduto(1L, "SKU-1");
+        var produto2 = criarProduto(2L, "SKU-2");
+        when(delegate.buscarPorSku("SKU-1")).thenAnswer(invocacao -> {
+            bloquearConsulta();
+            return Optional.of(produto1);
+        });
+        when(delegate.buscarPorSkus(Set.of("SKU-2", "SKU-3"))).thenReturn(List.of(produto2));
+
+        var unitaria = CompletableFuture.supplyAsync(() -> gateway.buscarPorSku("SKU-1"));
+        assertTrue(consultaIniciada.await(5, TimeUnit.SECONDS));
+        var lote = CompletableFuture.supplyAsync(() -> gateway.buscarPorSkus(List.of("SKU-1", "SKU-2", "SKU-3", "SKU-2")));
+        aguardarCoalescidas(1);
+        liberarConsulta.countDown();
+
+        assertEquals(Optional.of(produto1), unitaria.get(5, TimeUnit.SECONDS));
+        assertEquals(Set.of(produto1, produto2), Set.copyOf(lote.get(5, TimeUnit.SECONDS)));
+        verify(delegate, times(1)).buscarPorSku("SKU-1");
+        verify(delegate, times(1)).buscarPorSkus(Set.of("SKU-2", "SKU-3"));
+    }
+
+    @Test
+    void deveConsultarDeNovoDepoisQueConsultaAnteriorTerminar() {
+        when(delegate.buscarPorSku("SKU-1")).thenReturn(Optional.empty());
+
+        gateway.buscarPorSku("SKU-1");
+        gateway.buscarPorSku("SKU-1");
+
+        verify(delegate, times(2)).buscarPorSku("SKU-1");
+        assertEquals(0.0, registry.get("produto.gateway.coalescidas").functionCounter().count());
+    }
+
+    @Test
+    void naoDeveCoalescerDentroDeTransacao() throws Exception {
+        var produto = criarProduto(1L, "SKU-1");
+        when(delegate.buscarPorSku("SKU-1"))
+                .thenAnswer(invocacao -> {
+                    bloquearConsulta();
+                    return Optional.empty();
+                })
+                .thenReturn(Optional.of(produto));
+
+        var foraDaTransacao = CompletableFuture.supplyAsync(() -> gateway.buscarPorSku("SKU-1"));
+        assertTrue(consultaIniciada.await(5, TimeUnit.SECONDS));
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        assertEquals(Optional.of(produto), gateway.buscarPorSku("SKU-1"));
+
+        liberarConsulta.countDown();
+        assertEquals(Optional.empty(), foraDaTransacao.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void naoDeveCoalescerBuscaQueChegaDepoisDoCommitDeUmaEscrita() throws Exception {
+        var antigo = criarProduto(1L, "SKU-1");
+        var novo = criarProduto(1L, "SKU-1").toBuilder().preco(20.0).versao(1L).build();
+        when(delegate.buscarPorSku("SKU-1"))
+                .thenAnswer(invocacao -> {
+                    bloquearConsulta();
+                    return Optional.of(antigo);
+                })
+                .thenReturn(Optional.of(novo));
+        when(delegate.upsertPorSku(novo)).thenReturn(novo);
+
+        var iniciadaAntes = CompletableFuture.supplyAsync(() -> gateway.buscarPorSku("SKU-1"));
+        assertTrue(consultaIniciada.await(5, TimeUnit.SECONDS));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            gateway.upsertPorSku(novo);
+            // A consulta so e solta no commit da escrita
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(Optional.of(novo), gateway.buscarPorSku("SKU-1"));
+
+        liberarConsulta.countDown();
+        assertEquals(Optional.of(antigo), iniciadaAntes.get(5, TimeUnit.SECONDS));
+        verify(delegate, times(2)).buscarPorSku("SKU-1");
+    }
+
+    @Test
+    void deveSoltarAsConsultasDoSkuEmAndamentoAoAtualizarPreco() throws Exception {
+        var antigo = criarProduto(1L, "SKU-1");
+        var novo = criarProduto(1L, "SKU-1").toBuilder().preco(20.0).versao(1L).build();
+        when(delegate.buscarPorSku("SKU-1"))
+                .thenAnswer(invocacao -> {
+                    bloquearConsulta();
+                    return Optional.of(antigo);
+                })
+                .thenReturn(Optional.of(novo));
+        when(delegate.atualizarPreco(1L, 20.0, 0L)).thenReturn(Optional.of(novo));
+
+        var iniciadaAntes = CompletableFuture.supplyAsync(() -> gateway.buscarPorSku("SKU-1"));
+        assertTrue(consultaIniciada.await(5, TimeUnit.SECONDS));
+        gateway.atualizarPreco(1L, 20.0, 0L);
+
+        assertEquals(Optional.of(novo), gateway.buscarPorSku("SKU-1"));
+        liberarConsulta.countDown();
+        assertEquals(Optional.of(antigo), iniciadaAntes.get(5, TimeUnit.SECONDS));
+    }
+
+    private void bloquearConsulta() throws InterruptedException {
+        consultaIniciada.countDown();
+        assertTrue(liberarConsulta.await(5, TimeUnit.SECONDS));
+    }
+
+    private void aguardarCoalescidas(int esperadas) throws InterruptedException {
+        long prazo = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("produto.gateway.coalescidas").functionCounter().count() < esperadas) {
+            assertTrue(System.nanoTime() < prazo, "Nenhuma busca aguardou a consulta em andamento");
+            Thread.sleep(1);
+        }
+    }
+
+    private Produto criarProduto(Long id, String sku) {
+        return Produto.builder()
+                .id(id)
+                .nome("Produto " + id)
+                .sku(sku)
+                .preco(10.0)
+                .versao(0L)
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.fiap.produto.gateway.colunar;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArenaTextosTest {
+
+    @Test
+    void deveGuardarTextoRepetidoUmaUnicaVez() {
+        var arena = new ArenaTextos(4);
+
+        int primeira = arena.adicionar("Camiseta");
+        int segunda = arena.adicionar("Camiseta");
+
+        assertEquals(primeira, segunda);
+        assertNotEquals(primeira, arena.adicionar("Camisa"));
+    }
+
+    @Test
+    void deveRecuperarTextosAposCrescerComTamanhoEmVariosBytes() {
+        var arena = new ArenaTextos(1);
+        var longo = "ç".repeat(300);
+        int[] referencias = IntStream.range(0, 500).map(i -> arena.adicionar("Produto " + i)).toArray();
+        int referenciaLonga = arena.adicionar(longo);
+
+        for (int i = 0; i < referencias.length; i++) {
+            assertEquals("Produto " + i, arena.texto(referencias[i]));
+            assertEquals(referencias[i], arena.adicionar("Produto " + i));
+        }
+        assertEquals(longo, arena.texto(referenciaLonga));
+        assertEquals(600, arena.comprimento(referenciaLonga));
+    }
+
+    @Test
+    void deveRepresentarTextoNuloSemOcuparEspaco() {
+        var arena = new ArenaTextos(1);
+
+        assertEquals(ArenaTextos.NENHUM, arena.adicionar(null));
+        assertNull(arena.texto(ArenaTextos.NENHUM));
+    }
+}
@@ -0,0 +1,117 @@
+package com.fiap.produto.gateway.colunar;
+
+import com.fiap.produto.domain.CampoOrdenacaoProduto;
+import com.fiap.produto.domain.FiltroProdutos;
+import com.fiap.produto.domain.Produto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogoColunarTest {
+
+    @Test
+    void deveDevolverProdutoIgualAoAplicado() {
+        var catalogo = new CatalogoColunar(0);
+        var produto = produto(1L, "Café Torrado", "CAFE-1", 19.9, 2L);
+
+        catalogo.aplicar(produto);
+
+        assertEquals(List.of(produto), catalogo.listar(new FiltroProdutos(), 10));
+        assertTrue(catalogo.precosExatos());
+    }
+
+    @Test
+    void deveFiltrarPorPrecoPrefixoDeSkuENomeSemDiferenciarCaixa() {
+        var catalogo = new CatalogoColunar(0);
+        catalogo.aplicar(produto(1L, "Notebook Gamer", "NOTE-1", 5000.0, 0L));
+        catalogo.aplicar(produto(2L, "Notebook Basico", "NOTE-2", 2500.5, 0L));
+        catalogo.aplicar(produto(3L, "Mouse Gamer", "MOUSE-1", 150.0, 0L));
+
+        assertEquals(List.of(2L), ids(catalogo.listar(FiltroProdutos.builder().precoMin(2500.5).precoMax(3000.0).build(), 10)));
+        assertEquals(List.of(1L, 2L), ids(catalogo.listar(FiltroProdutos.builder().skuPrefixo("NOTE").build(), 10)));
+        assertEquals(List.of(1L, 3L), ids(catalogo.listar(FiltroProdutos.builder().nomeContem(" GAMER ").build(), 10)));
+        assertEquals(List.of(), catalogo.listar(FiltroProdutos.builder().skuPrefixo("note").build(), 10));
+    }
+
+    @Test
+    void deveOrdenarPorPrecoComDesempatePorIdERespeitarLimite() {
+        var catalogo = new CatalogoColunar(0);
+        catalogo.aplicar(produto(4L, "D", "SKU-4", 10.0, 0L));
+        catalogo.aplicar(produto(1L, "A", "SKU-1", 30.0, 0L));
+        catalogo.aplicar(produto(3L, "C", "SKU-3", 10.0, 0L));
+        catalogo.aplicar(produto(2L, "B", "SKU-2", 20.0, 0L));
+
+        var crescente = FiltroProdutos.builder().ordenarPor(CampoOrdenacaoProduto.PRECO).build();
+        var decrescente = crescente.toBuilder().decrescente(true).build();
+
+        assertEquals(List.of(3L, 4L, 2L), ids(catalogo.listar(crescente, 3)));
+        assertEquals(List.of(1L, 2L, 4L, 3L), ids(catalogo.listar(decrescente, 10)));
+        assertEquals(List.of(1L, 2L), ids(catalogo.listar(new FiltroProdutos(), 2)));
+    }
+
+    @Test
+    void deveCalcularEstatisticasDePrecoDoFiltro() {
+        var catalogo = new CatalogoColunar(0);
+        catalogo.aplicar(produto(1L, "A", "NOTE-1", 10.1, 0L));
+        catalogo.aplicar(produto(2L, "B", "NOTE-2", 20.3, 0L));
+        catalogo.aplicar(produto(3L, "C", "MOUSE-1", 99.0, 0L));
+
+        var estatisticas = catalogo.estatisticas(FiltroProdutos.builder().skuPrefixo("NOTE").build());
+
+        assertEquals(2, estatisticas.getQuantidade());
+        assertEquals(10.1, estatisticas.getPrecoMinimo());
+        assertEquals(20.3, estatisticas.getPrecoMaximo());
+        assertEquals(15.2, estatisticas.getPrecoMedio(), 1e-9);
+        assertEquals(0, catalogo.estatisticas(FiltroProdutos.builder().precoMin(1000.0).build()).getQuantidade());
+    }
+
+    @Test
+    void deveAtualizarLinhaExistenteEIgnorarVersaoMaisAntiga() {
+        var catalogo = new CatalogoColunar(0);
+        catalogo.aplicar(produto(1L, "Café", "CAFE-1", 10.0, 1L));
+
+        catalogo.aplicar(produto(1L, "Café Moído", "CAFE-2", 12.0, 2L));
+        catalogo.aplicar(produto(1L, "Café", "CAFE-1", 10.0, 1L));
+
+        assertEquals(1, catalogo.tamanho());
+        assertEquals("Café Moído", catalogo.listar(new FiltroProdutos(), 10).get(0).getNome());
+        assertTrue(catalogo.buscarPorSku("CAFE-1").isEmpty());
+        assertEquals(1L, catalogo.buscarPorSku("CAFE-2").orElseThrow().getId());
+    }
+
+    @Test
+    void deveManterTabelasConsistentesAoCrescerETrocarSkus() {
+        var catalogo = new CatalogoColunar(0);
+        LongStream.rangeClosed(1, 1000).forEach(id -> catalogo.aplicar(produto(id, "Produto", "SKU-" + id, 1.0, 0L)));
+        LongStream.rangeClosed(1, 1000).filter(id -> id % 2 == 0)
+                .forEach(id -> catalogo.aplicar(produto(id, "Produto", "NOVO-" + id, 1.0, 1L)));
+
+        assertEquals(1000, catalogo.tamanho());
+        for (long id = 1; id <= 1000; id++) {
+            String sku = (id % 2 == 0 ? "NOVO-" : "SKU-") + id;
+            assertEquals(id, catalogo.buscarPorSku(sku).orElseThrow().getId(), sku);
+        }
+        assertTrue(catalogo.buscarPorSku("SKU-2").isEmpty());
+        assertEquals(500, catalogo.listar(FiltroProdutos.builder().skuPrefixo("NOVO-").build(), 1000).size());
+    }
+
+    @Test
+    void deveMarcarPrecoComMaisDeDuasCasasComoInexato() {
+        var catalogo = new CatalogoColunar(0);
+
+        catalogo.aplicar(produto(1L, "Café", "CAFE-1", 10.005, 0L));
+
+        assertFalse(catalogo.precosExatos());
+    }
+
+    private List<Long> ids(List<Produto> produtos) {
+        return produtos.stream().map(Produto::getId).toList();
+    }
+
+    private Produto produto(Long id, String nome, String sku, Double preco, Long versao) {
+        return Produto.builder().id(id).nome(nome).sku(sku).preco(preco).versao(versao).build();
+    }
+}
@@ -0,0 +1,221 @@
+package com.fiap.produto.gateway.colunar;
+
+import com.fiap.produto.config.colunar.CatalogoColunarProperties;
+import com.fiap.produto.domain.CampoOrdenacaoProduto;
+import com.fiap.produto.domain.FiltroProdutos;
+import com.fiap.produto.domain.InvalidacaoProduto;
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.entity.ProdutoEntity;
+import com.fiap.produto.gateway.arquivo.CatalogoMapeado;
+import com.fiap.produto.gateway.arquivo.SnapshotArquivoCatalogo;
+import com.fiap.produto.repository.ProdutoRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ModeloLeituraColunarTest {
+
+    @Mock
+    private ProdutoRepository repository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private SnapshotArquivoCatalogo snapshotArquivo;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CatalogoColunarProperties properties;
+    private ModeloLeituraColunar modeloColunar;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CatalogoColunarProperties();
+        properties.setHabilitado(true);
+        modeloColunar = new ModeloLeituraColunar(repository, entityManager, properties,
+                snapshotArquivo, transactionManager);
+    }
+
+    @Test
+    void deveDelegarAoBancoAntesDaPrimeiraCarga() {
+        assertTrue(modeloColunar.listarFiltrado(new FiltroProdutos(), 10).isEmpty());
+        assertTrue(modeloColunar.estatisticasPreco(new FiltroProdutos()).isEmpty());
+    }
+
+    @Test
+    void deveCarregarDaVarreduraEDesanexarEntidades() {
+        var entity = entity(1L, "Café", 10.0);
+        carregar(entity);
+
+        assertEquals(List.of(1L), ids(modeloColunar.listarFiltrado(new FiltroProdutos(), 10).orElseThrow()));
+        assertEquals(1, modeloColunar.estatisticasPreco(new FiltroProdutos()).orElseThrow().getQuantidade());
+        verify(entityManager).detach(entity);
+    }
+
+    @Test
+    void deveCarregarDoSnapshotEmArquivoSemVarrerOBanco() {
+        var catalogo = mock(CatalogoMapeado.class);
+        when(catalogo.getVersao()).thenReturn(1L);
+        when(catalogo.getQuantidade()).thenReturn(1);
+        doAnswer(invocacao -> {
+            Consumer<Produto> consumidor = invocacao.getArgument(0);
+            consumidor.accept(Produto.builder().id(7L).nome("Café").sku("SKU7").preco(3.5).versao(0L).build());
+            return null;
+        }).when(catalogo).percorrer(any());
+        when(snapshotArquivo.abrir()).thenReturn(Optional.of(catalogo));
+
+        modeloColunar.carregarNaInicializacao();
+
+        assertEquals(List.of(7L), ids(modeloColunar.listarFiltrado(new FiltroProdutos(), 10).orElseThrow()));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void deveAplicarEscritasLocais() {
+        carregar(entity(1L, "Café", 10.0));
+
+        modeloColunar.aplicar(Produto.builder().id(2L).nome("Chá").sku("SKU2").preco(5.0).versao(0L).build(), 2L);
+        modeloColunar.aplicar(Produto.builder().id(1L).nome("Café").sku("SKU1").preco(4.0).versao(1L).build(), 3L);
+
+        var filtro = FiltroProdutos.builder().ordenarPor(CampoOrdenacaoProduto.PRECO).build();
+        assertEquals(List.of(1L, 2L), ids(modeloColunar.listarFiltrado(filtro, 10).orElseThrow()));
+    }
+
+    @Test
+    void naoDeveReconstruirDepoisDeAplicarEscritasLocais() {
+        carregar(entity(1L, "Café", 10.0));
+        modeloColunar.aplicar(Produto.builder().id(2L).nome("Chá").sku("SKU2").preco(5.0).versao(0L).build(), 2L);
+        modeloColunar.aplicar(Produto.builder().id(1L).nome("Café").sku("SKU1").preco(4.0).versao(1L).build(), 3L);
+        when(repository.versaoCatalogo()).thenReturn(3L);
+
+        modeloColunar.verificar();
+
+        verify(repository, times(1)).streamTodosOrdenadosPorId();
+    }
+
+    @Test
+    void deveDelegarOrdenacaoPorTextoENomeNaoAscii() {
+        carregar(entity(1L, "Café", 10.0));
+
+        assertTrue(modeloColunar.listarFiltrado(FiltroProdutos.builder().ordenarPor(CampoOrdenacaoProduto.NOME).build(), 10).isEmpty());
+        assertTrue(modeloColunar.listarFiltrado(FiltroProdutos.builder().nomeContem("café").build(), 10).isEmpty());
+        assertTrue(modeloColunar.listarFiltrado(FiltroProdutos.builder().nomeContem("caf").build(), 10).isPresent());
+    }
+
+    @Test
+    void deveCorrigirNoLugarALinhaAlteradaPorOutraInstancia() {
+        carregar(entity(1L, "Café", 10.0));
+        var alterado = ProdutoEntity.builder().id(1L).nome("Café").sku("SKU1").preco(7.5).versao(1L).build();
+        when(repository.findById(1L)).thenReturn(Optional.of(alterado));
+
+        // Mudanca so de preco: a mensagem nao traz SKU
+        modeloColunar.observar(InvalidacaoProduto.builder().produtoId(1L).versao(1L).versaoCatalogo(2L).build());
+
+        var produtos = modeloColunar.listarFiltrado(new FiltroProdutos(), 10).orElseThrow();
+        assertEquals(7.5, produtos.get(0).getPreco());
+        verify(repository, times(1)).streamTodosOrdenadosPorId();
+    }
+
+    @Test
+    void naoDeveRelerLinhaNoEcoDeEscritaLocal() {
+        carregar(entity(1L, "Café", 10.0));
+        modeloColunar.aplicar(Produto.builder().id(1L).nome("Café").sku("SKU1").preco(4.0).versao(1L).build(), 2L);
+
+        modeloColunar.observar(InvalidacaoProduto.builder().produtoId(1L).versao(1L).versaoCatalogo(2L).build());
+
+        verify(repository, never()).findById(any());
+        assertTrue(modeloColunar.listarFiltrado(new FiltroProdutos(), 10).isPresent());
+    }
+
+    @Test
+    void deveDelegarAoBancoAteAlcancarEscritaDeOutraInstanciaQueNaoPodeSerRelida() {
+        carregar(entity(1L, "Café", 10.0));
+        when(repository.findById(1L)).thenReturn(Optional.empty());
+
+        modeloColunar.observar(InvalidacaoProduto.builder().produtoId(1L).versao(1L).versaoCatalogo(2L).build());
+        assertTrue(modeloColunar.listarFiltrado(new FiltroProdutos(), 10).isEmpty());
+
+        when(repository.versaoCatalogo()).thenReturn(2L);
+        when(repository.streamTodosOrdenadosPorId()).thenReturn(Stream.of(entity(1L, "Café", 10.0)));
+        modeloColunar.verificar();
+
+        assertTrue(modeloColunar.listarFiltrado(new FiltroProdutos(), 10).isPresent());
+    }
+
+    @Test
+    void naoDeveMarcarDesatualizadoQuandoMensagemNaoTrouxerVersaoDoCatalogo() {
+        carregar(entity(1L, "Café", 10.0));
+
+        modeloColunar.observar(InvalidacaoProduto.builder().produtoId(1L).sku("SKU1").versao(2L).build());
+
+        verify(repository, never()).findById(any());
+        assertTrue(modeloColunar.listarFiltrado(new FiltroProdutos(), 10).isPresent());
+    }
+
+    @Test
+    void deveDelegarQuandoHouverPrecoForaDeCentavos() {
+        carregar(entity(1L, "Café", 10.125));
+
+        assertTrue(modeloColunar.listarFiltrado(new FiltroProdutos(), 10).isEmpty());
+    }
+
+    @Test
+    void naoDeveReconstruirQuandoVersaoNaoMudar() {
+        carregar(entity(1L, "Café", 10.0));
+
+        modeloColunar.verificar();
+
+        verify(repository, times(1)).streamTodosOrdenadosPorId();
+    }
+
+    @Test
+    void deveManterCatalogoAnteriorQuandoReconstrucaoFalhar() {
+        carregar(entity(1L, "Café", 10.0));
+        when(repository.versaoCatalogo()).thenReturn(2L);
+        when(repository.streamTodosOrdenadosPorId()).thenThrow(new IllegalStateException("banco fora"));
+
+        modeloColunar.verificar();
+
+        assertEquals(List.of(1L), ids(modeloColunar.listarFiltrado(new FiltroProdutos(), 10).orElseThrow()));
+    }
+
+    @Test
+    void naoDeveCarregarQuandoDesabilitado() {
+        properties.setHabilitado(false);
+
+        modeloColunar.verificar();
+
+        assertTrue(modeloColunar.listarFiltrado(new FiltroProdutos(), 10).isEmpty());
+        verifyNoInteractions(repository);
+    }
+
+    private void carregar(ProdutoEntity entity) {
+        when(repository.versaoCatalogo()).thenReturn(1L);
+        when(repository.streamTodosOrdenadosPorId()).thenReturn(Stream.of(entity));
+        modeloColunar.verificar();
+    }
+
+    private List<Long> ids(List<Produto> produtos) {
+        return produtos.stream().map(Produto::getId).toList();
+    }
+
+    private ProdutoEntity entity(Long id, String nome, Double preco) {
+        return ProdutoEntity.builder().id(id).nome(nome).sku("SKU" + id).preco(preco).versao(0L).build();
+    }
+}
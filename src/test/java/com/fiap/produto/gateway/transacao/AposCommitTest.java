@@ -0,0 +1,53 @@
+package com.fiap.produto.gateway.transacao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AposCommitTest {
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void deveExecutarNaHoraForaDeTransacao() {
+        AtomicInteger execucoes = new AtomicInteger();
+
+        AposCommit.executar(execucoes::incrementAndGet);
+
+        assertEquals(1, execucoes.get());
+    }
+
+    @Test
+    void deveExecutarSomenteAposCommit() {
+        AtomicInteger execucoes = new AtomicInteger();
+        TransactionSynchronizationManager.initSynchronization();
+
+        AposCommit.executar(execucoes::incrementAndGet);
+        assertEquals(0, execucoes.get());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1, execucoes.get());
+    }
+
+    @Test
+    void naoDeveExecutarAposRollback() {
+        AtomicInteger execucoes = new AtomicInteger();
+        TransactionSynchronizationManager.initSynchronization();
+
+        AposCommit.executar(execucoes::incrementAndGet);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(0, execucoes.get());
+    }
+}
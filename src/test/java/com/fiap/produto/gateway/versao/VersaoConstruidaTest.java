@@ -0,0 +1,141 @@
+package com.fiap.produto.gateway.versao;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersaoConstruidaTest {
+
+    private final VersaoConstruida versao = new VersaoConstruida();
+
+    @Test
+    void deveAvancarComEscritasLocais() {
+        reconstruir(10);
+
+        versao.aplicada(11);
+        versao.aplicada(12);
+
+        assertEquals(12, versao.atual());
+    }
+
+    @Test
+    void deveAvancarSobreLacunaDaSequence() {
+        reconstruir(10);
+
+        // A versao 11 foi de uma transacao desfeita
+        versao.aplicada(12);
+
+        assertEquals(12, versao.atual());
+        assertTrue(versao.emDia());
+    }
+
+    @Test
+    void deveFicarComAMaiorQuandoCommitsTerminaremForaDeOrdem() {
+        reconstruir(10);
+
+        versao.aplicada(12);
+        versao.aplicada(11);
+
+        assertEquals(12, versao.atual());
+    }
+
+    @Test
+    void deveAproveitarEscritasAplicadasDuranteAReconstrucao() {
+        reconstruir(10);
+        versao.iniciarReconstrucao();
+        versao.aplicada(12);
+
+        versao.reconstruida(11);
+
+        assertEquals(12, versao.atual());
+    }
+
+    @Test
+    void naoDeveAvancarAntesDaPrimeiraCargaNemDepoisDeDescartada() {
+        versao.aplicada(1);
+        assertEquals(VersaoConstruida.NENHUMA, versao.atual());
+
+        reconstruir(5);
+        versao.descartar();
+        versao.aplicada(6);
+
+        assertEquals(VersaoConstruida.NENHUMA, versao.atual());
+    }
+
+    @Test
+    void deveFicarDesatualizadaAteReconstruirDepoisDaEscritaObservada() {
+        reconstruir(10);
+        assertTrue(versao.emDia());
+
+        versao.observada(12);
+        assertFalse(versao.emDia());
+
+        reconstruir(12);
+        assertTrue(versao.emDia());
+    }
+
+    @Test
+    void deveContarEscritaObservadaComVersaoMenorQueADoBanco() {
+        reconstruir(10);
+
+        // A versao 9 fez commit depois da escrita que gerou a 10: a comparacao por versao a daria como refletida
+        versao.observada(9);
+
+        assertFalse(versao.emDia());
+        reconstruir(10);
+        assertTrue(versao.emDia());
+    }
+
+    @Test
+    void naoDeveDarComoRefletidaEscritaObservadaDuranteAVarredura() {
+        reconstruir(10);
+        versao.iniciarReconstrucao();
+
+        // A varredura ja em andamento pode nao enxergar esta escrita
+        versao.observada(11);
+        versao.reconstruida(11);
+
+        assertFalse(versao.emDia());
+    }
+
+    @Test
+    void naoDeveDarComoRefletidaEscritaQueAReplicaAindaNaoEnxerga() {
+        reconstruir(10);
+        versao.observada(12);
+
+        reconstruir(11);
+
+        assertFalse(versao.emDia());
+    }
+
+    @Test
+    void deveIgnorarEcoDeEscritaLocal() {
+        reconstruir(10);
+        versao.aplicada(11);
+
+        versao.observada(11);
+
+        assertTrue(versao.emDia());
+    }
+
+    @Test
+    void deveConhecerAsVersoesDaVarreduraEAsAplicadasDepois() {
+        reconstruir(10);
+        versao.aplicada(12);
+
+        assertTrue(versao.conhecida(9));
+        assertTrue(versao.conhecida(12));
+        assertFalse(versao.conhecida(11));
+        assertEquals(10, versao.base());
+    }
+
+    @Test
+    void naoDeveEstarEmDiaAntesDaPrimeiraCarga() {
+        assertFalse(versao.emDia());
+    }
+
+    private void reconstruir(long versaoBanco) {
+        versao.iniciarReconstrucao();
+        versao.reconstruida(versaoBanco);
+    }
+}
@@ -0,0 +1,69 @@
+package com.fiap.produto.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.produto.domain.InvalidacaoProduto;
+import com.fiap.produto.gateway.cache.ProdutoGatewayCache;
+import com.fiap.produto.gateway.versao.ModeloLeituraLocal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConsumidorInvalidacaoCacheTest {
+
+    @Mock
+    private ObjectProvider<ProdutoGatewayCache> gatewayCacheProvider;
+
+    @Mock
+    private ProdutoGatewayCache gatewayCache;
+
+    @Mock
+    private ModeloLeituraLocal filtroSkus;
+
+    @Mock
+    private ModeloLeituraLocal indiceBusca;
+
+    private ConsumidorInvalidacaoCache consumidor;
+
+    @BeforeEach
+    void setUp() {
+        consumidor = new ConsumidorInvalidacaoCache(gatewayCacheProvider, List.of(filtroSkus, indiceBusca), new ObjectMapper());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveAplicarInvalidacaoRecebidaNoCacheLocal() {
+        doAnswer(invocacao -> {
+            ((Consumer<ProdutoGatewayCache>) invocacao.getArgument(0)).accept(gatewayCache);
+            return null;
+        }).when(gatewayCacheProvider).ifAvailable(any());
+
+        consumidor.receber("{\"produtoId\":1,\"sku\":\"SKU123\",\"versao\":2,\"versaoCatalogo\":9}");
+
+        verify(gatewayCache).aplicarInvalidacao(new InvalidacaoProduto(1L, "SKU123", 2L, 9L));
+    }
+
+    @Test
+    void deveEntregarInvalidacaoATodosOsModelosLocais() {
+        consumidor.receber("{\"produtoId\":1,\"sku\":\"NOVO\",\"versao\":0,\"versaoCatalogo\":9}");
+
+        verify(filtroSkus).observar(new InvalidacaoProduto(1L, "NOVO", 0L, 9L));
+        verify(indiceBusca).observar(new InvalidacaoProduto(1L, "NOVO", 0L, 9L));
+    }
+
+    @Test
+    void deveDescartarMensagemInvalida() {
+        consumidor.receber("nao e json");
+
+        verifyNoInteractions(gatewayCacheProvider, filtroSkus, indiceBusca);
+    }
+}
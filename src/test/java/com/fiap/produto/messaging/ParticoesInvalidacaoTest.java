@@ -0,0 +1,80 @@
+package com.fiap.produto.messaging;
+
+import com.fiap.produto.config.invalidacao.InvalidacaoCacheProperties;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.ConsumerFactory;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ParticoesInvalidacaoTest {
+
+    @Mock
+    private ConsumerFactory<String, String> consumerFactory;
+
+    @Mock
+    private Consumer<String, String> consumer;
+
+    private InvalidacaoCacheProperties properties;
+
+    private ParticoesInvalidacao particoesInvalidacao;
+
+    @BeforeEach
+    void setUp() {
+        properties = new InvalidacaoCacheProperties();
+        properties.setTopico("invalidacao");
+        properties.setTimeoutMetadados(Duration.ofSeconds(2));
+        particoesInvalidacao = new ParticoesInvalidacao(consumerFactory, properties);
+    }
+
+    @Test
+    void deveAtribuirTodasAsParticoesDoTopico() {
+        when(consumerFactory.createConsumer()).thenReturn(consumer);
+        when(consumer.partitionsFor("invalidacao", Duration.ofSeconds(2))).thenReturn(List.of(
+                particao(2), particao(0), particao(1)));
+
+        assertArrayEquals(new String[]{"0", "1", "2"}, particoesInvalidacao.resolver());
+        verify(consumer).close();
+    }
+
+    @Test
+    void deveFalharNaSubidaQuandoOTopicoNaoExistir() {
+        when(consumerFactory.createConsumer()).thenReturn(consumer);
+        when(consumer.partitionsFor("invalidacao", Duration.ofSeconds(2))).thenReturn(List.of());
+
+        assertThrows(IllegalStateException.class, () -> particoesInvalidacao.resolver());
+    }
+
+    @Test
+    void deveFalharNaSubidaQuandoOBrokerNaoResponder() {
+        when(consumerFactory.createConsumer()).thenReturn(consumer);
+        when(consumer.partitionsFor("invalidacao", Duration.ofSeconds(2))).thenThrow(new TimeoutException("sem resposta"));
+
+        var exception = assertThrows(IllegalStateException.class, () -> particoesInvalidacao.resolver());
+
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+    }
+
+    @Test
+    void naoDeveConsultarOBrokerQuandoInvalidacaoEstiverDesabilitada() {
+        properties.setHabilitado(false);
+
+        assertArrayEquals(new String[]{"0"}, particoesInvalidacao.resolver());
+        verifyNoInteractions(consumerFactory);
+    }
+
+    private PartitionInfo particao(int numero) {
+        return new PartitionInfo("invalidacao", numero, null, null, null);
+    }
+}
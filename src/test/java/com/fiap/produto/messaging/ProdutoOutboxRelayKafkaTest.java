@@ -0,0 +1,191 @@
+package com.fiap.produto.messaging;
+
+import com.fiap.produto.config.outbox.OutboxProperties;
+import com.fiap.produto.config.sql.InicializacaoSqlConfig;
+import com.fiap.produto.repository.ProdutoOutboxRepository;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Outbox no H2 e broker Kafka embarcado: ordem por SKU e reentrega com varias replicas drenando a mesma tabela
+@DataJpaTest
+@Import(InicializacaoSqlConfig.class)
+@EmbeddedKafka(partitions = 1, topics = ProdutoOutboxRelayKafkaTest.TOPICO)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProdutoOutboxRelayKafkaTest {
+
+    static final String TOPICO = "produto-alterado-teste";
+
+    @Autowired
+    private ProdutoOutboxRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    private JdbcTemplate jdbcTemplate;
+    private DefaultKafkaProducerFactory<String, String> producerFactory;
+    private KafkaTemplate<String, String> kafkaTemplate;
+    private Consumer<String, String> consumidor;
+    private OutboxProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        producerFactory = new DefaultKafkaProducerFactory<>(KafkaTestUtils.producerProps(broker),
+                new StringSerializer(), new StringSerializer());
+        kafkaTemplate = new KafkaTemplate<>(producerFactory);
+
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("outbox-teste", "false", broker);
+        consumidor = new DefaultKafkaConsumerFactory<>(consumerProps, new StringDeserializer(), new StringDeserializer())
+                .createConsumer();
+        // Sem grupo: le so o que for publicado por este teste
+        var particao = new TopicPartition(TOPICO, 0);
+        consumidor.assign(List.of(particao));
+        consumidor.seekToEnd(List.of(particao));
+        consumidor.position(particao);
+
+        properties = new OutboxProperties();
+        properties.setTopico(TOPICO);
+        properties.getRelay().setTamanhoLote(5);
+        properties.getRelay().setTimeoutEnvio(Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAllInBatch();
+        consumidor.close();
+        producerFactory.destroy();
+    }
+
+    @Test
+    void devePublicarEventosDeUmSkuNaOrdemDeGravacaoENaoNaOrdemDoId() {
+        // Ids de blocos reservados por instancias diferentes: a ordem de gravacao nao segue o id
+        inserir(100, "SKU1", "v1");
+        inserir(1, "SKU1", "v2");
+        inserir(101, "SKU1", "v3");
+
+        relay(kafkaTemplate).drenar();
+
+        assertEquals(List.of("v1", "v2", "v3"), payloads(consumir(3), "SKU1"));
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveReenviarEventosQuandoPublicacaoFalhar() {
+        inserir(1, "SKU1", "v1");
+        inserir(2, "SKU1", "v2");
+        KafkaTemplate<String, String> falhando = mock(KafkaTemplate.class);
+        when(falhando.send(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker indisponível")));
+
+        assertThrows(IllegalStateException.class, () -> relay(falhando).drenar());
+        assertEquals(2, repository.count());
+
+        relay(kafkaTemplate).drenar();
+
+        assertEquals(List.of("v1", "v2"), payloads(consumir(2), "SKU1"));
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void naoDeveIntercalarEventosDeUmSkuComDuasReplicasDrenando() throws Exception {
+        int quantidade = 40;
+        for (int i = 0; i < quantidade; i++) {
+            inserir(i + 1, i % 2 == 0 ? "SKU1" : "SKU2", String.valueOf(i));
+        }
+
+        ExecutorService replicas = Executors.newFixedThreadPool(2);
+        try {
+            List<CompletableFuture<Void>> drenagens = List.of(
+                    CompletableFuture.runAsync(() -> drenarAteEsvaziar(relay(kafkaTemplate)), replicas),
+                    CompletableFuture.runAsync(() -> drenarAteEsvaziar(relay(kafkaTemplate)), replicas));
+            CompletableFuture.allOf(drenagens.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+        } finally {
+            replicas.shutdownNow();
+        }
+
+        List<ConsumerRecord<String, String>> recebidos = consumir(quantidade);
+        for (String sku : List.of("SKU1", "SKU2")) {
+            List<Integer> sequencia = payloads(recebidos, sku).stream().map(Integer::valueOf).toList();
+            assertEquals(sequencia.stream().sorted().distinct().toList(), sequencia, "eventos de " + sku + " fora de ordem");
+        }
+        assertEquals(0, repository.count());
+    }
+
+    private ProdutoOutboxRelay relay(KafkaTemplate<String, String> template) {
+        return new ProdutoOutboxRelay(repository, template, properties, transactionManager);
+    }
+
+    // Como o agendamento faria: uma drenagem que falha (lock disputado) e repetida na proxima execucao
+    private void drenarAteEsvaziar(ProdutoOutboxRelay relay) {
+        while (repository.count() > 0) {
+            try {
+                relay.drenar();
+            } catch (RuntimeException e) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private void inserir(long id, String sku, String payload) {
+        jdbcTemplate.update("insert into produto_outbox (id, produto_id, chave, tipo, payload, criado_em) "
+                + "values (?, ?, ?, 'ATUALIZADO', ?, current_timestamp)", id, Long.valueOf(sku.substring(3)), sku, payload);
+    }
+
+    private List<ConsumerRecord<String, String>> consumir(int esperados) {
+        List<ConsumerRecord<String, String>> recebidos = new ArrayList<>();
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (recebidos.size() < esperados && System.nanoTime() < limite) {
+            consumidor.poll(Duration.ofMillis(200)).forEach(recebidos::add);
+        }
+        assertEquals(esperados, recebidos.size());
+        return recebidos;
+    }
+
+    private List<String> payloads(List<ConsumerRecord<String, String>> registros, String sku) {
+        Map<String, List<String>> porChave = new HashMap<>();
+        registros.forEach(registro -> porChave.computeIfAbsent(registro.key(), chave -> new ArrayList<>()).add(registro.value()));
+        return porChave.getOrDefault(sku, List.of());
+    }
+}
@@ -0,0 +1,121 @@
+package com.fiap.produto.messaging;
+
+import com.fiap.produto.config.outbox.OutboxProperties;
+import com.fiap.produto.entity.ProdutoOutboxEntity;
+import com.fiap.produto.repository.ProdutoOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProdutoOutboxRelayTest {
+
+    @Mock
+    private ProdutoOutboxRepository repository;
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxProperties properties;
+
+    private ProdutoOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OutboxProperties();
+        properties.setTopico("produto-alterado");
+        properties.getRelay().setTamanhoLote(2);
+        properties.getRelay().setTimeoutEnvio(Duration.ofSeconds(1));
+        relay = new ProdutoOutboxRelay(repository, kafkaTemplate, properties, transactionManager);
+    }
+
+    @Test
+    void devePublicarLoteComSkuComoChaveERemoverDaOutbox() {
+        var pendentes = criarPendentes(1, 2);
+        when(repository.buscarPendentes(Limit.of(2))).thenReturn(pendentes);
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(enviado());
+
+        var publicados = relay.publicarLote();
+
+        assertEquals(2, publicados);
+        InOrder ordem = inOrder(kafkaTemplate, repository);
+        ordem.verify(kafkaTemplate).send("produto-alterado", "SKU1", "{\"id\":1}");
+        ordem.verify(kafkaTemplate).send("produto-alterado", "SKU2", "{\"id\":2}");
+        ordem.verify(repository).deleteAllInBatch(pendentes);
+    }
+
+    @Test
+    void naoDeveRemoverEventosQuandoEnvioFalhar() {
+        var pendentes = criarPendentes(1, 1);
+        when(repository.buscarPendentes(Limit.of(2))).thenReturn(pendentes);
+        when(kafkaTemplate.send(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker indisponível")));
+
+        assertThrows(IllegalStateException.class, () -> relay.publicarLote());
+
+        verify(repository, never()).deleteAllInBatch(any());
+    }
+
+    @Test
+    void deveDrenarAteEsvaziarAOutbox() {
+        when(repository.buscarPendentes(Limit.of(2)))
+                .thenReturn(criarPendentes(1, 2))
+                .thenReturn(criarPendentes(3, 1));
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(enviado());
+
+        relay.drenar();
+
+        verify(repository, times(2)).buscarPendentes(Limit.of(2));
+        verify(kafkaTemplate, times(3)).send(anyString(), anyString(), anyString());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void naoDevePublicarQuandoOutboxEstiverVazia() {
+        when(repository.buscarPendentes(Limit.of(2))).thenReturn(List.of());
+
+        relay.drenar();
+
+        verifyNoInteractions(kafkaTemplate);
+        verify(repository, never()).deleteAllInBatch(any());
+    }
+
+    private CompletableFuture<SendResult<String, String>> enviado() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private List<ProdutoOutboxEntity> criarPendentes(long primeiroId, int quantidade) {
+        return LongStream.range(primeiroId, primeiroId + quantidade)
+                .mapToObj(id -> ProdutoOutboxEntity.builder()
+                        .id(id)
+                        .produtoId(id)
+                        .chave("SKU" + id)
+                        .tipo("CRIADO")
+                        .payload("{\"id\":" + id + "}")
+                        .criadoEm(Instant.now())
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
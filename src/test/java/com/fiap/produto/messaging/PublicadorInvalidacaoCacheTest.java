@@ -0,0 +1,71 @@
+package com.fiap.produto.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.produto.config.invalidacao.InvalidacaoCacheProperties;
+import com.fiap.produto.domain.InvalidacaoProduto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PublicadorInvalidacaoCacheTest {
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private InvalidacaoCacheProperties properties;
+    private PublicadorInvalidacaoCache publicador;
+
+    @BeforeEach
+    void setUp() {
+        properties = new InvalidacaoCacheProperties();
+        properties.setTopico("produto-invalidacao-cache");
+        publicador = new PublicadorInvalidacaoCache(kafkaTemplate, objectMapper, properties);
+    }
+
+    @Test
+    void devePublicarComIdComoChave() throws Exception {
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(enviado());
+
+        publicador.publicar(new InvalidacaoProduto(1L, "SKU123", 2L, null));
+
+        verify(kafkaTemplate).send(eq("produto-invalidacao-cache"), eq("1"), argThat(payload -> {
+            try {
+                return new InvalidacaoProduto(1L, "SKU123", 2L, null).equals(objectMapper.readValue(payload, InvalidacaoProduto.class));
+            } catch (Exception e) {
+                return false;
+            }
+        }));
+    }
+
+    @Test
+    void naoDevePublicarQuandoDesabilitado() {
+        properties.setHabilitado(false);
+
+        publicador.publicar(new InvalidacaoProduto(1L, "SKU123", 2L, null));
+
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    void naoDevePropagarFalhaDoKafkaParaQuemEscreveu() {
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenThrow(new IllegalStateException("broker fora"));
+
+        assertDoesNotThrow(() -> publicador.publicar(new InvalidacaoProduto(1L, "SKU123", 2L, null)));
+    }
+
+    private CompletableFuture<SendResult<String, String>> enviado() {
+        return CompletableFuture.completedFuture(null);
+    }
+}
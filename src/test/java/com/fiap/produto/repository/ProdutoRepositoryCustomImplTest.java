@@ -0,0 +1,152 @@
+package com.fiap.produto.repository;
+
+import com.fiap.produto.config.sql.InicializacaoSqlConfig;
+import com.fiap.produto.domain.FiltroProdutos;
+import com.fiap.produto.entity.ProdutoEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(InicializacaoSqlConfig.class)
+class ProdutoRepositoryCustomImplTest {
+
+    @Autowired
+    private ProdutoRepository repository;
+
+    @Test
+    void deveInserirProdutoNovoComVersaoZero() {
+        var resultado = repository.upsertPorSku(criarProduto("SKU-UPSERT-1", 10.0));
+
+        assertNotNull(resultado.getId());
+        assertEquals(0L, resultado.getVersao());
+        assertEquals(10.0, resultado.getPreco());
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void deveAtualizarProdutoExistenteIncrementandoVersao() {
+        var inserido = repository.upsertPorSku(criarProduto("SKU-UPSERT-2", 10.0));
+
+        var atualizado = repository.upsertPorSku(criarProduto("SKU-UPSERT-2", 15.0));
+
+        assertEquals(inserido.getId(), atualizado.getId());
+        assertEquals(1L, atualizado.getVersao());
+        assertEquals(15.0, atualizado.getPreco());
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void deveInserirSomenteSkusNovosDevolvendoOsGravados() {
+        repository.saveAndFlush(criarProduto("SKU-EXISTENTE", 10.0));
+
+        var inseridos = repository.inserirNovos(List.of(criarProduto("SKU-EXISTENTE", 99.0), criarProduto("SKU-NOVO", 20.0)));
+
+        assertEquals(1, inseridos.size());
+        assertEquals("SKU-NOVO", inseridos.get(0).getSku());
+        assertNotNull(inseridos.get(0).getId());
+        assertEquals(0L, inseridos.get(0).getVersao());
+        assertEquals(2, repository.count());
+        assertEquals(10.0, repository.findBySku("SKU-EXISTENTE").orElseThrow().getPreco());
+    }
+
+    @Test
+    void deveInserirUmaVezSkuRepetidoNoMesmoLote() {
+        var inseridos = repository.inserirNovos(List.of(criarProduto("SKU-REPETIDO", 10.0), criarProduto("SKU-REPETIDO", 11.0)));
+
+        assertEquals(1, inseridos.size());
+        assertEquals(10.0, inseridos.get(0).getPreco());
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void deveRejeitarSkuDuplicadoPelaConstraintUnica() {
+        repository.saveAndFlush(criarProduto("SKU-DUPLICADO", 10.0));
+
+        var erro = assertThrows(DataIntegrityViolationException.class,
+                () -> repository.saveAndFlush(criarProduto("SKU-DUPLICADO", 11.0)));
+
+        assertTrue(erro.getMessage().toLowerCase().contains(ProdutoEntity.UK_SKU));
+    }
+
+    @Test
+    void deveAgregarPrecosDosProdutosFiltrados() {
+        repository.saveAndFlush(criarProduto("NOTE-1", 10.0));
+        repository.saveAndFlush(criarProduto("NOTE-2", 30.0));
+        repository.saveAndFlush(criarProduto("MOUSE-1", 100.0));
+
+        var estatisticas = repository.estatisticasPreco(ProdutoSpecifications.de(FiltroProdutos.builder().skuPrefixo("NOTE").build()));
+
+        assertEquals(2, estatisticas.getQuantidade());
+        assertEquals(10.0, estatisticas.getPrecoMinimo());
+        assertEquals(30.0, estatisticas.getPrecoMaximo());
+        assertEquals(20.0, estatisticas.getPrecoMedio());
+    }
+
+    @Test
+    void deveDevolverEstatisticasVaziasSemProdutos() {
+        var estatisticas = repository.estatisticasPreco(ProdutoSpecifications.de(new FiltroProdutos()));
+
+        assertEquals(0, estatisticas.getQuantidade());
+        assertNull(estatisticas.getPrecoMinimo());
+        assertNull(estatisticas.getPrecoMedio());
+    }
+
+    @Test
+    void deveAtualizarPrecoDevolvendoALinhaGravada() {
+        var inserido = repository.saveAndFlush(criarProduto("SKU-PRECO-1", 10.0));
+
+        var atualizado = repository.atualizarPreco(inserido.getId(), 12.5, 0L).orElseThrow();
+
+        assertEquals(inserido.getId(), atualizado.getId());
+        assertEquals("SKU-PRECO-1", atualizado.getSku());
+        assertEquals(12.5, atualizado.getPreco());
+        assertEquals(1L, atualizado.getVersao());
+        assertTrue(atualizado.getVersaoCatalogo() > 0);
+        assertEquals(12.5, repository.findBySku("SKU-PRECO-1").orElseThrow().getPreco());
+    }
+
+    @Test
+    void naoDeveAtualizarPrecoSobreVersaoDiferente() {
+        var inserido = repository.saveAndFlush(criarProduto("SKU-PRECO-2", 10.0));
+
+        assertTrue(repository.atualizarPreco(inserido.getId(), 12.5, 3L).isEmpty());
+        assertTrue(repository.atualizarPreco(999L, 12.5, 0L).isEmpty());
+        assertEquals(10.0, repository.findBySku("SKU-PRECO-2").orElseThrow().getPreco());
+    }
+
+    @Test
+    void deveTirarVersoesDoCatalogoCrescentesDaSequence() {
+        long primeira = repository.proximaVersaoCatalogo();
+
+        assertTrue(repository.proximaVersaoCatalogo() > primeira);
+    }
+
+    @Test
+    void deveLerAVersaoDoCatalogoDaMaiorVersaoGravadaNasLinhas() {
+        assertEquals(0L, repository.versaoCatalogo());
+        var produto = criarProduto("SKU-VERSAO-1", 10.0);
+        produto.setVersaoCatalogo(7L);
+        repository.saveAndFlush(produto);
+        var outro = criarProduto("SKU-VERSAO-2", 10.0);
+        outro.setVersaoCatalogo(5L);
+        repository.saveAndFlush(outro);
+
+        assertEquals(7L, repository.versaoCatalogo());
+        assertEquals(List.of(7L), repository.versoesCatalogoApos(5L));
+    }
+
+    private ProdutoEntity criarProduto(String sku, Double preco) {
+        return ProdutoEntity.builder()
+                .nome("Produto " + sku)
+                .sku(sku)
+                .preco(preco)
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.fiap.produto.repository;
+
+import com.fiap.produto.domain.FiltroProdutos;
+import com.fiap.produto.entity.ProdutoEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ProdutoSpecificationsTest {
+
+    @Autowired
+    private ProdutoRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository.saveAll(List.of(
+                criarProduto("Notebook Dell", "NOTE-001", 4500.0),
+                criarProduto("Notebook Lenovo", "NOTE-002", 3800.0),
+                criarProduto("Mouse Sem Fio", "MOUSE-001", 120.0),
+                criarProduto("Mouse_Pad 100%", "NOTE_X", 40.0)));
+    }
+
+    @Test
+    void deveFiltrarPorFaixaDePreco() {
+        var filtro = FiltroProdutos.builder().precoMin(100.0).precoMax(4000.0).build();
+
+        assertEquals(List.of("MOUSE-001", "NOTE-002"), skus(filtro, Sort.by("sku")));
+    }
+
+    @Test
+    void deveFiltrarPorPrefixoDeSkuTratandoCuringasComoLiterais() {
+        assertEquals(List.of("NOTE-001", "NOTE-002", "NOTE_X"), skus(FiltroProdutos.builder().skuPrefixo("NOTE").build(), Sort.by("sku")));
+        assertEquals(List.of("NOTE_X"), skus(FiltroProdutos.builder().skuPrefixo("NOTE_").build(), Sort.by("sku")));
+    }
+
+    @Test
+    void deveFiltrarPorTrechoDoNomeSemDiferenciarMaiusculas() {
+        assertEquals(List.of("MOUSE-001", "NOTE_X"), skus(FiltroProdutos.builder().nomeContem("mouse").build(), Sort.by("sku")));
+        assertEquals(List.of("NOTE_X"), skus(FiltroProdutos.builder().nomeContem("100%").build(), Sort.by("sku")));
+    }
+
+    @Test
+    void deveCombinarFiltrosOrdenarELimitar() {
+        var filtro = FiltroProdutos.builder().skuPrefixo("NOTE-").nomeContem("notebook").build();
+
+        var resultado = repository.findBy(ProdutoSpecifications.de(filtro),
+                consulta -> consulta.sortBy(Sort.by(Sort.Direction.DESC, "preco")).limit(1).all());
+
+        assertEquals(List.of("NOTE-001"), resultado.stream().map(ProdutoEntity::getSku).toList());
+    }
+
+    @Test
+    void deveRetornarTudoSemFiltros() {
+        assertEquals(4, skus(new FiltroProdutos(), Sort.by("id")).size());
+    }
+
+    private List<String> skus(FiltroProdutos filtro, Sort ordenacao) {
+        return repository.findAll(ProdutoSpecifications.de(filtro), ordenacao).stream()
+                .map(ProdutoEntity::getSku)
+                .toList();
+    }
+
+    private ProdutoEntity criarProduto(String nome, String sku, Double preco) {
+        return ProdutoEntity.builder().nome(nome).sku(sku).preco(preco).build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.fiap.produto.usecase.service;
+
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.domain.ProdutoAlterado;
+import com.fiap.produto.domain.TipoAlteracaoProduto;
+import com.fiap.produto.exception.VersaoConflitanteException;
+import com.fiap.produto.gateway.ProdutoEventoGateway;
+import com.fiap.produto.gateway.ProdutoGateway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AtualizarPrecoProdutoServiceUseCaseTest {
+
+    @Mock
+    private ProdutoGateway gateway;
+
+    @Mock
+    private ProdutoEventoGateway eventoGateway;
+
+    @InjectMocks
+    private AtualizarPrecoProdutoServiceUseCase atualizarPrecoUseCase;
+
+    @Test
+    void deveResponderComALinhaDevolvidaPeloUpdateSemLeituraPrevia() {
+        when(gateway.atualizarPreco(1L, 120.0, 3L)).thenReturn(Optional.of(criarProduto(120.0, 4L)));
+
+        var resultado = atualizarPrecoUseCase.execute(1L, 120.0, 3L);
+
+        assertEquals(120.0, resultado.getPreco());
+        assertEquals(4L, resultado.getVersao());
+        assertEquals("SKU123", resultado.getSku());
+        verify(gateway, never()).buscarPorId(any());
+    }
+
+    @Test
+    void deveLancarConflitoQuandoVersaoEstiverDesatualizada() {
+        when(gateway.atualizarPreco(1L, 120.0, 3L)).thenReturn(Optional.empty());
+        when(gateway.buscarPorId(1L)).thenReturn(Optional.of(criarProduto(100.0, 4L)));
+
+        assertThrows(VersaoConflitanteException.class, () -> atualizarPrecoUseCase.execute(1L, 120.0, 3L));
+        verifyNoInteractions(eventoGateway);
+    }
+
+    @Test
+    void deveLancarExcecaoQuandoProdutoNaoExistir() {
+        when(gateway.atualizarPreco(9L, 120.0, 1L)).thenReturn(Optional.empty());
+        when(gateway.buscarPorId(9L)).thenReturn(Optional.empty());
+
+        var exception = assertThrows(IllegalArgumentException.class, () -> atualizarPrecoUseCase.execute(9L, 120.0, 1L));
+
+        assertEquals("Produto não encontrado para ID: 9", exception.getMessage());
+        verifyNoInteractions(eventoGateway);
+    }
+
+    @Test
+    void deveRegistrarEventoDeAtualizacaoNaOutbox() {
+        when(gateway.atualizarPreco(1L, 120.0, 3L)).thenReturn(Optional.of(criarProduto(120.0, 4L)));
+
+        atualizarPrecoUseCase.execute(1L, 120.0, 3L);
+
+        ArgumentCaptor<ProdutoAlterado> captor = ArgumentCaptor.forClass(ProdutoAlterado.class);
+        verify(eventoGateway).registrar(captor.capture());
+        assertEquals(TipoAlteracaoProduto.ATUALIZADO, captor.getValue().getTipo());
+        assertEquals(120.0, captor.getValue().getPreco());
+        assertEquals("SKU123", captor.getValue().getSku());
+    }
+
+    private Produto criarProduto(Double preco, Long versao) {
+        return Produto.builder()
+                .id(1L)
+                .nome("Notebook Dell")
+                .sku("SKU123")
+                .preco(preco)
+                .versao(versao)
+                .build();
+    }
+}
@@ -1,10 +1,14 @@
 package com.fiap.produto.usecase.service;
 
 import com.fiap.produto.domain.Produto;
+import com.fiap.produto.domain.ProdutoAlterado;
+import com.fiap.produto.domain.TipoAlteracaoProduto;
+import com.fiap.produto.gateway.ProdutoEventoGateway;
 import com.fiap.produto.gateway.ProdutoGateway;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -19,6 +23,9 @@ class AtualizarProdutoServiceUseCaseTest {
     @Mock
     private ProdutoGateway gateway;
 
+    @Mock
+    private ProdutoEventoGateway eventoGateway;
+
     @InjectMocks
     private AtualizarProdutoServiceUseCase atualizarProdutoServiceUseCase;
 
@@ -86,6 +93,38 @@ class AtualizarProdutoServiceUseCaseTest {
         verify(gateway, times(1)).atualizar(null);
     }
 
+    @Test
+    void naoDeveAtualizarProdutoParaSkuReservado() {
+        produto.setSku("estatisticas");
+
+        assertThrows(IllegalArgumentException.class, () -> atualizarProdutoServiceUseCase.execute(produto));
+
+        verifyNoInteractions(gateway, eventoGateway);
+    }
+
+    @Test
+    void deveRegistrarEventoDeAtualizacaoNaOutbox() {
+        when(gateway.atualizar(produto)).thenReturn(produtoAtualizado);
+
+        atualizarProdutoServiceUseCase.execute(produto);
+
+        ArgumentCaptor<ProdutoAlterado> captor = ArgumentCaptor.forClass(ProdutoAlterado.class);
+        verify(eventoGateway).registrar(captor.capture());
+        assertEquals(TipoAlteracaoProduto.ATUALIZADO, captor.getValue().getTipo());
+        assertEquals(produtoAtualizado.getId(), captor.getValue().getProdutoId());
+        assertEquals(produtoAtualizado.getSku(), captor.getValue().getSku());
+        assertEquals(produtoAtualizado.getPreco(), captor.getValue().getPreco());
+    }
+
+    @Test
+    void naoDeveRegistrarEventoQuandoGatewayFalhar() {
+        when(gateway.atualizar(any(Produto.class))).thenThrow(new RuntimeException("Erro"));
+
+        assertThrows(RuntimeException.class, () -> atualizarProdutoServiceUseCase.execute(produto));
+
+        verifyNoInteractions(eventoGateway);
+    }
+
     private Produto criarProduto() {
         return Produto.builder()
                 .id(1L)
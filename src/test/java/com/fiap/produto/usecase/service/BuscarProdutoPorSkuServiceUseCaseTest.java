@@ -2,9 +2,12 @@ package com.fiap.produto.usecase.service;
 
 import com.fiap.produto.domain.Produto;
 import com.fiap.produto.gateway.ProdutoGateway;
+import com.fiap.produto.gateway.bloom.FiltroBloomSkus;
+import com.fiap.produto.gateway.cache.ProdutoGatewayCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.ObjectProvider;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -20,6 +23,12 @@ class BuscarProdutoPorSkuServiceUseCaseTest {
     @Mock
     private ProdutoGateway gateway;
 
+    @Mock
+    private FiltroBloomSkus filtroSkus;
+
+    @Mock
+    private ObjectProvider<ProdutoGatewayCache> gatewayCache;
+
     @InjectMocks
     private BuscarProdutoPorSkuServiceUseCase buscarProdutoPorSkuUseCase;
 
@@ -29,7 +38,8 @@ class BuscarProdutoPorSkuServiceUseCaseTest {
     @BeforeEach
     void setUp() {
         sku = "SKU123";
-        produto = new Produto(1L, "Produto Teste", sku, 99.99);
+        produto = new Produto(1L, "Produto Teste", sku, 99.99, 0L);
+        lenient().when(filtroSkus.podeConter(any())).thenReturn(true);
     }
 
     @Test
@@ -97,7 +107,7 @@ class BuscarProdutoPorSkuServiceUseCaseTest {
 
     @Test
     void deveRetornarProdutoComDadosCorretos() {
-        Produto produtoEsperado = new Produto(2L, "Notebook", "NOTEBOOK001", 2500.00);
+        Produto produtoEsperado = new Produto(2L, "Notebook", "NOTEBOOK001", 2500.00, 0L);
         String skuNotebook = "NOTEBOOK001";
         when(gateway.buscarPorSku(skuNotebook)).thenReturn(Optional.of(produtoEsperado));
 
@@ -123,4 +133,51 @@ class BuscarProdutoPorSkuServiceUseCaseTest {
         assertEquals(resultado1.get(), resultado2.get());
         verify(gateway, times(2)).buscarPorSku(sku);
     }
-}
\ No newline at end of file
+
+    @Test
+    void naoDeveConsultarGatewayQuandoFiltroDescartarSku() {
+        when(filtroSkus.podeConter("INEXISTENTE")).thenReturn(false);
+
+        Optional<Produto> resultado = buscarProdutoPorSkuUseCase.execute("INEXISTENTE");
+
+        assertTrue(resultado.isEmpty());
+        verifyNoInteractions(gateway);
+    }
+
+    @Test
+    void deveRegistrarFalsoPositivoQuandoFiltroAceitarSkuInexistente() {
+        when(gateway.buscarPorSku(sku)).thenReturn(Optional.empty());
+
+        buscarProdutoPorSkuUseCase.execute(sku);
+
+        verify(filtroSkus).registrarFalsoPositivo();
+    }
+
+    @Test
+    void deveBuscarEmCacheSemConsultarFiltroNemGateway() {
+        var cache = mock(ProdutoGatewayCache.class);
+        when(gatewayCache.getIfAvailable()).thenReturn(cache);
+        when(cache.copiaEmCache(sku)).thenReturn(Optional.of(produto));
+
+        assertEquals(Optional.of(produto), buscarProdutoPorSkuUseCase.buscarEmCache(sku));
+
+        verifyNoInteractions(gateway);
+        verify(filtroSkus, never()).podeConter(any());
+    }
+
+    @Test
+    void deveRetornarVazioNaBuscaEmCacheQuandoCacheEstiverDesligado() {
+        when(gatewayCache.getIfAvailable()).thenReturn(null);
+
+        assertTrue(buscarProdutoPorSkuUseCase.buscarEmCache(sku).isEmpty());
+    }
+
+    @Test
+    void naoDeveRegistrarFalsoPositivoQuandoProdutoExistir() {
+        when(gateway.buscarPorSku(sku)).thenReturn(Optional.of(produto));
+
+        buscarProdutoPorSkuUseCase.execute(sku);
+
+        verify(filtroSkus, never()).registrarFalsoPositivo();
+    }
+}
@@ -0,0 +1,82 @@
+package com.fiap.produto.usecase.service;
+
+import com.fiap.produto.config.busca.BuscaProdutosProperties;
+import com.fiap.produto.domain.CampoOrdenacaoProduto;
+import com.fiap.produto.domain.FiltroProdutos;
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.gateway.ProdutoGateway;
+import com.fiap.produto.gateway.busca.IndiceBuscaProdutos;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BuscarProdutosPorNomeServiceUseCaseTest {
+
+    @Mock
+    private IndiceBuscaProdutos indice;
+
+    @Mock
+    private ProdutoGateway gateway;
+
+    private BuscarProdutosPorNomeServiceUseCase buscarProdutosPorNomeServiceUseCase;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new BuscaProdutosProperties();
+        properties.setLimitePadrao(10);
+        properties.setLimiteMaximo(50);
+        buscarProdutosPorNomeServiceUseCase = new BuscarProdutosPorNomeServiceUseCase(indice, gateway, properties);
+    }
+
+    @Test
+    void deveBuscarComLimitePadrao() {
+        var produto = Produto.builder().id(1L).nome("Café Torrado").sku("CAFE1").preco(20.0).build();
+        when(indice.buscar("cafe", 10)).thenReturn(Optional.of(List.of(produto)));
+
+        assertEquals(List.of(produto), buscarProdutosPorNomeServiceUseCase.execute("cafe", null));
+        verifyNoInteractions(gateway);
+    }
+
+    @Test
+    void deveConsultarBancoQuandoIndiceNaoPuderResponder() {
+        var produto = Produto.builder().id(1L).nome("Café Torrado").sku("CAFE1").preco(20.0).build();
+        var filtro = FiltroProdutos.builder().nomeContem("café").ordenarPor(CampoOrdenacaoProduto.NOME).build();
+        when(indice.buscar(" café ", 10)).thenReturn(Optional.empty());
+        when(gateway.listarFiltrado(filtro, 10)).thenReturn(List.of(produto));
+
+        assertEquals(List.of(produto), buscarProdutosPorNomeServiceUseCase.execute(" café ", null));
+    }
+
+    @Test
+    void deveLimitarAoMaximoConfigurado() {
+        when(indice.buscar("cafe", 50)).thenReturn(Optional.of(List.of()));
+
+        buscarProdutosPorNomeServiceUseCase.execute("cafe", 1_000);
+
+        verify(indice).buscar("cafe", 50);
+    }
+
+    @Test
+    void deveLancarExcecaoQuandoTermoForVazio() {
+        var exception = assertThrows(IllegalArgumentException.class,
+                () -> buscarProdutosPorNomeServiceUseCase.execute("  ", null));
+
+        assertEquals("O termo de busca é obrigatório", exception.getMessage());
+        verifyNoInteractions(indice);
+    }
+
+    @Test
+    void deveLancarExcecaoQuandoLimiteNaoForPositivo() {
+        assertThrows(IllegalArgumentException.class, () -> buscarProdutosPorNomeServiceUseCase.execute("cafe", 0));
+        verifyNoInteractions(indice);
+    }
+}
@@ -0,0 +1,85 @@
+package com.fiap.produto.usecase.service;
+
+import com.fiap.produto.config.lote.LoteProperties;
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.gateway.ProdutoGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BuscarProdutosPorSkusServiceUseCaseTest {
+
+    @Mock
+    private ProdutoGateway gateway;
+
+    private BuscarProdutosPorSkusServiceUseCase buscarProdutosPorSkusServiceUseCase;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new LoteProperties();
+        properties.setTamanhoMaximoBusca(3);
+        buscarProdutosPorSkusServiceUseCase = new BuscarProdutosPorSkusServiceUseCase(gateway, properties);
+    }
+
+    @Test
+    void deveSepararEncontradosENaoEncontradosNaOrdemPedida() {
+        var produto1 = criarProduto(1L, "SKU1");
+        var produto3 = criarProduto(3L, "SKU3");
+        when(gateway.buscarPorSkus(any())).thenReturn(List.of(produto1, produto3));
+
+        var resultado = buscarProdutosPorSkusServiceUseCase.execute(List.of("SKU3", "SKU2", "SKU1"));
+
+        assertEquals(List.of(produto3, produto1), resultado.getEncontrados());
+        assertEquals(List.of("SKU2"), resultado.getNaoEncontrados());
+    }
+
+    @Test
+    void deveRemoverDuplicadosEValoresVaziosAntesDeConsultar() {
+        when(gateway.buscarPorSkus(any())).thenReturn(List.of());
+
+        buscarProdutosPorSkusServiceUseCase.execute(Arrays.asList("SKU1", " SKU1 ", "", null, "SKU2"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<String>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(gateway, times(1)).buscarPorSkus(captor.capture());
+        assertEquals(List.of("SKU1", "SKU2"), List.copyOf(captor.getValue()));
+        verify(gateway, never()).buscarPorSku(any());
+    }
+
+    @Test
+    void deveLancarExcecaoQuandoExcederMaximoDeSkus() {
+        var exception = assertThrows(IllegalArgumentException.class,
+                () -> buscarProdutosPorSkusServiceUseCase.execute(List.of("A", "B", "C", "D")));
+
+        assertEquals("A busca excede o máximo de 3 SKUs", exception.getMessage());
+        verifyNoInteractions(gateway);
+    }
+
+    @Test
+    void deveLancarExcecaoQuandoNaoHouverSkus() {
+        assertThrows(IllegalArgumentException.class, () -> buscarProdutosPorSkusServiceUseCase.execute(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> buscarProdutosPorSkusServiceUseCase.execute(null));
+        verifyNoInteractions(gateway);
+    }
+
+    private Produto criarProduto(Long id, String sku) {
+        return Produto.builder()
+                .id(id)
+                .nome("Produto " + sku)
+                .sku(sku)
+                .preco(10.0)
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.fiap.produto.usecase.service;
+
+import com.fiap.produto.gateway.ProdutoGateway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BuscarVersaoCatalogoServiceUseCaseTest {
+
+    @Mock
+    private ProdutoGateway gateway;
+
+    @InjectMocks
+    private BuscarVersaoCatalogoServiceUseCase buscarVersaoCatalogoServiceUseCase;
+
+    @Test
+    void deveRetornarVersaoDoCatalogoDoGateway() {
+        when(gateway.versaoCatalogo()).thenReturn(5L);
+
+        assertEquals(5L, buscarVersaoCatalogoServiceUseCase.execute());
+        verify(gateway).versaoCatalogo();
+        verifyNoMoreInteractions(gateway);
+    }
+}
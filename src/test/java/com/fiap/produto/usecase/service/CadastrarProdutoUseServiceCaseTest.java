@@ -1,16 +1,19 @@
 package com.fiap.produto.usecase.service;
 
 import com.fiap.produto.domain.Produto;
+import com.fiap.produto.domain.ProdutoAlterado;
+import com.fiap.produto.domain.TipoAlteracaoProduto;
+import com.fiap.produto.exception.SkuJaCadastradoException;
+import com.fiap.produto.gateway.ProdutoEventoGateway;
 import com.fiap.produto.gateway.ProdutoGateway;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.Optional;
-
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -21,6 +24,9 @@ class CadastrarProdutoUseServiceCaseTest {
     @Mock
     private ProdutoGateway gateway;
 
+    @Mock
+    private ProdutoEventoGateway eventoGateway;
+
     @InjectMocks
     private CadastrarProdutoUseServiceCase cadastrarProdutoUseServiceCase;
 
@@ -45,7 +51,6 @@ class CadastrarProdutoUseServiceCaseTest {
 
     @Test
     void deveCadastrarProdutoComSucesso() {
-        when(gateway.buscarPorSku(produto.getSku())).thenReturn(Optional.empty());
         when(gateway.salvar(produto)).thenReturn(produto);
 
         Produto produtoSalvo = cadastrarProdutoUseServiceCase.execute(produto);
@@ -55,38 +60,33 @@ class CadastrarProdutoUseServiceCaseTest {
         assertEquals(produto.getSku(), produtoSalvo.getSku());
         assertEquals(produto.getPreco(), produtoSalvo.getPreco());
 
-        verify(gateway).buscarPorSku(produto.getSku());
         verify(gateway).salvar(produto);
     }
 
     @Test
     void deveLancarExcecaoQuandoSkuJaExistir() {
-        when(gateway.buscarPorSku(produto.getSku())).thenReturn(Optional.of(produtoExistente));
+        when(gateway.salvar(produto)).thenThrow(new SkuJaCadastradoException(produto.getSku(), null));
 
-        IllegalArgumentException exception = assertThrows(
-                IllegalArgumentException.class,
+        SkuJaCadastradoException exception = assertThrows(
+                SkuJaCadastradoException.class,
                 () -> cadastrarProdutoUseServiceCase.execute(produto)
         );
 
         assertEquals("SKU já cadastrado!", exception.getMessage());
-
-        verify(gateway).buscarPorSku(produto.getSku());
-        verify(gateway, never()).salvar(any(Produto.class));
+        assertEquals(produto.getSku(), exception.getSku());
     }
 
     @Test
-    void deveVerificarSeGatewayBuscarPorSkuEChamado() {
-        when(gateway.buscarPorSku(produto.getSku())).thenReturn(Optional.empty());
-        when(gateway.salvar(produto)).thenReturn(produto);
+    void naoDeveConsultarSkuAntesDeInserir() {
+        when(gateway.salvar(produto)).thenReturn(produtoExistente);
 
         cadastrarProdutoUseServiceCase.execute(produto);
 
-        verify(gateway, times(1)).buscarPorSku(produto.getSku());
+        verify(gateway, never()).buscarPorSku(any());
     }
 
     @Test
     void deveVerificarSeGatewaySalvarEChamado() {
-        when(gateway.buscarPorSku(produto.getSku())).thenReturn(Optional.empty());
         when(gateway.salvar(produto)).thenReturn(produto);
 
         cadastrarProdutoUseServiceCase.execute(produto);
@@ -94,18 +94,6 @@ class CadastrarProdutoUseServiceCaseTest {
         verify(gateway, times(1)).salvar(produto);
     }
 
-    @Test
-    void deveLancarExcecaoComMensagemCorreta() {
-        when(gateway.buscarPorSku(produto.getSku())).thenReturn(Optional.of(produtoExistente));
-
-        IllegalArgumentException exception = assertThrows(
-                IllegalArgumentException.class,
-                () -> cadastrarProdutoUseServiceCase.execute(produto)
-        );
-
-        assertTrue(exception.getMessage().contains("SKU já cadastrado!"));
-    }
-
     @Test
     void deveRetornarProdutoSalvoQuandoSkuNaoExistir() {
         Produto produtoComId = Produto.builder()
@@ -115,7 +103,6 @@ class CadastrarProdutoUseServiceCaseTest {
                 .preco(produto.getPreco())
                 .build();
 
-        when(gateway.buscarPorSku(produto.getSku())).thenReturn(Optional.empty());
         when(gateway.salvar(produto)).thenReturn(produtoComId);
 
         Produto resultado = cadastrarProdutoUseServiceCase.execute(produto);
@@ -128,15 +115,42 @@ class CadastrarProdutoUseServiceCaseTest {
     }
 
     @Test
-    void deveValidarSeSkuEVerificadoCorretamente() {
-        String skuTeste = "SKU-TESTE-123";
-        produto.setSku(skuTeste);
+    void deveRegistrarEventoDeCriacaoNaOutbox() {
+        Produto produtoComId = Produto.builder()
+                .id(1L)
+                .nome(produto.getNome())
+                .sku(produto.getSku())
+                .preco(produto.getPreco())
+                .build();
 
-        when(gateway.buscarPorSku(skuTeste)).thenReturn(Optional.empty());
-        when(gateway.salvar(produto)).thenReturn(produto);
+        when(gateway.salvar(produto)).thenReturn(produtoComId);
 
         cadastrarProdutoUseServiceCase.execute(produto);
 
-        verify(gateway).buscarPorSku(skuTeste);
+        ArgumentCaptor<ProdutoAlterado> captor = ArgumentCaptor.forClass(ProdutoAlterado.class);
+        verify(eventoGateway).registrar(captor.capture());
+        assertEquals(TipoAlteracaoProduto.CRIADO, captor.getValue().getTipo());
+        assertEquals(1L, captor.getValue().getProdutoId());
+        assertEquals(produto.getSku(), captor.getValue().getSku());
+    }
+
+    @Test
+    void naoDeveRegistrarEventoQuandoSkuJaExistir() {
+        when(gateway.salvar(produto)).thenThrow(new SkuJaCadastradoException(produto.getSku(), null));
+
+        assertThrows(SkuJaCadastradoException.class, () -> cadastrarProdutoUseServiceCase.execute(produto));
+
+        verifyNoInteractions(eventoGateway);
+    }
+
+    @Test
+    void naoDeveCadastrarProdutoComSkuReservado() {
+        produto.setSku("search");
+
+        var exception = assertThrows(IllegalArgumentException.class,
+                () -> cadastrarProdutoUseServiceCase.execute(produto));
+
+        assertEquals("SKU reservado: search", exception.getMessage());
+        verifyNoInteractions(gateway, eventoGateway);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,149 @@
+package com.fiap.produto.usecase.service;
+
+import com.fiap.produto.config.lote.LoteProperties;
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.domain.StatusCadastroLote;
+import com.fiap.produto.domain.TipoAlteracaoProduto;
+import com.fiap.produto.gateway.ProdutoEventoGateway;
+import com.fiap.produto.gateway.ProdutoGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CadastrarProdutosEmLoteServiceUseCaseTest {
+
+    @Mock
+    private ProdutoGateway gateway;
+
+    @Mock
+    private ProdutoEventoGateway eventoGateway;
+
+    private CadastrarProdutosEmLoteServiceUseCase cadastrarProdutosEmLoteServiceUseCase;
+    @BeforeEach
+    void setUp() {
+        var properties = new LoteProperties();
+        properties.setTamanhoMaximo(5);
+        cadastrarProdutosEmLoteServiceUseCase = new CadastrarProdutosEmLoteServiceUseCase(gateway, eventoGateway, properties);
+    }
+
+    @Test
+    void deveCadastrarSomenteProdutosNovosComResultadoPorItem() {
+        var novo = criarProduto("SKU1", 10.0);
+        var existente = criarProduto("SKU2", 20.0);
+        var repetido = criarProduto("SKU1", 30.0);
+        var invalido = criarProduto("SKU3", -1.0);
+
+        when(gateway.salvarNovos(anyList())).thenAnswer(invocation -> {
+            List<Produto> produtos = invocation.getArgument(0);
+            return produtos.stream()
+                    .filter(p -> !p.getSku().equals("SKU2"))
+                    .map(p -> Produto.builder().id(99L).nome(p.getNome()).sku(p.getSku()).preco(p.getPreco()).build())
+                    .collect(Collectors.toList());
+        });
+
+        var resultados = cadastrarProdutosEmLoteServiceUseCase.execute(List.of(novo, existente, repetido, invalido));
+
+        assertEquals(4, resultados.size());
+        assertEquals(StatusCadastroLote.CRIADO, resultados.get(0).getStatus());
+        assertEquals(99L, resultados.get(0).getProduto().getId());
+        assertEquals(StatusCadastroLote.SKU_JA_CADASTRADO, resultados.get(1).getStatus());
+        assertEquals("SKU2", resultados.get(1).getSku());
+        assertEquals(StatusCadastroLote.SKU_DUPLICADO_NO_LOTE, resultados.get(2).getStatus());
+        assertEquals(StatusCadastroLote.INVALIDO, resultados.get(3).getStatus());
+        verify(gateway).salvarNovos(List.of(novo, existente));
+        verify(eventoGateway).registrarTodos(argThat(eventos -> eventos.size() == 1
+                && eventos.get(0).getSku().equals("SKU1")
+                && eventos.get(0).getTipo() == TipoAlteracaoProduto.CRIADO));
+    }
+
+    @Test
+    void deveRejeitarSkuReservadoSemEnviarAoGateway() {
+        var reservado = criarProduto("pagina", 1.0);
+        var novo = criarProduto("SKU1", 2.0);
+        when(gateway.salvarNovos(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        var resultados = cadastrarProdutosEmLoteServiceUseCase.execute(List.of(reservado, novo));
+
+        assertEquals(StatusCadastroLote.INVALIDO, resultados.get(0).getStatus());
+        assertEquals("SKU reservado: pagina", resultados.get(0).getMensagem());
+        assertEquals(StatusCadastroLote.CRIADO, resultados.get(1).getStatus());
+        verify(gateway).salvarNovos(List.of(novo));
+    }
+
+    @Test
+    void deveGravarOLoteNumaUnicaChamadaSemConsultaPrevia() {
+        var produtos = List.of(criarProduto("SKU1", 1.0), criarProduto("SKU2", 2.0), criarProduto("SKU3", 3.0));
+        when(gateway.salvarNovos(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        var resultados = cadastrarProdutosEmLoteServiceUseCase.execute(produtos);
+
+        verify(gateway, times(1)).salvarNovos(produtos);
+        verify(gateway, never()).buscarPorSku(any());
+        verify(gateway, never()).salvar(any());
+        assertTrue(resultados.stream().allMatch(r -> r.getStatus() == StatusCadastroLote.CRIADO));
+    }
+
+    @Test
+    void deveRejeitarSomenteOItemGravadoPorOutraRequisicaoNoMeioDoLote() {
+        var produtos = List.of(criarProduto("SKU1", 1.0), criarProduto("SKU2", 2.0), criarProduto("SKU3", 3.0));
+        // SKU2 foi gravado concorrentemente: o INSERT o ignora e os demais seguem criados
+        when(gateway.salvarNovos(anyList())).thenReturn(List.of(
+                Produto.builder().id(1L).sku("SKU1").build(),
+                Produto.builder().id(3L).sku("SKU3").build()));
+
+        var resultados = cadastrarProdutosEmLoteServiceUseCase.execute(produtos);
+
+        assertEquals(StatusCadastroLote.CRIADO, resultados.get(0).getStatus());
+        assertEquals(StatusCadastroLote.SKU_JA_CADASTRADO, resultados.get(1).getStatus());
+        assertEquals("SKU2", resultados.get(1).getSku());
+        assertEquals(StatusCadastroLote.CRIADO, resultados.get(2).getStatus());
+        assertEquals(3L, resultados.get(2).getProduto().getId());
+    }
+
+    @Test
+    void naoDeveRegistrarEventosQuandoNenhumProdutoForNovo() {
+        when(gateway.salvarNovos(anyList())).thenReturn(List.of());
+
+        var resultados = cadastrarProdutosEmLoteServiceUseCase.execute(List.of(criarProduto("SKU1", 1.0)));
+
+        assertEquals(StatusCadastroLote.SKU_JA_CADASTRADO, resultados.get(0).getStatus());
+        verifyNoInteractions(eventoGateway);
+    }
+
+    @Test
+    void deveLancarExcecaoQuandoLoteExcederTamanhoMaximo() {
+        var produtos = List.of(criarProduto("A", 1.0), criarProduto("B", 1.0), criarProduto("C", 1.0),
+                criarProduto("D", 1.0), criarProduto("E", 1.0), criarProduto("F", 1.0));
+
+        var exception = assertThrows(IllegalArgumentException.class,
+                () -> cadastrarProdutosEmLoteServiceUseCase.execute(produtos));
+
+        assertEquals("O lote excede o tamanho máximo de 5 produtos", exception.getMessage());
+        verifyNoInteractions(gateway);
+    }
+
+    @Test
+    void deveLancarExcecaoQuandoLoteEstiverVazio() {
+        assertThrows(IllegalArgumentException.class, () -> cadastrarProdutosEmLoteServiceUseCase.execute(List.of()));
+        verifyNoInteractions(gateway);
+    }
+
+    private Produto criarProduto(String sku, Double preco) {
+        return Produto.builder()
+                .nome("Produto " + sku)
+                .sku(sku)
+                .preco(preco)
+                .build();
+    }
+}
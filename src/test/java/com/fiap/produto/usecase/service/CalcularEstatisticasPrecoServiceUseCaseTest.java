@@ -0,0 +1,57 @@
+package com.fiap.produto.usecase.service;
+
+import com.fiap.produto.domain.EstatisticasPreco;
+import com.fiap.produto.domain.FiltroProdutos;
+import com.fiap.produto.gateway.ProdutoGateway;
+import com.fiap.produto.gateway.colunar.ModeloLeituraColunar;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CalcularEstatisticasPrecoServiceUseCaseTest {
+
+    @Mock
+    private ProdutoGateway gateway;
+
+    @Mock
+    private ModeloLeituraColunar modeloColunar;
+
+    @InjectMocks
+    private CalcularEstatisticasPrecoServiceUseCase calcularEstatisticasPrecoServiceUseCase;
+
+    @Test
+    void deveUsarModeloColunarQuandoDisponivel() {
+        var filtro = FiltroProdutos.builder().skuPrefixo("NOTE").build();
+        var estatisticas = EstatisticasPreco.builder().quantidade(3).precoMinimo(1.0).precoMaximo(3.0).precoMedio(2.0).build();
+        when(modeloColunar.estatisticasPreco(filtro)).thenReturn(Optional.of(estatisticas));
+
+        assertEquals(estatisticas, calcularEstatisticasPrecoServiceUseCase.execute(filtro));
+        verifyNoInteractions(gateway);
+    }
+
+    @Test
+    void deveAgregarNoBancoQuandoModeloIndisponivel() {
+        var filtro = new FiltroProdutos();
+        var estatisticas = EstatisticasPreco.builder().quantidade(0).build();
+        when(modeloColunar.estatisticasPreco(filtro)).thenReturn(Optional.empty());
+        when(gateway.estatisticasPreco(filtro)).thenReturn(estatisticas);
+
+        assertEquals(estatisticas, calcularEstatisticasPrecoServiceUseCase.execute(filtro));
+    }
+
+    @Test
+    void deveRejeitarFaixaDePrecoInvertida() {
+        var filtro = FiltroProdutos.builder().precoMin(50.0).precoMax(10.0).build();
+
+        assertThrows(IllegalArgumentException.class, () -> calcularEstatisticasPrecoServiceUseCase.execute(filtro));
+        verifyNoInteractions(gateway, modeloColunar);
+    }
+}
@@ -0,0 +1,58 @@
+package com.fiap.produto.usecase.service;
+
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.gateway.arquivo.CatalogoMapeado;
+import com.fiap.produto.gateway.arquivo.SnapshotArquivoCatalogo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CarregarSnapshotArquivoServiceUseCaseTest {
+
+    @Mock
+    private SnapshotArquivoCatalogo snapshotArquivo;
+
+    @Mock
+    private CatalogoMapeado arquivo;
+
+    @InjectMocks
+    private CarregarSnapshotArquivoServiceUseCase carregarSnapshotArquivoUseCase;
+
+    @Test
+    void deveExporVersaoEProdutosDoArquivo() {
+        var produto = new Produto(1L, "Produto", "SKU1", 10.0, 0L);
+        when(arquivo.getVersao()).thenReturn(7L);
+        doAnswer(invocation -> {
+            Consumer<Produto> consumidor = invocation.getArgument(0);
+            consumidor.accept(produto);
+            return null;
+        }).when(arquivo).percorrer(any());
+        when(snapshotArquivo.abrir()).thenReturn(Optional.of(arquivo));
+
+        var snapshot = carregarSnapshotArquivoUseCase.execute().orElseThrow();
+        List<Produto> lidos = new ArrayList<>();
+        snapshot.percorrer(lidos::add);
+
+        assertEquals(7L, snapshot.getVersao());
+        assertEquals(List.of(produto), lidos);
+    }
+
+    @Test
+    void deveRetornarVazioSemArquivo() {
+        when(snapshotArquivo.abrir()).thenReturn(Optional.empty());
+
+        assertTrue(carregarSnapshotArquivoUseCase.execute().isEmpty());
+    }
+}
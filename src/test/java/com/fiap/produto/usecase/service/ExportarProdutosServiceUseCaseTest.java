@@ -0,0 +1,33 @@
+package com.fiap.produto.usecase.service;
+
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.gateway.ProdutoGateway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.function.Consumer;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportarProdutosServiceUseCaseTest {
+
+    @Mock
+    private ProdutoGateway gateway;
+
+    @InjectMocks
+    private ExportarProdutosServiceUseCase exportarProdutosServiceUseCase;
+
+    @Test
+    void deveDelegarPercursoDoCatalogoAoGateway() {
+        Consumer<Produto> consumidor = produto -> { };
+
+        exportarProdutosServiceUseCase.execute(consumidor);
+
+        verify(gateway).percorrerTodos(consumidor);
+        verify(gateway, never()).listarTodos();
+    }
+}
@@ -0,0 +1,101 @@
+package com.fiap.produto.usecase.service;
+
+import com.fiap.produto.config.listagem.ListagemProperties;
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.gateway.ProdutoGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListarProdutosPaginadoServiceUseCaseTest {
+
+    @Mock
+    private ProdutoGateway gateway;
+
+    private ListagemProperties properties;
+
+    private ListarProdutosPaginadoServiceUseCase listarProdutosPaginadoServiceUseCase;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ListagemProperties();
+        properties.setLimitePadrao(2);
+        properties.setLimiteMaximo(3);
+        listarProdutosPaginadoServiceUseCase = new ListarProdutosPaginadoServiceUseCase(gateway, properties);
+    }
+
+    @Test
+    void deveRetornarPrimeiraPaginaComProximaQuandoHouverMaisRegistros() {
+        when(gateway.listarAposId(0L, 3)).thenReturn(criarProdutos(1, 3));
+
+        var pagina = listarProdutosPaginadoServiceUseCase.execute(null, null);
+
+        assertEquals(2, pagina.getProdutos().size());
+        assertTrue(pagina.isTemProxima());
+        assertEquals(2L, pagina.getUltimoId());
+        verify(gateway).listarAposId(0L, 3);
+    }
+
+    @Test
+    void deveRetornarUltimaPaginaSemProxima() {
+        when(gateway.listarAposId(2L, 3)).thenReturn(criarProdutos(3, 1));
+
+        var pagina = listarProdutosPaginadoServiceUseCase.execute(2L, null);
+
+        assertEquals(1, pagina.getProdutos().size());
+        assertFalse(pagina.isTemProxima());
+        assertEquals(3L, pagina.getUltimoId());
+    }
+
+    @Test
+    void deveRetornarPaginaVaziaSemUltimoId() {
+        when(gateway.listarAposId(10L, 3)).thenReturn(List.of());
+
+        var pagina = listarProdutosPaginadoServiceUseCase.execute(10L, null);
+
+        assertTrue(pagina.getProdutos().isEmpty());
+        assertFalse(pagina.isTemProxima());
+        assertNull(pagina.getUltimoId());
+    }
+
+    @Test
+    void deveLimitarTamanhoDaPaginaAoMaximoConfigurado() {
+        when(gateway.listarAposId(0L, 4)).thenReturn(criarProdutos(1, 4));
+
+        var pagina = listarProdutosPaginadoServiceUseCase.execute(null, 1000);
+
+        assertEquals(3, pagina.getProdutos().size());
+        assertTrue(pagina.isTemProxima());
+        verify(gateway).listarAposId(0L, 4);
+    }
+
+    @Test
+    void deveLancarExcecaoQuandoLimiteForInvalido() {
+        var exception = assertThrows(IllegalArgumentException.class,
+                () -> listarProdutosPaginadoServiceUseCase.execute(null, 0));
+
+        assertEquals("O limite deve ser maior que zero", exception.getMessage());
+        verifyNoInteractions(gateway);
+    }
+
+    private List<Produto> criarProdutos(long primeiroId, int quantidade) {
+        return LongStream.range(primeiroId, primeiroId + quantidade)
+                .mapToObj(id -> Produto.builder()
+                        .id(id)
+                        .nome("Produto " + id)
+                        .sku("SKU" + id)
+                        .preco(10.0 * id)
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
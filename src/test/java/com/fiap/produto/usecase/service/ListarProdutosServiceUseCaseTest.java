@@ -1,18 +1,26 @@
 package com.fiap.produto.usecase.service;
 
+import com.fiap.produto.config.listagem.ListagemProperties;
+import com.fiap.produto.domain.CampoOrdenacaoProduto;
+import com.fiap.produto.domain.FiltroProdutos;
 import com.fiap.produto.domain.Produto;
 import com.fiap.produto.gateway.ProdutoGateway;
+import com.fiap.produto.gateway.colunar.ModeloLeituraColunar;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -21,6 +29,12 @@ class ListarProdutosServiceUseCaseTest {
     @Mock
     private ProdutoGateway gateway;
 
+    @Spy
+    private ListagemProperties properties = new ListagemProperties();
+
+    @Mock
+    private ModeloLeituraColunar modeloColunar;
+
     @InjectMocks
     private ListarProdutosServiceUseCase listarProdutosServiceUseCase;
 
@@ -49,7 +63,7 @@ class ListarProdutosServiceUseCaseTest {
         var produtosEsperados = List.of(produto1, produto2);
         when(gateway.listarTodos()).thenReturn(produtosEsperados);
 
-        var resultado = listarProdutosServiceUseCase.execute();
+        var resultado = listarProdutosServiceUseCase.execute().getProdutos();
 
         assertNotNull(resultado);
         assertEquals(2, resultado.size());
@@ -61,7 +75,7 @@ class ListarProdutosServiceUseCaseTest {
     void deveRetornarListaVaziaQuandoNaoHouverProdutosCadastrados() {
         when(gateway.listarTodos()).thenReturn(Collections.emptyList());
 
-        var resultado = listarProdutosServiceUseCase.execute();
+        var resultado = listarProdutosServiceUseCase.execute().getProdutos();
 
         assertNotNull(resultado);
         assertTrue(resultado.isEmpty());
@@ -74,7 +88,7 @@ class ListarProdutosServiceUseCaseTest {
         var produtosEsperados = List.of(produto1);
         when(gateway.listarTodos()).thenReturn(produtosEsperados);
 
-        var resultado = listarProdutosServiceUseCase.execute();
+        var resultado = listarProdutosServiceUseCase.execute().getProdutos();
 
         assertNotNull(resultado);
         assertEquals(1, resultado.size());
@@ -89,7 +103,89 @@ class ListarProdutosServiceUseCaseTest {
 
         listarProdutosServiceUseCase.execute();
 
+        verify(gateway, times(1)).versaoCatalogo();
         verify(gateway, times(1)).listarTodos();
         verifyNoMoreInteractions(gateway);
     }
-}
\ No newline at end of file
+
+    @Test
+    void deveRetornarVersaoDoCatalogoJuntoComAListagem() {
+        when(gateway.versaoCatalogo()).thenReturn(42L);
+        when(gateway.listarTodos()).thenReturn(List.of(produto1));
+
+        var resultado = listarProdutosServiceUseCase.execute();
+
+        assertEquals(42L, resultado.getVersao());
+        assertEquals(List.of(produto1), resultado.getProdutos());
+    }
+
+    @Test
+    void deveListarFiltradoComLimitePadraoEOrdenacaoPorId() {
+        var filtro = FiltroProdutos.builder().precoMin(10.0).build();
+        when(gateway.listarFiltrado(filtro, 101)).thenReturn(List.of(produto1, produto2));
+
+        var resultado = listarProdutosServiceUseCase.execute(filtro, null, null);
+
+        assertEquals(List.of(produto1, produto2), resultado.getProdutos());
+        assertFalse(resultado.isTruncada());
+        assertEquals(CampoOrdenacaoProduto.ID, filtro.getOrdenarPor());
+    }
+
+    @Test
+    void deveListarDoModeloColunarSemConsultarOBanco() {
+        var filtro = FiltroProdutos.builder().precoMax(20.0).build();
+        when(modeloColunar.listarFiltrado(filtro, 101)).thenReturn(Optional.of(List.of(produto1)));
+
+        var resultado = listarProdutosServiceUseCase.execute(filtro, null, null);
+
+        assertEquals(List.of(produto1), resultado.getProdutos());
+        verifyNoInteractions(gateway);
+    }
+
+    @Test
+    void deveMarcarListagemComoTruncadaQuandoExcederLimite() {
+        when(gateway.listarFiltrado(any(), eq(2))).thenReturn(List.of(produto1, produto2));
+
+        var resultado = listarProdutosServiceUseCase.execute(new FiltroProdutos(), null, 1);
+
+        assertEquals(List.of(produto1), resultado.getProdutos());
+        assertTrue(resultado.isTruncada());
+    }
+
+    @Test
+    void deveLimitarAoMaximoConfigurado() {
+        int limiteMaximo = properties.getLimiteMaximo();
+
+        listarProdutosServiceUseCase.execute(new FiltroProdutos(), null, 10_000);
+
+        verify(gateway).listarFiltrado(any(), eq(limiteMaximo + 1));
+    }
+
+    @Test
+    void deveInterpretarCampoEDirecaoDaOrdenacao() {
+        listarProdutosServiceUseCase.execute(new FiltroProdutos(), "preco,desc", null);
+
+        verify(gateway).listarFiltrado(argThat(filtro -> filtro.getOrdenarPor() == CampoOrdenacaoProduto.PRECO
+                && filtro.isDecrescente()), anyInt());
+    }
+
+    @Test
+    void deveRejeitarOrdenacaoInvalida() {
+        assertThrows(IllegalArgumentException.class,
+                () -> listarProdutosServiceUseCase.execute(new FiltroProdutos(), "versao", null));
+        assertThrows(IllegalArgumentException.class,
+                () -> listarProdutosServiceUseCase.execute(new FiltroProdutos(), "nome,cima", null));
+        verifyNoInteractions(gateway);
+    }
+
+    @Test
+    void deveRejeitarFaixaDePrecoInvertida() {
+        var filtro = FiltroProdutos.builder().precoMin(50.0).precoMax(10.0).build();
+
+        var exception = assertThrows(IllegalArgumentException.class,
+                () -> listarProdutosServiceUseCase.execute(filtro, null, null));
+
+        assertEquals("precoMin não pode ser maior que precoMax", exception.getMessage());
+        verifyNoInteractions(gateway);
+    }
+}
@@ -0,0 +1,76 @@
+package com.fiap.produto.usecase.service;
+
+import com.fiap.produto.domain.Produto;
+import com.fiap.produto.domain.ProdutoAlterado;
+import com.fiap.produto.domain.TipoAlteracaoProduto;
+import com.fiap.produto.gateway.ProdutoEventoGateway;
+import com.fiap.produto.gateway.ProdutoGateway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UpsertProdutoServiceUseCaseTest {
+
+    @Mock
+    private ProdutoGateway gateway;
+
+    @Mock
+    private ProdutoEventoGateway eventoGateway;
+
+    @InjectMocks
+    private UpsertProdutoServiceUseCase upsertUseCase;
+
+    @Test
+    void deveRegistrarEventoDeCriacaoQuandoProdutoForInserido() {
+        var produto = criarProduto(null, null);
+        when(gateway.upsertPorSku(produto)).thenReturn(criarProduto(1L, 0L));
+
+        var resultado = upsertUseCase.execute(produto);
+
+        assertEquals(1L, resultado.getId());
+        assertEquals(TipoAlteracaoProduto.CRIADO, eventoRegistrado().getTipo());
+    }
+
+    @Test
+    void deveRegistrarEventoDeAtualizacaoQuandoSkuJaExistir() {
+        var produto = criarProduto(null, null);
+        when(gateway.upsertPorSku(produto)).thenReturn(criarProduto(1L, 4L));
+
+        upsertUseCase.execute(produto);
+
+        assertEquals(TipoAlteracaoProduto.ATUALIZADO, eventoRegistrado().getTipo());
+    }
+
+    @Test
+    void naoDeveGravarProdutoComSkuReservado() {
+        var produto = criarProduto(null, null);
+        produto.setSku("export");
+
+        assertThrows(IllegalArgumentException.class, () -> upsertUseCase.execute(produto));
+
+        verifyNoInteractions(gateway, eventoGateway);
+    }
+
+    private ProdutoAlterado eventoRegistrado() {
+        ArgumentCaptor<ProdutoAlterado> captor = ArgumentCaptor.forClass(ProdutoAlterado.class);
+        verify(eventoGateway).registrar(captor.capture());
+        return captor.getValue();
+    }
+
+    private Produto criarProduto(Long id, Long versao) {
+        return Produto.builder()
+                .id(id)
+                .nome("Notebook Dell")
+                .sku("SKU123")
+                .preco(2500.00)
+                .versao(versao)
+                .build();
+    }
+}